@@ -21,10 +21,14 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.io.FileUtils;
 import org.bonitasoft.console.common.server.preferences.constants.WebBonitaConstantsUtils;
 import org.bonitasoft.console.common.server.utils.PlatformManagementUtils;
+import org.bonitasoft.console.common.server.utils.ProfilePermissionsCache;
 import org.bonitasoft.engine.exception.BonitaException;
 
 /**
@@ -38,7 +42,12 @@ public class ConfigurationFilesManager {
         return INSTANCE;
     }
 
-    private Map<Long, Map<String, Properties>> tenantConfigurations = new HashMap<>();
+    /**
+     * Properties of the tenants, along with the compiled permissions indexes of their resources permissions mapping files.
+     * The configuration of a tenant is replaced as a whole each time it is set, so that its properties and indexes always
+     * match.
+     */
+    private final Map<Long, TenantConfiguration> tenantConfigurations = new ConcurrentHashMap<>();
     private Map<String, Properties> platformConfiguration = new HashMap<>();
     private Map<String, File> platformConfigurationFiles = new HashMap<>();
 
@@ -51,9 +60,9 @@ public class ConfigurationFilesManager {
     }
 
     public Properties getTenantProperties(String propertiesFile, long tenantId) {
-        Map<String, Properties> map = tenantConfigurations.get(tenantId);
-        if (map != null && map.containsKey(propertiesFile)) {
-            return map.get(propertiesFile);
+        TenantConfiguration tenantConfiguration = tenantConfigurations.get(tenantId);
+        if (tenantConfiguration != null && tenantConfiguration.properties.containsKey(propertiesFile)) {
+            return tenantConfiguration.properties.get(propertiesFile);
         }
         return new Properties();
     }
@@ -86,13 +95,46 @@ public class ConfigurationFilesManager {
                 tenantProperties.put(entry.getKey(), getProperties(entry.getValue()));
             }
         }
-        tenantConfigurations.put(tenantId, tenantProperties);
+        final TenantConfiguration tenantConfiguration = new TenantConfiguration(tenantProperties);
+        for (final String permissionsMappingFile : new String[] { ResourcesPermissionsMapping.PROPERTIES_FILENAME,
+                DynamicPermissionsChecks.PROPERTIES_FILENAME }) {
+            if (tenantProperties.containsKey(permissionsMappingFile)) {
+                tenantConfiguration.permissionsIndexes.put(permissionsMappingFile,
+                        new ResourcesPermissionsIndex(tenantProperties.get(permissionsMappingFile)));
+            }
+        }
+        tenantConfigurations.put(tenantId, tenantConfiguration);
+        ProfilePermissionsCache.invalidate(tenantId);
+    }
+
+    /**
+     * @return the compiled permissions index of a tenant resources permissions mapping file, or null if the tenant
+     *         configuration is not set
+     */
+    public ResourcesPermissionsIndex getTenantPermissionsIndex(String propertiesFile, long tenantId) {
+        TenantConfiguration tenantConfiguration = tenantConfigurations.get(tenantId);
+        if (tenantConfiguration == null) {
+            return null;
+        }
+        return tenantConfiguration.getPermissionsIndex(propertiesFile);
+    }
+
+    private void invalidatePermissionsIndex(String propertiesFilename, long tenantId) {
+        TenantConfiguration tenantConfiguration = tenantConfigurations.get(tenantId);
+        if (tenantConfiguration != null) {
+            tenantConfiguration.invalidatePermissionsIndex(propertiesFilename);
+        }
+        if (CompoundPermissionsMapping.PROPERTIES_FILENAME.equals(propertiesFilename)
+                || CustomPermissionsMapping.PROPERTIES_FILENAME.equals(propertiesFilename)) {
+            ProfilePermissionsCache.invalidate(tenantId);
+        }
     }
 
     public void removeProperty(String propertiesFilename, long tenantId, String propertyName) throws IOException {
         Map<String, Properties> resources = getResources(tenantId);
         Properties properties = resources.get(propertiesFilename);
         properties.remove(propertyName);
+        invalidatePermissionsIndex(propertiesFilename, tenantId);
         update(tenantId, propertiesFilename, properties);
     }
 
@@ -112,7 +154,8 @@ public class ConfigurationFilesManager {
     private Map<String, Properties> getResources(long tenantId) {
         Map<String, Properties> resources;
         if (tenantId > 0) {
-            resources = tenantConfigurations.get(tenantId);
+            TenantConfiguration tenantConfiguration = tenantConfigurations.get(tenantId);
+            resources = tenantConfiguration == null ? null : tenantConfiguration.properties;
         } else {
             resources = platformConfiguration;
         }
@@ -123,10 +166,51 @@ public class ConfigurationFilesManager {
         Map<String, Properties> resources = getResources(tenantId);
         Properties properties = resources.get(propertiesFilename);
         properties.setProperty(propertyName, propertyValue);
+        invalidatePermissionsIndex(propertiesFilename, tenantId);
         update(tenantId, propertiesFilename, properties);
     }
 
     public File getPlatformConfigurationFile(String fileName) {
         return platformConfigurationFiles.get(fileName);
     }
+
+    private static class TenantConfiguration {
+
+        private final Map<String, Properties> properties;
+
+        private final ConcurrentMap<String, ResourcesPermissionsIndex> permissionsIndexes = new ConcurrentHashMap<>();
+
+        /**
+         * Incremented on each modification of the properties, so that an index compiled from the properties before a
+         * modification is not cached after it
+         */
+        private final AtomicLong version = new AtomicLong();
+
+        TenantConfiguration(Map<String, Properties> properties) {
+            this.properties = properties;
+        }
+
+        ResourcesPermissionsIndex getPermissionsIndex(String propertiesFile) {
+            ResourcesPermissionsIndex permissionsIndex = permissionsIndexes.get(propertiesFile);
+            if (permissionsIndex != null) {
+                return permissionsIndex;
+            }
+            final long fromVersion = version.get();
+            final Properties fileProperties = properties.get(propertiesFile);
+            permissionsIndex = new ResourcesPermissionsIndex(fileProperties == null ? new Properties() : fileProperties);
+            final ResourcesPermissionsIndex cachedIndex = permissionsIndexes.putIfAbsent(propertiesFile, permissionsIndex);
+            if (cachedIndex != null) {
+                return cachedIndex;
+            }
+            if (version.get() != fromVersion) {
+                permissionsIndexes.remove(propertiesFile, permissionsIndex);
+            }
+            return permissionsIndex;
+        }
+
+        void invalidatePermissionsIndex(String propertiesFile) {
+            version.incrementAndGet();
+            permissionsIndexes.remove(propertiesFile);
+        }
+    }
 }
@@ -14,13 +14,30 @@
  */
 package org.bonitasoft.console.common.server.preferences.properties;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * @author Anthony Birembaut
  */
 public class PropertiesFactory {
 
+    /*
+     * The following objects hold no state apart from their tenant ID so they can be shared by all the requests.
+     */
+    private static final Map<Long, ResourcesPermissionsMapping> resourcesPermissionsMappings = new ConcurrentHashMap<>();
+
+    private static final Map<Long, DynamicPermissionsChecks> dynamicPermissionsChecks = new ConcurrentHashMap<>();
+
+    private static final Map<Long, SecurityProperties> securityProperties = new ConcurrentHashMap<>();
+
     public static ResourcesPermissionsMapping getResourcesPermissionsMapping(final long tenantId) {
-        return new ResourcesPermissionsMapping(tenantId);
+        ResourcesPermissionsMapping resourcesPermissionsMapping = resourcesPermissionsMappings.get(tenantId);
+        if (resourcesPermissionsMapping == null) {
+            resourcesPermissionsMapping = new ResourcesPermissionsMapping(tenantId);
+            resourcesPermissionsMappings.put(tenantId, resourcesPermissionsMapping);
+        }
+        return resourcesPermissionsMapping;
     }
 
     public static CompoundPermissionsMapping getCompoundPermissionsMapping(final long tenantId) {
@@ -32,11 +49,21 @@ public class PropertiesFactory {
     }
 
     public static DynamicPermissionsChecks getDynamicPermissionsChecks(final long tenantId) {
-        return new DynamicPermissionsChecks(tenantId);
+        DynamicPermissionsChecks tenantDynamicPermissionsChecks = dynamicPermissionsChecks.get(tenantId);
+        if (tenantDynamicPermissionsChecks == null) {
+            tenantDynamicPermissionsChecks = new DynamicPermissionsChecks(tenantId);
+            dynamicPermissionsChecks.put(tenantId, tenantDynamicPermissionsChecks);
+        }
+        return tenantDynamicPermissionsChecks;
     }
 
     public static SecurityProperties getSecurityProperties(final long tenantId) {
-        return new SecurityProperties(tenantId);
+        SecurityProperties tenantSecurityProperties = securityProperties.get(tenantId);
+        if (tenantSecurityProperties == null) {
+            tenantSecurityProperties = new SecurityProperties(tenantId);
+            securityProperties.put(tenantId, tenantSecurityProperties);
+        }
+        return tenantSecurityProperties;
     }
 
     public static SecurityProperties getSecurityProperties() {
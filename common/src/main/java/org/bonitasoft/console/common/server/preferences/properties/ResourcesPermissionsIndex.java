@@ -0,0 +1,90 @@
+/**
+ * Copyright (C) 2016 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.preferences.properties;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Immutable index of the permissions declared in a resources permissions mapping file.<br />
+ * Keys like <code>GET|bpm/process/*&#47;instantiation</code> are compiled once into a tree (method, API, resource, then
+ * one level per resource qualifier) so that looking up the permissions of a resource does not allocate anything.
+ *
+ * @see ResourcesPermissionsMapping
+ */
+public class ResourcesPermissionsIndex {
+
+    private final Node root = new Node();
+
+    public ResourcesPermissionsIndex(final Properties properties) {
+        for (final String key : properties.stringPropertyNames()) {
+            final int methodSeparatorIndex = key.indexOf(ResourcesPermissionsMapping.API_METHOD_SEPARATOR);
+            if (methodSeparatorIndex < 0) {
+                continue;
+            }
+            final String[] path = key.substring(methodSeparatorIndex + 1).split("/", -1);
+            if (path.length < 2) {
+                continue;
+            }
+            Node node = root.getOrCreateChild(key.substring(0, methodSeparatorIndex));
+            for (final String pathElement : path) {
+                node = node.getOrCreateChild(pathElement);
+            }
+            node.permissions = Collections.unmodifiableSet(PropertiesWithSet.stringToSet(properties.getProperty(key)));
+        }
+    }
+
+    /**
+     * @param wildCardPosition
+     *            the position of the resource qualifier to replace with {@link ResourcesPermissionsMapping#WILDCARD}, or -1
+     * @return the permissions declared for the resource, or an empty set
+     */
+    public Set<String> getResourcePermissions(final String method, final String apiName, final String resourceName, final List<String> resourceQualifiers,
+            final int wildCardPosition) {
+        Node node = root.getChild(method);
+        node = node != null ? node.getChild(apiName) : null;
+        node = node != null ? node.getChild(resourceName) : null;
+        if (resourceQualifiers != null) {
+            for (int i = 0; node != null && i < resourceQualifiers.size(); i++) {
+                node = node.getChild(i == wildCardPosition ? ResourcesPermissionsMapping.WILDCARD : resourceQualifiers.get(i));
+            }
+        }
+        return node != null ? node.permissions : Collections.<String> emptySet();
+    }
+
+    private static class Node {
+
+        private Set<String> permissions = Collections.emptySet();
+
+        private final Map<String, Node> children = new HashMap<>();
+
+        private Node getChild(final String pathElement) {
+            return children.get(String.valueOf(pathElement));
+        }
+
+        private Node getOrCreateChild(final String pathElement) {
+            Node child = children.get(pathElement);
+            if (child == null) {
+                child = new Node();
+                children.put(pathElement, child);
+            }
+            return child;
+        }
+    }
+}
@@ -35,22 +35,40 @@ public class ResourcesPermissionsMapping extends ConfigurationFile {
      */
     public static final String PROPERTIES_FILENAME = "resources-permissions-mapping.properties";
 
+    private final String propertiesFilename;
+
+    private final long tenantId;
+
     ResourcesPermissionsMapping(long tenantId) {
-        super(PROPERTIES_FILENAME, tenantId);
+        this(PROPERTIES_FILENAME, tenantId);
     }
 
     public ResourcesPermissionsMapping(String propertiesFilename, long tenantId) {
         super(propertiesFilename, tenantId);
+        this.propertiesFilename = propertiesFilename;
+        this.tenantId = tenantId;
     }
 
     public Set<String> getResourcePermissions(final String method, final String apiName, final String resourceName, final List<String> resourceQualifiers) {
+        final ResourcesPermissionsIndex permissionsIndex = getPermissionsIndex();
+        if (permissionsIndex != null) {
+            return permissionsIndex.getResourcePermissions(method, apiName, resourceName, resourceQualifiers, -1);
+        }
         final String key = buildResourceKey(method, apiName, resourceName, resourceQualifiers);
         return getPropertyAsSet(key);
     }
 
     public Set<String> getResourcePermissionsWithWildCard(final String method, final String apiName, final String resourceName,
             final List<String> resourceQualifiers) {
-        if (resourceQualifiers != null) {
+        final ResourcesPermissionsIndex permissionsIndex = getPermissionsIndex();
+        if (permissionsIndex != null && resourceQualifiers != null) {
+            for (int i = resourceQualifiers.size() - 1; i >= 0; i--) {
+                final Set<String> permissions = permissionsIndex.getResourcePermissions(method, apiName, resourceName, resourceQualifiers, i);
+                if (!permissions.isEmpty()) {
+                    return permissions;
+                }
+            }
+        } else if (resourceQualifiers != null) {
             for (int i = resourceQualifiers.size() - 1; i >= 0; i--) {
                 final List<String> resourceQualifiersWithWildCard = getResourceQualifiersWithWildCard(resourceQualifiers, i);
                 final String key = buildResourceKey(method, apiName, resourceName, resourceQualifiersWithWildCard);
@@ -63,6 +81,16 @@ public class ResourcesPermissionsMapping extends ConfigurationFile {
         return Collections.emptySet();
     }
 
+    /**
+     * @return the compiled index of the tenant mapping file, or null for the platform scope
+     */
+    protected ResourcesPermissionsIndex getPermissionsIndex() {
+        if (tenantId > 0) {
+            return ConfigurationFilesManager.getInstance().getTenantPermissionsIndex(propertiesFilename, tenantId);
+        }
+        return null;
+    }
+
     protected List<String> getResourceQualifiersWithWildCard(final List<String> resourceQualifiers, final int wildCardPosition) {
         final List<String> resourceQualifiersWithWildCard = new ArrayList<>(resourceQualifiers);
         resourceQualifiersWithWildCard.set(wildCardPosition, WILDCARD);
@@ -70,13 +98,13 @@ public class ResourcesPermissionsMapping extends ConfigurationFile {
     }
 
     protected String buildResourceKey(final String method, final String apiName, final String resourceName, final List<String> resourceQualifiers) {
-        String key = method + API_METHOD_SEPARATOR + apiName + "/" + resourceName;
+        final StringBuilder key = new StringBuilder(method).append(API_METHOD_SEPARATOR).append(apiName).append("/").append(resourceName);
         if (resourceQualifiers != null) {
             for (final String resourceQualifier : resourceQualifiers) {
-                key += "/" + resourceQualifier;
+                key.append("/").append(resourceQualifier);
             }
         }
-        return key;
+        return key.toString();
     }
 
     public Set<String> getResourcePermissions(final String method, final String apiName, final String resourceName) {
@@ -0,0 +1,187 @@
+/**
+ * Copyright (C) 2016 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.utils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Write a downloaded content into a servlet response, through a fixed size buffer, honoring single byte range requests
+ * (<code>Range: bytes=first-last</code>).<br />
+ * Multiple ranges and conditional range requests (<code>If-Range</code>) are answered with the whole content.
+ */
+public class ContentRangeWriter {
+
+    public static final int BUFFER_SIZE = 8 * 1024;
+
+    static final String RANGE_HEADER = "Range";
+
+    static final String IF_RANGE_HEADER = "If-Range";
+
+    static final String ACCEPT_RANGES_HEADER = "Accept-Ranges";
+
+    static final String CONTENT_RANGE_HEADER = "Content-Range";
+
+    static final String CONTENT_LENGTH_HEADER = "Content-Length";
+
+    private static final String BYTES_UNIT = "bytes";
+
+    /**
+     * Write the content of a file, or the requested range of it.
+     */
+    public static void write(final HttpServletRequest request, final HttpServletResponse response, final File file) throws IOException {
+        final long[] range = prepareResponse(request, response, file.length());
+        if (range == null) {
+            return;
+        }
+        final InputStream input = new FileInputStream(file);
+        try {
+            skipFully(input, range[0]);
+            copy(input, response.getOutputStream(), range[1] - range[0] + 1);
+        } finally {
+            input.close();
+        }
+    }
+
+    /**
+     * Write a content already in memory, or the requested range of it.
+     */
+    public static void write(final HttpServletRequest request, final HttpServletResponse response, final byte[] content) throws IOException {
+        final long[] range = prepareResponse(request, response, content.length);
+        if (range == null) {
+            return;
+        }
+        final OutputStream output = response.getOutputStream();
+        int offset = (int) range[0];
+        final int end = (int) range[1] + 1;
+        while (offset < end) {
+            final int length = Math.min(BUFFER_SIZE, end - offset);
+            output.write(content, offset, length);
+            offset += length;
+        }
+    }
+
+    /**
+     * Set the status and the length headers of the response
+     *
+     * @return the first and last positions to write, or null if nothing must be written
+     */
+    static long[] prepareResponse(final HttpServletRequest request, final HttpServletResponse response, final long contentLength) {
+        response.setHeader(ACCEPT_RANGES_HEADER, BYTES_UNIT);
+        long[] range = null;
+        if (request.getHeader(IF_RANGE_HEADER) == null) {
+            try {
+                range = parseRange(request.getHeader(RANGE_HEADER), contentLength);
+            } catch (final IllegalArgumentException e) {
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                response.setHeader(CONTENT_RANGE_HEADER, BYTES_UNIT + " */" + contentLength);
+                setContentLength(response, 0);
+                return null;
+            }
+        }
+        if (range == null) {
+            setContentLength(response, contentLength);
+            return contentLength > 0 ? new long[] { 0, contentLength - 1 } : null;
+        }
+        response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        response.setHeader(CONTENT_RANGE_HEADER, BYTES_UNIT + " " + range[0] + "-" + range[1] + "/" + contentLength);
+        setContentLength(response, range[1] - range[0] + 1);
+        return range;
+    }
+
+    /**
+     * Parse a single byte range header value
+     *
+     * @return the first and last positions of the range (inclusive), or null if the header is absent or not supported (in which
+     *         case the whole content must be sent)
+     * @throws IllegalArgumentException
+     *             if the range cannot be satisfied for a content of this length
+     */
+    static long[] parseRange(final String rangeHeader, final long contentLength) {
+        if (rangeHeader == null || !rangeHeader.startsWith(BYTES_UNIT + "=")) {
+            return null;
+        }
+        final String rangeSpec = rangeHeader.substring(BYTES_UNIT.length() + 1).trim();
+        final int dashIndex = rangeSpec.indexOf('-');
+        if (rangeSpec.contains(",") || dashIndex < 0) {
+            return null;
+        }
+        final long first;
+        final long last;
+        try {
+            final String firstPosition = rangeSpec.substring(0, dashIndex).trim();
+            final String lastPosition = rangeSpec.substring(dashIndex + 1).trim();
+            if (firstPosition.isEmpty()) {
+                // suffix range: the last n bytes
+                final long suffixLength = Long.parseLong(lastPosition);
+                if (suffixLength <= 0) {
+                    throw new IllegalArgumentException("Empty suffix range " + rangeHeader);
+                }
+                first = Math.max(0, contentLength - suffixLength);
+                last = contentLength - 1;
+            } else {
+                first = Long.parseLong(firstPosition);
+                last = lastPosition.isEmpty() ? contentLength - 1 : Math.min(Long.parseLong(lastPosition), contentLength - 1);
+            }
+        } catch (final NumberFormatException e) {
+            return null;
+        }
+        if (first < 0 || first > last) {
+            if (first >= contentLength) {
+                throw new IllegalArgumentException("Range " + rangeHeader + " not satisfiable for a content of " + contentLength + " bytes");
+            }
+            return null;
+        }
+        return new long[] { first, last };
+    }
+
+    private static void setContentLength(final HttpServletResponse response, final long contentLength) {
+        if (contentLength > Integer.MAX_VALUE) {
+            response.setHeader(CONTENT_LENGTH_HEADER, Long.toString(contentLength));
+        } else {
+            response.setContentLength((int) contentLength);
+        }
+    }
+
+    private static void skipFully(final InputStream input, final long count) throws IOException {
+        long remaining = count;
+        while (remaining > 0) {
+            final long skipped = input.skip(remaining);
+            if (skipped <= 0) {
+                throw new IOException("Unexpected end of content while skipping " + count + " bytes");
+            }
+            remaining -= skipped;
+        }
+    }
+
+    private static void copy(final InputStream input, final OutputStream output, final long count) throws IOException {
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        long remaining = count;
+        while (remaining > 0) {
+            final int read = input.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+            if (read < 0) {
+                throw new IOException("Unexpected end of content, " + remaining + " bytes missing");
+            }
+            output.write(buffer, 0, read);
+            remaining -= read;
+        }
+    }
+}
@@ -33,15 +33,36 @@ public class DocumentUtil {
         return output.toByteArray();
     }
 
+    /**
+     * Largest array the JVM can allocate
+     */
+    private static final long MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    /**
+     * Read the content of a file into an array of the exact size of the file (no intermediate buffer is allocated).<br />
+     * The callers check the size of the file against the attachment max size of the tenant before loading it.
+     *
+     * @throws IOException
+     *             if the file is too big to fit in an array
+     */
     public static byte[] getArrayByteFromFile(final File f) throws IOException {
         final long length = f.length();
-        if (length > Integer.MAX_VALUE) { // more than 2 GB
-            throw new IOException("File too big");
+        if (length > MAX_ARRAY_SIZE) {
+            throw new IOException("File too big: " + f.getName());
         }
 
         final FileInputStream input = new FileInputStream(f);
         try {
-            return getArrayByte(input, (int) length);
+            final byte[] content = new byte[(int) length];
+            int offset = 0;
+            while (offset < content.length) {
+                final int read = input.read(content, offset, content.length - offset);
+                if (read < 0) {
+                    throw new IOException("Unexpected end of file " + f.getName());
+                }
+                offset += read;
+            }
+            return content;
         } finally {
             input.close();
         }
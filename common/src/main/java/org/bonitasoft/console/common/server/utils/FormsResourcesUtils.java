@@ -24,10 +24,12 @@ import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.ArrayList;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.zip.ZipEntry;
@@ -37,6 +39,7 @@ import org.apache.commons.io.FileUtils;
 import org.bonitasoft.console.common.server.preferences.constants.WebBonitaConstantsUtils;
 import org.bonitasoft.console.common.server.preferences.properties.ProcessIdentifier;
 import org.bonitasoft.console.common.server.preferences.properties.SecurityProperties;
+import org.bonitasoft.console.common.server.utils.ProcessClassLoaderRegistry.ProcessClassLoader;
 import org.bonitasoft.engine.api.ProcessAPI;
 import org.bonitasoft.engine.api.TenantAPIAccessor;
 import org.bonitasoft.engine.api.TenantAdministrationAPI;
@@ -76,9 +79,20 @@ public class FormsResourcesUtils {
     public final static String UUID_SEPARATOR = "--";
 
     /**
-     * A map used to store the classloaders that are used to load some libraries extracted from the business archive
+     * The classloaders that are used to load some libraries extracted from the business archive
      */
-    private final static Map<Long, ClassLoader> PROCESS_CLASSLOADERS = new HashMap<Long, ClassLoader>();
+    private final static ProcessClassLoaderRegistry PROCESS_CLASSLOADERS = new ProcessClassLoaderRegistry();
+
+    /**
+     * Locks used to extract or delete the business archive resources of a process without blocking the other processes.<br />
+     * The locks are never removed: a thread may still hold or wait for the lock of a process when its resources are deleted.
+     */
+    private final static ConcurrentMap<Long, Object> PROCESS_RESOURCES_LOCKS = new ConcurrentHashMap<>();
+
+    /**
+     * Lock used to extract or delete the business data model client libraries, which are shared by all the processes
+     */
+    private final static Object BDM_LOCK = new Object();
 
     /**
      * Util class allowing to work with the BPM engine API
@@ -104,9 +118,25 @@ public class FormsResourcesUtils {
      * @throws org.bonitasoft.engine.session.InvalidSessionException
      * @throws org.bonitasoft.engine.exception.RetrieveException
      */
-    public static synchronized void retrieveApplicationFiles(final APISession session, final long processDefinitionID, final Date processDeployementDate)
+    public static void retrieveApplicationFiles(final APISession session, final long processDefinitionID, final Date processDeployementDate)
             throws IOException, ProcessDefinitionNotFoundException, InvalidSessionException, RetrieveException, BPMEngineException {
 
+        synchronized (getProcessResourcesLock(processDefinitionID)) {
+            extractApplicationFiles(session, processDefinitionID, processDeployementDate);
+        }
+        final File processApplicationsResourcesDir = FormsResourcesUtils.getApplicationResourceDir(session, processDefinitionID, processDeployementDate);
+        final URLClassLoader processClassLoader = createProcessClassloader(processDefinitionID, processApplicationsResourcesDir);
+        PROCESS_CLASSLOADERS.put(processDefinitionID, new ProcessClassLoader(processClassLoader, processClassLoader));
+    }
+
+    private static Object getProcessResourcesLock(final long processDefinitionID) {
+        final Object newLock = new Object();
+        final Object lock = PROCESS_RESOURCES_LOCKS.putIfAbsent(processDefinitionID, newLock);
+        return lock != null ? lock : newLock;
+    }
+
+    private static void extractApplicationFiles(final APISession session, final long processDefinitionID, final Date processDeployementDate)
+            throws IOException, ProcessDefinitionNotFoundException, InvalidSessionException, RetrieveException, BPMEngineException {
         final ProcessAccessor process = new ProcessAccessor(bpmEngineAPIUtil.getProcessAPI(session));
         final File formsDir = getApplicationResourceDir(session, processDefinitionID, processDeployementDate);
         if (!formsDir.exists()) {
@@ -144,10 +174,6 @@ public class FormsResourcesUtils {
         final ProcessDefinition definition = process.getDefinition(processDefinitionID);
         SecurityProperties.cleanProcessConfig(session.getTenantId(),
                 new ProcessIdentifier(definition.getName(), definition.getVersion()));
-
-        final File processApplicationsResourcesDir = FormsResourcesUtils.getApplicationResourceDir(session, processDefinitionID, processDeployementDate);
-        final ClassLoader processClassLoader = createProcessClassloader(processDefinitionID, processApplicationsResourcesDir);
-        PROCESS_CLASSLOADERS.put(processDefinitionID, processClassLoader);
     }
 
     /**
@@ -160,8 +186,8 @@ public class FormsResourcesUtils {
      * @return a Classloader
      * @throws java.io.IOException
      */
-    private static ClassLoader createProcessClassloader(final long processDefinitionID, final File processApplicationsResourcesDir) throws IOException {
-        ClassLoader processClassLoader = null;
+    private static URLClassLoader createProcessClassloader(final long processDefinitionID, final File processApplicationsResourcesDir) throws IOException {
+        URLClassLoader processClassLoader = null;
         try {
             final URL[] librariesURLs = getLibrariesURLs(processApplicationsResourcesDir);
             if (librariesURLs.length > 0) {
@@ -231,21 +257,23 @@ public class FormsResourcesUtils {
      */
     public ClassLoader getProcessClassLoader(final APISession session, final long processDefinitionID) {
         final File currentBDMFolder = FormsResourcesUtils.getCurrentBDMFolder(session);
-        if (PROCESS_CLASSLOADERS.containsKey(processDefinitionID)) {
-            // CHECK BDM VERSION AND SEE IF CLASSLOADER IS UP TO DATE
-            // IF NO RECREATE THE CLASSLOADER
-            if (isClassloaderUpToDateWithCurrentBdm(currentBDMFolder)) {
-                return PROCESS_CLASSLOADERS.get(processDefinitionID);
-            } else {
-                PROCESS_CLASSLOADERS.remove(processDefinitionID);
-                cleanBDMFolder(currentBDMFolder);
-                FormsResourcesUtils.createAndSaveProcessClassloader(session, processDefinitionID, currentBDMFolder);
-                return PROCESS_CLASSLOADERS.get(processDefinitionID);
+        // CHECK BDM VERSION AND SEE IF CLASSLOADER IS UP TO DATE
+        // IF NO RECREATE THE CLASSLOADER
+        if (PROCESS_CLASSLOADERS.contains(processDefinitionID) && !isClassloaderUpToDateWithCurrentBdm(currentBDMFolder)) {
+            PROCESS_CLASSLOADERS.remove(processDefinitionID);
+            synchronized (BDM_LOCK) {
+                if (!isClassloaderUpToDateWithCurrentBdm(currentBDMFolder)) {
+                    cleanBDMFolder(currentBDMFolder);
+                }
             }
         }
-        FormsResourcesUtils.createAndSaveProcessClassloader(session, processDefinitionID, currentBDMFolder);
-        return PROCESS_CLASSLOADERS.get(processDefinitionID);
+        return PROCESS_CLASSLOADERS.getOrCreate(processDefinitionID, new Callable<ProcessClassLoader>() {
 
+            @Override
+            public ProcessClassLoader call() {
+                return createProcessClassloaders(session, processDefinitionID, currentBDMFolder);
+            }
+        });
     }
 
     protected boolean isClassloaderUpToDateWithCurrentBdm(final File currentBDMFolder) {
@@ -253,7 +281,7 @@ public class FormsResourcesUtils {
     }
 
     protected static ClassLoader createProcessClassloader(final APISession session, final long processDefinitionID) {
-        ClassLoader processClassLoader = null;
+        URLClassLoader processClassLoader = null;
         try {
             final ProcessDefinition processDefinition = bpmEngineAPIUtil.getProcessAPI(session).getProcessDefinition(processDefinitionID);
 
@@ -313,9 +341,15 @@ public class FormsResourcesUtils {
      * @param processDefinitionID
      *            the process definition ID
      */
-    public static synchronized void removeApplicationFiles(final APISession session, final long processDefinitionID) {
+    public static void removeApplicationFiles(final APISession session, final long processDefinitionID) {
 
         PROCESS_CLASSLOADERS.remove(processDefinitionID);
+        synchronized (getProcessResourcesLock(processDefinitionID)) {
+            deleteApplicationFiles(session, processDefinitionID);
+        }
+    }
+
+    private static void deleteApplicationFiles(final APISession session, final long processDefinitionID) {
         try {
             final ProcessAPI processAPI = bpmEngineAPIUtil.getProcessAPI(session);
             final ProcessDefinition processDefinition = processAPI.getProcessDefinition(processDefinitionID);
@@ -561,15 +595,24 @@ public class FormsResourcesUtils {
         return urlArray;
     }
 
-    protected static synchronized ClassLoader createAndSaveProcessClassloader(final APISession session, final long processDefinitionID,
+    protected static ClassLoader createAndSaveProcessClassloader(final APISession session, final long processDefinitionID,
             final File currentBDMFolder) {
 
+        final ProcessClassLoader processClassLoader = createProcessClassloaders(session, processDefinitionID, currentBDMFolder);
+        PROCESS_CLASSLOADERS.put(processDefinitionID, processClassLoader);
+        return processClassLoader.getClassLoader();
+    }
+
+    private static ProcessClassLoader createProcessClassloaders(final APISession session, final long processDefinitionID, final File currentBDMFolder) {
+
         final ClassLoader parentClassLoader = createProcessClassloader(session, processDefinitionID);
         ClassLoader processClassLoader = null;
         try {
             if (currentBDMFolder != null) {
-                if (!currentBDMFolder.exists() || currentBDMFolder.listFiles().length == 0) {
-                    updateBDMClientFolder(session, currentBDMFolder);
+                synchronized (BDM_LOCK) {
+                    if (!currentBDMFolder.exists() || currentBDMFolder.listFiles().length == 0) {
+                        updateBDMClientFolder(session, currentBDMFolder);
+                    }
                 }
                 processClassLoader = createProcessClassloaderWithBDM(processDefinitionID, currentBDMFolder, parentClassLoader);
             }
@@ -580,7 +623,10 @@ public class FormsResourcesUtils {
                 LOGGER.log(Level.SEVERE, message, e);
             }
         }
-        PROCESS_CLASSLOADERS.put(processDefinitionID, processClassLoader);
-        return processClassLoader;
+        return new ProcessClassLoader(processClassLoader, asURLClassLoader(processClassLoader), asURLClassLoader(parentClassLoader));
+    }
+
+    private static URLClassLoader asURLClassLoader(final ClassLoader classLoader) {
+        return classLoader instanceof URLClassLoader ? (URLClassLoader) classLoader : null;
     }
 }
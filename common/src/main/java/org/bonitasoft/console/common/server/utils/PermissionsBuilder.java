@@ -1,5 +1,6 @@
 package org.bonitasoft.console.common.server.utils;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -35,15 +36,24 @@ public class PermissionsBuilder {
     private final CustomPermissionsMapping customPermissionsMapping;
     private final CompoundPermissionsMapping compoundPermissionsMapping;
     private final boolean apiAuthorizationsCheckEnabled;
+    private final ProfilePermissionsCache profilePermissionsCache;
 
     protected PermissionsBuilder(final APISession session, final ProfileAPI profileAPI,final ApplicationAPI applicationAPI, final CustomPermissionsMapping customPermissionsMapping,
             final CompoundPermissionsMapping compoundPermissionsMapping, final SecurityProperties securityProperties) {
+        this(session, profileAPI, applicationAPI, customPermissionsMapping, compoundPermissionsMapping, securityProperties,
+                ProfilePermissionsCache.getInstance(session.getTenantId()));
+    }
+
+    protected PermissionsBuilder(final APISession session, final ProfileAPI profileAPI, final ApplicationAPI applicationAPI,
+            final CustomPermissionsMapping customPermissionsMapping, final CompoundPermissionsMapping compoundPermissionsMapping,
+            final SecurityProperties securityProperties, final ProfilePermissionsCache profilePermissionsCache) {
         this.session = session;
         this.profileAPI = profileAPI;
         this.applicationAPI = applicationAPI;
         this.customPermissionsMapping = customPermissionsMapping;
         this.compoundPermissionsMapping = compoundPermissionsMapping;
         apiAuthorizationsCheckEnabled = securityProperties.isAPIAuthorizationsCheckEnabled();
+        this.profilePermissionsCache = profilePermissionsCache;
     }
 
     public Set<String> getPermissions() throws LoginFailedException {
@@ -61,39 +71,51 @@ public class PermissionsBuilder {
     }
 
     void addProfilesPermissions(final Set<String> permissions) throws LoginFailedException {
-        final Set<String> pageTokens;
         try {
-            pageTokens = getAllPagesForUser(permissions);
+            for (final Profile profile : getProfilesForUser()) {
+                permissions.addAll(getProfilePermissions(profile));
+            }
         } catch (final SearchException e) {
             throw new LoginFailedException(e);
         }
-        for (final String pageToken : pageTokens) {
-            permissions.addAll(getCompoundPermissions(pageToken));
+    }
+
+    List<Profile> getProfilesForUser() {
+        final List<Profile> userProfiles = new ArrayList<>();
+        int profilesIndex = 0;
+        int nbOfProfilesRetrieved = MAX_ELEMENTS_RETRIEVED;
+        while (nbOfProfilesRetrieved == MAX_ELEMENTS_RETRIEVED) {
+            final List<Profile> profiles = profileAPI.getProfilesForUser(session.getUserId(), profilesIndex, MAX_ELEMENTS_RETRIEVED, ProfileCriterion.ID_ASC);
+            nbOfProfilesRetrieved = profiles.size();
+            userProfiles.addAll(profiles);
+            profilesIndex = profilesIndex + nbOfProfilesRetrieved;
         }
+        return userProfiles;
     }
 
     /**
-     * return the page names the user can access and add custom permissions of the profile in the permissions set
+     * return the permissions granted by a profile, computed once for all the users of the profile until the tenant
+     * {@link ProfilePermissionsCache} is invalidated
      *
-     * @param permissions
-     *        the set to complete
+     * @param profile
+     *        the profile of the user
      * @return
-     *         the page names the user can access
+     *         the read only permissions of the profile
      * @throws SearchException
      */
-    Set<String> getAllPagesForUser(final Set<String> permissions) throws SearchException {
+    Set<String> getProfilePermissions(final Profile profile) throws SearchException {
+        final Set<String> cachedPermissions = profilePermissionsCache.get(profile.getId());
+        if (cachedPermissions != null) {
+            return cachedPermissions;
+        }
+        final long cacheVersion = profilePermissionsCache.getVersion();
+        final Set<String> permissions = new HashSet<>();
         final Set<String> pageTokens = new HashSet<>();
-        int profilesIndex = 0;
-        int nbOfProfilesRetrieved = MAX_ELEMENTS_RETRIEVED;
-        while (nbOfProfilesRetrieved == MAX_ELEMENTS_RETRIEVED) {
-            final List<Profile> profiles = profileAPI.getProfilesForUser(session.getUserId(), profilesIndex, MAX_ELEMENTS_RETRIEVED, ProfileCriterion.ID_ASC);
-            nbOfProfilesRetrieved = profiles.size();
-            for (final Profile profile : profiles) {
-                addPageAndCustomPermissionsOfProfile(permissions, pageTokens, profile);
-            }
-            profilesIndex = profilesIndex + nbOfProfilesRetrieved;
+        addPageAndCustomPermissionsOfProfile(permissions, pageTokens, profile);
+        for (final String pageToken : pageTokens) {
+            permissions.addAll(getCompoundPermissions(pageToken));
         }
-        return pageTokens;
+        return profilePermissionsCache.put(profile.getId(), permissions, cacheVersion);
     }
 
     void addPageAndCustomPermissionsOfProfile(final Set<String> permissions, final Set<String> pageTokens, final Profile profile) throws SearchException {
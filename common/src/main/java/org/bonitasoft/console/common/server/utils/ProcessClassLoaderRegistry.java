@@ -0,0 +1,254 @@
+/**
+ * Copyright (C) 2012 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.utils;
+
+import java.io.IOException;
+import java.net.URLClassLoader;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Registry of the classloaders of the processes libraries.<br />
+ * The classloader of a process is created only once even if it is requested by several threads at the same time, and the least recently
+ * used classloaders are closed when the registry holds more than {@link #MAX_SIZE_PROPERTY} processes. A classloader used during the last
+ * {@link #MIN_IDLE_TIME_PROPERTY} milliseconds is never evicted.<br />
+ * The classloaders replaced or removed from the registry may still be used by the threads which retrieved them, so they are only closed
+ * once they have not been used during {@link #MIN_IDLE_TIME_PROPERTY} milliseconds either.
+ */
+public class ProcessClassLoaderRegistry {
+
+    public static final String MAX_SIZE_PROPERTY = "org.bonitasoft.web.forms.processClassLoaders.maxSize";
+
+    public static final String MIN_IDLE_TIME_PROPERTY = "org.bonitasoft.web.forms.processClassLoaders.minIdleTime";
+
+    private static final int DEFAULT_MAX_SIZE = 200;
+
+    private static final long DEFAULT_MIN_IDLE_TIME = 60000L;
+
+    /**
+     * Logger
+     */
+    private static Logger LOGGER = Logger.getLogger(ProcessClassLoaderRegistry.class.getName());
+
+    private final ConcurrentMap<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Entries replaced or removed from the registry, waiting to be idle to be closed
+     */
+    private final ConcurrentLinkedQueue<Entry> retiredEntries = new ConcurrentLinkedQueue<>();
+
+    private final int maxSize;
+
+    private final long minIdleTime;
+
+    public ProcessClassLoaderRegistry() {
+        this(Integer.getInteger(MAX_SIZE_PROPERTY, DEFAULT_MAX_SIZE), Long.getLong(MIN_IDLE_TIME_PROPERTY, DEFAULT_MIN_IDLE_TIME));
+    }
+
+    ProcessClassLoaderRegistry(final int maxSize, final long minIdleTime) {
+        this.maxSize = maxSize;
+        this.minIdleTime = minIdleTime;
+    }
+
+    /**
+     * Retrieve the classloader of a process or create it if there is none yet. Concurrent calls for the same process wait for a single
+     * creation.
+     *
+     * @param processDefinitionID
+     *            the process definition ID
+     * @param factory
+     *            creates the classloader of the process
+     * @return the classloader of the process (may be null if the process has no libraries)
+     */
+    public ClassLoader getOrCreate(final long processDefinitionID, final Callable<ProcessClassLoader> factory) {
+        Entry entry = entries.get(processDefinitionID);
+        if (entry == null) {
+            final Entry newEntry = new Entry(factory);
+            entry = entries.putIfAbsent(processDefinitionID, newEntry);
+            if (entry == null) {
+                entry = newEntry;
+                entry.task.run();
+                evictIdleClassLoaders();
+                closeIdleRetiredClassLoaders();
+            }
+        }
+        return getClassLoader(processDefinitionID, entry);
+    }
+
+    /**
+     * Register the classloader of a process. The one it replaces is closed once it is idle.
+     */
+    public void put(final long processDefinitionID, final ProcessClassLoader processClassLoader) {
+        final Entry entry = new Entry(processClassLoader);
+        retire(entries.put(processDefinitionID, entry));
+        evictIdleClassLoaders();
+    }
+
+    /**
+     * Remove the classloader of a process from the registry. It is closed once it is idle.
+     */
+    public void remove(final long processDefinitionID) {
+        retire(entries.remove(processDefinitionID));
+    }
+
+    public boolean contains(final long processDefinitionID) {
+        return entries.containsKey(processDefinitionID);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private ClassLoader getClassLoader(final long processDefinitionID, final Entry entry) {
+        try {
+            final ClassLoader classLoader = entry.task.get().getClassLoader();
+            entry.lastAccess = System.currentTimeMillis();
+            return classLoader;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the classloader of process " + processDefinitionID, e);
+        } catch (final ExecutionException e) {
+            entries.remove(processDefinitionID, entry);
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("Unable to create the classloader of process " + processDefinitionID, cause);
+        }
+    }
+
+    /**
+     * Close the least recently used classloaders while the registry is too big
+     */
+    private void evictIdleClassLoaders() {
+        while (entries.size() > maxSize) {
+            final long idleSince = System.currentTimeMillis() - minIdleTime;
+            Map.Entry<Long, Entry> leastRecentlyUsed = null;
+            for (final Map.Entry<Long, Entry> candidate : entries.entrySet()) {
+                final Entry entry = candidate.getValue();
+                if (entry.task.isDone() && entry.lastAccess < idleSince
+                        && (leastRecentlyUsed == null || entry.lastAccess < leastRecentlyUsed.getValue().lastAccess)) {
+                    leastRecentlyUsed = candidate;
+                }
+            }
+            if (leastRecentlyUsed == null) {
+                return;
+            }
+            if (entries.remove(leastRecentlyUsed.getKey(), leastRecentlyUsed.getValue())) {
+                if (LOGGER.isLoggable(Level.FINE)) {
+                    LOGGER.log(Level.FINE, "Closing the idle classloader of process " + leastRecentlyUsed.getKey());
+                }
+                close(leastRecentlyUsed.getValue());
+            }
+        }
+    }
+
+    private void retire(final Entry entry) {
+        if (entry != null) {
+            retiredEntries.add(entry);
+        }
+        closeIdleRetiredClassLoaders();
+    }
+
+    /**
+     * Close the replaced or removed classloaders which have not been used during the min idle time
+     */
+    private void closeIdleRetiredClassLoaders() {
+        final long idleSince = System.currentTimeMillis() - minIdleTime;
+        for (final Iterator<Entry> iterator = retiredEntries.iterator(); iterator.hasNext();) {
+            final Entry entry = iterator.next();
+            if (entry.lastAccess < idleSince && retiredEntries.remove(entry)) {
+                close(entry);
+            }
+        }
+    }
+
+    private void close(final Entry entry) {
+        if (entry != null && entry.task.isDone()) {
+            try {
+                entry.task.get().close();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (final ExecutionException e) {
+                // the classloader was not created so there is nothing to close
+            }
+        }
+    }
+
+    private static class Entry {
+
+        private final FutureTask<ProcessClassLoader> task;
+
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        Entry(final Callable<ProcessClassLoader> factory) {
+            task = new FutureTask<>(factory);
+        }
+
+        Entry(final ProcessClassLoader processClassLoader) {
+            task = new FutureTask<>(new Callable<ProcessClassLoader>() {
+
+                @Override
+                public ProcessClassLoader call() {
+                    return processClassLoader;
+                }
+            });
+            task.run();
+        }
+    }
+
+    /**
+     * The classloader of a process and the classloaders created for it, which are closed when the process classloader is evicted
+     */
+    public static class ProcessClassLoader {
+
+        private final ClassLoader classLoader;
+
+        private final URLClassLoader[] createdClassLoaders;
+
+        public ProcessClassLoader(final ClassLoader classLoader, final URLClassLoader... createdClassLoaders) {
+            this.classLoader = classLoader;
+            this.createdClassLoaders = createdClassLoaders;
+        }
+
+        public ClassLoader getClassLoader() {
+            return classLoader;
+        }
+
+        void close() {
+            for (final URLClassLoader createdClassLoader : createdClassLoaders) {
+                if (createdClassLoader != null) {
+                    try {
+                        createdClassLoader.close();
+                    } catch (final IOException e) {
+                        if (LOGGER.isLoggable(Level.WARNING)) {
+                            LOGGER.log(Level.WARNING, "Unable to close a process classloader", e);
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
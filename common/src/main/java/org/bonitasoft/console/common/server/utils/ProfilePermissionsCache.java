@@ -0,0 +1,131 @@
+/**
+ * Copyright (C) 2016 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.utils;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tenant scoped cache of the permissions granted by each profile (profile permission, pages of the profile entries and of the
+ * applications mapped to compound permissions, custom profile permissions).<br />
+ * Entries expire after a configurable delay (system property {@link #TIME_TO_LIVE_PROPERTY}, in milliseconds) and the whole tenant
+ * cache is invalidated when applications, application pages, pages or the permissions mapping files are modified.
+ */
+public class ProfilePermissionsCache {
+
+    public static final String TIME_TO_LIVE_PROPERTY = "org.bonitasoft.web.permissions.cacheTimeToLive";
+
+    private static final long DEFAULT_TIME_TO_LIVE = 60000L;
+
+    private static final ConcurrentMap<Long, ProfilePermissionsCache> INSTANCES = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Long, CachedPermissions> profilesPermissions = new ConcurrentHashMap<>();
+
+    /**
+     * Incremented on each invalidation, so that permissions computed before an invalidation are not cached after it
+     */
+    private final AtomicLong version = new AtomicLong();
+
+    private final long timeToLive;
+
+    ProfilePermissionsCache(final long timeToLive) {
+        this.timeToLive = timeToLive;
+    }
+
+    public static ProfilePermissionsCache getInstance(final long tenantId) {
+        ProfilePermissionsCache cache = INSTANCES.get(tenantId);
+        if (cache == null) {
+            final ProfilePermissionsCache newCache = new ProfilePermissionsCache(Long.getLong(TIME_TO_LIVE_PROPERTY, DEFAULT_TIME_TO_LIVE));
+            cache = INSTANCES.putIfAbsent(tenantId, newCache);
+            if (cache == null) {
+                cache = newCache;
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Invalidate the permissions of all the profiles of a tenant
+     */
+    public static void invalidate(final long tenantId) {
+        final ProfilePermissionsCache cache = INSTANCES.get(tenantId);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * @return the read only permissions of the profile or null if they are not cached or expired
+     */
+    public Set<String> get(final long profileId) {
+        final CachedPermissions cachedPermissions = profilesPermissions.get(profileId);
+        if (cachedPermissions == null) {
+            return null;
+        }
+        if (cachedPermissions.isExpired()) {
+            profilesPermissions.remove(profileId, cachedPermissions);
+            return null;
+        }
+        return cachedPermissions.permissions;
+    }
+
+    /**
+     * @return the version of the cache to give to {@link #put(long, Set, long)} once the permissions of a profile are computed
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Cache the permissions of a profile, unless the cache was invalidated since they started to be computed
+     *
+     * @param fromVersion
+     *            the version of the cache before computing the permissions
+     * @return the read only view of the permissions
+     */
+    public Set<String> put(final long profileId, final Set<String> permissions, final long fromVersion) {
+        final CachedPermissions cachedPermissions = new CachedPermissions(Collections.unmodifiableSet(permissions), System.currentTimeMillis()
+                + timeToLive);
+        profilesPermissions.put(profileId, cachedPermissions);
+        if (version.get() != fromVersion) {
+            profilesPermissions.remove(profileId, cachedPermissions);
+        }
+        return cachedPermissions.permissions;
+    }
+
+    public void clear() {
+        version.incrementAndGet();
+        profilesPermissions.clear();
+    }
+
+    private static class CachedPermissions {
+
+        private final Set<String> permissions;
+
+        private final long expirationDate;
+
+        CachedPermissions(final Set<String> permissions, final long expirationDate) {
+            this.permissions = permissions;
+            this.expirationDate = expirationDate;
+        }
+
+        boolean isExpired() {
+            return System.currentTimeMillis() > expirationDate;
+        }
+    }
+}
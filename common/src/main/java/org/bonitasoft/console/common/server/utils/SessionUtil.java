@@ -49,11 +49,17 @@ public class SessionUtil {
      */
     public static final String PERMISSIONS_SESSION_PARAM_KEY = "permissions";
 
+    /**
+     * the session param for the rights of the user computed for the portal
+     */
+    public static final String USER_RIGHTS_SESSION_PARAM_KEY = "userRights";
+
     public static void sessionLogin(final User user, final APISession apiSession, final Set<String> permissions, final HttpSession session) {
         session.setAttribute(USERNAME_SESSION_PARAM, user.getUsername());
         session.setAttribute(USER_SESSION_PARAM_KEY, user);
         session.setAttribute(API_SESSION_PARAM_KEY, apiSession);
         session.setAttribute(PERMISSIONS_SESSION_PARAM_KEY, permissions);
+        session.removeAttribute(USER_RIGHTS_SESSION_PARAM_KEY);
     }
 
     public static void sessionLogout(final HttpSession session) {
@@ -61,6 +67,7 @@ public class SessionUtil {
         session.removeAttribute(USERNAME_SESSION_PARAM);
         session.removeAttribute(USER_SESSION_PARAM_KEY);
         session.removeAttribute(PERMISSIONS_SESSION_PARAM_KEY);
+        session.removeAttribute(USER_RIGHTS_SESSION_PARAM_KEY);
         session.invalidate();
     }
 }
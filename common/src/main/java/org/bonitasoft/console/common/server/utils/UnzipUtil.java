@@ -15,15 +15,13 @@
 package org.bonitasoft.console.common.server.utils;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 
-import org.bonitasoft.engine.io.IOUtil;
-
 /**
- * Utility class extracting zip file
+ * Utility class extracting zip file.<br />
+ * Extractions into different folders run concurrently, see {@link ZipExtractor}.
  *
  * @author Zhiheng Yang
  */
@@ -40,8 +38,8 @@ public class UnzipUtil {
      * @throws IOException
      * @throws FileNotFoundException
      */
-    public static synchronized void unzip(final InputStream sourceFile, final String targetPath) throws FileNotFoundException, IOException {
-        IOUtil.unzipToFolder(sourceFile, new File(targetPath));
+    public static void unzip(final InputStream sourceFile, final String targetPath) throws FileNotFoundException, IOException {
+        ZipExtractor.getInstance().extract(sourceFile, new File(targetPath));
     }
 
     /**
@@ -53,14 +51,15 @@ public class UnzipUtil {
      * @throws IOException
      * @throws FileNotFoundException
      */
-    public static synchronized void unzip(final File zipFile, final String targetPath) throws FileNotFoundException, IOException {
-        try (final FileInputStream zipFileInputStream = new FileInputStream(zipFile);) {
-            unzip(zipFileInputStream, targetPath);
+    public static void unzip(final File zipFile, final String targetPath) throws FileNotFoundException, IOException {
+        if (!zipFile.isFile()) {
+            throw new FileNotFoundException(zipFile.getPath());
         }
+        ZipExtractor.getInstance().extract(zipFile, new File(targetPath));
 
     }
 
-    public static synchronized void unzip(final File zipFile, final String targetPath, final boolean deleteFileAfterZip) throws FileNotFoundException,
+    public static void unzip(final File zipFile, final String targetPath, final boolean deleteFileAfterZip) throws FileNotFoundException,
             IOException {
         unzip(zipFile, targetPath);
         if (deleteFileAfterZip) {
@@ -68,7 +67,7 @@ public class UnzipUtil {
         }
     }
 
-    public static synchronized String getZipNameWithoutExtention(final File zipFile) {
+    public static String getZipNameWithoutExtention(final File zipFile) {
         String zipName = zipFile.getName();
         if (zipName.indexOf(".") > 0) {
             zipName = zipName.substring(0, zipName.lastIndexOf("."));
@@ -0,0 +1,401 @@
+/**
+ * Copyright (C) 2016 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.input.CloseShieldInputStream;
+
+/**
+ * Extract zip archives (custom pages, themes...) into folders.<br />
+ * Only the extractions into the same target folder are serialized. An archive is extracted in a temporary folder next to its
+ * target folder, so that no file is ever seen partially written. When the target folder does not exist yet, the temporary folder
+ * is renamed; otherwise the extracted files are moved into it one by one, and a reader may see a mix of previous and new files
+ * while they are published.<br />
+ * The entries of a zip file are extracted concurrently on a bounded pool of threads (system property {@link #POOL_SIZE_PROPERTY})
+ * shared by all the extractions; the entries of a zip stream can only be read one after the other.
+ */
+public class ZipExtractor {
+
+    public static final String POOL_SIZE_PROPERTY = "org.bonitasoft.web.unzip.poolSize";
+
+    private static final int DEFAULT_POOL_SIZE = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+    /**
+     * Below this number of files per thread, the scheduling costs more than the extraction
+     */
+    private static final int MIN_FILES_PER_TASK = 16;
+
+    private static final String TEMP_FOLDER_SUFFIX = ".unzip";
+
+    private static final Logger LOGGER = Logger.getLogger(ZipExtractor.class.getName());
+
+    private static final ZipExtractor INSTANCE = new ZipExtractor(Integer.getInteger(POOL_SIZE_PROPERTY, DEFAULT_POOL_SIZE));
+
+    private final int poolSize;
+
+    private ExecutorService executor;
+
+    /**
+     * Locks of the target folders being extracted, by canonical path
+     */
+    private final Map<String, FolderLock> folderLocks = new HashMap<>();
+
+    ZipExtractor(final int poolSize) {
+        this.poolSize = Math.max(1, poolSize);
+    }
+
+    public static ZipExtractor getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Extract a zip file into a folder, adding its content to the existing one
+     */
+    public void extract(final File zipFile, final File targetFolder) throws IOException {
+        final long startTime = System.currentTimeMillis();
+        final FolderLock lock = lock(targetFolder);
+        try (ZipFile zip = new ZipFile(zipFile)) {
+            final File tempFolder = createTempFolder(targetFolder);
+            try {
+                final int filesCount = extractEntries(zip, tempFolder);
+                publish(tempFolder, targetFolder);
+                logExtractionTime(zipFile.getName(), targetFolder, filesCount, startTime);
+            } finally {
+                FileUtils.deleteQuietly(tempFolder);
+            }
+        } finally {
+            unlock(lock);
+        }
+    }
+
+    /**
+     * Extract a zip stream into a folder, adding its content to the existing one.<br />
+     * The caller is responsible for closing the stream.
+     */
+    public void extract(final InputStream zipStream, final File targetFolder) throws IOException {
+        final long startTime = System.currentTimeMillis();
+        final FolderLock lock = lock(targetFolder);
+        try {
+            final File tempFolder = createTempFolder(targetFolder);
+            try {
+                final int filesCount = extractEntries(new ZipInputStream(new CloseShieldInputStream(zipStream)), tempFolder);
+                publish(tempFolder, targetFolder);
+                logExtractionTime("zip stream", targetFolder, filesCount, startTime);
+            } finally {
+                FileUtils.deleteQuietly(tempFolder);
+            }
+        } finally {
+            unlock(lock);
+        }
+    }
+
+    private int extractEntries(final ZipFile zip, final File folder) throws IOException {
+        final String folderPath = folder.getCanonicalPath();
+        final List<ZipEntry> fileEntries = new ArrayList<>();
+        final Enumeration<? extends ZipEntry> entries = zip.entries();
+        while (entries.hasMoreElements()) {
+            final ZipEntry entry = entries.nextElement();
+            final File file = getEntryFile(folderPath, entry);
+            if (entry.isDirectory()) {
+                forceMkdir(file);
+            } else {
+                forceMkdir(file.getParentFile());
+                fileEntries.add(entry);
+            }
+        }
+        final int tasksCount = Math.min(poolSize, (fileEntries.size() + MIN_FILES_PER_TASK - 1) / MIN_FILES_PER_TASK);
+        if (tasksCount <= 1) {
+            new ExtractionTask(zip, folderPath, fileEntries, 0, 1, new AtomicBoolean()).call();
+        } else {
+            extractConcurrently(zip, folderPath, fileEntries, tasksCount);
+        }
+        return fileEntries.size();
+    }
+
+    /**
+     * Share the files between the tasks, the first one being executed by the current thread.<br />
+     * All the tasks are finished when it returns, even on failure, so that no file is written once the zip file is closed and
+     * the extraction folder deleted.
+     */
+    private void extractConcurrently(final ZipFile zip, final String folderPath, final List<ZipEntry> fileEntries, final int tasksCount)
+            throws IOException {
+        final AtomicBoolean aborted = new AtomicBoolean();
+        final List<Future<Void>> futures = new ArrayList<>(tasksCount - 1);
+        for (int i = 1; i < tasksCount; i++) {
+            futures.add(getExecutor().submit(new ExtractionTask(zip, folderPath, fileEntries, i, tasksCount, aborted)));
+        }
+        Throwable failure = null;
+        try {
+            new ExtractionTask(zip, folderPath, fileEntries, 0, tasksCount, aborted).call();
+        } catch (final IOException | RuntimeException e) {
+            failure = e;
+            aborted.set(true);
+        }
+        boolean interrupted = false;
+        for (final Future<Void> future : futures) {
+            while (true) {
+                try {
+                    future.get();
+                    break;
+                } catch (final InterruptedException e) {
+                    interrupted = true;
+                    aborted.set(true);
+                } catch (final ExecutionException e) {
+                    if (failure == null) {
+                        failure = e.getCause();
+                        aborted.set(true);
+                    }
+                    break;
+                } catch (final CancellationException e) {
+                    if (failure == null) {
+                        failure = e;
+                        aborted.set(true);
+                    }
+                    break;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while extracting " + zip.getName());
+        }
+        if (failure instanceof IOException) {
+            throw (IOException) failure;
+        }
+        if (failure != null) {
+            throw new IOException("Unable to extract " + zip.getName(), failure);
+        }
+    }
+
+    private int extractEntries(final ZipInputStream zipStream, final File folder) throws IOException {
+        final String folderPath = folder.getCanonicalPath();
+        int filesCount = 0;
+        ZipEntry entry;
+        while ((entry = zipStream.getNextEntry()) != null) {
+            final File file = getEntryFile(folderPath, entry);
+            if (entry.isDirectory()) {
+                forceMkdir(file);
+            } else {
+                forceMkdir(file.getParentFile());
+                Files.copy(zipStream, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                filesCount++;
+            }
+        }
+        return filesCount;
+    }
+
+    /**
+     * @throws IOException
+     *             if the entry would be extracted outside of the folder
+     */
+    private static File getEntryFile(final String folderPath, final ZipEntry entry) throws IOException {
+        final File file = new File(folderPath, entry.getName());
+        if (!file.getCanonicalPath().startsWith(folderPath + File.separator)) {
+            throw new IOException("The zip entry " + entry.getName() + " is outside of the extraction folder.");
+        }
+        return file;
+    }
+
+    private static void forceMkdir(final File folder) throws IOException {
+        if (!folder.isDirectory()) {
+            FileUtils.forceMkdir(folder);
+        }
+    }
+
+    private static File createTempFolder(final File targetFolder) throws IOException {
+        final File parentFolder = targetFolder.getAbsoluteFile().getParentFile();
+        forceMkdir(parentFolder);
+        return Files.createTempDirectory(parentFolder.toPath(), "." + targetFolder.getName() + TEMP_FOLDER_SUFFIX).toFile();
+    }
+
+    /**
+     * Move the extracted files to the target folder, renaming the whole extraction folder when the target folder does not exist.<br />
+     * Otherwise each file replaces the existing one on its own, so the target folder is only consistent once all the files are moved.
+     */
+    private static void publish(final File extractedFolder, final File targetFolder) throws IOException {
+        if (!targetFolder.exists()) {
+            move(extractedFolder, targetFolder);
+            return;
+        }
+        final File[] extractedFiles = extractedFolder.listFiles();
+        if (extractedFiles == null) {
+            throw new IOException("Unable to list the extracted files of " + extractedFolder.getPath());
+        }
+        for (final File extractedFile : extractedFiles) {
+            final File targetFile = new File(targetFolder, extractedFile.getName());
+            if (extractedFile.isDirectory() && targetFile.isDirectory()) {
+                publish(extractedFile, targetFile);
+            } else {
+                if (targetFile.exists()) {
+                    FileUtils.forceDelete(targetFile);
+                }
+                move(extractedFile, targetFile);
+            }
+        }
+    }
+
+    private static void move(final File source, final File target) throws IOException {
+        try {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        } catch (final AtomicMoveNotSupportedException e) {
+            Files.move(source.toPath(), target.toPath());
+        }
+    }
+
+    private static void logExtractionTime(final String archiveName, final File targetFolder, final int filesCount, final long startTime) {
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.log(Level.FINE, "Extracted " + filesCount + " files of " + archiveName + " into " + targetFolder.getPath() + " in "
+                    + (System.currentTimeMillis() - startTime) + " ms");
+        }
+    }
+
+    private FolderLock lock(final File targetFolder) throws IOException {
+        final String path = targetFolder.getCanonicalPath();
+        final FolderLock lock;
+        synchronized (folderLocks) {
+            FolderLock folderLock = folderLocks.get(path);
+            if (folderLock == null) {
+                folderLock = new FolderLock(path);
+                folderLocks.put(path, folderLock);
+            }
+            folderLock.users++;
+            lock = folderLock;
+        }
+        lock.lock();
+        return lock;
+    }
+
+    private void unlock(final FolderLock lock) {
+        lock.unlock();
+        synchronized (folderLocks) {
+            lock.users--;
+            if (lock.users == 0) {
+                folderLocks.remove(lock.path);
+            }
+        }
+    }
+
+    private synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            final AtomicInteger threadNumber = new AtomicInteger();
+            executor = Executors.newFixedThreadPool(poolSize, new ThreadFactory() {
+
+                @Override
+                public Thread newThread(final Runnable runnable) {
+                    final Thread thread = new Thread(runnable, "bonita-unzip-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        return executor;
+    }
+
+    /**
+     * Stop the threads of the pool, the extraction tasks not started yet are cancelled. The extractions executed afterwards restart it.
+     */
+    public synchronized void shutdown() {
+        if (executor != null) {
+            for (final Runnable task : executor.shutdownNow()) {
+                // tasks not started yet would never complete: cancel them so that the threads waiting for them are released
+                ((Future<?>) task).cancel(false);
+            }
+            executor = null;
+        }
+    }
+
+    /**
+     * Extract one file out of tasksCount, starting from the file at taskIndex, until the extraction is aborted
+     */
+    private static class ExtractionTask implements Callable<Void> {
+
+        private final ZipFile zip;
+
+        private final String folderPath;
+
+        private final List<ZipEntry> fileEntries;
+
+        private final int taskIndex;
+
+        private final int tasksCount;
+
+        private final AtomicBoolean aborted;
+
+        ExtractionTask(final ZipFile zip, final String folderPath, final List<ZipEntry> fileEntries, final int taskIndex, final int tasksCount,
+                final AtomicBoolean aborted) {
+            this.zip = zip;
+            this.folderPath = folderPath;
+            this.fileEntries = fileEntries;
+            this.taskIndex = taskIndex;
+            this.tasksCount = tasksCount;
+            this.aborted = aborted;
+        }
+
+        @Override
+        public Void call() throws IOException {
+            for (int i = taskIndex; i < fileEntries.size() && !aborted.get(); i += tasksCount) {
+                final ZipEntry entry = fileEntries.get(i);
+                try (InputStream input = zip.getInputStream(entry)) {
+                    Files.copy(input, new File(folderPath, entry.getName()).toPath(), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            return null;
+        }
+    }
+
+    private static class FolderLock extends ReentrantLock {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String path;
+
+        /**
+         * Number of threads holding or waiting for the lock, guarded by the locks map
+         */
+        private int users = 0;
+
+        FolderLock(final String path) {
+            this.path = path;
+        }
+    }
+}
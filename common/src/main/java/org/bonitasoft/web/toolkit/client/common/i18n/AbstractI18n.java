@@ -484,7 +484,18 @@ public abstract class AbstractI18n {
 
     public LOCALE defaultLocale = LOCALE.en;
 
-    private final Map<LOCALE, Map<String, String>> locales = new HashMap<LOCALE, Map<String, String>>();
+    private final Map<LOCALE, Map<String, String>> locales;
+
+    protected AbstractI18n() {
+        this(new HashMap<LOCALE, Map<String, String>>());
+    }
+
+    /**
+     * @param locales the map holding the loaded locales, must be thread safe when the locales are loaded while requests are served
+     */
+    protected AbstractI18n(final Map<LOCALE, Map<String, String>> locales) {
+        this.locales = locales;
+    }
 
     // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
     // SINGLETON
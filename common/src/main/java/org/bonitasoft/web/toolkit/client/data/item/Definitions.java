@@ -41,7 +41,10 @@ public class Definitions {
         return getInstance().getDefinition(token);
     }
 
-    public final ItemDefinition<?> getDefinition(final String token) {
+    /**
+     * Synchronized since the server shares the definitions between the requests
+     */
+    public final synchronized ItemDefinition<?> getDefinition(final String token) {
         if (itemDefinitions.containsKey(token)) {
             return itemDefinitions.get(token);
         } else if (DummyItemDefinition.TOKEN.equals(token)) {
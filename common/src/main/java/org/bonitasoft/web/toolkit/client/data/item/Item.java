@@ -15,12 +15,14 @@
 package org.bonitasoft.web.toolkit.client.data.item;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
+import org.bonitasoft.web.toolkit.client.ItemDefinitionFactory;
 import org.bonitasoft.web.toolkit.client.common.json.JSonSerializer;
 import org.bonitasoft.web.toolkit.client.common.util.StringUtil;
 import org.bonitasoft.web.toolkit.client.data.APIID;
@@ -43,7 +45,10 @@ public abstract class Item implements IItem {
 
     public Item(final IItem item) {
         super();
-        attributes.putAll(item.getAttributes());
+        // The definition of this item may not be available yet, the values will be moved into their slots once it is
+        for (final Entry<String, String> attribute : item.getAttributes().entrySet()) {
+            attributes.put(attribute.getKey(), attribute.getValue());
+        }
     }
 
     @Override
@@ -55,9 +60,12 @@ public abstract class Item implements IItem {
     // DEFAULT FILTERS SUPERVISOR AND TEAM MANAGER
     // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
-    private final Map<String, String> attributes = new HashMap<String, String>();
+    private final ItemAttributeValues attributes = new ItemAttributeValues();
 
-    private final Map<String, IItem> deploys = new HashMap<String, IItem>();
+    /**
+     * Created on the first deploy, most of the items have none
+     */
+    private Map<String, IItem> deploys = null;
 
     // private final Map<String, Long> counters = new HashMap<String, Long>();
 
@@ -96,6 +104,31 @@ public abstract class Item implements IItem {
         return apiid;
     }
 
+    /**
+     * Get the definition of this item, bound to its attribute values on the first call.
+     * <p>
+     * Many items create a new definition on each call of {@link #getItemDefinition()}, so the items are bound to the definition
+     * registered in {@link Definitions} for the same token, shared by all the items of a type.
+     */
+    ItemDefinition<?> getBoundItemDefinition() {
+        if (attributes.getDefinition() == null) {
+            attributes.bind(getSharedItemDefinition(getItemDefinition()));
+        }
+        return attributes.getDefinition();
+    }
+
+    private static ItemDefinition<?> getSharedItemDefinition(final ItemDefinition<?> itemDefinition) {
+        if (itemDefinition == null || ItemDefinitionFactory.getDefaultFactory() == null) {
+            return itemDefinition;
+        }
+        final ItemDefinition<?> sharedDefinition = Definitions.get(itemDefinition.getToken());
+        // the registered definition may be of another type if the factory maps the token elsewhere
+        if (sharedDefinition != null && sharedDefinition.getClass() == itemDefinition.getClass()) {
+            return sharedDefinition;
+        }
+        return itemDefinition;
+    }
+
     // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
     // DEFAULT BEHAVIOR
     // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -258,7 +291,7 @@ public abstract class Item implements IItem {
      */
     @Override
     public final void setAttribute(final String name, final String value, final boolean applyModifiers, final boolean applyValidators) {
-        final ItemAttribute attribute = getItemDefinition().getAttribute(name);
+        final ItemAttribute attribute = getBoundItemDefinition().getAttribute(name);
 
         String realValue = value;
         if (attribute != null && applyModifiers) {
@@ -335,6 +368,9 @@ public abstract class Item implements IItem {
      */
     @Override
     public void setDeploy(final String attributeName, final IItem item) {
+        if (deploys == null) {
+            deploys = new HashMap<String, IItem>();
+        }
         deploys.put(attributeName, item);
     }
 
@@ -346,7 +382,9 @@ public abstract class Item implements IItem {
      */
     @Override
     public final void removeDeploy(final String attributeName) {
-        deploys.remove(attributeName);
+        if (deploys != null) {
+            deploys.remove(attributeName);
+        }
     }
 
     /**
@@ -384,7 +422,7 @@ public abstract class Item implements IItem {
      */
     @Override
     public final boolean hasAttribute(final String name) {
-        return attributes.containsKey(name);
+        return attributes.contains(name);
     }
 
     /**
@@ -400,10 +438,10 @@ public abstract class Item implements IItem {
     public final String getAttributeValue(final String attributeName, final boolean applyModifiers) {
 
         // Detect deploy called using "thisAttributeToDeployName.deployedItemAttributeName"
-        final String[] splittedAttribute = attributeName.split("\\.");
+        final String[] splittedAttribute = attributeName.indexOf('.') < 0 ? null : attributeName.split("\\.");
 
         // Read a deployed attribute
-        if (splittedAttribute.length == 2) {
+        if (splittedAttribute != null && splittedAttribute.length == 2) {
             final IItem deploy = getDeploy(splittedAttribute[0]);
 
             return deploy.getAttributeValue(splittedAttribute[1]);
@@ -411,7 +449,7 @@ public abstract class Item implements IItem {
         }
 
         // Read an id from a deployed attribute
-        else if (deploys.containsKey(attributeName)) {
+        else if (deploys != null && deploys.containsKey(attributeName)) {
 
             final IItem deploy = getDeploy(attributeName);
 
@@ -425,7 +463,7 @@ public abstract class Item implements IItem {
         // Read a local attribute
         else {
 
-            final ItemAttribute attribute = getItemDefinition().getAttribute(attributeName);
+            final ItemAttribute attribute = getBoundItemDefinition().getAttribute(attributeName);
 
             String realValue = attributes.get(attributeName);
 
@@ -558,7 +596,7 @@ public abstract class Item implements IItem {
     public final Map<String, String> getAttributes(final boolean applyModifiers) {
         final Map<String, String> results = new HashMap<String, String>();
 
-        for (final String attributeName : attributes.keySet()) {
+        for (final String attributeName : attributes.getNames()) {
             results.put(attributeName, this.getAttributeValue(attributeName, applyModifiers));
         }
 
@@ -576,12 +614,15 @@ public abstract class Item implements IItem {
     public final IItem getDeploy(final String attributeName) {
         // TODO If not deployed, automatically call the API to deploy.
 
-        return deploys.get(attributeName);
+        return deploys == null ? null : deploys.get(attributeName);
     }
 
+    /**
+     * @return This method returns the deployed attributes, as an empty read only map if there are none.
+     */
     @Override
     public Map<String, IItem> getDeploys() {
-        return deploys;
+        return deploys == null ? Collections.<String, IItem> emptyMap() : deploys;
     }
 
     // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -590,7 +631,7 @@ public abstract class Item implements IItem {
 
     @Override
     public final ArrayList<String> getAttributeNames() {
-        return new ArrayList<String>(attributes.keySet());
+        return attributes.getNames();
     }
 
     @Override
@@ -633,7 +674,7 @@ public abstract class Item implements IItem {
     @Override
     public final String toString() {
         final StringBuilder sb = new StringBuilder();
-        for (final String key : attributes.keySet()) {
+        for (final String key : attributes.getNames()) {
             final String rawValue = attributes.get(key);
             final String cleanValue = this.getAttributeValue(key);
 
@@ -645,7 +686,7 @@ public abstract class Item implements IItem {
             sb.append("\r\n");
         }
 
-        for (final Entry<String, IItem> entry : deploys.entrySet()) {
+        for (final Entry<String, IItem> entry : getDeploys().entrySet()) {
             sb.append(entry.getKey()).append(" : ").append(entry.getValue());
             sb.append("\r\n");
         }
@@ -657,11 +698,12 @@ public abstract class Item implements IItem {
 
         final StringBuilder json = new StringBuilder().append("{");
 
+        final Map<String, IItem> itemDeploys = getDeploys();
         boolean first = true;
         for (final String attribute : getAttributeNames()) {
-            if (deploys.containsKey(attribute)) {
+            if (itemDeploys.containsKey(attribute)) {
                 json.append(!first ? "," : "").append(JSonSerializer.quote(attribute)).append(":")
-                        .append(JSonSerializer.serialize(deploys.get(attribute)));
+                        .append(JSonSerializer.serialize(itemDeploys.get(attribute)));
             } else {
                 json.append(!first ? "," : "").append(JSonSerializer.quote(attribute)).append(":")
                         .append(JSonSerializer.quote(this.getAttributeValue(attribute)));
@@ -688,7 +730,7 @@ public abstract class Item implements IItem {
         result = prime * result + (applyValidatorMandatory == null ? 0 : applyValidatorMandatory.hashCode());
         result = prime * result + (applyValidators == null ? 0 : applyValidators.hashCode());
         result = prime * result + (attributes == null ? 0 : attributes.hashCode());
-        result = prime * result + (deploys == null ? 0 : deploys.hashCode());
+        result = prime * result + getDeploys().hashCode();
         return result;
     }
 
@@ -739,11 +781,7 @@ public abstract class Item implements IItem {
         } else if (!attributes.equals(other.attributes)) {
             return false;
         }
-        if (deploys == null) {
-            if (other.deploys != null) {
-                return false;
-            }
-        } else if (!deploys.equals(other.deploys)) {
+        if (!getDeploys().equals(other.getDeploys())) {
             return false;
         }
         return true;
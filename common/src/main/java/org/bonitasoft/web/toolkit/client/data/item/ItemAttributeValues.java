@@ -0,0 +1,187 @@
+/**
+ * Copyright (C) 2016 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.toolkit.client.data.item;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Raw values of the attributes of an {@link Item}.
+ * <p>
+ * Once bound to an {@link ItemDefinition}, the values of the attributes declared by the definition are stored in a flat array, at
+ * the slot index assigned by the definition. The values of the other attributes (attributes added by an API on top of its
+ * definition, or attributes set before the definition is known) are kept in a map created on demand.
+ */
+final class ItemAttributeValues {
+
+    /**
+     * Value of a slot holding a NULL value, an empty slot being an attribute not set
+     */
+    private static final Object NULL_VALUE = new Object();
+
+    private ItemDefinition<?> definition = null;
+
+    private Object[] slots = null;
+
+    private int slotsSize = 0;
+
+    private Map<String, String> extraValues = null;
+
+    /**
+     * @return This function returns the definition the values are bound to or NULL if they are not bound yet.
+     */
+    ItemDefinition<?> getDefinition() {
+        return definition;
+    }
+
+    /**
+     * Bind the values to a definition, moving the values of the attributes it declares into their slots.
+     * <p>
+     * The values can be bound only once, further calls are ignored.
+     */
+    void bind(final ItemDefinition<?> definition) {
+        if (this.definition != null || definition == null) {
+            return;
+        }
+        this.definition = definition;
+        if (extraValues == null) {
+            return;
+        }
+        final Map<String, String> unboundValues = extraValues;
+        extraValues = null;
+        for (final Entry<String, String> entry : unboundValues.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    void put(final String name, final String value) {
+        final int index = definition == null ? -1 : definition.getAttributeIndex(name);
+        if (index < 0) {
+            if (extraValues == null) {
+                extraValues = new HashMap<String, String>();
+            }
+            extraValues.put(name, value);
+            return;
+        }
+        ensureCapacity(index + 1);
+        if (slots[index] == null) {
+            slotsSize++;
+        }
+        slots[index] = value == null ? NULL_VALUE : value;
+    }
+
+    String get(final String name) {
+        final Object slot = getSlot(name);
+        if (slot == null) {
+            return extraValues == null ? null : extraValues.get(name);
+        }
+        return slot == NULL_VALUE ? null : (String) slot;
+    }
+
+    boolean contains(final String name) {
+        return getSlot(name) != null || extraValues != null && extraValues.containsKey(name);
+    }
+
+    int size() {
+        return slotsSize + (extraValues == null ? 0 : extraValues.size());
+    }
+
+    boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * @return This function returns the names of the attributes set, the declared ones first in the order of the definition.
+     */
+    ArrayList<String> getNames() {
+        final ArrayList<String> names = new ArrayList<String>(size());
+        if (slots != null) {
+            for (int i = 0; i < slots.length; i++) {
+                if (slots[i] != null) {
+                    names.add(definition.getAttributeName(i));
+                }
+            }
+        }
+        if (extraValues != null) {
+            names.addAll(extraValues.keySet());
+        }
+        return names;
+    }
+
+    private Object getSlot(final String name) {
+        if (slots == null) {
+            return null;
+        }
+        final int index = definition.getAttributeIndex(name);
+        return index < 0 || index >= slots.length ? null : slots[index];
+    }
+
+    /**
+     * Attributes can still be created by the definition after the first values were set
+     */
+    private void ensureCapacity(final int capacity) {
+        if (slots == null) {
+            slots = new Object[Math.max(capacity, definition.getAttributeCount())];
+        } else if (slots.length < capacity) {
+            final Object[] newSlots = new Object[Math.max(capacity, definition.getAttributeCount())];
+            System.arraycopy(slots, 0, newSlots, 0, slots.length);
+            slots = newSlots;
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        // Same as the hash code of a Map holding the same values
+        int hashCode = 0;
+        if (slots != null) {
+            for (int i = 0; i < slots.length; i++) {
+                if (slots[i] != null) {
+                    hashCode += definition.getAttributeName(i).hashCode() ^ (slots[i] == NULL_VALUE ? 0 : slots[i].hashCode());
+                }
+            }
+        }
+        if (extraValues != null) {
+            hashCode += extraValues.hashCode();
+        }
+        return hashCode;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof ItemAttributeValues)) {
+            return false;
+        }
+        final ItemAttributeValues other = (ItemAttributeValues) obj;
+        if (size() != other.size()) {
+            return false;
+        }
+        for (final String name : getNames()) {
+            if (!other.contains(name)) {
+                return false;
+            }
+            final String value = get(name);
+            if (value == null ? other.get(name) != null : !value.equals(other.get(name))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
@@ -107,6 +107,13 @@ public abstract class ItemDefinition<E extends IItem> {
 
     private final ArrayList<String> primaryKeys = new ArrayList<String>();
 
+    /**
+     * Slot index of each attribute in the values of the items, in the order of creation of the attributes
+     */
+    private final Map<String, Integer> attributeIndexes = new HashMap<String, Integer>();
+
+    private final ArrayList<String> attributeNames = new ArrayList<String>();
+
     /**
      * Create and save a new attribute for the current item type.
      * <p>
@@ -122,6 +129,10 @@ public abstract class ItemDefinition<E extends IItem> {
     public ItemAttribute createAttribute(final String name, final ItemAttribute.TYPE type) {
         final ItemAttribute attribute = new ItemAttribute(name, type);
         this.attributes.put(name, attribute);
+        if (!this.attributeIndexes.containsKey(name)) {
+            this.attributeIndexes.put(name, this.attributeNames.size());
+            this.attributeNames.add(name);
+        }
         return attribute;
     }
 
@@ -185,6 +196,36 @@ public abstract class ItemDefinition<E extends IItem> {
         return this.attributes.containsKey(attributeName);
     }
 
+    /**
+     * Get the slot index of an attribute.
+     * <p>
+     * Each attribute receives, when it is created, a fixed index used by the items to store its value in a flat array.
+     * 
+     * @param attributeName
+     *            The name of the attribute
+     * @return This function returns the index of the attribute or -1 if there is no attribute with the defined name.
+     */
+    public final int getAttributeIndex(final String attributeName) {
+        final Integer index = this.attributeIndexes.get(attributeName);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * @param index
+     *            A slot index returned by {@link #getAttributeIndex(String)}
+     * @return This function returns the name of the attribute stored at this index.
+     */
+    public final String getAttributeName(final int index) {
+        return this.attributeNames.get(index);
+    }
+
+    /**
+     * @return This function returns the number of slots needed to store the values of the attributes.
+     */
+    public final int getAttributeCount() {
+        return this.attributeNames.size();
+    }
+
     // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
     // DEPLOYS
     // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -56,6 +56,8 @@ public class ConfigurationFilesManagerTest {
         configurationFiles.put(MY_PROP_PROPERTIES,
                 ("testProperty=testValue\n" +
                         "propToRemove=willBeRemoved").getBytes());
+        configurationFiles.put(ResourcesPermissionsMapping.PROPERTIES_FILENAME,
+                "GET|bpm/process=[Process visualization]".getBytes());
         configurationFilesManager.setTenantConfigurations(configurationFiles, TENANT_ID);
         doReturn(platformManagementUtils).when(configurationFilesManager).getPlatformManagementUtils();
     }
@@ -82,4 +84,16 @@ public class ConfigurationFilesManagerTest {
         assertThat(new String(contentCaptor.getValue())).doesNotContain("testValue").contains("testProperty", "new Value");
     }
 
+    @Test
+    public void should_recompile_the_permissions_index_when_a_permission_is_set() throws Exception {
+        //given
+        assertThat(configurationFilesManager.getTenantPermissionsIndex(ResourcesPermissionsMapping.PROPERTIES_FILENAME, TENANT_ID)
+                .getResourcePermissions("GET", "bpm", "process", null, -1)).containsOnly("Process visualization");
+        //when
+        configurationFilesManager.setProperty(ResourcesPermissionsMapping.PROPERTIES_FILENAME, TENANT_ID, "GET|bpm/process", "[Process deploy]");
+        //then
+        assertThat(configurationFilesManager.getTenantPermissionsIndex(ResourcesPermissionsMapping.PROPERTIES_FILENAME, TENANT_ID)
+                .getResourcePermissions("GET", "bpm", "process", null, -1)).containsOnly("Process deploy");
+    }
+
 }
@@ -0,0 +1,62 @@
+/**
+ * Copyright (C) 2016 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.preferences.properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Properties;
+
+import org.junit.Test;
+
+public class ResourcesPermissionsIndexTest {
+
+    private ResourcesPermissionsIndex createIndex(final String fileContent) throws Exception {
+        final Properties properties = new Properties();
+        properties.load(new StringReader(fileContent));
+        return new ResourcesPermissionsIndex(properties);
+    }
+
+    @Test
+    public void should_find_permissions_of_resource_with_and_without_qualifiers() throws Exception {
+        final ResourcesPermissionsIndex index = createIndex("GET|bpm/process [Process visualization, Process categories]\n"
+                + "POST|bpm/process/6 [Custom permission]\n"
+                + "PUT|bpm/process []");
+
+        assertThat(index.getResourcePermissions("GET", "bpm", "process", null, -1)).containsOnly("Process visualization", "Process categories");
+        assertThat(index.getResourcePermissions("POST", "bpm", "process", Arrays.asList("6"), -1)).containsOnly("Custom permission");
+        assertThat(index.getResourcePermissions("POST", "bpm", "process", null, -1)).isEmpty();
+        assertThat(index.getResourcePermissions("PUT", "bpm", "process", null, -1)).isEmpty();
+        assertThat(index.getResourcePermissions("GET", "bpm", "process", Arrays.asList("6"), -1)).isEmpty();
+    }
+
+    @Test
+    public void should_replace_qualifier_with_wildcard_at_given_position() throws Exception {
+        final ResourcesPermissionsIndex index = createIndex("POST|bpm/process/*/instantiation [Custom permission]");
+
+        assertThat(index.getResourcePermissions("POST", "bpm", "process", Arrays.asList("6", "instantiation"), 0)).containsOnly("Custom permission");
+        assertThat(index.getResourcePermissions("POST", "bpm", "process", Arrays.asList("6", "instantiation"), 1)).isEmpty();
+        assertThat(index.getResourcePermissions("POST", "bpm", "process", Arrays.asList("6", "instantiation"), -1)).isEmpty();
+    }
+
+    @Test
+    public void should_ignore_keys_that_are_not_resources() throws Exception {
+        final ResourcesPermissionsIndex index = createIndex("profile|User [Some permission]\n"
+                + "GET|bpm [Other permission]");
+
+        assertThat(index.getResourcePermissions("GET", "bpm", null, null, -1)).isEmpty();
+    }
+}
@@ -0,0 +1,137 @@
+package org.bonitasoft.console.common.server.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ContentRangeWriterTest {
+
+    private static final byte[] CONTENT = "0123456789".getBytes();
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Mock
+    private HttpServletRequest request;
+
+    @Mock
+    private HttpServletResponse response;
+
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    @Before
+    public void setUp() throws Exception {
+        doReturn(new ServletOutputStream() {
+
+            @Override
+            public void write(final int b) throws IOException {
+                output.write(b);
+            }
+        }).when(response).getOutputStream();
+    }
+
+    private File createFile() throws IOException {
+        final File file = temporaryFolder.newFile("document.txt");
+        final FileOutputStream fileOutput = new FileOutputStream(file);
+        try {
+            fileOutput.write(CONTENT);
+        } finally {
+            fileOutput.close();
+        }
+        return file;
+    }
+
+    @Test
+    public void should_write_the_whole_file_without_range_header() throws Exception {
+        ContentRangeWriter.write(request, response, createFile());
+
+        assertThat(output.toString()).isEqualTo("0123456789");
+        verify(response).setContentLength(10);
+        verify(response).setHeader("Accept-Ranges", "bytes");
+        verify(response, never()).setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+    }
+
+    @Test
+    public void should_write_the_requested_range_of_a_file() throws Exception {
+        doReturn("bytes=2-5").when(request).getHeader("Range");
+
+        ContentRangeWriter.write(request, response, createFile());
+
+        assertThat(output.toString()).isEqualTo("2345");
+        verify(response).setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        verify(response).setHeader("Content-Range", "bytes 2-5/10");
+        verify(response).setContentLength(4);
+    }
+
+    @Test
+    public void should_write_the_requested_range_of_a_content() throws Exception {
+        doReturn("bytes=-3").when(request).getHeader("Range");
+
+        ContentRangeWriter.write(request, response, CONTENT);
+
+        assertThat(output.toString()).isEqualTo("789");
+        verify(response).setHeader("Content-Range", "bytes 7-9/10");
+    }
+
+    @Test
+    public void should_answer_not_satisfiable_when_the_range_starts_after_the_end() throws Exception {
+        doReturn("bytes=10-").when(request).getHeader("Range");
+
+        ContentRangeWriter.write(request, response, CONTENT);
+
+        assertThat(output.size()).isEqualTo(0);
+        verify(response).setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+        verify(response).setHeader("Content-Range", "bytes */10");
+    }
+
+    @Test
+    public void should_write_the_whole_content_for_a_conditional_range_request() throws Exception {
+        doReturn("bytes=2-5").when(request).getHeader("Range");
+        doReturn("\"etag\"").when(request).getHeader("If-Range");
+
+        ContentRangeWriter.write(request, response, CONTENT);
+
+        assertThat(output.toString()).isEqualTo("0123456789");
+    }
+
+    @Test
+    public void should_parse_single_byte_ranges() throws Exception {
+        assertThat(ContentRangeWriter.parseRange("bytes=0-0", 10)).isEqualTo(new long[] { 0, 0 });
+        assertThat(ContentRangeWriter.parseRange("bytes=5-", 10)).isEqualTo(new long[] { 5, 9 });
+        assertThat(ContentRangeWriter.parseRange("bytes=5-100", 10)).isEqualTo(new long[] { 5, 9 });
+        assertThat(ContentRangeWriter.parseRange("bytes=-20", 10)).isEqualTo(new long[] { 0, 9 });
+    }
+
+    @Test
+    public void should_ignore_unsupported_ranges() throws Exception {
+        assertThat(ContentRangeWriter.parseRange(null, 10)).isNull();
+        assertThat(ContentRangeWriter.parseRange("items=0-5", 10)).isNull();
+        assertThat(ContentRangeWriter.parseRange("bytes=0-1,4-5", 10)).isNull();
+        assertThat(ContentRangeWriter.parseRange("bytes=a-b", 10)).isNull();
+        assertThat(ContentRangeWriter.parseRange("bytes=5-2", 10)).isNull();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void should_reject_a_range_starting_after_the_end_of_the_content() throws Exception {
+        ContentRangeWriter.parseRange("bytes=12-15", 10);
+    }
+}
@@ -7,12 +7,14 @@ import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.anySetOf;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -43,7 +45,9 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
 
 @RunWith(MockitoJUnitRunner.class)
 public class PermissionsBuilderTest {
@@ -72,6 +76,8 @@ public class PermissionsBuilderTest {
     @Rule
     public ExpectedException expectedException = ExpectedException.none();
 
+    ProfilePermissionsCache profilePermissionsCache = new ProfilePermissionsCache(60000L);
+
     PermissionsBuilder permissionsBuilder;
 
     @Before
@@ -82,7 +88,7 @@ public class PermissionsBuilderTest {
     private void init(final boolean apiAuthorizationsCheckEnabled) {
         doReturn(apiAuthorizationsCheckEnabled).when(securityProperties).isAPIAuthorizationsCheckEnabled();
         permissionsBuilder = spy(new PermissionsBuilder(apiSession, profileAPI, applicationAPI, customPermissionsMapping, compoundPermissionsMapping,
-                securityProperties));
+                securityProperties, profilePermissionsCache));
         doReturn("myUser").when(apiSession).getUserName();
         doReturn(1l).when(apiSession).getTenantId();
         doReturn(1l).when(apiSession).getUserId();
@@ -110,11 +116,12 @@ public class PermissionsBuilderTest {
     }
 
     @Test
-    public void should_addProfilesPermissions_add_permissions_to_the_set() throws Exception {
+    public void should_addProfilesPermissions_add_permissions_of_each_profile_to_the_set() throws Exception {
         final HashSet<String> permissions = new HashSet<String>();
-        doReturn(new HashSet<String>(Arrays.asList("Page1", "Page2"))).when(permissionsBuilder).getAllPagesForUser(permissions);
-        doReturn(new HashSet<String>(Arrays.asList("Perm2", "Perm1"))).when(compoundPermissionsMapping).getPropertyAsSet(eq("Page1"));
-        doReturn(new HashSet<String>(Arrays.asList("Perm1", "Perm3"))).when(compoundPermissionsMapping).getPropertyAsSet(eq("Page2"));
+        final List<Profile> profiles = fillInProfilesList(0, 2);
+        doReturn(profiles).when(permissionsBuilder).getProfilesForUser();
+        doReturn(new HashSet<String>(Arrays.asList("Perm2", "Perm1"))).when(permissionsBuilder).getProfilePermissions(profiles.get(0));
+        doReturn(new HashSet<String>(Arrays.asList("Perm1", "Perm3"))).when(permissionsBuilder).getProfilePermissions(profiles.get(1));
 
         permissionsBuilder.addProfilesPermissions(permissions);
 
@@ -122,10 +129,11 @@ public class PermissionsBuilderTest {
     }
 
     @Test
-    public void should_addProfilesPermissions_throw_LoginException_when_issue_on_getAllPages() throws Exception {
+    public void should_addProfilesPermissions_throw_LoginException_when_issue_on_getProfilePermissions() throws Exception {
 
         final Set<String> permissions = new HashSet<String>();
-        doThrow(new SearchException("issue", new SBonitaReadException(""))).when(permissionsBuilder).getAllPagesForUser(permissions);
+        doReturn(Arrays.asList(profile)).when(permissionsBuilder).getProfilesForUser();
+        doThrow(new SearchException("issue", new SBonitaReadException(""))).when(permissionsBuilder).getProfilePermissions(profile);
         try {
             permissionsBuilder.addProfilesPermissions(permissions);
             fail("expecting " + LoginFailedException.class.getName());
@@ -137,20 +145,72 @@ public class PermissionsBuilderTest {
     }
 
     @Test
-    public void should_getAllPagesForUser_add_page_and_custom_permissions_of_profiles_of_user() throws Exception {
+    public void should_getProfilesForUser_retrieve_all_the_profiles_of_user() throws Exception {
         final List<Profile> profileList1 = fillInProfilesList(0, PermissionsBuilder.MAX_ELEMENTS_RETRIEVED);
         doReturn(profileList1).when(profileAPI).getProfilesForUser(anyLong(), anyInt(), anyInt(), any(ProfileCriterion.class));
         final List<Profile> profileList2 = fillInProfilesList(PermissionsBuilder.MAX_ELEMENTS_RETRIEVED, 10);
         doReturn(profileList2).when(profileAPI).getProfilesForUser(anyLong(), eq(PermissionsBuilder.MAX_ELEMENTS_RETRIEVED), anyInt(),
                 any(ProfileCriterion.class));
-        final HashSet<String> permissions = new HashSet<String>();
-        doNothing().when(permissionsBuilder).addPageAndCustomPermissionsOfProfile(eq(permissions), anySetOf(String.class), any(Profile.class));
 
-        permissionsBuilder.getAllPagesForUser(permissions);
+        final List<Profile> profiles = permissionsBuilder.getProfilesForUser();
 
-        for (final Profile profile : profileList1) {
-            verify(permissionsBuilder).addPageAndCustomPermissionsOfProfile(eq(permissions), anySetOf(String.class), eq(profile));
-        }
+        assertThat(profiles).hasSize(PermissionsBuilder.MAX_ELEMENTS_RETRIEVED + 10);
+        assertThat(profiles.get(0)).isSameAs(profileList1.get(0));
+        assertThat(profiles.get(PermissionsBuilder.MAX_ELEMENTS_RETRIEVED + 9)).isSameAs(profileList2.get(9));
+    }
+
+    @Test
+    public void should_getProfilePermissions_add_page_and_custom_permissions_of_profile() throws Exception {
+        doReturn(12l).when(profile).getId();
+        doReturn("profileName").when(profile).getName();
+        doReturn(new HashSet<String>(Arrays.asList("Perm1"))).when(permissionsBuilder).getCustomPermissions("profile", "profileName");
+        doAnswer(addPages("Page1", "Page2")).when(permissionsBuilder).addPagesOfProfile(eq(profile), anySetOf(String.class));
+        doAnswer(addPages("Page2")).when(permissionsBuilder).addPagesOfApplication(eq(profile), anySetOf(String.class));
+        doReturn(new HashSet<String>(Arrays.asList("Perm2", "Perm3"))).when(compoundPermissionsMapping).getPropertyAsSet("Page1");
+        doReturn(new HashSet<String>(Arrays.asList("Perm3", "Perm4"))).when(compoundPermissionsMapping).getPropertyAsSet("Page2");
+
+        final Set<String> permissions = permissionsBuilder.getProfilePermissions(profile);
+
+        assertThat(permissions).containsOnly("profile|profileName", "Perm1", "Perm2", "Perm3", "Perm4");
+    }
+
+    @Test
+    public void should_getProfilePermissions_compute_permissions_of_profile_once() throws Exception {
+        doReturn(12l).when(profile).getId();
+        doReturn("profileName").when(profile).getName();
+        doNothing().when(permissionsBuilder).addPagesOfProfile(eq(profile), anySetOf(String.class));
+        doNothing().when(permissionsBuilder).addPagesOfApplication(eq(profile), anySetOf(String.class));
+
+        final Set<String> permissions = permissionsBuilder.getProfilePermissions(profile);
+
+        assertThat(permissionsBuilder.getProfilePermissions(profile)).isSameAs(permissions);
+        verify(permissionsBuilder, times(1)).addPagesOfProfile(eq(profile), anySetOf(String.class));
+    }
+
+    @Test
+    public void should_getProfilePermissions_compute_permissions_again_once_cache_is_cleared() throws Exception {
+        doReturn(12l).when(profile).getId();
+        doReturn("profileName").when(profile).getName();
+        doNothing().when(permissionsBuilder).addPagesOfProfile(eq(profile), anySetOf(String.class));
+        doNothing().when(permissionsBuilder).addPagesOfApplication(eq(profile), anySetOf(String.class));
+
+        permissionsBuilder.getProfilePermissions(profile);
+        profilePermissionsCache.clear();
+        permissionsBuilder.getProfilePermissions(profile);
+
+        verify(permissionsBuilder, times(2)).addPagesOfProfile(eq(profile), anySetOf(String.class));
+    }
+
+    private Answer<Void> addPages(final String... pageTokens) {
+        return new Answer<Void>() {
+
+            @SuppressWarnings("unchecked")
+            @Override
+            public Void answer(final InvocationOnMock invocation) throws Throwable {
+                ((Set<String>) invocation.getArguments()[1]).addAll(Arrays.asList(pageTokens));
+                return null;
+            }
+        };
     }
 
     @Test
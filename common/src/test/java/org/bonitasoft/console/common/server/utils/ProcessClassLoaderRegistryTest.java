@@ -0,0 +1,121 @@
+package org.bonitasoft.console.common.server.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.net.URLClassLoader;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.bonitasoft.console.common.server.utils.ProcessClassLoaderRegistry.ProcessClassLoader;
+import org.junit.Test;
+
+public class ProcessClassLoaderRegistryTest {
+
+    private Callable<ProcessClassLoader> factory(final URLClassLoader classLoader, final AtomicInteger creations) {
+        return new Callable<ProcessClassLoader>() {
+
+            @Override
+            public ProcessClassLoader call() {
+                creations.incrementAndGet();
+                return new ProcessClassLoader(classLoader, classLoader);
+            }
+        };
+    }
+
+    @Test
+    public void should_create_the_classloader_of_a_process_only_once() throws Exception {
+        final ProcessClassLoaderRegistry registry = new ProcessClassLoaderRegistry(10, 0L);
+        final URLClassLoader classLoader = mock(URLClassLoader.class);
+        final AtomicInteger creations = new AtomicInteger();
+
+        assertThat(registry.getOrCreate(1L, factory(classLoader, creations))).isSameAs(classLoader);
+        assertThat(registry.getOrCreate(1L, factory(mock(URLClassLoader.class), creations))).isSameAs(classLoader);
+
+        assertThat(creations.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_keep_processes_without_classloader() throws Exception {
+        final ProcessClassLoaderRegistry registry = new ProcessClassLoaderRegistry(10, 0L);
+        final AtomicInteger creations = new AtomicInteger();
+
+        assertThat(registry.getOrCreate(1L, factory(null, creations))).isNull();
+        assertThat(registry.getOrCreate(1L, factory(null, creations))).isNull();
+
+        assertThat(creations.get()).isEqualTo(1);
+        assertThat(registry.contains(1L)).isTrue();
+    }
+
+    @Test
+    public void should_close_the_classloader_of_a_removed_process() throws Exception {
+        final ProcessClassLoaderRegistry registry = new ProcessClassLoaderRegistry(10, -1L);
+        final URLClassLoader classLoader = mock(URLClassLoader.class);
+        registry.put(1L, new ProcessClassLoader(classLoader, classLoader));
+
+        registry.remove(1L);
+
+        verify(classLoader).close();
+        assertThat(registry.contains(1L)).isFalse();
+    }
+
+    @Test
+    public void should_not_close_the_classloader_of_a_removed_process_while_it_is_used() throws Exception {
+        final ProcessClassLoaderRegistry registry = new ProcessClassLoaderRegistry(10, 60000L);
+        final URLClassLoader classLoader = mock(URLClassLoader.class);
+        registry.put(1L, new ProcessClassLoader(classLoader, classLoader));
+
+        registry.remove(1L);
+
+        verify(classLoader, never()).close();
+        assertThat(registry.contains(1L)).isFalse();
+    }
+
+    @Test
+    public void should_close_a_replaced_classloader_once_it_is_idle() throws Exception {
+        final ProcessClassLoaderRegistry registry = new ProcessClassLoaderRegistry(10, -1L);
+        final URLClassLoader classLoader = mock(URLClassLoader.class);
+        final URLClassLoader newClassLoader = mock(URLClassLoader.class);
+        registry.put(1L, new ProcessClassLoader(classLoader, classLoader));
+
+        registry.put(1L, new ProcessClassLoader(newClassLoader, newClassLoader));
+
+        verify(classLoader).close();
+        verify(newClassLoader, never()).close();
+        assertThat(registry.getOrCreate(1L, factory(null, new AtomicInteger()))).isSameAs(newClassLoader);
+    }
+
+    @Test
+    public void should_close_the_least_recently_used_classloader_when_the_registry_is_full() throws Exception {
+        final ProcessClassLoaderRegistry registry = new ProcessClassLoaderRegistry(2, -1L);
+        final URLClassLoader firstClassLoader = mock(URLClassLoader.class);
+        final URLClassLoader secondClassLoader = mock(URLClassLoader.class);
+        final AtomicInteger creations = new AtomicInteger();
+        registry.getOrCreate(1L, factory(firstClassLoader, creations));
+        Thread.sleep(5);
+        registry.getOrCreate(2L, factory(secondClassLoader, creations));
+        Thread.sleep(5);
+
+        registry.getOrCreate(3L, factory(mock(URLClassLoader.class), creations));
+
+        verify(firstClassLoader).close();
+        verify(secondClassLoader, never()).close();
+        assertThat(registry.size()).isEqualTo(2);
+        assertThat(registry.contains(1L)).isFalse();
+    }
+
+    @Test
+    public void should_not_close_recently_used_classloaders() throws Exception {
+        final ProcessClassLoaderRegistry registry = new ProcessClassLoaderRegistry(1, 60000L);
+        final URLClassLoader classLoader = mock(URLClassLoader.class);
+        final AtomicInteger creations = new AtomicInteger();
+        registry.getOrCreate(1L, factory(classLoader, creations));
+
+        registry.getOrCreate(2L, factory(mock(URLClassLoader.class), creations));
+
+        verify(classLoader, never()).close();
+        assertThat(registry.size()).isEqualTo(2);
+    }
+}
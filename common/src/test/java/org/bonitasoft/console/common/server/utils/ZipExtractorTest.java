@@ -0,0 +1,154 @@
+/**
+ * Copyright (C) 2016 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ZipExtractorTest {
+
+    @Rule
+    public final TemporaryFolder tmpFolder = new TemporaryFolder();
+
+    private ZipExtractor zipExtractor;
+
+    private File targetFolder;
+
+    @Before
+    public void setUp() throws Exception {
+        zipExtractor = new ZipExtractor(4);
+        targetFolder = new File(tmpFolder.getRoot(), "page");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        zipExtractor.shutdown();
+    }
+
+    private static void writeZip(final OutputStream output, final Map<String, String> entries) throws IOException {
+        try (ZipOutputStream zipOutput = new ZipOutputStream(output)) {
+            for (final Entry<String, String> entry : entries.entrySet()) {
+                zipOutput.putNextEntry(new ZipEntry(entry.getKey()));
+                if (entry.getValue() != null) {
+                    zipOutput.write(entry.getValue().getBytes("UTF-8"));
+                }
+                zipOutput.closeEntry();
+            }
+        }
+    }
+
+    private File newZipFile(final Map<String, String> entries) throws IOException {
+        final File zipFile = tmpFolder.newFile();
+        try (FileOutputStream output = new FileOutputStream(zipFile)) {
+            writeZip(output, entries);
+        }
+        return zipFile;
+    }
+
+    private static String read(final File folder, final String path) throws IOException {
+        return FileUtils.readFileToString(new File(folder, path), "UTF-8");
+    }
+
+    @Test
+    public void should_extract_all_the_files_of_a_zip_file_concurrently() throws Exception {
+        final Map<String, String> entries = new LinkedHashMap<>();
+        entries.put("resources/", null);
+        for (int i = 0; i < 100; i++) {
+            entries.put("resources/file" + i + ".txt", "content " + i);
+        }
+        entries.put("page.properties", "name=custompage_test");
+
+        zipExtractor.extract(newZipFile(entries), targetFolder);
+
+        assertThat(new File(targetFolder, "resources").list()).hasSize(100);
+        assertThat(read(targetFolder, "resources/file42.txt")).isEqualTo("content 42");
+        assertThat(read(targetFolder, "page.properties")).isEqualTo("name=custompage_test");
+    }
+
+    @Test
+    public void should_extract_a_zip_stream() throws Exception {
+        final Map<String, String> entries = new LinkedHashMap<>();
+        entries.put("css/main.css", "body {}");
+        entries.put("index.html", "<html/>");
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        writeZip(output, entries);
+
+        zipExtractor.extract(new ByteArrayInputStream(output.toByteArray()), targetFolder);
+
+        assertThat(read(targetFolder, "css/main.css")).isEqualTo("body {}");
+        assertThat(read(targetFolder, "index.html")).isEqualTo("<html/>");
+    }
+
+    @Test
+    public void should_add_the_files_to_an_existing_folder() throws Exception {
+        FileUtils.writeStringToFile(new File(targetFolder, "css/main.css"), "old");
+        FileUtils.writeStringToFile(new File(targetFolder, "css/other.css"), "other");
+        final Map<String, String> entries = new LinkedHashMap<>();
+        entries.put("css/main.css", "new");
+
+        zipExtractor.extract(newZipFile(entries), targetFolder);
+
+        assertThat(read(targetFolder, "css/main.css")).isEqualTo("new");
+        assertThat(read(targetFolder, "css/other.css")).isEqualTo("other");
+    }
+
+    @Test
+    public void should_not_leave_the_extraction_folder() throws Exception {
+        final Map<String, String> entries = new LinkedHashMap<>();
+        entries.put("index.html", "<html/>");
+
+        final File zipFile = newZipFile(entries);
+
+        zipExtractor.extract(zipFile, targetFolder);
+
+        assertThat(tmpFolder.getRoot().list()).containsOnly("page", zipFile.getName());
+    }
+
+    @Test
+    public void should_not_extract_entries_outside_of_the_target_folder() throws Exception {
+        final Map<String, String> entries = new LinkedHashMap<>();
+        entries.put("index.html", "<html/>");
+        entries.put("../evil.sh", "rm -rf /");
+
+        try {
+            zipExtractor.extract(newZipFile(entries), targetFolder);
+            fail("the extraction should have failed");
+        } catch (final IOException e) {
+            assertThat(e.getMessage()).contains("../evil.sh");
+        }
+
+        assertThat(targetFolder.exists()).isFalse();
+        assertThat(new File(tmpFolder.getRoot(), "evil.sh").exists()).isFalse();
+    }
+}
@@ -18,7 +18,6 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.net.URLEncoder;
 import java.util.Date;
 import java.util.logging.Level;
@@ -31,6 +30,7 @@ import javax.servlet.http.HttpServletResponse;
 
 import org.bonitasoft.console.common.server.utils.BPMEngineAPIUtil;
 import org.bonitasoft.console.common.server.utils.BonitaHomeFolderAccessor;
+import org.bonitasoft.console.common.server.utils.ContentRangeWriter;
 import org.bonitasoft.console.common.server.utils.FormsResourcesUtils;
 import org.bonitasoft.console.common.server.utils.UnauthorizedFolderException;
 import org.bonitasoft.engine.api.ProcessAPI;
@@ -126,6 +126,7 @@ public class DocumentDownloadServlet extends HttpServlet {
         String contentStorageId = request.getParameter(CONTENT_STORAGE_ID_PARAM);
         final APISession apiSession = (APISession) request.getSession().getAttribute(API_SESSION_PARAM_KEY);
         byte[] fileContent = null;
+        File fileToSend = null;
         if (filePath != null) {
             if (LOGGER.isLoggable(Level.FINE)) {
                 LOGGER.log(Level.FINE, "attachmentPath: " + filePath);
@@ -136,7 +137,14 @@ public class DocumentDownloadServlet extends HttpServlet {
                 if (fileName == null) {
                     fileName = file.getName();
                 }
-                fileContent = getFileContent(file, filePath);
+                if (!file.exists()) {
+                    final String errorMessage = "Error while getting the attachment. The file " + filePath + " does not exist.";
+                    if (LOGGER.isLoggable(Level.SEVERE)) {
+                        LOGGER.log(Level.SEVERE, errorMessage);
+                    }
+                    throw new ServletException(errorMessage);
+                }
+                fileToSend = file;
             } catch (final UnauthorizedFolderException e) {
                 throw new ServletException(e.getMessage());
             } catch (final IOException e) {
@@ -203,7 +211,7 @@ public class DocumentDownloadServlet extends HttpServlet {
                 final File resource = new File(processDir, BUSINESS_ARCHIVE_RESOURCES_DIRECTORY + File.separator + resourcePath);
                 if (resource.exists()) {
                     fileName = resource.getName();
-                    fileContent = getFileContent(resource, filePath);
+                    fileToSend = resource;
                 } else {
                     final String errorMessage = "The target resource does not exist " + resource.getAbsolutePath();
                     if (LOGGER.isLoggable(Level.SEVERE)) {
@@ -236,14 +244,14 @@ public class DocumentDownloadServlet extends HttpServlet {
                 response.setHeader("Content-Disposition", "attachment; filename=\"" + encodedfileName.replaceAll("\\+", " ") + "\"; filename*=UTF-8''"
                         + encodedfileName.replace("+", "%20"));
             }
-            final OutputStream out = response.getOutputStream();
-            if (fileContent == null) {
-                response.setContentLength(0);
+            if (fileToSend != null) {
+                ContentRangeWriter.write(request, response, fileToSend);
+            } else if (fileContent != null) {
+                ContentRangeWriter.write(request, response, fileContent);
             } else {
-                response.setContentLength(fileContent.length);
-                out.write(fileContent);
+                response.setContentLength(0);
             }
-            out.close();
+            response.getOutputStream().close();
         } catch (final IOException e) {
             if (LOGGER.isLoggable(Level.SEVERE)) {
                 LOGGER.log(Level.SEVERE, "Error while generating the response.", e);
@@ -252,6 +260,10 @@ public class DocumentDownloadServlet extends HttpServlet {
         }
     }
 
+    /**
+     * @deprecated the files are now streamed to the response with {@link ContentRangeWriter}
+     */
+    @Deprecated
     protected byte[] getFileContent(final File file, final String filePath) throws ServletException {
 
         int fileLength = 0;
@@ -15,7 +15,6 @@ package org.bonitasoft.forms.server;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.OutputStream;
 import java.net.URLEncoder;
 import java.util.Date;
 import java.util.logging.Level;
@@ -28,6 +27,7 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.bonitasoft.console.common.server.utils.BonitaHomeFolderAccessor;
+import org.bonitasoft.console.common.server.utils.ContentRangeWriter;
 import org.bonitasoft.console.common.server.utils.FormsResourcesUtils;
 import org.bonitasoft.console.common.server.utils.UnauthorizedFolderException;
 import org.bonitasoft.engine.api.ProcessAPI;
@@ -69,6 +69,7 @@ public class DocumentImageServlet extends DocumentDownloadServlet {
         final String documentId = request.getParameter(DOCUMENT_ID_PARAM);
         final APISession apiSession = (APISession) request.getSession().getAttribute(API_SESSION_PARAM_KEY);
         byte[] fileContent = null;
+        File fileToSend = null;
         String contentType = null;
         if (filePath != null) {
             final BonitaHomeFolderAccessor tempFolderAccessor = new BonitaHomeFolderAccessor();
@@ -79,7 +80,14 @@ public class DocumentImageServlet extends DocumentDownloadServlet {
                 }
                 final FileTypeMap mimetypesFileTypeMap = new MimetypesFileTypeMap();
                 contentType = mimetypesFileTypeMap.getContentType(file);
-                fileContent = getFileContent(file, filePath);
+                if (!file.exists()) {
+                    final String errorMessage = "Error while getting the image. The file " + filePath + " does not exist.";
+                    if (LOGGER.isLoggable(Level.SEVERE)) {
+                        LOGGER.log(Level.SEVERE, errorMessage);
+                    }
+                    throw new ServletException(errorMessage);
+                }
+                fileToSend = file;
             } catch (final UnauthorizedFolderException e) {
                 throw new ServletException(e.getMessage());
             } catch (final IOException e) {
@@ -138,7 +146,7 @@ public class DocumentImageServlet extends DocumentDownloadServlet {
                 final File resource = new File(processDir, BUSINESS_ARCHIVE_RESOURCES_DIRECTORY + File.separator + resourcePath);
                 if (resource.exists()) {
                     fileName = resource.getName();
-                    fileContent = getFileContent(resource, filePath);
+                    fileToSend = resource;
                 } else {
                     final String errorMessage = "The target resource does not exist " + resource.getAbsolutePath();
                     if (LOGGER.isLoggable(Level.SEVERE)) {
@@ -174,17 +182,12 @@ public class DocumentImageServlet extends DocumentDownloadServlet {
                     response.setHeader("Content-Disposition", "inline; filename=\"" + encodedfileName.replaceAll("\\+", " ") + "\"; filename*=UTF-8''"
                             + encodedfileName);
                 }
-                if (fileContent != null) {
-                    response.setContentLength(fileContent.length);
-                    OutputStream out = null;
-                    try {
-                        out = response.getOutputStream();
-                        out.write(fileContent);
-                    } finally {
-                        if (out != null) {
-                            out.close();
-                        }
-                    }
+                if (fileToSend != null) {
+                    ContentRangeWriter.write(request, response, fileToSend);
+                    response.getOutputStream().close();
+                } else if (fileContent != null) {
+                    ContentRangeWriter.write(request, response, fileContent);
+                    response.getOutputStream().close();
                 }
             } catch (final IOException e) {
                 if (LOGGER.isLoggable(Level.SEVERE)) {
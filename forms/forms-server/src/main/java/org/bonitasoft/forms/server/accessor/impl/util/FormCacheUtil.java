@@ -1,11 +1,9 @@
 package org.bonitasoft.forms.server.accessor.impl.util;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
-import java.util.logging.Level;
-import java.util.logging.Logger;
 
-import org.bonitasoft.console.common.server.preferences.constants.WebBonitaConstantsUtils;
 import org.bonitasoft.forms.client.model.ApplicationConfig;
 import org.bonitasoft.forms.client.model.Expression;
 import org.bonitasoft.forms.client.model.FormAction;
@@ -13,15 +11,19 @@ import org.bonitasoft.forms.client.model.FormPage;
 import org.bonitasoft.forms.client.model.FormValidator;
 import org.bonitasoft.forms.client.model.FormWidget;
 import org.bonitasoft.forms.client.model.TransientData;
-import org.bonitasoft.forms.server.cache.CacheUtil;
+import org.bonitasoft.forms.server.cache.BoundedConcurrentCache;
+import org.bonitasoft.forms.server.cache.FormCacheKey;
+import org.bonitasoft.forms.server.cache.FormCacheStatistics;
 import org.bonitasoft.forms.server.exception.InvalidFormDefinitionException;
 
 public class FormCacheUtil {
 
     /**
-     * Logger
+     * Name of the system property setting the maximum number of entries of each forms cache
      */
-    private static Logger LOGGER = Logger.getLogger(FormCacheUtil.class.getName());
+    public static final String CACHE_MAX_SIZE_PROPERTY = "org.bonitasoft.web.forms.cacheMaxSize";
+
+    protected static final int DEFAULT_CACHE_MAX_SIZE = 10000;
 
     protected static final String FORM_APPLICATION_PERMISSIONS_CACHE = "formApplicationPermissionsCache";
 
@@ -37,6 +39,8 @@ public class FormCacheUtil {
 
     protected static final String FORM_PAGE_LAYOUT_CACHE = "formPageLayoutCache";
 
+    protected static final String FORM_PAGE_LAYOUT_CONTENT_CACHE = "formPageLayoutContentCache";
+
     protected static final String FORM_APPLICATION_LAYOUT_CACHE = "formApplicationLayoutCache";
 
     protected static final String FORM_FIRST_PAGE_CACHE = "formFirstPageCache";
@@ -57,21 +61,61 @@ public class FormCacheUtil {
 
     protected static final String FORM_WIDGET_CACHE = "formWidgetCache";
 
-    protected static String CACHE_DISK_STORE_PATH = null;
-
     protected static String DOMAIN_KEY_CONNECTOR = "@";
 
     protected long tenantID;
 
+    private final List<BoundedConcurrentCache<?, ?>> caches = new ArrayList<BoundedConcurrentCache<?, ?>>();
+
+    private final BoundedConcurrentCache<FormCacheKey, Expression> firstPages = createCache(FORM_FIRST_PAGE_CACHE);
+
+    private final BoundedConcurrentCache<FormCacheKey, FormPage> pages = createCache(FORM_PAGES_CACHE);
+
+    private final BoundedConcurrentCache<FormCacheKey, List<TransientData>> transientData = createCache(FORM_TRANSIENT_DATA_CACHE);
+
+    private final BoundedConcurrentCache<FormCacheKey, List<FormAction>> pageActions = createCache(FORM_PAGE_ACTIONS_CACHE);
+
+    private final BoundedConcurrentCache<FormCacheKey, ApplicationConfig> applicationConfigs = createCache(FORM_CONFIG_CACHE);
+
+    private final BoundedConcurrentCache<FormCacheKey, String> applicationPermissions = createCache(FORM_APPLICATION_PERMISSIONS_CACHE);
+
+    private final BoundedConcurrentCache<FormCacheKey, String> migrationProductVersions = createCache(FORM_MIGRATION_PRODUCT_VERSION_CACHE);
+
+    private final BoundedConcurrentCache<FormCacheKey, String> formPermissions = createCache(FORM_PERMISSIONS_CACHE);
+
+    private final BoundedConcurrentCache<FormCacheKey, String> nextForms = createCache(FORM_NEXT_FORM_CACHE);
+
+    private final BoundedConcurrentCache<FormCacheKey, String> formPageLayouts = createCache(FORM_PAGE_LAYOUT_CACHE);
+
+    private final BoundedConcurrentCache<FormCacheKey, String> applicationVersions = createCache(FORM_APPLICATION_VERSION_CACHE);
+
+    private final BoundedConcurrentCache<FormCacheKey, String> applicationNames = createCache(FORM_APPLICATION_NAME_CACHE);
+
+    // the following caches are accessed with IDs sent to the client, so their keys remain strings
+    private final BoundedConcurrentCache<String, FormWidget> formWidgets = createCache(FORM_WIDGET_CACHE);
+
+    private final BoundedConcurrentCache<String, Expression> nextPageIdExpressions = createCache(NEXT_PAGE_ID_EXPRESSION_CACHE);
+
+    private final BoundedConcurrentCache<String, List<FormValidator>> fieldValidators = createCache(FIELD_VALIDATORS_CACHE);
+
+    private final BoundedConcurrentCache<String, List<FormValidator>> pageValidators = createCache(PAGE_VALIDATORS_CACHE);
+
+    private final BoundedConcurrentCache<String, String> pageLayoutContents = createCache(FORM_PAGE_LAYOUT_CONTENT_CACHE);
+
+    private final BoundedConcurrentCache<String, String> applicationLayoutContents = createCache(FORM_APPLICATION_LAYOUT_CACHE);
+
+    private final FormCacheStatistics statistics = new FormCacheStatistics(caches);
+
     protected FormCacheUtil(final long tenantID) {
-        try {
-            CACHE_DISK_STORE_PATH = WebBonitaConstantsUtils.getInstance(tenantID).getFormsWorkFolder().getAbsolutePath();
-            this.tenantID = tenantID;
-        } catch (final Exception e) {
-            LOGGER.log(Level.WARNING, "Unable to retrieve the path of the cache disk store directory path.", e);
-        }
+        this.tenantID = tenantID;
     }
 
+    private <K, V> BoundedConcurrentCache<K, V> createCache(final String cacheName) {
+        final BoundedConcurrentCache<K, V> cache = new BoundedConcurrentCache<K, V>(cacheName, Integer.getInteger(CACHE_MAX_SIZE_PROPERTY,
+                DEFAULT_CACHE_MAX_SIZE));
+        caches.add(cache);
+        return cache;
+    }
 
     protected static String getDateStr(final Date date) {
         if (date != null) {
@@ -80,138 +124,110 @@ public class FormCacheUtil {
         return "";
     }
 
+    public FormCacheStatistics getStatistics() {
+        return statistics;
+    }
+
     public Expression getFirstPage(final String formID, final String locale, final Date applicationDeployementDate) throws InvalidFormDefinitionException {
-        return (Expression) CacheUtil.get(CACHE_DISK_STORE_PATH, FORM_FIRST_PAGE_CACHE, formID + locale + getDateStr(applicationDeployementDate)
-                + DOMAIN_KEY_CONNECTOR + tenantID);
+        return firstPages.get(FormCacheKey.of(formID, locale, applicationDeployementDate));
     }
 
     public void storeFirstPage(final String formID, final String locale, final Date applicationDeployementDate, final Expression firstPage) throws InvalidFormDefinitionException {
-        CacheUtil.store(CACHE_DISK_STORE_PATH, FORM_FIRST_PAGE_CACHE, formID + locale + getDateStr(applicationDeployementDate) + DOMAIN_KEY_CONNECTOR
-                + tenantID, firstPage);
+        firstPages.put(FormCacheKey.of(formID, locale, applicationDeployementDate), firstPage);
     }
 
     public FormPage getPage(final String formID, final String locale, final Date applicationDeployementDate, final String pageId) throws InvalidFormDefinitionException {
-        return (FormPage) CacheUtil.get(CACHE_DISK_STORE_PATH, FORM_PAGES_CACHE, formID + locale + getDateStr(applicationDeployementDate) + pageId
-                + DOMAIN_KEY_CONNECTOR + tenantID);
+        return pages.get(FormCacheKey.of(formID, locale, applicationDeployementDate, pageId));
     }
 
     public void storePage(final String formID, final String locale, final Date applicationDeployementDate, final FormPage formPage) throws InvalidFormDefinitionException {
-        CacheUtil.store(CACHE_DISK_STORE_PATH, FORM_PAGES_CACHE, formID + locale + getDateStr(applicationDeployementDate) + formPage.getPageId()
-                + DOMAIN_KEY_CONNECTOR + tenantID, formPage);
+        pages.put(FormCacheKey.of(formID, locale, applicationDeployementDate, formPage.getPageId()), formPage);
     }
 
-    @SuppressWarnings("unchecked")
     public List<TransientData> getTransientData(final String formID, final String locale, final Date applicationDeployementDate) throws InvalidFormDefinitionException {
-        return (List<TransientData>) CacheUtil.get(CACHE_DISK_STORE_PATH, FORM_TRANSIENT_DATA_CACHE, formID + locale + getDateStr(applicationDeployementDate)
-                + DOMAIN_KEY_CONNECTOR
-                + tenantID);
+        return transientData.get(FormCacheKey.of(formID, locale, applicationDeployementDate));
     }
 
     public void storeTransientData(final String formID, final String locale, final Date applicationDeployementDate, final List<TransientData> transientData) throws InvalidFormDefinitionException {
-        CacheUtil.store(CACHE_DISK_STORE_PATH, FORM_TRANSIENT_DATA_CACHE, formID + locale + getDateStr(applicationDeployementDate) + DOMAIN_KEY_CONNECTOR
-                + tenantID, transientData);
+        this.transientData.put(FormCacheKey.of(formID, locale, applicationDeployementDate), transientData);
     }
 
-    @SuppressWarnings("unchecked")
     public List<FormAction> getPageActions(final String formID, final String locale, final Date applicationDeployementDate, final String pageId)
             throws InvalidFormDefinitionException {
-        return (List<FormAction>) CacheUtil.get(CACHE_DISK_STORE_PATH, FORM_PAGE_ACTIONS_CACHE, formID + locale + getDateStr(applicationDeployementDate)
-                + pageId + DOMAIN_KEY_CONNECTOR + tenantID);
+        return pageActions.get(FormCacheKey.of(formID, locale, applicationDeployementDate, pageId));
     }
 
     public void storePageActions(final String formID, final String locale, final Date applicationDeployementDate, final String pageId,
             final List<FormAction> actions) throws InvalidFormDefinitionException {
-        CacheUtil.store(CACHE_DISK_STORE_PATH, FORM_PAGE_ACTIONS_CACHE, formID + locale + getDateStr(applicationDeployementDate) + pageId
-                + DOMAIN_KEY_CONNECTOR + tenantID, actions);
+        pageActions.put(FormCacheKey.of(formID, locale, applicationDeployementDate, pageId), actions);
     }
 
-	public ApplicationConfig getApplicationConfig(final String formID, final String locale, final Date applicationDeployementDate, final boolean includeApplicationTemplate) throws InvalidFormDefinitionException {
-        return (ApplicationConfig) CacheUtil.get(CACHE_DISK_STORE_PATH, FORM_CONFIG_CACHE,
-                formID + locale + getDateStr(applicationDeployementDate) + Boolean.toString(includeApplicationTemplate) + DOMAIN_KEY_CONNECTOR + tenantID);
+    public ApplicationConfig getApplicationConfig(final String formID, final String locale, final Date applicationDeployementDate, final boolean includeApplicationTemplate) throws InvalidFormDefinitionException {
+        return applicationConfigs.get(FormCacheKey.of(formID, locale, applicationDeployementDate, Boolean.toString(includeApplicationTemplate)));
     }
 
     public final void storeApplicationConfig(final String formID, final String locale, final Date applicationDeployementDate, final boolean includeApplicationTemplate, final ApplicationConfig ApplicationConfig) throws InvalidFormDefinitionException {
-        CacheUtil.store(CACHE_DISK_STORE_PATH, FORM_CONFIG_CACHE,
-                formID + locale + getDateStr(applicationDeployementDate) + Boolean.toString(includeApplicationTemplate) + DOMAIN_KEY_CONNECTOR + tenantID,
-                ApplicationConfig);
+        applicationConfigs.put(FormCacheKey.of(formID, locale, applicationDeployementDate, Boolean.toString(includeApplicationTemplate)), ApplicationConfig);
     }
 
     public String getApplicationPermissions(final String formID, final String locale, final Date applicationDeployementDate) throws InvalidFormDefinitionException {
-        return (String) CacheUtil.get(CACHE_DISK_STORE_PATH, FORM_APPLICATION_PERMISSIONS_CACHE, formID + locale + getDateStr(applicationDeployementDate)
-                + DOMAIN_KEY_CONNECTOR
-                + tenantID);
+        return applicationPermissions.get(FormCacheKey.of(formID, locale, applicationDeployementDate));
     }
 
     public void storeApplicationPermissions(final String formID, final String locale, final Date applicationDeployementDate, final String applicationPermissions) throws InvalidFormDefinitionException {
-        CacheUtil.store(CACHE_DISK_STORE_PATH, FORM_APPLICATION_PERMISSIONS_CACHE, formID + locale + getDateStr(applicationDeployementDate)
-                + DOMAIN_KEY_CONNECTOR + tenantID, applicationPermissions);
+        this.applicationPermissions.put(FormCacheKey.of(formID, locale, applicationDeployementDate), applicationPermissions);
     }
 
     public String getMigrationProductVersion(final String formID, final String locale, final Date applicationDeployementDate) throws InvalidFormDefinitionException {
-        return (String) CacheUtil.get(CACHE_DISK_STORE_PATH, FORM_MIGRATION_PRODUCT_VERSION_CACHE, formID + locale + getDateStr(applicationDeployementDate)
-                + DOMAIN_KEY_CONNECTOR
-                + tenantID);
+        return migrationProductVersions.get(FormCacheKey.of(formID, locale, applicationDeployementDate));
     }
 
     public void storeMigrationProductVersion(final String formID, final String locale, final Date applicationDeployementDate, final String migrationProductVersion) throws InvalidFormDefinitionException {
-        CacheUtil.store(CACHE_DISK_STORE_PATH, FORM_MIGRATION_PRODUCT_VERSION_CACHE, formID + locale + getDateStr(applicationDeployementDate)
-                + DOMAIN_KEY_CONNECTOR + tenantID, migrationProductVersion);
+        migrationProductVersions.put(FormCacheKey.of(formID, locale, applicationDeployementDate), migrationProductVersion);
     }
 
     public String getFormPermissions(final String formID, final String locale, final Date applicationDeployementDate) throws InvalidFormDefinitionException {
-        return (String) CacheUtil.get(CACHE_DISK_STORE_PATH, FORM_PERMISSIONS_CACHE, formID + locale + getDateStr(applicationDeployementDate)
-                + DOMAIN_KEY_CONNECTOR + tenantID);
+        return formPermissions.get(FormCacheKey.of(formID, locale, applicationDeployementDate));
     }
 
     public void storeFormPermissions(final String formID, final String locale, final Date applicationDeployementDate, final String formPermissions) throws InvalidFormDefinitionException {
-        CacheUtil.store(CACHE_DISK_STORE_PATH, FORM_PERMISSIONS_CACHE, formID + locale + getDateStr(applicationDeployementDate) + DOMAIN_KEY_CONNECTOR
-                + tenantID, formPermissions);
+        this.formPermissions.put(FormCacheKey.of(formID, locale, applicationDeployementDate), formPermissions);
     }
 
     public String getNextForm(final String formID, final String locale, final Date applicationDeployementDate) throws InvalidFormDefinitionException {
-        return (String) CacheUtil.get(CACHE_DISK_STORE_PATH, FORM_NEXT_FORM_CACHE, formID + locale + getDateStr(applicationDeployementDate)
-                + DOMAIN_KEY_CONNECTOR + tenantID);
+        return nextForms.get(FormCacheKey.of(formID, locale, applicationDeployementDate));
     }
 
     public void storeNextForm(final String formID, final String locale, final Date applicationDeployementDate, final String nextForm) throws InvalidFormDefinitionException {
-        CacheUtil.store(CACHE_DISK_STORE_PATH, FORM_NEXT_FORM_CACHE,
-                formID + locale + getDateStr(applicationDeployementDate) + DOMAIN_KEY_CONNECTOR + tenantID, nextForm);
+        nextForms.put(FormCacheKey.of(formID, locale, applicationDeployementDate), nextForm);
     }
 
     public String getFormPageLayout(final String formID, final String locale, final Date applicationDeployementDate,final String pageId) throws InvalidFormDefinitionException {
-        return (String) CacheUtil.get(CACHE_DISK_STORE_PATH, FORM_PAGE_LAYOUT_CACHE, formID + locale + getDateStr(applicationDeployementDate) + pageId
-                + DOMAIN_KEY_CONNECTOR
-                + tenantID);
+        return formPageLayouts.get(FormCacheKey.of(formID, locale, applicationDeployementDate, pageId));
     }
 
     public void storeFormPageLayout(final String formID, final String locale, final Date applicationDeployementDate,final String pageId, final String formPageLayout) throws InvalidFormDefinitionException {
-        CacheUtil.store(CACHE_DISK_STORE_PATH, FORM_PAGE_LAYOUT_CACHE, formID + locale + getDateStr(applicationDeployementDate) + pageId + DOMAIN_KEY_CONNECTOR
-                + tenantID, formPageLayout);
+        formPageLayouts.put(FormCacheKey.of(formID, locale, applicationDeployementDate, pageId), formPageLayout);
     }
 
     public String getApplicationVersion(final String formID, final String locale, final Date applicationDeployementDate) throws InvalidFormDefinitionException {
-        return (String) CacheUtil.get(CACHE_DISK_STORE_PATH, FORM_APPLICATION_VERSION_CACHE, formID + locale + getDateStr(applicationDeployementDate)
-                + DOMAIN_KEY_CONNECTOR
-                + tenantID);
+        return applicationVersions.get(FormCacheKey.of(formID, locale, applicationDeployementDate));
     }
 
     public void storeApplicationVersion(final String formID, final String locale, final Date applicationDeployementDate, final String applicationVersion) throws InvalidFormDefinitionException {
-        CacheUtil.store(CACHE_DISK_STORE_PATH, FORM_APPLICATION_VERSION_CACHE, formID + locale + getDateStr(applicationDeployementDate) + DOMAIN_KEY_CONNECTOR
-                + tenantID, applicationVersion);
+        applicationVersions.put(FormCacheKey.of(formID, locale, applicationDeployementDate), applicationVersion);
     }
 
     public String getApplicationName(final String formID, final String locale, final Date applicationDeployementDate) throws InvalidFormDefinitionException {
-        return (String) CacheUtil.get(CACHE_DISK_STORE_PATH, FORM_APPLICATION_NAME_CACHE, formID + locale + getDateStr(applicationDeployementDate)
-                + DOMAIN_KEY_CONNECTOR + tenantID);
+        return applicationNames.get(FormCacheKey.of(formID, locale, applicationDeployementDate));
     }
 
     public void storeApplicationName(final String formID, final String locale, final Date applicationDeployementDate, final String applicationName) throws InvalidFormDefinitionException {
-        CacheUtil.store(CACHE_DISK_STORE_PATH, FORM_APPLICATION_NAME_CACHE, formID + locale + getDateStr(applicationDeployementDate) + DOMAIN_KEY_CONNECTOR
-                + tenantID, applicationName);
+        applicationNames.put(FormCacheKey.of(formID, locale, applicationDeployementDate), applicationName);
     }
 
     public FormWidget getFormWidget(final String formWidgetCacheId){
-        return (FormWidget) CacheUtil.get(CACHE_DISK_STORE_PATH, FORM_WIDGET_CACHE, formWidgetCacheId);
+        return formWidgets.get(formWidgetCacheId);
     }
 
     public FormWidget getFormWidget(final String formID, final String pageID, final String widgetID, final String locale, final Date processDeployementDate) {
@@ -220,80 +236,64 @@ public class FormCacheUtil {
 
     public String storeFormWidget(final String formID, final String pageID, final String locale, final Date processDeployementDate, final FormWidget formWidget) {
         final String formWidgetCacheId = formID + pageID + formWidget.getId() + locale + getDateStr(processDeployementDate) + DOMAIN_KEY_CONNECTOR + tenantID;
-        CacheUtil.store(CACHE_DISK_STORE_PATH, FORM_WIDGET_CACHE, formWidgetCacheId, formWidget);
+        formWidgets.put(formWidgetCacheId, formWidget);
         return formWidgetCacheId;
     }
 
     public Expression getNextPageIdExpression(final String nextPageExpressionId) {
-        return (Expression) CacheUtil.get(CACHE_DISK_STORE_PATH, NEXT_PAGE_ID_EXPRESSION_CACHE, nextPageExpressionId);
+        return nextPageIdExpressions.get(nextPageExpressionId);
     }
 
     public String storeNextPageIdExpression(final String formID, final String pageID, final String locale, final Date processDeployementDate, final Expression nextPageIdExpression) {
         final String nextPageExpressionId = formID + pageID + locale + getDateStr(processDeployementDate) + DOMAIN_KEY_CONNECTOR + tenantID;
-        CacheUtil.store(CACHE_DISK_STORE_PATH, NEXT_PAGE_ID_EXPRESSION_CACHE, nextPageExpressionId, nextPageIdExpression);
+        nextPageIdExpressions.put(nextPageExpressionId, nextPageIdExpression);
         return nextPageExpressionId;
     }
 
-    @SuppressWarnings("unchecked")
     public List<FormValidator> getFieldValidators(final String fieldValidatorsId) {
-        return (List<FormValidator>) CacheUtil.get(CACHE_DISK_STORE_PATH, FIELD_VALIDATORS_CACHE, fieldValidatorsId);
+        return fieldValidators.get(fieldValidatorsId);
     }
 
     public String storeFieldValidators(final String formID, final String pageID, final String widgetID, final String locale, final Date processDeployementDate, final List<FormValidator> validators) {
         final String validatorsId = formID + pageID + widgetID + locale + getDateStr(processDeployementDate) + DOMAIN_KEY_CONNECTOR + tenantID;
-        CacheUtil.store(CACHE_DISK_STORE_PATH, FIELD_VALIDATORS_CACHE, validatorsId, validators);
+        fieldValidators.put(validatorsId, validators);
         return validatorsId;
     }
 
-    @SuppressWarnings("unchecked")
     public List<FormValidator> getPageValidators(final String pageValidatorsId) {
-        return (List<FormValidator>) CacheUtil.get(CACHE_DISK_STORE_PATH, PAGE_VALIDATORS_CACHE, pageValidatorsId);
+        return pageValidators.get(pageValidatorsId);
     }
 
     public String storePageValidators(final String formID, final String pageID, final String locale, final Date processDeployementDate, final List<FormValidator> validators) {
         final String validatorsId = formID + pageID + locale + getDateStr(processDeployementDate) + DOMAIN_KEY_CONNECTOR + tenantID;
-        CacheUtil.store(CACHE_DISK_STORE_PATH, PAGE_VALIDATORS_CACHE, validatorsId, validators);
+        pageValidators.put(validatorsId, validators);
         return validatorsId;
     }
 
     public String getPageLayoutContent(final String bodyContentId) throws InvalidFormDefinitionException {
-        return (String) CacheUtil.get(CACHE_DISK_STORE_PATH, FORM_PAGE_LAYOUT_CACHE, bodyContentId);
+        return pageLayoutContents.get(bodyContentId);
     }
 
     public String storePageLayoutContent(final String formID, final String PageID, final String locale, final Date applicationDeployementDate, final String BodyContent) throws InvalidFormDefinitionException {
         final String bodyContentId = formID + PageID + locale + getDateStr(applicationDeployementDate) + DOMAIN_KEY_CONNECTOR + tenantID;
-        CacheUtil.store(CACHE_DISK_STORE_PATH, FORM_PAGE_LAYOUT_CACHE, bodyContentId, BodyContent);
+        pageLayoutContents.put(bodyContentId, BodyContent);
         return bodyContentId;
     }
 
     public String getApplicationLayoutContent(final String bodyContentId) throws InvalidFormDefinitionException {
-        return (String) CacheUtil.get(CACHE_DISK_STORE_PATH, FORM_APPLICATION_LAYOUT_CACHE, bodyContentId);
+        return applicationLayoutContents.get(bodyContentId);
     }
 
     public String storeApplicationLayoutContent(final String formID, final String locale, final Date applicationDeployementDate, final String BodyContent) throws InvalidFormDefinitionException {
         final String bodyContentId = formID + locale + getDateStr(applicationDeployementDate) + DOMAIN_KEY_CONNECTOR + tenantID;
-        CacheUtil.store(CACHE_DISK_STORE_PATH, FORM_APPLICATION_LAYOUT_CACHE, bodyContentId, BodyContent);
+        applicationLayoutContents.put(bodyContentId, BodyContent);
         return bodyContentId;
     }
 
     public void clearAll() {
-        CacheUtil.clear(CACHE_DISK_STORE_PATH, FORM_FIRST_PAGE_CACHE);
-        CacheUtil.clear(CACHE_DISK_STORE_PATH, FORM_PAGES_CACHE);
-        CacheUtil.clear(CACHE_DISK_STORE_PATH, FORM_TRANSIENT_DATA_CACHE);
-        CacheUtil.clear(CACHE_DISK_STORE_PATH, FORM_PAGE_ACTIONS_CACHE);
-        CacheUtil.clear(CACHE_DISK_STORE_PATH, FORM_CONFIG_CACHE);
-        CacheUtil.clear(CACHE_DISK_STORE_PATH, FORM_APPLICATION_PERMISSIONS_CACHE);
-        CacheUtil.clear(CACHE_DISK_STORE_PATH, FORM_MIGRATION_PRODUCT_VERSION_CACHE);
-        CacheUtil.clear(CACHE_DISK_STORE_PATH, FORM_PERMISSIONS_CACHE);
-        CacheUtil.clear(CACHE_DISK_STORE_PATH, FORM_NEXT_FORM_CACHE);
-        CacheUtil.clear(CACHE_DISK_STORE_PATH, FORM_PAGE_LAYOUT_CACHE);
-        CacheUtil.clear(CACHE_DISK_STORE_PATH, FORM_APPLICATION_VERSION_CACHE);
-        CacheUtil.clear(CACHE_DISK_STORE_PATH, FORM_APPLICATION_NAME_CACHE);
-        CacheUtil.clear(CACHE_DISK_STORE_PATH, NEXT_PAGE_ID_EXPRESSION_CACHE);
-        CacheUtil.clear(CACHE_DISK_STORE_PATH, FIELD_VALIDATORS_CACHE);
-        CacheUtil.clear(CACHE_DISK_STORE_PATH, PAGE_VALIDATORS_CACHE);
-        CacheUtil.clear(CACHE_DISK_STORE_PATH, FORM_WIDGET_CACHE);
-        CacheUtil.clear(CACHE_DISK_STORE_PATH, FORM_APPLICATION_LAYOUT_CACHE);
+        for (final BoundedConcurrentCache<?, ?> cache : caches) {
+            cache.clear();
+        }
     }
 
 }
@@ -18,15 +18,24 @@ package org.bonitasoft.forms.server.accessor.impl.util;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
-import java.util.LinkedHashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -36,7 +45,9 @@ import org.bonitasoft.engine.bpm.process.ProcessDefinitionNotFoundException;
 import org.bonitasoft.engine.exception.RetrieveException;
 import org.bonitasoft.engine.session.APISession;
 import org.bonitasoft.engine.session.InvalidSessionException;
+import org.bonitasoft.forms.server.accessor.DefaultFormsProperties;
 import org.bonitasoft.forms.server.accessor.DefaultFormsPropertiesFactory;
+import org.bonitasoft.forms.server.cache.FormDocumentRegistryStatistics;
 import org.bonitasoft.forms.server.exception.InvalidFormDefinitionException;
 import org.w3c.dom.Document;
 
@@ -64,10 +75,20 @@ public class FormDocumentBuilder {
     public final static String FORM_DEFINITION_FILE_SUFFIX = ".xml";
 
     /**
-     * The document for the process definition UUID
+     * Parser feature allowing to expand the DOM nodes lazily
+     */
+    protected final static String DEFER_NODE_EXPANSION_FEATURE = "http://apache.org/xml/features/dom/defer-node-expansion";
+
+    /**
+     * The document for the process definition UUID. It is only read to make the copies of {@link #threadDocuments}
      */
     protected Document document;
 
+    /**
+     * Copy of the document for each thread (the DOM implementation is not thread safe, even for reads)
+     */
+    private final ThreadLocal<Document> threadDocuments = new ThreadLocal<Document>();
+
     /**
      * The process definition UUID
      */
@@ -81,7 +102,7 @@ public class FormDocumentBuilder {
     /**
      * Last access to the current instance
      */
-    protected Long lastAccess = new Date().getTime();
+    protected volatile long lastAccess = new Date().getTime();
 
     /**
      * the {@link Date} of the process deployment
@@ -99,9 +120,19 @@ public class FormDocumentBuilder {
     private static Logger LOGGER = Logger.getLogger(FormDocumentBuilder.class.getName());
 
     /**
-     * Instances map by process
+     * Instances by tenant, process, locale and deployment date. Each entry is a task parsing the forms definition file so that
+     * concurrent requests for the same key wait for a single parsing instead of locking the whole registry.
+     */
+    private static final ConcurrentMap<InstanceKey, FutureTask<FormDocumentBuilder>> INSTANCES = new ConcurrentHashMap<>();
+
+    /**
+     * Parse time and size statistics of the registry
      */
-    private static Map<String, Map<String, FormDocumentBuilder>> INSTANCES;
+    private static final FormDocumentRegistryStatistics STATISTICS = new FormDocumentRegistryStatistics(INSTANCES);
+
+    static {
+        STATISTICS.register();
+    }
 
     /**
      * Separator for the instance map keys
@@ -126,7 +157,7 @@ public class FormDocumentBuilder {
      * @throws BPMEngineException
      * @throws InvalidSessionException
      */
-    public static synchronized FormDocumentBuilder getInstance(final APISession session, final long processDefinitionID, final String locale,
+    public static FormDocumentBuilder getInstance(final APISession session, final long processDefinitionID, final String locale,
             final Date processDeployementDate) throws ProcessDefinitionNotFoundException, IOException, InvalidFormDefinitionException, BPMEngineException,
             InvalidSessionException, RetrieveException {
 
@@ -136,7 +167,8 @@ public class FormDocumentBuilder {
     /**
      * Retrieve an instance of FormDocumentBuilder or create a new one if necessary.
      * The map contains a cache of instances. Each instance has a validity duration equals to the INSTANCE_EXPIRATION_TIME constant value
-     * The deployment date is also check because a process can be undeployed and redeployed (after modifications) with the same UUID
+     * The deployment date is part of the key because a process can be undeployed and redeployed (after modifications) with the same UUID : the
+     * instances of the previous deployments are evicted when the new one is parsed.
      * 
      * @param session
      *            the engine API session
@@ -153,78 +185,171 @@ public class FormDocumentBuilder {
      * @throws BPMEngineException
      * @throws InvalidSessionException
      */
-    public static synchronized FormDocumentBuilder getInstance(final APISession session, final long processDefinitionID, final String locale,
+    public static FormDocumentBuilder getInstance(final APISession session, final long processDefinitionID, final String locale,
             final Date processDeployementDate, final boolean getFormDefinitionFromBAR) throws ProcessDefinitionNotFoundException, IOException,
             InvalidFormDefinitionException, BPMEngineException, InvalidSessionException, RetrieveException {
 
-        final long tenantID = session.getTenantId();
-        if (INSTANCES == null) {
-            INSTANCES = new LinkedHashMap<String, Map<String, FormDocumentBuilder>>(DefaultFormsPropertiesFactory.getDefaultFormProperties(tenantID)
-                    .getMaxProcessesInCache(), .75F, true) {
-
-                private static final long serialVersionUID = 7451370208143315146L;
-
-                @Override
-                protected boolean removeEldestEntry(final Map.Entry<String, Map<String, FormDocumentBuilder>> eldest) {
-                    return size() > DefaultFormsPropertiesFactory.getDefaultFormProperties(tenantID).getMaxProcessesInCache();
-                };
-            };
+        if (processDefinitionID == -1) {
+            return buildInstance(session, -1, locale, processDeployementDate, getFormDefinitionFromBAR);
         }
+        final long tenantID = session.getTenantId();
+        final InstanceKey key = new InstanceKey(tenantID, processDefinitionID, locale, processDeployementDate);
+        while (true) {
+            FutureTask<FormDocumentBuilder> task = INSTANCES.get(key);
+            boolean parsedByCurrentThread = false;
+            if (task == null) {
+                final FutureTask<FormDocumentBuilder> newTask = new FutureTask<>(new Callable<FormDocumentBuilder>() {
 
-        FormDocumentBuilder instance = null;
-        if (processDefinitionID == -1) {
-            try {
-                instance = new FormDocumentBuilder(session, -1, locale, processDeployementDate, getFormDefinitionFromBAR);
-            } catch (final FileNotFoundException e) {
-                if (locale != null) {
-                    instance = new FormDocumentBuilder(session, -1, null, processDeployementDate, getFormDefinitionFromBAR);
-                } else {
-                    throw new FileNotFoundException("The forms definition file for process was not found.");
+                    @Override
+                    public FormDocumentBuilder call() throws Exception {
+                        return buildInstance(session, processDefinitionID, locale, processDeployementDate, getFormDefinitionFromBAR);
+                    }
+                });
+                task = INSTANCES.putIfAbsent(key, newTask);
+                if (task == null) {
+                    task = newTask;
+                    task.run();
+                    parsedByCurrentThread = true;
                 }
             }
-        } else {
-            Map<String, FormDocumentBuilder> localeInstances = INSTANCES.get(processDefinitionID + INSTANCES_MAP_SEPERATOR + tenantID);
-            if (localeInstances != null) {
-                instance = localeInstances.get(locale);
-            }
-            boolean outOfDateDefinition = false;
-            if (instance != null
-                    && ((processDeployementDate != null && processDeployementDate.compareTo(instance.processDeployementDate) != 0) || instance
-                            .hasExpired(tenantID))) {
-                localeInstances.remove(locale);
-                outOfDateDefinition = true;
+            final FormDocumentBuilder instance = getTaskResult(key, task);
+            if (parsedByCurrentThread) {
+                evictSupersededInstances(key);
+                evictExceedingInstances(tenantID);
+            } else if (instance.hasExpired(tenantID)) {
+                if (INSTANCES.remove(key, task)) {
+                    STATISTICS.evicted();
+                }
+                continue;
             }
-            if (instance == null || outOfDateDefinition) {
-                if (localeInstances == null) {
-                    localeInstances = new LinkedHashMap<String, FormDocumentBuilder>() {
-
-                        private static final long serialVersionUID = -2092174987934309788L;
+            instance.lastAccess = new Date().getTime();
+            return instance;
+        }
+    }
 
-                        @Override
-                        protected boolean removeEldestEntry(final java.util.Map.Entry<String, FormDocumentBuilder> eldest) {
-                            return size() > DefaultFormsPropertiesFactory.getDefaultFormProperties(tenantID).getMaxLanguagesInCache();
-                        }
-                    };
-                }
-                try {
-                    instance = new FormDocumentBuilder(session, processDefinitionID, locale, processDeployementDate, getFormDefinitionFromBAR);
-                    localeInstances.put(locale, instance);
-                    INSTANCES.put(processDefinitionID + INSTANCES_MAP_SEPERATOR + tenantID, localeInstances);
-                } catch (final FileNotFoundException e) {
-                    if (locale != null) {
-                        instance = new FormDocumentBuilder(session, processDefinitionID, null, processDeployementDate, getFormDefinitionFromBAR);
-                    } else {
-                        throw new FileNotFoundException("The forms definition file for process " + processDefinitionID + "in tenant " + tenantID
-                                + " was not found.");
-                    }
-                }
+    /**
+     * Parse the forms definition file. If there is no forms definition file for the locale, the default one is used.
+     */
+    private static FormDocumentBuilder buildInstance(final APISession session, final long processDefinitionID, final String locale,
+            final Date processDeployementDate, final boolean getFormDefinitionFromBAR) throws ProcessDefinitionNotFoundException, IOException,
+            InvalidFormDefinitionException, BPMEngineException, InvalidSessionException, RetrieveException {
+        final long startTime = System.currentTimeMillis();
+        FormDocumentBuilder instance;
+        try {
+            instance = new FormDocumentBuilder(session, processDefinitionID, locale, processDeployementDate, getFormDefinitionFromBAR);
+        } catch (final FileNotFoundException e) {
+            if (locale != null) {
+                instance = new FormDocumentBuilder(session, processDefinitionID, null, processDeployementDate, getFormDefinitionFromBAR);
+            } else if (processDefinitionID == -1) {
+                throw new FileNotFoundException("The forms definition file for process was not found.");
             } else {
-                instance.lastAccess = new Date().getTime();
+                throw new FileNotFoundException("The forms definition file for process " + processDefinitionID + "in tenant " + session.getTenantId()
+                        + " was not found.");
             }
         }
+        STATISTICS.parsed(System.currentTimeMillis() - startTime);
         return instance;
     }
 
+    /**
+     * Wait for the parsing of a forms definition file. A failed parsing is removed from the registry so that the next request tries
+     * again.
+     */
+    private static FormDocumentBuilder getTaskResult(final InstanceKey key, final FutureTask<FormDocumentBuilder> task)
+            throws ProcessDefinitionNotFoundException, IOException, InvalidFormDefinitionException, BPMEngineException {
+        try {
+            return task.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BPMEngineException("Interrupted while waiting for the parsing of the forms definition file", e);
+        } catch (final ExecutionException e) {
+            INSTANCES.remove(key, task);
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            } else if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof InvalidFormDefinitionException) {
+                throw (InvalidFormDefinitionException) cause;
+            } else if (cause instanceof ProcessDefinitionNotFoundException) {
+                throw (ProcessDefinitionNotFoundException) cause;
+            } else if (cause instanceof BPMEngineException) {
+                throw (BPMEngineException) cause;
+            }
+            throw new BPMEngineException(cause);
+        }
+    }
+
+    /**
+     * Remove the instances of the previous deployments of the process
+     */
+    private static void evictSupersededInstances(final InstanceKey key) {
+        if (key.processDeployementDate == null) {
+            return;
+        }
+        for (final Iterator<InstanceKey> iterator = INSTANCES.keySet().iterator(); iterator.hasNext();) {
+            final InstanceKey otherKey = iterator.next();
+            if (otherKey.isSupersededBy(key)) {
+                iterator.remove();
+                STATISTICS.evicted();
+            }
+        }
+    }
+
+    /**
+     * Remove the least recently used instances of the tenant while there are more than the max number of processes times the max
+     * number of languages in the cache
+     */
+    private static void evictExceedingInstances(final long tenantID) {
+        final DefaultFormsProperties formsProperties = DefaultFormsPropertiesFactory.getDefaultFormProperties(tenantID);
+        final int maxInstances = formsProperties.getMaxProcessesInCache() * formsProperties.getMaxLanguagesInCache();
+        int tenantInstances = 0;
+        final List<EvictionCandidate> candidates = new ArrayList<EvictionCandidate>();
+        for (final Map.Entry<InstanceKey, FutureTask<FormDocumentBuilder>> entry : INSTANCES.entrySet()) {
+            if (entry.getKey().tenantID != tenantID) {
+                continue;
+            }
+            tenantInstances++;
+            // instances being parsed are never evicted
+            if (entry.getValue().isDone()) {
+                final FormDocumentBuilder instance = getParsedInstance(entry.getValue());
+                candidates.add(new EvictionCandidate(entry.getKey(), entry.getValue(), instance != null ? instance.lastAccess : Long.MIN_VALUE));
+            }
+        }
+        if (tenantInstances <= maxInstances) {
+            return;
+        }
+        Collections.sort(candidates);
+        for (final EvictionCandidate candidate : candidates.subList(0, Math.min(tenantInstances - maxInstances, candidates.size()))) {
+            if (INSTANCES.remove(candidate.key, candidate.task)) {
+                STATISTICS.evicted();
+            }
+        }
+    }
+
+    /**
+     * @return the instance parsed by a completed task or null if the parsing failed
+     */
+    private static FormDocumentBuilder getParsedInstance(final FutureTask<FormDocumentBuilder> task) {
+        try {
+            return task.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (final ExecutionException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return the parse time and size statistics of the registry
+     */
+    public static FormDocumentRegistryStatistics getStatistics() {
+        return STATISTICS;
+    }
+
     /**
      * Private constructor to prevent instantiation
      * 
@@ -258,7 +383,7 @@ public class FormDocumentBuilder {
         this.getFormDefinitionFromBAR = getFormDefinitionFromBAR;
         final InputStream formsDefinitionStream = getFormsDefinitionInputStream(session);
         try {
-            final DocumentBuilder builder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+            final DocumentBuilder builder = createDocumentBuilderFactory().newDocumentBuilder();
             this.document = builder.parse(formsDefinitionStream);
         } catch (final Exception e) {
             final String errorMessage = "Failed to parse the forms definition file";
@@ -273,6 +398,23 @@ public class FormDocumentBuilder {
         }
     }
 
+    /**
+     * All the nodes of the document are expanded when it is parsed, so that copying it does not modify it.
+     *
+     * @return the factory used to parse the forms definition file
+     */
+    protected DocumentBuilderFactory createDocumentBuilderFactory() {
+        final DocumentBuilderFactory documentBuilderFactory = DocumentBuilderFactory.newInstance();
+        try {
+            documentBuilderFactory.setFeature(DEFER_NODE_EXPANSION_FEATURE, false);
+        } catch (final ParserConfigurationException e) {
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.log(Level.FINE, "The XML parser does not support the feature " + DEFER_NODE_EXPANSION_FEATURE, e);
+            }
+        }
+        return documentBuilderFactory;
+    }
+
     /**
      * @return the form definition as an input stream
      * @param session
@@ -325,10 +467,17 @@ public class FormDocumentBuilder {
     }
 
     /**
-     * @return the document
+     * @return the copy of the document of the current thread
      */
     public Document getDocument() {
-        return document;
+        Document threadDocument = threadDocuments.get();
+        if (threadDocument == null) {
+            synchronized (document) {
+                threadDocument = (Document) document.cloneNode(true);
+            }
+            threadDocuments.set(threadDocument);
+        }
+        return threadDocument;
     }
 
     /**
@@ -342,4 +491,86 @@ public class FormDocumentBuilder {
         final long now = new Date().getTime();
         return this.lastAccess + DefaultFormsPropertiesFactory.getDefaultFormProperties(tenantID).getProcessesTimeToLiveInCache() < now;
     }
+
+    /**
+     * Instance of the registry which may be evicted, with its last access date read once so that it does not change while sorting
+     */
+    private static final class EvictionCandidate implements Comparable<EvictionCandidate> {
+
+        private final InstanceKey key;
+
+        private final FutureTask<FormDocumentBuilder> task;
+
+        private final long lastAccess;
+
+        EvictionCandidate(final InstanceKey key, final FutureTask<FormDocumentBuilder> task, final long lastAccess) {
+            this.key = key;
+            this.task = task;
+            this.lastAccess = lastAccess;
+        }
+
+        @Override
+        public int compareTo(final EvictionCandidate other) {
+            return lastAccess < other.lastAccess ? -1 : lastAccess == other.lastAccess ? 0 : 1;
+        }
+    }
+
+    /**
+     * Key of the instances registry
+     */
+    private static final class InstanceKey {
+
+        private final long tenantID;
+
+        private final long processDefinitionID;
+
+        private final String locale;
+
+        private final Date processDeployementDate;
+
+        InstanceKey(final long tenantID, final long processDefinitionID, final String locale, final Date processDeployementDate) {
+            this.tenantID = tenantID;
+            this.processDefinitionID = processDefinitionID;
+            this.locale = locale;
+            this.processDeployementDate = processDeployementDate;
+        }
+
+        /**
+         * @return true if this key is for the same tenant, process and locale as the other one but for an older deployment
+         */
+        boolean isSupersededBy(final InstanceKey other) {
+            return tenantID == other.tenantID && processDefinitionID == other.processDefinitionID
+                    && (locale == null ? other.locale == null : locale.equals(other.locale))
+                    && (processDeployementDate == null || processDeployementDate.before(other.processDeployementDate));
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof InstanceKey)) {
+                return false;
+            }
+            final InstanceKey other = (InstanceKey) obj;
+            return tenantID == other.tenantID && processDefinitionID == other.processDefinitionID
+                    && (locale == null ? other.locale == null : locale.equals(other.locale))
+                    && (processDeployementDate == null ? other.processDeployementDate == null : processDeployementDate.equals(other.processDeployementDate));
+        }
+
+        @Override
+        public int hashCode() {
+            int result = (int) (tenantID ^ tenantID >>> 32);
+            result = 31 * result + (int) (processDefinitionID ^ processDefinitionID >>> 32);
+            result = 31 * result + (locale == null ? 0 : locale.hashCode());
+            result = 31 * result + (processDeployementDate == null ? 0 : processDeployementDate.hashCode());
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return processDefinitionID + INSTANCES_MAP_SEPERATOR + tenantID + INSTANCES_MAP_SEPERATOR + locale + INSTANCES_MAP_SEPERATOR
+                    + (processDeployementDate == null ? null : processDeployementDate.getTime());
+        }
+    }
 }
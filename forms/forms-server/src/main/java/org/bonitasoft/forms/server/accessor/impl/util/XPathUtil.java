@@ -16,6 +16,8 @@
  */
 package org.bonitasoft.forms.server.accessor.impl.util;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -36,15 +38,55 @@ import org.w3c.dom.NodeList;
 public abstract class XPathUtil {
 
     /**
-     * Xpath evaluation accessor
+     * Maximum number of compiled XPath expressions kept by each thread
      */
-    protected XPath xpathEvaluator = XPathFactory.newInstance().newXPath();
+    protected static final int MAX_COMPILED_EXPRESSIONS = 1000;
+
+    /**
+     * Xpath evaluation accessor of each thread ({@link XPath} and {@link XPathExpression} are not thread safe)
+     */
+    private static final ThreadLocal<XPath> XPATH_EVALUATORS = new ThreadLocal<XPath>();
+
+    /**
+     * XPath expressions already compiled by each thread
+     */
+    private static final ThreadLocal<Map<String, XPathExpression>> COMPILED_EXPRESSIONS = new ThreadLocal<Map<String, XPathExpression>>();
 
     /**
      * Logger
      */
     private static Logger LOGGER = Logger.getLogger(XPathUtil.class.getName());
 
+    /**
+     * Compile an XPath expression or retrieve it if it was already compiled by the current thread.
+     *
+     * @param xPath
+     *        the XPath expression
+     * @return the compiled {@link XPathExpression}
+     * @throws XPathExpressionException
+     */
+    protected XPathExpression compile(final String xPath) throws XPathExpressionException {
+        Map<String, XPathExpression> compiledExpressions = COMPILED_EXPRESSIONS.get();
+        if (compiledExpressions == null) {
+            compiledExpressions = new HashMap<String, XPathExpression>();
+            COMPILED_EXPRESSIONS.set(compiledExpressions);
+        }
+        XPathExpression compiledXpath = compiledExpressions.get(xPath);
+        if (compiledXpath == null) {
+            XPath xpathEvaluator = XPATH_EVALUATORS.get();
+            if (xpathEvaluator == null) {
+                xpathEvaluator = XPathFactory.newInstance().newXPath();
+                XPATH_EVALUATORS.set(xpathEvaluator);
+            }
+            compiledXpath = xpathEvaluator.compile(xPath);
+            if (compiledExpressions.size() >= MAX_COMPILED_EXPRESSIONS) {
+                compiledExpressions.clear();
+            }
+            compiledExpressions.put(xPath, compiledXpath);
+        }
+        return compiledXpath;
+    }
+
     /**
      * Retrieve the child node of a node using XPath
      *
@@ -57,10 +99,8 @@ public abstract class XPathUtil {
     public Node getNodeByXpath(final Node parentNode, final String xPath) {
         Node node = null;
         try {
-            final XPathExpression compiledXpath = xpathEvaluator.compile(xPath);
-            synchronized (parentNode) {
-                node = (Node) compiledXpath.evaluate(parentNode, XPathConstants.NODE);
-            }
+            final XPathExpression compiledXpath = compile(xPath);
+            node = (Node) compiledXpath.evaluate(parentNode, XPathConstants.NODE);
         } catch (final XPathExpressionException e) {
             if (LOGGER.isLoggable(Level.WARNING)) {
                 LOGGER.log(Level.WARNING, "Error in Xpath expression", e);
@@ -99,10 +139,8 @@ public abstract class XPathUtil {
     public NodeList getNodeListByXpath(final Node parentNode, final String xPath) {
         NodeList nodeList = null;
         try {
-            final XPathExpression compiledXpath = xpathEvaluator.compile(xPath);
-            synchronized (parentNode) {
-                nodeList = (NodeList) compiledXpath.evaluate(parentNode, XPathConstants.NODESET);
-            }
+            final XPathExpression compiledXpath = compile(xPath);
+            nodeList = (NodeList) compiledXpath.evaluate(parentNode, XPathConstants.NODESET);
         } catch (final XPathExpressionException e) {
             if (LOGGER.isLoggable(Level.WARNING)) {
                 LOGGER.log(Level.WARNING, "Error in Xpath expression", e);
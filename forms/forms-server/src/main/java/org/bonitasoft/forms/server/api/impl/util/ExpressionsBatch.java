@@ -0,0 +1,170 @@
+/**
+ * Copyright (C) 2016 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.forms.server.api.impl.util;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bonitasoft.forms.client.model.Expression;
+import org.bonitasoft.forms.client.model.exception.SessionTimeoutException;
+import org.bonitasoft.forms.server.exception.FileTooBigException;
+import org.bonitasoft.forms.server.exception.FormInitializationException;
+import org.bonitasoft.forms.server.exception.FormNotFoundException;
+import org.bonitasoft.forms.server.provider.FormServiceProvider;
+
+/**
+ * The expressions of a form page evaluated in a single call to the engine.<br />
+ * Identical expressions (same type, content, return type, interpreter and dependencies) used by several widgets are evaluated only
+ * once and their result is copied for the name of each widget expression. The results of a batch already resolved for the same page
+ * (the display conditions for instance) are reused instead of being evaluated again.
+ */
+public class ExpressionsBatch {
+
+    /**
+     * The expressions to send to the engine by signature
+     */
+    private final Map<String, Expression> distinctExpressions = new LinkedHashMap<String, Expression>();
+
+    /**
+     * The names of the expressions by signature
+     */
+    private final Map<String, List<String>> expressionNames = new HashMap<String, List<String>>();
+
+    /**
+     * The results of the evaluation by signature
+     */
+    private final Map<String, Serializable> results = new HashMap<String, Serializable>();
+
+    private final int expressionsCount;
+
+    private int engineCalls;
+
+    public ExpressionsBatch(final List<Expression> expressions) {
+        int count = 0;
+        for (final Expression expression : expressions) {
+            if (expression != null) {
+                final String signature = getSignature(expression);
+                List<String> names = expressionNames.get(signature);
+                if (names == null) {
+                    names = new ArrayList<String>();
+                    expressionNames.put(signature, names);
+                    distinctExpressions.put(signature, expression);
+                }
+                names.add(expression.getName());
+                count++;
+            }
+        }
+        expressionsCount = count;
+    }
+
+    /**
+     * Reuse the results of a resolved batch for the identical expressions of this batch
+     */
+    public void reuseResults(final ExpressionsBatch resolvedBatch) {
+        for (final Map.Entry<String, Serializable> result : resolvedBatch.results.entrySet()) {
+            if (distinctExpressions.remove(result.getKey()) != null) {
+                results.put(result.getKey(), result.getValue());
+            }
+        }
+    }
+
+    /**
+     * Evaluate the distinct expressions of the batch in a single call to the form service provider
+     *
+     * @return the results of the evaluation by expression name
+     */
+    public Map<String, Serializable> resolve(final FormServiceProvider formServiceProvider, final Map<String, Object> context)
+            throws FormNotFoundException, FormInitializationException, SessionTimeoutException, FileTooBigException, IOException {
+        if (!distinctExpressions.isEmpty()) {
+            final Map<String, Serializable> evaluatedExpressions = formServiceProvider.resolveExpressions(
+                    new ArrayList<Expression>(distinctExpressions.values()), context);
+            engineCalls++;
+            if (evaluatedExpressions != null) {
+                for (final Map.Entry<String, Expression> distinctExpression : distinctExpressions.entrySet()) {
+                    final String name = distinctExpression.getValue().getName();
+                    if (evaluatedExpressions.containsKey(name)) {
+                        results.put(distinctExpression.getKey(), evaluatedExpressions.get(name));
+                    }
+                }
+            }
+            distinctExpressions.clear();
+        }
+        final Map<String, Serializable> resultsByName = new HashMap<String, Serializable>();
+        for (final Map.Entry<String, Serializable> result : results.entrySet()) {
+            for (final String name : expressionNames.get(result.getKey())) {
+                resultsByName.put(name, result.getValue());
+            }
+        }
+        return resultsByName;
+    }
+
+    /**
+     * @return the number of expressions of the batch, including the duplicated ones
+     */
+    public int getExpressionsCount() {
+        return expressionsCount;
+    }
+
+    /**
+     * @return the number of distinct expressions of the batch
+     */
+    public int getDistinctExpressionsCount() {
+        return expressionNames.size();
+    }
+
+    /**
+     * @return the number of calls made to the engine to resolve the batch
+     */
+    public int getEngineCalls() {
+        return engineCalls;
+    }
+
+    /**
+     * @return a String identifying the expression whatever its name
+     */
+    protected static String getSignature(final Expression expression) {
+        final StringBuilder signature = new StringBuilder();
+        appendSignature(signature, expression);
+        return signature.toString();
+    }
+
+    private static void appendSignature(final StringBuilder signature, final Expression expression) {
+        appendValue(signature, expression.getExpressionType());
+        appendValue(signature, expression.getContent());
+        appendValue(signature, expression.getReturnType());
+        appendValue(signature, expression.getInterpreter());
+        final List<Expression> dependencies = expression.getDependencies();
+        signature.append('[').append(dependencies.size());
+        for (final Expression dependency : dependencies) {
+            signature.append(',');
+            appendValue(signature, dependency.getName());
+            appendSignature(signature, dependency);
+        }
+        signature.append(']');
+    }
+
+    private static void appendValue(final StringBuilder signature, final String value) {
+        if (value == null) {
+            signature.append("-1:");
+        } else {
+            signature.append(value.length()).append(':').append(value);
+        }
+    }
+}
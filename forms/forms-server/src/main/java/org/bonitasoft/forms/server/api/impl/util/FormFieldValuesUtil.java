@@ -25,7 +25,6 @@ import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -868,11 +867,18 @@ public class FormFieldValuesUtil {
             FileTooBigException, FormInitializationException {
         final FormServiceProvider formServiceProvider = FormServiceProviderFactory.getFormServiceProvider(tenantID);
 
-        final Map<String, Serializable> evaluatedDisplayExpressions = resolveDisplayExpressions(widgets, context, formServiceProvider);
-        final Map<String, Serializable> evaluatedExpressions = formServiceProvider.resolveExpressions(
-                getExpressionsToEvaluation(widgets, evaluatedDisplayExpressions, context),
-                context);
+        final ExpressionsBatch displayExpressionsBatch = new ExpressionsBatch(new DisplayExpressions(widgets).asList());
+        final Map<String, Serializable> evaluatedDisplayExpressions = displayExpressionsBatch.resolve(formServiceProvider, context);
+        final ExpressionsBatch expressionsBatch = new ExpressionsBatch(getExpressionsToEvaluation(widgets, evaluatedDisplayExpressions, context));
+        expressionsBatch.reuseResults(displayExpressionsBatch);
+        final Map<String, Serializable> evaluatedExpressions = expressionsBatch.resolve(formServiceProvider, context);
         evaluatedExpressions.putAll(evaluatedDisplayExpressions);
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.log(Level.FINE, "Form page with " + widgets.size() + " widgets rendered with "
+                    + (displayExpressionsBatch.getEngineCalls() + expressionsBatch.getEngineCalls()) + " engine calls for "
+                    + (displayExpressionsBatch.getExpressionsCount() + expressionsBatch.getExpressionsCount()) + " expressions ("
+                    + (displayExpressionsBatch.getDistinctExpressionsCount() + expressionsBatch.getDistinctExpressionsCount()) + " distinct)");
+        }
 
         for (final FormWidget formWidget : widgets) {
             setFormWidgetValues(tenantID, formWidget, evaluatedExpressions, context);
@@ -880,15 +886,6 @@ public class FormFieldValuesUtil {
         }
     }
 
-    private Map<String, Serializable> resolveDisplayExpressions(final List<FormWidget> widgets, final Map<String, Object> context,
-            final FormServiceProvider formServiceProvider)
-            throws FormNotFoundException, SessionTimeoutException, FileTooBigException, IOException, FormInitializationException {
-        final Map<String, Serializable> resolvedExpressions = formServiceProvider.resolveExpressions(
-                new DisplayExpressions(widgets).asList(),
-                context);
-        return resolvedExpressions != null ? resolvedExpressions : new HashMap<String, Serializable>();
-    }
-
     protected List<Expression> getExpressionsToEvaluation(final List<FormWidget> widgets,
             final Map<String, Serializable> resolvedDisplayExp,
             final Map<String, Object> context) {
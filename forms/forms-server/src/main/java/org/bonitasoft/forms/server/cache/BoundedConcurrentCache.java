@@ -0,0 +1,138 @@
+/**
+ * Copyright (C) 2016 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.forms.server.cache;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In memory cache with a non blocking read path.<br />
+ * When the number of entries exceeds the maximum size, the oldest entries are evicted (first in, first out: reading an entry
+ * does not make it younger). Null values are not stored.
+ *
+ * @param <K>
+ *        the type of the keys
+ * @param <V>
+ *        the type of the values
+ */
+public class BoundedConcurrentCache<K, V> {
+
+    private final String name;
+
+    private final int maxSize;
+
+    private final ConcurrentMap<K, Entry<K, V>> entries = new ConcurrentHashMap<K, Entry<K, V>>();
+
+    /**
+     * Entries in insertion order. An entry replaced or removed from the map may still be queued until it is polled, it is then
+     * skipped.
+     */
+    private final Queue<Entry<K, V>> insertionOrder = new ConcurrentLinkedQueue<Entry<K, V>>();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong evictions = new AtomicLong();
+
+    public BoundedConcurrentCache(final String name, final int maxSize) {
+        this.name = name;
+        this.maxSize = maxSize;
+    }
+
+    public V get(final K key) {
+        final Entry<K, V> entry = entries.get(key);
+        if (entry != null) {
+            hits.incrementAndGet();
+            return entry.value;
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    public void put(final K key, final V value) {
+        if (value == null) {
+            final Entry<K, V> removedEntry = entries.remove(key);
+            if (removedEntry != null) {
+                insertionOrder.remove(removedEntry);
+            }
+            return;
+        }
+        final Entry<K, V> entry = new Entry<K, V>(key, value);
+        final Entry<K, V> replacedEntry = entries.put(key, entry);
+        if (replacedEntry != null) {
+            // a replaced entry is inserted again
+            insertionOrder.remove(replacedEntry);
+        }
+        insertionOrder.offer(entry);
+        evictIfNeeded();
+    }
+
+    private void evictIfNeeded() {
+        while (entries.size() > maxSize) {
+            final Entry<K, V> eldestEntry = insertionOrder.poll();
+            if (eldestEntry == null) {
+                return;
+            }
+            // entries replaced or removed since they were queued are not in the map anymore
+            if (entries.remove(eldestEntry.key, eldestEntry)) {
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    public void clear() {
+        entries.clear();
+        insertionOrder.clear();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    /**
+     * Entries are compared by identity, so that a queued entry only matches the value it was inserted with
+     */
+    private static class Entry<K, V> {
+
+        private final K key;
+
+        private final V value;
+
+        Entry(final K key, final V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+}
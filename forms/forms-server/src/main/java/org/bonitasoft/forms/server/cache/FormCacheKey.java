@@ -0,0 +1,92 @@
+/**
+ * Copyright (C) 2016 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.forms.server.cache;
+
+import java.util.Date;
+
+/**
+ * Key of a form definition element in the forms cache.<br />
+ * The tenant is not part of the key since each tenant has its own caches.
+ */
+public final class FormCacheKey {
+
+    private final String formID;
+
+    private final String locale;
+
+    private final long deploymentDate;
+
+    private final String qualifier;
+
+    private final int hashCode;
+
+    private FormCacheKey(final String formID, final String locale, final long deploymentDate, final String qualifier) {
+        this.formID = formID;
+        this.locale = locale;
+        this.deploymentDate = deploymentDate;
+        this.qualifier = qualifier;
+        hashCode = computeHashCode();
+    }
+
+    /**
+     * @param qualifier
+     *        the element of the form the key refers to (page ID, widget ID...), can be null
+     */
+    public static FormCacheKey of(final String formID, final String locale, final Date deploymentDate, final String qualifier) {
+        return new FormCacheKey(formID, locale, deploymentDate != null ? deploymentDate.getTime() : -1L, qualifier);
+    }
+
+    public static FormCacheKey of(final String formID, final String locale, final Date deploymentDate) {
+        return of(formID, locale, deploymentDate, null);
+    }
+
+    private int computeHashCode() {
+        int result = formID != null ? formID.hashCode() : 0;
+        result = 31 * result + (locale != null ? locale.hashCode() : 0);
+        result = 31 * result + (int) (deploymentDate ^ deploymentDate >>> 32);
+        result = 31 * result + (qualifier != null ? qualifier.hashCode() : 0);
+        return result;
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof FormCacheKey)) {
+            return false;
+        }
+        final FormCacheKey other = (FormCacheKey) obj;
+        return hashCode == other.hashCode
+                && deploymentDate == other.deploymentDate
+                && equals(formID, other.formID)
+                && equals(locale, other.locale)
+                && equals(qualifier, other.qualifier);
+    }
+
+    private static boolean equals(final String value, final String otherValue) {
+        return value == null ? otherValue == null : value.equals(otherValue);
+    }
+
+    @Override
+    public String toString() {
+        return formID + "|" + locale + "|" + deploymentDate + (qualifier != null ? "|" + qualifier : "");
+    }
+}
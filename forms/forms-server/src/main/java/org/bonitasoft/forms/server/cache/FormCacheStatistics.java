@@ -0,0 +1,133 @@
+/**
+ * Copyright (C) 2016 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.forms.server.cache;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Aggregated statistics of the forms caches of a tenant
+ */
+public class FormCacheStatistics implements FormCacheStatisticsMBean {
+
+    /**
+     * Logger
+     */
+    private static Logger LOGGER = Logger.getLogger(FormCacheStatistics.class.getName());
+
+    private static final String OBJECT_NAME_PREFIX = "org.bonitasoft.forms:type=FormCache,tenant=";
+
+    private final List<BoundedConcurrentCache<?, ?>> caches;
+
+    public FormCacheStatistics(final List<BoundedConcurrentCache<?, ?>> caches) {
+        this.caches = caches;
+    }
+
+    /**
+     * Register the statistics in the platform MBean server. Failures are only logged since the statistics are not needed to
+     * use the caches.
+     */
+    public void register(final long tenantID) {
+        try {
+            final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName objectName = new ObjectName(OBJECT_NAME_PREFIX + tenantID);
+            if (mBeanServer.isRegistered(objectName)) {
+                mBeanServer.unregisterMBean(objectName);
+            }
+            mBeanServer.registerMBean(this, objectName);
+        } catch (final JMException e) {
+            if (LOGGER.isLoggable(Level.WARNING)) {
+                LOGGER.log(Level.WARNING, "Unable to register the forms cache statistics of tenant " + tenantID, e);
+            }
+        }
+    }
+
+    /**
+     * Unregister the statistics from the platform MBean server so that it does not keep a reference to the web application classes
+     */
+    public void unregister(final long tenantID) {
+        try {
+            final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName objectName = new ObjectName(OBJECT_NAME_PREFIX + tenantID);
+            if (mBeanServer.isRegistered(objectName)) {
+                mBeanServer.unregisterMBean(objectName);
+            }
+        } catch (final JMException e) {
+            if (LOGGER.isLoggable(Level.WARNING)) {
+                LOGGER.log(Level.WARNING, "Unable to unregister the forms cache statistics of tenant " + tenantID, e);
+            }
+        }
+    }
+
+    @Override
+    public long getHitCount() {
+        long hitCount = 0;
+        for (final BoundedConcurrentCache<?, ?> cache : caches) {
+            hitCount += cache.getHitCount();
+        }
+        return hitCount;
+    }
+
+    @Override
+    public long getMissCount() {
+        long missCount = 0;
+        for (final BoundedConcurrentCache<?, ?> cache : caches) {
+            missCount += cache.getMissCount();
+        }
+        return missCount;
+    }
+
+    @Override
+    public long getEvictionCount() {
+        long evictionCount = 0;
+        for (final BoundedConcurrentCache<?, ?> cache : caches) {
+            evictionCount += cache.getEvictionCount();
+        }
+        return evictionCount;
+    }
+
+    @Override
+    public long getSize() {
+        long size = 0;
+        for (final BoundedConcurrentCache<?, ?> cache : caches) {
+            size += cache.size();
+        }
+        return size;
+    }
+
+    @Override
+    public String[] getCacheDetails() {
+        final String[] details = new String[caches.size()];
+        for (int i = 0; i < details.length; i++) {
+            final BoundedConcurrentCache<?, ?> cache = caches.get(i);
+            details[i] = cache.getName() + ": size=" + cache.size() + ", hits=" + cache.getHitCount() + ", misses=" + cache.getMissCount()
+                    + ", evictions=" + cache.getEvictionCount();
+        }
+        return details;
+    }
+
+    @Override
+    public void clear() {
+        for (final BoundedConcurrentCache<?, ?> cache : caches) {
+            cache.clear();
+        }
+    }
+}
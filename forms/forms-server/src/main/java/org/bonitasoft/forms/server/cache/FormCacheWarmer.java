@@ -0,0 +1,130 @@
+/**
+ * Copyright (C) 2016 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.forms.server.cache;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.bonitasoft.engine.api.ProcessAPI;
+import org.bonitasoft.engine.api.TenantAPIAccessor;
+import org.bonitasoft.engine.bpm.process.ProcessDeploymentInfo;
+import org.bonitasoft.engine.bpm.process.ProcessDeploymentInfoCriterion;
+import org.bonitasoft.engine.expression.ExpressionType;
+import org.bonitasoft.engine.session.APISession;
+import org.bonitasoft.forms.client.model.Expression;
+import org.bonitasoft.forms.server.api.FormAPIFactory;
+import org.bonitasoft.forms.server.api.IFormDefinitionAPI;
+import org.bonitasoft.forms.server.provider.FormServiceProvider;
+import org.bonitasoft.forms.server.provider.impl.util.FormServiceProviderFactory;
+import org.bonitasoft.forms.server.provider.impl.util.FormServiceProviderUtil;
+import org.w3c.dom.Document;
+
+/**
+ * Pre-populate the forms cache of a tenant with the first page (and its layout) of the instantiation form of every deployed
+ * process, so that the first users of a form do not pay for the parsing of the forms definition.
+ */
+public class FormCacheWarmer {
+
+    /**
+     * Name of the system property enabling the warm-up of the forms cache at tenant start
+     */
+    public static final String WARM_UP_PROPERTY = "org.bonitasoft.web.forms.cacheWarmUp";
+
+    /**
+     * Logger
+     */
+    private static Logger LOGGER = Logger.getLogger(FormCacheWarmer.class.getName());
+
+    private static final int PROCESSES_PAGE_SIZE = 100;
+
+    private final APISession session;
+
+    public FormCacheWarmer(final APISession session) {
+        this.session = session;
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.getBoolean(WARM_UP_PROPERTY);
+    }
+
+    /**
+     * @return the number of processes for which the first page was cached
+     */
+    public int warmUp(final String locale) throws Exception {
+        final ProcessAPI processAPI = getProcessAPI();
+        final FormServiceProvider formServiceProvider = FormServiceProviderFactory.getFormServiceProvider(session.getTenantId());
+        int warmedUpProcesses = 0;
+        int startIndex = 0;
+        List<ProcessDeploymentInfo> processes;
+        do {
+            processes = processAPI.getProcessDeploymentInfos(startIndex, PROCESSES_PAGE_SIZE, ProcessDeploymentInfoCriterion.DEFAULT);
+            for (final ProcessDeploymentInfo process : processes) {
+                if (warmUp(formServiceProvider, process, locale)) {
+                    warmedUpProcesses++;
+                }
+            }
+            startIndex += PROCESSES_PAGE_SIZE;
+        } while (processes.size() == PROCESSES_PAGE_SIZE);
+        return warmedUpProcesses;
+    }
+
+    protected boolean warmUp(final FormServiceProvider formServiceProvider, final ProcessDeploymentInfo process, final String locale) {
+        final Map<String, Object> context = buildContext(process, locale);
+        final String formID = getEntryFormID(process);
+        try {
+            final Document document = formServiceProvider.getFormDefinitionDocument(context);
+            if (document == null) {
+                // no legacy form definition for this process
+                return false;
+            }
+            final Date deploymentDate = formServiceProvider.getDeployementDate(context);
+            final IFormDefinitionAPI definitionAPI = FormAPIFactory.getFormDefinitionAPI(session.getTenantId(), document, deploymentDate, locale);
+            final Expression firstPageExpression = definitionAPI.getFormFirstPage(formID, context);
+            if (firstPageExpression != null && ExpressionType.TYPE_CONSTANT.name().equals(firstPageExpression.getExpressionType())) {
+                // pages reached through a non constant expression depend on the data of the case and are not known in advance
+                definitionAPI.getFormPage(formID, firstPageExpression.getContent(), context);
+            }
+            return true;
+        } catch (final Exception e) {
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.log(Level.FINE, "Unable to warm up the forms cache for the process " + process.getProcessId(), e);
+            }
+            return false;
+        }
+    }
+
+    protected String getEntryFormID(final ProcessDeploymentInfo process) {
+        return process.getName() + "--" + process.getVersion() + FormServiceProviderUtil.FORM_ID_SEPARATOR + FormServiceProviderUtil.ENTRY_FORM_TYPE;
+    }
+
+    protected Map<String, Object> buildContext(final ProcessDeploymentInfo process, final String locale) {
+        final Map<String, Object> urlContext = new HashMap<String, Object>();
+        urlContext.put(FormServiceProviderUtil.PROCESS_UUID, String.valueOf(process.getProcessId()));
+        final Map<String, Object> context = new HashMap<String, Object>();
+        context.put(FormServiceProviderUtil.URL_CONTEXT, urlContext);
+        context.put(FormServiceProviderUtil.LOCALE, new Locale(locale));
+        context.put(FormServiceProviderUtil.API_SESSION, session);
+        return context;
+    }
+
+    protected ProcessAPI getProcessAPI() throws Exception {
+        return TenantAPIAccessor.getProcessAPI(session);
+    }
+}
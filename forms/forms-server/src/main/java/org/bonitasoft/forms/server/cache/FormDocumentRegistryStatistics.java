@@ -0,0 +1,138 @@
+/**
+ * Copyright (C) 2016 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.forms.server.cache;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Parse time and size statistics of the registry of parsed forms definition files (all the tenants share the same registry)
+ */
+public class FormDocumentRegistryStatistics implements FormDocumentRegistryStatisticsMBean {
+
+    /**
+     * Logger
+     */
+    private static Logger LOGGER = Logger.getLogger(FormDocumentRegistryStatistics.class.getName());
+
+    private static final String OBJECT_NAME = "org.bonitasoft.forms:type=FormDocumentRegistry";
+
+    private final Map<?, ?> registry;
+
+    private final AtomicLong parseCount = new AtomicLong();
+
+    private final AtomicLong totalParseTime = new AtomicLong();
+
+    private final AtomicLong maxParseTime = new AtomicLong();
+
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    public FormDocumentRegistryStatistics(final Map<?, ?> registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Register the statistics in the platform MBean server. Failures are only logged since the statistics are not needed to
+     * use the registry.
+     */
+    public void register() {
+        try {
+            final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName objectName = new ObjectName(OBJECT_NAME);
+            if (mBeanServer.isRegistered(objectName)) {
+                mBeanServer.unregisterMBean(objectName);
+            }
+            mBeanServer.registerMBean(this, objectName);
+        } catch (final JMException e) {
+            if (LOGGER.isLoggable(Level.WARNING)) {
+                LOGGER.log(Level.WARNING, "Unable to register the forms definition registry statistics", e);
+            }
+        }
+    }
+
+    /**
+     * Unregister the statistics from the platform MBean server so that it does not keep a reference to the web application classes
+     */
+    public void unregister() {
+        try {
+            final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName objectName = new ObjectName(OBJECT_NAME);
+            if (mBeanServer.isRegistered(objectName)) {
+                mBeanServer.unregisterMBean(objectName);
+            }
+        } catch (final JMException e) {
+            if (LOGGER.isLoggable(Level.WARNING)) {
+                LOGGER.log(Level.WARNING, "Unable to unregister the forms definition registry statistics", e);
+            }
+        }
+    }
+
+    /**
+     * Record the parsing of a forms definition file
+     *
+     * @param parseTime
+     *            the parse duration in milliseconds
+     */
+    public void parsed(final long parseTime) {
+        parseCount.incrementAndGet();
+        totalParseTime.addAndGet(parseTime);
+        long currentMax = maxParseTime.get();
+        while (parseTime > currentMax && !maxParseTime.compareAndSet(currentMax, parseTime)) {
+            currentMax = maxParseTime.get();
+        }
+    }
+
+    public void evicted() {
+        evictionCount.incrementAndGet();
+    }
+
+    @Override
+    public long getSize() {
+        return registry.size();
+    }
+
+    @Override
+    public long getParseCount() {
+        return parseCount.get();
+    }
+
+    @Override
+    public long getTotalParseTime() {
+        return totalParseTime.get();
+    }
+
+    @Override
+    public long getMaxParseTime() {
+        return maxParseTime.get();
+    }
+
+    @Override
+    public long getAverageParseTime() {
+        final long count = parseCount.get();
+        return count == 0 ? 0 : totalParseTime.get() / count;
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+}
@@ -86,6 +86,7 @@ import org.bonitasoft.forms.server.exception.NoCredentialsInSessionException;
 import org.bonitasoft.forms.server.exception.TaskAssignationException;
 import org.bonitasoft.forms.server.provider.FormServiceProvider;
 import org.bonitasoft.forms.server.provider.impl.util.ApplicationURLUtils;
+import org.bonitasoft.forms.server.provider.impl.util.FormRequestContext;
 import org.bonitasoft.forms.server.provider.impl.util.FormServiceProviderUtil;
 import org.bonitasoft.forms.server.util.FormContextUtil;
 import org.bonitasoft.forms.server.util.FormLogger;
@@ -221,8 +222,15 @@ public class FormServiceProviderImpl implements FormServiceProvider {
                     final APISession session = ctxu.getAPISessionFromContext();
                     final String formId = (String) urlContext.get(FormServiceProviderUtil.FORM_ID);
                     final String processDefinitionUUID = extractProcessDefinitionUUID(formId);
+                    final FormRequestContext requestContext = FormRequestContext.get(context);
                     try {
-                        processDefinitionID = workflowAPI.getProcessDefinitionIDFromUUID(session, processDefinitionUUID);
+                        final Long resolvedProcessDefinitionID = requestContext.getProcessDefinitionIDFromUUID(processDefinitionUUID);
+                        if (resolvedProcessDefinitionID != null) {
+                            processDefinitionID = resolvedProcessDefinitionID;
+                        } else {
+                            processDefinitionID = workflowAPI.getProcessDefinitionIDFromUUID(session, processDefinitionUUID);
+                            requestContext.setProcessDefinitionIDFromUUID(processDefinitionUUID, processDefinitionID);
+                        }
                     } catch (final ProcessDefinitionNotFoundException e) {
                         final String message = "The process definition for process definition with UUID " + processDefinitionUUID + " was not found!";
                         logSevereWithContext(message, e, context);
@@ -373,8 +381,8 @@ public class FormServiceProviderImpl implements FormServiceProvider {
                             // Trying to display the overview form
                             final long processInstanceID = getProcessInstanceId(urlContext);
                             try {
-                                final long processInstanceProcessDefinitionID = workflowAPI.getProcessDefinitionIDFromProcessInstanceID(session,
-                                        processInstanceID);
+                                final long processInstanceProcessDefinitionID = getProcessDefinitionIDFromProcessInstanceID(session, workflowAPI,
+                                        processInstanceID, context);
                                 if (processInstanceProcessDefinitionID != processDefinitionID) {
                                     final String message = "The process instance required is not an instance of process" + processDefinitionUUIDStr;
                                     if (getLogger().isLoggable(Level.INFO)) {
@@ -446,6 +454,35 @@ public class FormServiceProviderImpl implements FormServiceProvider {
         return new FormContextUtil(context);
     }
 
+    /**
+     * Retrieve the process definition ID of an activity instance once per request
+     */
+    protected long getProcessDefinitionIDFromActivityInstanceID(final APISession session, final IFormWorkflowAPI workflowAPI, final long activityInstanceID,
+            final Map<String, Object> context) throws BPMEngineException, InvalidSessionException, ActivityInstanceNotFoundException {
+        final FormRequestContext requestContext = FormRequestContext.get(context);
+        Long processDefinitionID = requestContext.getProcessDefinitionIDFromActivityInstanceID(activityInstanceID);
+        if (processDefinitionID == null) {
+            processDefinitionID = workflowAPI.getProcessDefinitionIDFromActivityInstanceID(session, activityInstanceID);
+            requestContext.setProcessDefinitionIDFromActivityInstanceID(activityInstanceID, processDefinitionID);
+        }
+        return processDefinitionID;
+    }
+
+    /**
+     * Retrieve the process definition ID of a process instance once per request
+     */
+    protected long getProcessDefinitionIDFromProcessInstanceID(final APISession session, final IFormWorkflowAPI workflowAPI, final long processInstanceID,
+            final Map<String, Object> context) throws BPMEngineException, InvalidSessionException, ProcessInstanceNotFoundException,
+            ProcessDefinitionNotFoundException, ArchivedProcessInstanceNotFoundException {
+        final FormRequestContext requestContext = FormRequestContext.get(context);
+        Long processDefinitionID = requestContext.getProcessDefinitionIDFromProcessInstanceID(processInstanceID);
+        if (processDefinitionID == null) {
+            processDefinitionID = workflowAPI.getProcessDefinitionIDFromProcessInstanceID(session, processInstanceID);
+            requestContext.setProcessDefinitionIDFromProcessInstanceID(processInstanceID, processDefinitionID);
+        }
+        return processDefinitionID;
+    }
+
     /**
      * Check if a user can view an activity instance form
      *
@@ -476,7 +513,7 @@ public class FormServiceProviderImpl implements FormServiceProvider {
             ForbiddenFormAccessException, SuspendedFormException, CanceledFormException, FormInErrorException, SkippedFormException, FormNotFoundException,
             FormAlreadySubmittedException, AbortedFormException {
         try {
-            if (!(workflowAPI.isUserAdminOrProcessOwner(session, workflowAPI.getProcessDefinitionIDFromActivityInstanceID(session, activityInstanceID)) || workflowAPI
+            if (!(workflowAPI.isUserAdminOrProcessOwner(session, getProcessDefinitionIDFromActivityInstanceID(session, workflowAPI, activityInstanceID, context)) || workflowAPI
                     .canUserSeeHumanTask(session, userId, activityInstanceID))) {
                 final String message = "An attempt was made by user " + user.getUsername() + " to access the form of activity instance " + activityInstanceID;
                 if (getLogger().isLoggable(Level.INFO)) {
@@ -551,7 +588,7 @@ public class FormServiceProviderImpl implements FormServiceProvider {
             final Map<String, Object> context) throws InvalidSessionException, BPMEngineException, FormNotFoundException, ForbiddenFormAccessException,
             SessionTimeoutException {
         try {
-            if (workflowAPI.isUserAdminOrProcessOwner(session, workflowAPI.getProcessDefinitionIDFromProcessInstanceID(session, processInstanceID))) {
+            if (workflowAPI.isUserAdminOrProcessOwner(session, getProcessDefinitionIDFromProcessInstanceID(session, workflowAPI, processInstanceID, context))) {
                 return;
             }
             if (workflowAPI.canUserSeeProcessInstance(session, processInstanceID)) {
@@ -779,11 +816,11 @@ public class FormServiceProviderImpl implements FormServiceProvider {
         try {
             if (urlContext.containsKey(FormServiceProviderUtil.TASK_UUID)) {
                 activityInstanceID = getActivityInstanceId(urlContext);
-                processDefinitionID = workflowAPI.getProcessDefinitionIDFromActivityInstanceID(session, activityInstanceID);
+                processDefinitionID = getProcessDefinitionIDFromActivityInstanceID(session, workflowAPI, activityInstanceID, context);
                 urlContext.put(FormServiceProviderUtil.PROCESS_UUID, Long.toString(processDefinitionID));
             } else if (urlContext.containsKey(FormServiceProviderUtil.INSTANCE_UUID)) {
                 processInstanceID = getProcessInstanceId(urlContext);
-                processDefinitionID = workflowAPI.getProcessDefinitionIDFromProcessInstanceID(session, processInstanceID);
+                processDefinitionID = getProcessDefinitionIDFromProcessInstanceID(session, workflowAPI, processInstanceID, context);
                 urlContext.put(FormServiceProviderUtil.PROCESS_UUID, Long.toString(processDefinitionID));
             }
             urlContext.remove(FormServiceProviderUtil.TASK_UUID);
@@ -1554,6 +1591,11 @@ public class FormServiceProviderImpl implements FormServiceProvider {
             SessionTimeoutException {
         Date processDeployementDate = null;
         if (processDefinitionID != -1) {
+            final FormRequestContext requestContext = FormRequestContext.get(context);
+            processDeployementDate = requestContext.getDeploymentDate(processDefinitionID);
+            if (processDeployementDate != null) {
+                return processDeployementDate;
+            }
             try {
                 final IFormWorkflowAPI workflowAPI = getFormWorkFlowApi();
                 processDeployementDate = workflowAPI.getMigrationDate(session, processDefinitionID);
@@ -1586,6 +1628,7 @@ public class FormServiceProviderImpl implements FormServiceProvider {
                 }
                 throw new SessionTimeoutException(message);
             }
+            requestContext.setDeploymentDate(processDefinitionID, processDeployementDate);
             return processDeployementDate;
         }
         return processDeployementDate;
@@ -2118,8 +2161,13 @@ public class FormServiceProviderImpl implements FormServiceProvider {
         }
         try {
             final long processDefinitionID = getProcessDefinitionID(context);
-            final APISession session = ctxu.getAPISessionFromContext();
-            return getProcessClassloader(processDefinitionID, session);
+            final FormRequestContext requestContext = FormRequestContext.get(context);
+            ClassLoader classloader = requestContext.getClassloader(processDefinitionID);
+            if (classloader == null) {
+                classloader = getProcessClassloader(processDefinitionID, ctxu.getAPISessionFromContext());
+                requestContext.setClassloader(processDefinitionID, classloader);
+            }
+            return classloader;
         } catch (final InvalidSessionException e) {
             final String message = "The engine session is invalid.";
             if (getLogger().isLoggable(Level.INFO)) {
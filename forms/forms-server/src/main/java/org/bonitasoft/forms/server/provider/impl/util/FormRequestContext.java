@@ -0,0 +1,99 @@
+/**
+ * Copyright (C) 2016 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.forms.server.provider.impl.util;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Data of the engine resolved while serving a single forms request.<br />
+ * It is stored in the context map of the request, so that the process definition, its deployment date, the process definition
+ * of an activity or process instance and the process classloader are retrieved from the engine only once by request, whatever the
+ * number of {@link org.bonitasoft.forms.server.provider.FormServiceProvider} methods called.<br />
+ * A request is served by a single thread, so this class is not thread safe.
+ */
+public class FormRequestContext {
+
+    private final Map<String, Long> processDefinitionIDsByUUID = new HashMap<String, Long>();
+
+    private final Map<Long, Long> processDefinitionIDsByActivityInstanceID = new HashMap<Long, Long>();
+
+    private final Map<Long, Long> processDefinitionIDsByProcessInstanceID = new HashMap<Long, Long>();
+
+    private final Map<Long, Date> deploymentDates = new HashMap<Long, Date>();
+
+    private final Map<Long, ClassLoader> classloaders = new HashMap<Long, ClassLoader>();
+
+    /**
+     * Retrieve the request context stored in the context map, or store a new one in it
+     *
+     * @param context
+     *        the context map of the request
+     * @return the {@link FormRequestContext} of the request
+     */
+    public static FormRequestContext get(final Map<String, Object> context) {
+        if (context == null) {
+            return new FormRequestContext();
+        }
+        final Object requestContext = context.get(FormServiceProviderUtil.REQUEST_CONTEXT);
+        if (requestContext instanceof FormRequestContext) {
+            return (FormRequestContext) requestContext;
+        }
+        final FormRequestContext newRequestContext = new FormRequestContext();
+        context.put(FormServiceProviderUtil.REQUEST_CONTEXT, newRequestContext);
+        return newRequestContext;
+    }
+
+    public Long getProcessDefinitionIDFromUUID(final String processDefinitionUUID) {
+        return processDefinitionIDsByUUID.get(processDefinitionUUID);
+    }
+
+    public void setProcessDefinitionIDFromUUID(final String processDefinitionUUID, final long processDefinitionID) {
+        processDefinitionIDsByUUID.put(processDefinitionUUID, processDefinitionID);
+    }
+
+    public Long getProcessDefinitionIDFromActivityInstanceID(final long activityInstanceID) {
+        return processDefinitionIDsByActivityInstanceID.get(activityInstanceID);
+    }
+
+    public void setProcessDefinitionIDFromActivityInstanceID(final long activityInstanceID, final long processDefinitionID) {
+        processDefinitionIDsByActivityInstanceID.put(activityInstanceID, processDefinitionID);
+    }
+
+    public Long getProcessDefinitionIDFromProcessInstanceID(final long processInstanceID) {
+        return processDefinitionIDsByProcessInstanceID.get(processInstanceID);
+    }
+
+    public void setProcessDefinitionIDFromProcessInstanceID(final long processInstanceID, final long processDefinitionID) {
+        processDefinitionIDsByProcessInstanceID.put(processInstanceID, processDefinitionID);
+    }
+
+    public Date getDeploymentDate(final long processDefinitionID) {
+        return deploymentDates.get(processDefinitionID);
+    }
+
+    public void setDeploymentDate(final long processDefinitionID, final Date deploymentDate) {
+        deploymentDates.put(processDefinitionID, deploymentDate);
+    }
+
+    public ClassLoader getClassloader(final long processDefinitionID) {
+        return classloaders.get(processDefinitionID);
+    }
+
+    public void setClassloader(final long processDefinitionID, final ClassLoader classloader) {
+        classloaders.put(processDefinitionID, classloader);
+    }
+}
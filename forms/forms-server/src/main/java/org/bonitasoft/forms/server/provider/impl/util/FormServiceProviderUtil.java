@@ -195,4 +195,9 @@ public class FormServiceProviderUtil {
      */
     public static final String API_SESSION = "apiSession";
 
+    /**
+     * The data resolved once per request (see {@link FormRequestContext})
+     */
+    public static final String REQUEST_CONTEXT = "requestContext";
+
 }
@@ -69,6 +69,24 @@ public class FormDocumentBuilderIT extends FormsTestCase {
         Assert.assertEquals("Comment", formDefAccessor.getPageWidgets("0").get(0).getTitleExpression().getContent());
     }
 
+    @Test
+    public void testInstanceIsParsedOnceAndSupersededByANewDeployment() throws Exception {
+        final Date deploymentDate = new Date(1000L);
+        final long parseCount = FormDocumentBuilder.getStatistics().getParseCount();
+
+        final FormDocumentBuilder instance = FormDocumentBuilder.getInstance(getSession(), 123L, "en", deploymentDate);
+
+        Assert.assertSame(instance, FormDocumentBuilder.getInstance(getSession(), 123L, "en", new Date(1000L)));
+        Assert.assertEquals(parseCount + 1, FormDocumentBuilder.getStatistics().getParseCount());
+
+        final long evictionCount = FormDocumentBuilder.getStatistics().getEvictionCount();
+        final FormDocumentBuilder redeployedInstance = FormDocumentBuilder.getInstance(getSession(), 123L, "en", new Date(2000L));
+
+        Assert.assertNotSame(instance, redeployedInstance);
+        Assert.assertEquals(evictionCount + 1, FormDocumentBuilder.getStatistics().getEvictionCount());
+        Assert.assertNotSame(instance, FormDocumentBuilder.getInstance(getSession(), 123L, "en", deploymentDate));
+    }
+
     @Test
     public void testExtractResourcesFromBar() throws Exception {
 
@@ -0,0 +1,58 @@
+/**
+ * Copyright (C) 2016 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.forms.server.accessor.impl.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.NodeList;
+
+public class XPathUtilTest {
+
+    private final XPathUtil xPathUtil = new XPathUtil() {
+    };
+
+    private Document document;
+
+    @Before
+    public void setUp() throws Exception {
+        final String xml = "<forms><form id=\"form1\"><pages><page id=\"page1\"/><page id=\"page2\"/></pages></form></forms>";
+        document = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(new ByteArrayInputStream(xml.getBytes("UTF-8")));
+    }
+
+    @Test
+    public void should_reuse_the_expressions_compiled_by_the_current_thread() throws Exception {
+        assertThat(xPathUtil.compile("//form")).isSameAs(xPathUtil.compile("//form"));
+    }
+
+    @Test
+    public void should_evaluate_node_and_node_list_expressions() throws Exception {
+        final NodeList pages = xPathUtil.getNodeListByXpath(xPathUtil.getNodeByXpath(document, "//form"), "pages/page");
+
+        assertThat(pages.getLength()).isEqualTo(2);
+        assertThat(xPathUtil.getStringByXpath(pages.item(1), "@id")).isEqualTo("page2");
+    }
+
+    @Test
+    public void should_return_null_for_an_invalid_expression() throws Exception {
+        assertThat(xPathUtil.getNodeByXpath(document, "//form[")).isNull();
+    }
+}
@@ -0,0 +1,97 @@
+/**
+ * Copyright (C) 2016 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.forms.server.api.impl.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.anyMapOf;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bonitasoft.forms.client.model.Expression;
+import org.bonitasoft.forms.server.provider.FormServiceProvider;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class ExpressionsBatchTest {
+
+    private final FormServiceProvider formServiceProvider = mock(FormServiceProvider.class);
+
+    private final Map<String, Object> context = new HashMap<String, Object>();
+
+    private Expression aScript(final String name, final String content) {
+        return new Expression(name, content, "TYPE_READ_ONLY_SCRIPT", String.class.getName(), "GROOVY", null);
+    }
+
+    private Map<String, Serializable> results(final String name, final Serializable value) {
+        final Map<String, Serializable> results = new HashMap<String, Serializable>();
+        results.put(name, value);
+        return results;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void should_evaluate_identical_expressions_only_once() throws Exception {
+        final ExpressionsBatch batch = new ExpressionsBatch(Arrays.asList(aScript("widget1:label", "'label'"), aScript("widget2:label", "'label'")));
+        when(formServiceProvider.resolveExpressions(anyListOf(Expression.class), anyMapOf(String.class, Object.class))).thenReturn(
+                results("widget1:label", "label"));
+
+        final Map<String, Serializable> evaluatedExpressions = batch.resolve(formServiceProvider, context);
+
+        final ArgumentCaptor<List> expressions = ArgumentCaptor.forClass(List.class);
+        verify(formServiceProvider).resolveExpressions(expressions.capture(), anyMapOf(String.class, Object.class));
+        assertThat(expressions.getValue()).hasSize(1);
+        assertThat(evaluatedExpressions).hasSize(2).containsEntry("widget1:label", "label").containsEntry("widget2:label", "label");
+        assertThat(batch.getExpressionsCount()).isEqualTo(2);
+        assertThat(batch.getDistinctExpressionsCount()).isEqualTo(1);
+        assertThat(batch.getEngineCalls()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_not_merge_expressions_with_different_dependencies() throws Exception {
+        final Expression first = new Expression("widget1:label", "a", "TYPE_READ_ONLY_SCRIPT", String.class.getName(), "GROOVY",
+                Arrays.asList(new Expression("a", "a", "TYPE_VARIABLE", String.class.getName(), null, null)));
+        final Expression second = new Expression("widget2:label", "a", "TYPE_READ_ONLY_SCRIPT", String.class.getName(), "GROOVY",
+                Arrays.asList(new Expression("a", "b", "TYPE_VARIABLE", String.class.getName(), null, null)));
+
+        assertThat(new ExpressionsBatch(Arrays.asList(first, second)).getDistinctExpressionsCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void should_reuse_the_results_of_a_resolved_batch() throws Exception {
+        final ExpressionsBatch displayBatch = new ExpressionsBatch(Collections.singletonList(aScript("widget1:display-condition", "true")));
+        when(formServiceProvider.resolveExpressions(anyListOf(Expression.class), anyMapOf(String.class, Object.class))).thenReturn(
+                results("widget1:display-condition", Boolean.TRUE));
+        displayBatch.resolve(formServiceProvider, context);
+        final FormServiceProvider otherFormServiceProvider = mock(FormServiceProvider.class);
+
+        final ExpressionsBatch batch = new ExpressionsBatch(Collections.singletonList(aScript("widget2:initial-value", "true")));
+        batch.reuseResults(displayBatch);
+        final Map<String, Serializable> evaluatedExpressions = batch.resolve(otherFormServiceProvider, context);
+
+        verifyZeroInteractions(otherFormServiceProvider);
+        assertThat(evaluatedExpressions).containsEntry("widget2:initial-value", Boolean.TRUE);
+        assertThat(batch.getEngineCalls()).isEqualTo(0);
+    }
+}
@@ -0,0 +1,101 @@
+/**
+ * Copyright (C) 2016 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.forms.server.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Date;
+import java.util.Locale;
+
+import org.junit.Test;
+
+public class BoundedConcurrentCacheTest {
+
+    @Test
+    public void should_count_hits_and_misses() throws Exception {
+        final BoundedConcurrentCache<String, String> cache = new BoundedConcurrentCache<String, String>("test", 10);
+        cache.put("key", "value");
+
+        assertThat(cache.get("key")).isEqualTo("value");
+        assertThat(cache.get("unknown")).isNull();
+
+        assertThat(cache.getHitCount()).isEqualTo(1L);
+        assertThat(cache.getMissCount()).isEqualTo(1L);
+    }
+
+    @Test
+    public void should_evict_the_eldest_entries_when_full() throws Exception {
+        final BoundedConcurrentCache<String, String> cache = new BoundedConcurrentCache<String, String>("test", 2);
+
+        cache.put("first", "1");
+        cache.put("second", "2");
+        cache.put("third", "3");
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("first")).isNull();
+        assertThat(cache.get("third")).isEqualTo("3");
+        assertThat(cache.getEvictionCount()).isEqualTo(1L);
+    }
+
+    @Test
+    public void should_remove_an_entry_when_putting_a_null_value() throws Exception {
+        final BoundedConcurrentCache<String, String> cache = new BoundedConcurrentCache<String, String>("test", 10);
+        cache.put("key", "value");
+
+        cache.put("key", null);
+
+        assertThat(cache.get("key")).isNull();
+        assertThat(cache.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void should_not_evict_younger_entries_when_a_removed_key_is_put_again() throws Exception {
+        final BoundedConcurrentCache<String, String> cache = new BoundedConcurrentCache<String, String>("test", 2);
+        cache.put("first", "1");
+        cache.put("first", null);
+        cache.put("second", "2");
+        cache.put("first", "1");
+
+        cache.put("third", "3");
+
+        assertThat(cache.get("second")).isNull();
+        assertThat(cache.get("first")).isEqualTo("1");
+        assertThat(cache.get("third")).isEqualTo("3");
+        assertThat(cache.getEvictionCount()).isEqualTo(1L);
+    }
+
+    @Test
+    public void should_evict_a_replaced_entry_from_its_new_place() throws Exception {
+        final BoundedConcurrentCache<String, String> cache = new BoundedConcurrentCache<String, String>("test", 2);
+        cache.put("first", "1");
+        cache.put("second", "2");
+        cache.put("first", "one");
+
+        cache.put("third", "3");
+
+        assertThat(cache.get("second")).isNull();
+        assertThat(cache.get("first")).isEqualTo("one");
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void form_cache_keys_with_same_fields_should_be_equal() throws Exception {
+        final Date deploymentDate = new Date(1000L);
+
+        assertThat(FormCacheKey.of("form", Locale.ENGLISH.toString(), deploymentDate, "page"))
+                .isEqualTo(FormCacheKey.of("form", Locale.ENGLISH.toString(), new Date(1000L), "page"));
+        assertThat(FormCacheKey.of("form", "en", deploymentDate)).isNotEqualTo(FormCacheKey.of("form", "fr", deploymentDate));
+    }
+}
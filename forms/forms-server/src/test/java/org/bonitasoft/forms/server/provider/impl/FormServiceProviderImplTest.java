@@ -12,6 +12,8 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -396,4 +398,35 @@ public class FormServiceProviderImplTest {
         verify(workflowAPI, times(1)).assignTaskIfNotAssigned(apiSession, Long.parseLong(expectedTaskId), apiSession.getUserId());
     }
 
+    @Test
+    public void should_retrieve_the_deployment_date_once_per_request() throws Exception {
+        final Map<String, Object> requestContext = new HashMap<String, Object>();
+        final Date deploymentDate = new Date();
+        doReturn(null).when(workflowAPI).getMigrationDate(apiSession, 123L);
+        doReturn(deploymentDate).when(workflowAPI).getProcessDefinitionDate(apiSession, 123L);
+
+        final Date firstDeploymentDate = formServiceProviderImpl.getDeployementDate(apiSession, 123L, requestContext);
+        final Date secondDeploymentDate = formServiceProviderImpl.getDeployementDate(apiSession, 123L, requestContext);
+
+        assertThat(firstDeploymentDate).isEqualTo(deploymentDate);
+        assertThat(secondDeploymentDate).isEqualTo(deploymentDate);
+        verify(workflowAPI, times(1)).getMigrationDate(apiSession, 123L);
+        verify(workflowAPI, times(1)).getProcessDefinitionDate(apiSession, 123L);
+    }
+
+    @Test
+    public void should_resolve_the_process_definition_of_a_form_once_per_request() throws Exception {
+        final Map<String, Object> requestContext = new HashMap<String, Object>();
+        requestContext.put(FormServiceProviderUtil.URL_CONTEXT, urlContext);
+        requestContext.put(FormServiceProviderUtil.API_SESSION, apiSession);
+        doReturn(null).when(urlContext).get(FormServiceProviderUtil.PROCESS_UUID);
+        doReturn("processName--1.0$entry").when(urlContext).get(FormServiceProviderUtil.FORM_ID);
+        doReturn(123L).when(workflowAPI).getProcessDefinitionIDFromUUID(any(APISession.class), any(String.class));
+
+        formServiceProviderImpl.getProcessDefinitionID(requestContext);
+        final long processDefinitionID = formServiceProviderImpl.getProcessDefinitionID(requestContext);
+
+        assertThat(processDefinitionID).isEqualTo(123L);
+        verify(workflowAPI, times(1)).getProcessDefinitionIDFromUUID(any(APISession.class), any(String.class));
+    }
 }
@@ -63,7 +63,7 @@ public class CaseAPICaller {
     }
 
     public static void delete(final List<APIID> caseIds, final Action onFinish, final Action onError) {
-        final APIQueue queue = new APIQueue();
+        final APIQueue queue = new APIQueue().batch();
         for (final APIID caseId : caseIds) {
             queue.addRequest(makeDeleteRequest(caseId));
         }
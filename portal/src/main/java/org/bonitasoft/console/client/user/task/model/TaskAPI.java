@@ -64,7 +64,7 @@ public class TaskAPI {
     }
 
     public static void claim(final List<APIID> taskIds, final APIID userId, final Action onFinish, final Action onError) {
-        final APIQueue queue = new APIQueue();
+        final APIQueue queue = new APIQueue().batch();
         for (final APIID taskId : taskIds) {
             queue.addRequest(makeClaimRequest(taskId, userId));
         }
@@ -102,7 +102,7 @@ public class TaskAPI {
     }
 
     public static void assign(final List<APIID> taskIds, final APIID userId, final Action onFinish, final Action onError) {
-        final APIQueue queue = new APIQueue();
+        final APIQueue queue = new APIQueue().batch();
         for (final APIID taskId : taskIds) {
             queue.addRequest(makeAssignRequest(taskId, userId));
         }
@@ -140,7 +140,7 @@ public class TaskAPI {
     }
 
     public static void release(final List<APIID> taskIds, final Action onFinish, final Action onError) {
-        final APIQueue queue = new APIQueue();
+        final APIQueue queue = new APIQueue().batch();
         for (final APIID taskId : taskIds) {
             queue.addRequest(makeReleaseRequest(taskId));
         }
@@ -24,6 +24,8 @@ import org.bonitasoft.web.toolkit.client.ui.action.Action;
  */
 public class APIQueue extends RequestQueue {
 
+    public static final String BATCH_API_URL = "../API/batch";
+
     public APIQueue() {
         super();
     }
@@ -40,4 +42,12 @@ public class APIQueue extends RequestQueue {
         super(breakOnError);
     }
 
+    /**
+     * Send all the requests of the queue in a single call to the batch API
+     */
+    public APIQueue batch() {
+        batch(BATCH_API_URL);
+        return this;
+    }
+
 }
@@ -78,6 +78,12 @@ abstract public class QueuableRequest {
 
         request.setCallback(localCallback);
 
+        if (stack != null && stack.isBatched()) {
+            // sent by the queue along with the other requests of the batch
+            stack.addToBatch(this);
+            return;
+        }
+
         try {
             if (UserSessionVariables.getUserVariable(UserSessionVariables.API_TOKEN) != null) {
                 request.setHeader("X-Bonita-API-Token", UserSessionVariables.getUserVariable(UserSessionVariables.API_TOKEN));
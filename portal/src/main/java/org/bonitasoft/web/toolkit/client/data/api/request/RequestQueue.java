@@ -21,9 +21,27 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
+import org.bonitasoft.web.toolkit.client.UserSessionVariables;
 import org.bonitasoft.web.toolkit.client.ui.action.Action;
 
+import com.google.gwt.http.client.Header;
+import com.google.gwt.http.client.Request;
+import com.google.gwt.http.client.RequestBuilder;
+import com.google.gwt.http.client.RequestCallback;
+import com.google.gwt.http.client.RequestException;
+import com.google.gwt.http.client.Response;
+import com.google.gwt.json.client.JSONArray;
+import com.google.gwt.json.client.JSONException;
+import com.google.gwt.json.client.JSONObject;
+import com.google.gwt.json.client.JSONParser;
+import com.google.gwt.json.client.JSONString;
+import com.google.gwt.json.client.JSONValue;
+
 /**
+ * Run requests one after the other.<br />
+ * In batch mode (see {@link #batch(String)}), all the requests are sent to the server in a single HTTP request and their callbacks
+ * are called in order once the batch response is received.
+ *
  * @author Séverin Moussel
  */
 public class RequestQueue {
@@ -38,6 +56,13 @@ public class RequestQueue {
 
     private Action onError = null;
 
+    /**
+     * The URL of the batch API, or null if the requests are sent one after the other
+     */
+    private String batchUrl = null;
+
+    private final List<QueuableRequest> batchedRequests = new LinkedList<QueuableRequest>();
+
     public RequestQueue() {
     }
 
@@ -58,6 +83,10 @@ public class RequestQueue {
     }
 
     public void _next(final boolean success) {
+        if (isBatched()) {
+            // the end of the batch is handled once all the callbacks have been called
+            return;
+        }
         if (success || !this.breakOnError) {
             if (this.requests.size() > 0) {
 
@@ -65,14 +94,136 @@ public class RequestQueue {
                 this.requests.remove(0);
                 request.run();
             } else {
-                if (this.onError != null && this.errors.size() > 0) {
-                    this.onError.addParameter("errors", this.errors);
-                    this.onError.execute();
-                } else if (this.onFinish != null) {
-                    this.onFinish.addParameter("errors", this.errors);
-                    this.onFinish.execute();
+                finish();
+            }
+        }
+    }
+
+    private void finish() {
+        if (this.onError != null && this.errors.size() > 0) {
+            this.onError.addParameter("errors", this.errors);
+            this.onError.execute();
+        } else if (this.onFinish != null) {
+            this.onFinish.addParameter("errors", this.errors);
+            this.onFinish.execute();
+        }
+    }
+
+    /**
+     * Send all the requests of the queue in a single call to the batch API instead of one after the other.<br />
+     * Only requests to the item APIs can be batched.
+     *
+     * @param batchUrl
+     *            the URL of the batch API (e.g. ../API/batch)
+     */
+    public RequestQueue batch(final String batchUrl) {
+        this.batchUrl = batchUrl;
+        return this;
+    }
+
+    boolean isBatched() {
+        return this.batchUrl != null;
+    }
+
+    /**
+     * Called by a request of a batched queue instead of sending itself
+     */
+    void addToBatch(final QueuableRequest request) {
+        this.batchedRequests.add(request);
+    }
+
+    private void runBatch() {
+        // prepare the requests: they are added to the batch instead of being sent
+        while (this.requests.size() > 0) {
+            this.requests.remove(0).run();
+        }
+        if (this.batchedRequests.isEmpty()) {
+            finish();
+            return;
+        }
+        final JSONArray batch = new JSONArray();
+        for (final QueuableRequest request : this.batchedRequests) {
+            final JSONObject call = new JSONObject();
+            call.put("method", new JSONString(request.request.getHTTPMethod()));
+            call.put("url", new JSONString(getBatchCallUrl(request.request.getUrl())));
+            if (request.request.getRequestData() != null) {
+                call.put("body", new JSONString(request.request.getRequestData()));
+            }
+            batch.set(batch.size(), call);
+        }
+
+        final RequestBuilder builder = new RequestBuilder(RequestBuilder.POST, this.batchUrl + (this.breakOnError ? "?breakOnError=true" : ""));
+        builder.setHeader("Content-Type", HttpRequest.CONTENT_TYPE_JSON);
+        if (UserSessionVariables.getUserVariable(UserSessionVariables.API_TOKEN) != null) {
+            builder.setHeader("X-Bonita-API-Token", UserSessionVariables.getUserVariable(UserSessionVariables.API_TOKEN));
+        }
+        builder.setRequestData(batch.toString());
+        builder.setCallback(new RequestCallback() {
+
+            @Override
+            public void onResponseReceived(final Request request, final Response response) {
+                onBatchResponse(request, response);
+            }
+
+            @Override
+            public void onError(final Request request, final Throwable exception) {
+                for (final QueuableRequest batchedRequest : batchedRequests) {
+                    batchedRequest.request.getCallback().onError(request, exception);
+                }
+                batchedRequests.clear();
+                if (!breakOnError) {
+                    finish();
                 }
             }
+        });
+        try {
+            builder.send();
+        } catch (final RequestException e) {
+            builder.getCallback().onError(null, e);
+        }
+    }
+
+    /**
+     * @return the URL of a call relative to the API root, as expected by the batch API
+     */
+    private String getBatchCallUrl(final String url) {
+        final int apiIndex = url.indexOf("API/");
+        return apiIndex < 0 ? url : url.substring(apiIndex + "API/".length());
+    }
+
+    private void onBatchResponse(final Request request, final Response response) {
+        final List<QueuableRequest> calls = new LinkedList<QueuableRequest>(this.batchedRequests);
+        this.batchedRequests.clear();
+        if (response.getStatusCode() != Response.SC_OK) {
+            // the whole batch failed: each request gets the error of the batch
+            for (final QueuableRequest call : calls) {
+                call.request.getCallback().onResponseReceived(request, response);
+            }
+            if (!this.breakOnError) {
+                finish();
+            }
+            return;
+        }
+        JSONArray results;
+        try {
+            results = JSONParser.parseStrict(response.getText()).isArray();
+        } catch (final JSONException e) {
+            results = null;
+        }
+        if (results == null) {
+            for (final QueuableRequest call : calls) {
+                call.request.getCallback().onError(request, new RequestException("Unexpected batch response: " + response.getText()));
+            }
+            if (!this.breakOnError) {
+                finish();
+            }
+            return;
+        }
+        for (int i = 0; i < results.size() && i < calls.size(); i++) {
+            calls.get(i).request.getCallback().onResponseReceived(request, new BatchCallResponse(results.get(i).isObject()));
+        }
+        if (results.size() == calls.size() || !this.breakOnError) {
+            finish();
         }
     }
 
@@ -103,10 +254,91 @@ public class RequestQueue {
     }
 
     public void run() {
-        _next(true);
+        if (isBatched()) {
+            runBatch();
+        } else {
+            _next(true);
+        }
     }
 
     public void addError(final Integer httpErrorCode, final String message) {
         this.errors.put(httpErrorCode.toString(), message);
     }
+
+    /**
+     * The response of a call of a batch
+     */
+    private static class BatchCallResponse extends Response {
+
+        private final int statusCode;
+
+        private final String text;
+
+        private final Header[] headers;
+
+        BatchCallResponse(final JSONObject result) {
+            statusCode = (int) result.get("status").isNumber().doubleValue();
+            final JSONValue body = result.get("body");
+            text = body != null && body.isString() != null ? body.isString().stringValue() : "";
+            final JSONObject resultHeaders = result.get("headers") != null ? result.get("headers").isObject() : null;
+            final List<Header> headerList = new LinkedList<Header>();
+            if (resultHeaders != null) {
+                for (final String name : resultHeaders.keySet()) {
+                    final String value = resultHeaders.get(name).isString().stringValue();
+                    headerList.add(new Header() {
+
+                        @Override
+                        public String getName() {
+                            return name;
+                        }
+
+                        @Override
+                        public String getValue() {
+                            return value;
+                        }
+                    });
+                }
+            }
+            headers = headerList.toArray(new Header[headerList.size()]);
+        }
+
+        @Override
+        public String getHeader(final String header) {
+            for (final Header candidate : headers) {
+                if (candidate.getName().equalsIgnoreCase(header)) {
+                    return candidate.getValue();
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public Header[] getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public String getHeadersAsString() {
+            final StringBuilder headersAsString = new StringBuilder();
+            for (final Header header : headers) {
+                headersAsString.append(header.getName()).append(": ").append(header.getValue()).append("\r\n");
+            }
+            return headersAsString.toString();
+        }
+
+        @Override
+        public int getStatusCode() {
+            return statusCode;
+        }
+
+        @Override
+        public String getStatusText() {
+            return "";
+        }
+
+        @Override
+        public String getText() {
+            return text;
+        }
+    }
 }
@@ -0,0 +1,253 @@
+/**
+ * Copyright (C) 2016 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.auth.impl.oauth;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.scribe.model.Token;
+
+/**
+ * {@link TokenStore} keeping each token in a file of a folder, so that several nodes sharing the folder see the same tokens
+ * (the service provider callback may reach another node than the one which requested the token).<br />
+ * It is meant for multi-node tests: each operation reads the folder, and the evictions count only covers the current node.
+ */
+public class FileTokenStore implements TokenStore {
+
+    private static final String TOKEN_FILE_EXTENSION = ".token";
+
+    private static final String TOKEN_PROPERTY = "token";
+
+    private static final String SECRET_PROPERTY = "secret";
+
+    private static final String EXPIRATION_DATE_PROPERTY = "expirationDate";
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    private static final Logger LOGGER = Logger.getLogger(FileTokenStore.class.getName());
+
+    private final File folder;
+
+    private final AtomicLong evictionsCount = new AtomicLong();
+
+    private final long timeToLive;
+
+    private final int maxSize;
+
+    /**
+     * @param folder
+     *            folder of the token files, shared by the nodes
+     * @param timeToLive
+     *            time to live of the tokens in milliseconds
+     * @param maxSize
+     *            maximum number of tokens in the store
+     */
+    public FileTokenStore(final File folder, final long timeToLive, final int maxSize) {
+        this.folder = folder;
+        this.timeToLive = timeToLive;
+        this.maxSize = Math.max(1, maxSize);
+    }
+
+    @Override
+    public void put(final String key, final Token token) {
+        final Properties properties = new Properties();
+        properties.setProperty(TOKEN_PROPERTY, token.getToken());
+        properties.setProperty(SECRET_PROPERTY, token.getSecret() == null ? "" : token.getSecret());
+        properties.setProperty(EXPIRATION_DATE_PROPERTY, String.valueOf(currentTimeMillis() + timeToLive));
+        try {
+            write(getTokenFile(key), properties);
+        } catch (final IOException e) {
+            if (LOGGER.isLoggable(Level.WARNING)) {
+                LOGGER.log(Level.WARNING, "Unable to store the OAuth token in " + folder.getPath(), e);
+            }
+            return;
+        }
+        final File[] tokenFiles = listTokenFiles();
+        if (tokenFiles.length > maxSize) {
+            evict(tokenFiles);
+        }
+    }
+
+    @Override
+    public Token get(final String key) {
+        final File tokenFile = getTokenFile(key);
+        final Properties properties = read(tokenFile);
+        if (properties == null) {
+            return null;
+        }
+        if (isExpired(properties, currentTimeMillis())) {
+            evict(tokenFile);
+            return null;
+        }
+        return new Token(properties.getProperty(TOKEN_PROPERTY), properties.getProperty(SECRET_PROPERTY));
+    }
+
+    @Override
+    public Token remove(final String key) {
+        final File tokenFile = getTokenFile(key);
+        final Properties properties = read(tokenFile);
+        if (properties == null || !tokenFile.delete()) {
+            // removed by another node meanwhile
+            return null;
+        }
+        if (isExpired(properties, currentTimeMillis())) {
+            evictionsCount.incrementAndGet();
+            return null;
+        }
+        return new Token(properties.getProperty(TOKEN_PROPERTY), properties.getProperty(SECRET_PROPERTY));
+    }
+
+    @Override
+    public int getLiveTokensCount() {
+        final long now = currentTimeMillis();
+        int count = 0;
+        for (final File tokenFile : listTokenFiles()) {
+            final Properties properties = read(tokenFile);
+            if (properties != null && !isExpired(properties, now)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public long getEvictionsCount() {
+        return evictionsCount.get();
+    }
+
+    /**
+     * Time source of the expiration dates, overridden by the tests
+     */
+    long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    /**
+     * Remove the expired tokens then, if the store is still full, the oldest tokens
+     */
+    private void evict(final File[] tokenFiles) {
+        final long now = currentTimeMillis();
+        final List<File> liveTokenFiles = new ArrayList<>(tokenFiles.length);
+        for (final File tokenFile : tokenFiles) {
+            final Properties properties = read(tokenFile);
+            if (properties != null && isExpired(properties, now)) {
+                evict(tokenFile);
+            } else if (properties != null) {
+                liveTokenFiles.add(tokenFile);
+            }
+        }
+        if (liveTokenFiles.size() <= maxSize) {
+            return;
+        }
+        Collections.sort(liveTokenFiles, new Comparator<File>() {
+
+            @Override
+            public int compare(final File file1, final File file2) {
+                return Long.compare(file1.lastModified(), file2.lastModified());
+            }
+        });
+        for (final File tokenFile : liveTokenFiles.subList(0, liveTokenFiles.size() - maxSize)) {
+            evict(tokenFile);
+        }
+    }
+
+    private void evict(final File tokenFile) {
+        if (tokenFile.delete()) {
+            evictionsCount.incrementAndGet();
+        }
+    }
+
+    private static boolean isExpired(final Properties properties, final long now) {
+        return now >= Long.parseLong(properties.getProperty(EXPIRATION_DATE_PROPERTY, "0"));
+    }
+
+    /**
+     * The keys are hex encoded, as they may contain characters forbidden in file names
+     */
+    File getTokenFile(final String key) {
+        final StringBuilder fileName = new StringBuilder();
+        for (final byte b : key.getBytes(UTF8)) {
+            fileName.append(String.format("%02x", b));
+        }
+        return new File(folder, fileName.append(TOKEN_FILE_EXTENSION).toString());
+    }
+
+    private File[] listTokenFiles() {
+        final File[] tokenFiles = folder.listFiles(new FilenameFilter() {
+
+            @Override
+            public boolean accept(final File dir, final String name) {
+                return name.endsWith(TOKEN_FILE_EXTENSION);
+            }
+        });
+        return tokenFiles == null ? new File[0] : tokenFiles;
+    }
+
+    /**
+     * @return the properties of the token file or null if it does not exist
+     */
+    private static Properties read(final File tokenFile) {
+        if (!tokenFile.exists()) {
+            return null;
+        }
+        final Properties properties = new Properties();
+        try (InputStream input = new FileInputStream(tokenFile)) {
+            properties.load(input);
+        } catch (final IOException e) {
+            // removed by another node meanwhile
+            return null;
+        }
+        return properties;
+    }
+
+    /**
+     * Write the token file through a temporary file, so that the other nodes never read it partially written
+     */
+    private void write(final File tokenFile, final Properties properties) throws IOException {
+        if (!folder.exists() && !folder.mkdirs() && !folder.exists()) {
+            throw new IOException("Cannot create the OAuth tokens folder " + folder.getPath());
+        }
+        final File tempFile = File.createTempFile(tokenFile.getName(), null, folder);
+        try {
+            try (OutputStream output = new FileOutputStream(tempFile)) {
+                properties.store(output, null);
+            }
+            try {
+                Files.move(tempFile.toPath(), tokenFile.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (final AtomicMoveNotSupportedException e) {
+                Files.move(tempFile.toPath(), tokenFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile.toPath());
+        }
+    }
+}
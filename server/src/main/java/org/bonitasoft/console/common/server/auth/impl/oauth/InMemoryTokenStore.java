@@ -0,0 +1,165 @@
+/**
+ * Copyright (C) 2016 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.auth.impl.oauth;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.scribe.model.Token;
+
+/**
+ * {@link TokenStore} of the current node, backed by a concurrent map.<br />
+ * Expired tokens are removed when they are read and when the store is full. A full store evicts a tenth of its tokens at once,
+ * the oldest ones first, so that the eviction cost is shared between the following additions.
+ */
+public class InMemoryTokenStore implements TokenStore {
+
+    private final ConcurrentMap<String, StoredToken> tokens = new ConcurrentHashMap<>();
+
+    private final AtomicLong evictionsCount = new AtomicLong();
+
+    private final long timeToLive;
+
+    private final int maxSize;
+
+    /**
+     * @param timeToLive
+     *            time to live of the tokens in milliseconds
+     * @param maxSize
+     *            maximum number of tokens in the store
+     */
+    public InMemoryTokenStore(final long timeToLive, final int maxSize) {
+        this.timeToLive = timeToLive;
+        this.maxSize = Math.max(1, maxSize);
+    }
+
+    @Override
+    public void put(final String key, final Token token) {
+        tokens.put(key, new StoredToken(token, currentTimeMillis() + timeToLive));
+        if (tokens.size() > maxSize) {
+            evict();
+        }
+    }
+
+    @Override
+    public Token get(final String key) {
+        final StoredToken storedToken = tokens.get(key);
+        if (storedToken == null) {
+            return null;
+        }
+        if (storedToken.isExpired(currentTimeMillis())) {
+            evict(key, storedToken);
+            return null;
+        }
+        return storedToken.token;
+    }
+
+    @Override
+    public Token remove(final String key) {
+        final StoredToken storedToken = tokens.remove(key);
+        if (storedToken == null) {
+            return null;
+        }
+        if (storedToken.isExpired(currentTimeMillis())) {
+            evictionsCount.incrementAndGet();
+            return null;
+        }
+        return storedToken.token;
+    }
+
+    @Override
+    public int getLiveTokensCount() {
+        final long now = currentTimeMillis();
+        int count = 0;
+        for (final StoredToken storedToken : tokens.values()) {
+            if (!storedToken.isExpired(now)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public long getEvictionsCount() {
+        return evictionsCount.get();
+    }
+
+    /**
+     * Time source of the expiration dates, overridden by the tests
+     */
+    long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    /**
+     * Remove the expired tokens then, if the store is still full, the oldest tokens
+     */
+    private void evict() {
+        final long now = currentTimeMillis();
+        final List<Entry<String, StoredToken>> entries = new ArrayList<>(tokens.size());
+        for (final Entry<String, StoredToken> entry : tokens.entrySet()) {
+            if (entry.getValue().isExpired(now)) {
+                evict(entry.getKey(), entry.getValue());
+            } else {
+                entries.add(entry);
+            }
+        }
+        final int evictionsNeeded = entries.size() - Math.max(1, maxSize * 9 / 10);
+        if (tokens.size() <= maxSize || evictionsNeeded <= 0) {
+            return;
+        }
+        Collections.sort(entries, new Comparator<Entry<String, StoredToken>>() {
+
+            @Override
+            public int compare(final Entry<String, StoredToken> entry1, final Entry<String, StoredToken> entry2) {
+                return Long.compare(entry1.getValue().expirationDate, entry2.getValue().expirationDate);
+            }
+        });
+        for (final Entry<String, StoredToken> entry : entries.subList(0, evictionsNeeded)) {
+            evict(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Remove a token unless it was replaced or removed meanwhile, so that each eviction is counted once
+     */
+    private void evict(final String key, final StoredToken storedToken) {
+        if (tokens.remove(key, storedToken)) {
+            evictionsCount.incrementAndGet();
+        }
+    }
+
+    private static class StoredToken {
+
+        private final Token token;
+
+        private final long expirationDate;
+
+        StoredToken(final Token token, final long expirationDate) {
+            this.token = token;
+            this.expirationDate = expirationDate;
+        }
+
+        boolean isExpired(final long now) {
+            return now >= expirationDate;
+        }
+    }
+}
@@ -77,7 +77,11 @@ public class OAuthAuthenticationManagerImpl implements AuthenticationManager {
         try {
             final OAuthConsumer aConsumer = OAuthConsumerFactory.getOAuthConsumer(tenantId, request.getRedirectUrl());
             final String requestTokenStr = request.getOAuthToken();
-            final Token requestToken = TokenCacheUtil.getToken(requestTokenStr);
+            // a request token is exchanged only once
+            final Token requestToken = TokenCacheUtil.removeToken(requestTokenStr);
+            if (requestToken == null) {
+                throw new AuthenticationFailedException("The OAuth request token is unknown or expired.");
+            }
             final Token accessToken = aConsumer.getAccessToken(requestToken, request.getOAuthVerifier());
             final String userId = aConsumer.getUserJSONString(accessToken);
             return userId;
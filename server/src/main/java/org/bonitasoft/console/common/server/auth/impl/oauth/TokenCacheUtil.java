@@ -13,32 +13,63 @@
  **/
 package org.bonitasoft.console.common.server.auth.impl.oauth;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.io.File;
 
 import org.scribe.model.Token;
 
 /**
+ * Access to the {@link TokenStore} of the OAuth tokens.<br />
+ * Tokens are kept in memory unless the system property {@link #TOKEN_STORE_FOLDER_PROPERTY} gives a folder shared by the nodes.
+ * Their time to live (in milliseconds) and maximum number are set by the system properties {@link #TIME_TO_LIVE_PROPERTY} and
+ * {@link #MAX_SIZE_PROPERTY}.
+ *
  * @author Ruiheng.Fan
- * 
+ *
  */
 
 public class TokenCacheUtil {
 
-    static Map<String, Token> map = new HashMap<String, Token>();
+    public static final String TOKEN_STORE_FOLDER_PROPERTY = "org.bonitasoft.web.oauth.tokenStoreFolder";
 
-    public static void addRequestToken(final Token requestToken) {
-        map.put(requestToken.getToken(), requestToken);
-    }
+    public static final String TIME_TO_LIVE_PROPERTY = "org.bonitasoft.web.oauth.tokenTimeToLive";
+
+    public static final String MAX_SIZE_PROPERTY = "org.bonitasoft.web.oauth.maxTokens";
+
+    /**
+     * Time left to the user to log in on the service provider
+     */
+    private static final long DEFAULT_TIME_TO_LIVE = 600000L;
 
-    public static void addAccessToken(final String requeToken, final Token accessToken) {
-        if (map.containsKey(requeToken)) {
-            map.remove(requeToken);
+    private static final int DEFAULT_MAX_SIZE = 10000;
+
+    private static volatile TokenStore tokenStore = createTokenStore();
+
+    static TokenStore createTokenStore() {
+        final long timeToLive = Long.getLong(TIME_TO_LIVE_PROPERTY, DEFAULT_TIME_TO_LIVE);
+        final int maxSize = Integer.getInteger(MAX_SIZE_PROPERTY, DEFAULT_MAX_SIZE);
+        final String folder = System.getProperty(TOKEN_STORE_FOLDER_PROPERTY);
+        if (folder != null && !folder.isEmpty()) {
+            return new FileTokenStore(new File(folder), timeToLive, maxSize);
         }
-        map.put(accessToken.getToken(), accessToken);
+        return new InMemoryTokenStore(timeToLive, maxSize);
+    }
+
+    public static TokenStore getTokenStore() {
+        return tokenStore;
+    }
+
+    public static void setTokenStore(final TokenStore tokenStore) {
+        TokenCacheUtil.tokenStore = tokenStore;
+    }
+
+    public static void addRequestToken(final Token requestToken) {
+        tokenStore.put(requestToken.getToken(), requestToken);
     }
 
-    public static Token getToken(final String token) {
-        return map.get(token);
+    /**
+     * @return the removed token or null if it is unknown or expired
+     */
+    public static Token removeToken(final String token) {
+        return tokenStore.remove(token);
     }
 }
@@ -0,0 +1,46 @@
+/**
+ * Copyright (C) 2016 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.auth.impl.oauth;
+
+import org.scribe.model.Token;
+
+/**
+ * Store of the OAuth tokens waiting for the service provider callback.<br />
+ * Tokens expire after a time to live and the store holds a maximum number of tokens, the oldest ones being evicted first.
+ */
+public interface TokenStore {
+
+    void put(String key, Token token);
+
+    /**
+     * @return the token or null if it is unknown or expired
+     */
+    Token get(String key);
+
+    /**
+     * @return the removed token or null if it is unknown or expired
+     */
+    Token remove(String key);
+
+    /**
+     * @return the number of tokens not expired
+     */
+    int getLiveTokensCount();
+
+    /**
+     * @return the number of tokens removed from the store because they expired or because the store was full
+     */
+    long getEvictionsCount();
+}
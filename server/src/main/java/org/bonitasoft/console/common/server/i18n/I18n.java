@@ -25,6 +25,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.bonitasoft.web.toolkit.client.common.i18n.AbstractI18n;
 import org.bonitasoft.web.toolkit.client.common.texttemplate.Arg;
@@ -45,10 +46,22 @@ public class I18n extends AbstractI18n {
      */
     public static final String I18N_CUSTOM_DIR_PROPERTY = "org.bonitasoft.i18n.folder";
 
+    /**
+     * Minimum delay (in milliseconds) between two checks of the modification of the .po files of the custom folder for a locale
+     */
+    public static final String I18N_CUSTOM_DIR_CHECK_INTERVAL_PROPERTY = "org.bonitasoft.i18n.folder.checkInterval";
+
+    private static final long DEFAULT_CUSTOM_DIR_CHECK_INTERVAL = 5000L;
+
     private static File I18N_CUSTOM_DIR = getI18nCustomDirectory();
 
+    private final Map<LOCALE, Long> customFilesSignatures = new ConcurrentHashMap<>();
+
+    private final Map<LOCALE, Long> customFilesLastChecks = new ConcurrentHashMap<>();
+
     private I18n() {
-        // Singleton
+        // Singleton, locales are (re)loaded while requests are served
+        super(new ConcurrentHashMap<LOCALE, Map<String, String>>());
     }
 
     public static I18n getInstance() {
@@ -61,6 +74,8 @@ public class I18n extends AbstractI18n {
     // For test matters only:
     void refresh() {
         I18N_CUSTOM_DIR = getI18nCustomDirectory();
+        customFilesSignatures.clear();
+        customFilesLastChecks.clear();
     }
 
     private static File getI18nCustomDirectory() {
@@ -72,11 +87,50 @@ public class I18n extends AbstractI18n {
     public void loadLocale(final LOCALE locale) {
         Map<String, String> results = loadLocale(getStreams(locale));
         if (I18N_CUSTOM_DIR != null) {
-            results.putAll(loadLocale(locale, FileUtils.listDir(I18N_CUSTOM_DIR)));
+            final List<File> customFiles = getLocaleFiles(locale, FileUtils.listDir(I18N_CUSTOM_DIR));
+            customFilesSignatures.put(locale, getSignature(customFiles));
+            customFilesLastChecks.put(locale, System.currentTimeMillis());
+            results.putAll(loadLocaleFiles(customFiles));
         }
         setLocale(locale, results);
     }
 
+    /**
+     * Reload the locale if its .po files in the custom folder have changed since it was loaded
+     */
+    @Override
+    public Map<String, String> getLocale(final LOCALE locale) {
+        if (locale != null && I18N_CUSTOM_DIR != null && customFilesChanged(locale)) {
+            loadLocale(locale);
+        }
+        return super.getLocale(locale);
+    }
+
+    private boolean customFilesChanged(final LOCALE locale) {
+        final Long loadedSignature = customFilesSignatures.get(locale);
+        if (loadedSignature == null) {
+            // not loaded yet
+            return false;
+        }
+        final Long lastCheck = customFilesLastChecks.get(locale);
+        final long now = System.currentTimeMillis();
+        if (lastCheck != null && now - lastCheck < Long.getLong(I18N_CUSTOM_DIR_CHECK_INTERVAL_PROPERTY, DEFAULT_CUSTOM_DIR_CHECK_INTERVAL)) {
+            return false;
+        }
+        customFilesLastChecks.put(locale, now);
+        return loadedSignature != getSignature(getLocaleFiles(locale, FileUtils.listDir(I18N_CUSTOM_DIR)));
+    }
+
+    private long getSignature(final List<File> files) {
+        long signature = files.size();
+        for (final File file : files) {
+            signature = 31 * signature + file.getName().hashCode();
+            signature = 31 * signature + file.lastModified();
+            signature = 31 * signature + file.length();
+        }
+        return signature;
+    }
+
     private Map<String, String> loadLocale(List<InputStream> streams) {
         TreeMap<String, String> treeMap = new TreeMap<>();
         for (InputStream stream : streams) {
@@ -85,9 +139,9 @@ public class I18n extends AbstractI18n {
         return treeMap;
     }
 
-    private TreeMap<String, String> loadLocale(final LOCALE locale, List<File> files) {
+    private TreeMap<String, String> loadLocaleFiles(List<File> localeFiles) {
         TreeMap<String, String> treeMap = new TreeMap<>();
-        for (File file : getLocaleFiles(locale, files)) {
+        for (File file : localeFiles) {
             treeMap.putAll(parsePoFile(file));
         }
         return treeMap;
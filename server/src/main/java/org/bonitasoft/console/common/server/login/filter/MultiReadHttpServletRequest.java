@@ -18,28 +18,57 @@ import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 
 import javax.servlet.ServletInputStream;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletRequestWrapper;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletRequestWrapper;
 
-import org.apache.commons.io.IOUtils;
-
 public class MultiReadHttpServletRequest extends HttpServletRequestWrapper {
 
-    private ByteArrayOutputStream readBytes;
+    public static final long NO_LIMIT = -1L;
+
+    private static final int BUFFER_SIZE = 4096;
+
+    /**
+     * The content length is sent by the client, so it only presizes the body buffer up to this size; bigger bodies grow it
+     */
+    static final int MAX_INITIAL_BUFFER_SIZE = 64 * 1024;
+
+    private final boolean bufferOnRead;
+
+    private final long maxBodySize;
+
+    private byte[] body;
+
+    private String bodyAsString;
 
     public MultiReadHttpServletRequest(final HttpServletRequest request) {
+        this(request, true, NO_LIMIT);
+    }
+
+    /**
+     * @param bufferOnRead
+     *        if false, the body is buffered only once {@link #getBody()} has been called. Until then, reading the input
+     *        stream goes straight to the wrapped request.
+     * @param maxBodySize
+     *        the maximum number of bytes that can be buffered, or {@link #NO_LIMIT}
+     */
+    public MultiReadHttpServletRequest(final HttpServletRequest request, final boolean bufferOnRead, final long maxBodySize) {
         super(request);
+        this.bufferOnRead = bufferOnRead;
+        this.maxBodySize = maxBodySize;
     }
 
     @Override
     public ServletInputStream getInputStream() throws IOException {
-        if (readBytes == null) {
-            readInputStream();
+        if (body == null && !bufferOnRead) {
+            return super.getInputStream();
         }
-        return new CachedServletInputStream();
+        return new CachedServletInputStream(getBody());
     }
 
     @Override
@@ -51,17 +80,97 @@ public class MultiReadHttpServletRequest extends HttpServletRequestWrapper {
         return new BufferedReader(new InputStreamReader(getInputStream(), enc));
     }
 
-    private void readInputStream() throws IOException {
-        readBytes = new ByteArrayOutputStream();
-        IOUtils.copy(super.getInputStream(), readBytes);
+    /**
+     * Read the body of the request once and keep it so that it can be read again by the next filters and servlets.
+     *
+     * @return the body of the request. The returned array is shared and must not be modified.
+     * @throws RequestBodyTooLargeException
+     *         if the body is bigger than the maximum size allowed
+     */
+    public byte[] getBody() throws IOException {
+        if (body == null) {
+            body = readInputStream();
+        }
+        return body;
+    }
+
+    /**
+     * Decode the body of the request once, so that the filters and the API servlet share the same string.
+     *
+     * @return the body of the request decoded with the request character encoding, UTF-8 by default
+     * @throws RequestBodyTooLargeException
+     *         if the body is bigger than the maximum size allowed
+     */
+    public String getBodyAsString() throws IOException {
+        if (bodyAsString == null) {
+            final String enc = getCharacterEncoding();
+            bodyAsString = new String(getBody(), enc != null ? enc : "UTF-8");
+        }
+        return bodyAsString;
+    }
+
+    /**
+     * @return the maximum number of bytes of the body, or {@link #NO_LIMIT}
+     */
+    public long getMaxBodySize() {
+        return maxBodySize;
+    }
+
+    /**
+     * @return true if the body has already been read through {@link #getBody()}
+     */
+    public boolean isBodyBuffered() {
+        return body != null;
+    }
+
+    /**
+     * @return the {@link MultiReadHttpServletRequest} wrapping the request, possibly under other wrappers, or null
+     */
+    public static MultiReadHttpServletRequest find(final ServletRequest request) {
+        ServletRequest wrappedRequest = request;
+        while (wrappedRequest instanceof ServletRequestWrapper) {
+            if (wrappedRequest instanceof MultiReadHttpServletRequest) {
+                return (MultiReadHttpServletRequest) wrappedRequest;
+            }
+            wrappedRequest = ((ServletRequestWrapper) wrappedRequest).getRequest();
+        }
+        return null;
+    }
+
+    private byte[] readInputStream() throws IOException {
+        if (maxBodySize != NO_LIMIT && getContentLength() > maxBodySize) {
+            throw new RequestBodyTooLargeException(maxBodySize);
+        }
+        final ByteArrayOutputStream readBytes = new ByteArrayOutputStream(getInitialBufferSize(getContentLength(), maxBodySize));
+        final InputStream input = super.getInputStream();
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        long totalSize = 0;
+        int read = input.read(buffer);
+        while (read != -1) {
+            totalSize += read;
+            if (maxBodySize != NO_LIMIT && totalSize > maxBodySize) {
+                throw new RequestBodyTooLargeException(maxBodySize);
+            }
+            readBytes.write(buffer, 0, read);
+            read = input.read(buffer);
+        }
+        return readBytes.toByteArray();
+    }
+
+    static int getInitialBufferSize(final int contentLength, final long maxBodySize) {
+        long size = contentLength > 0 ? Math.min(contentLength, MAX_INITIAL_BUFFER_SIZE) : BUFFER_SIZE;
+        if (maxBodySize != NO_LIMIT) {
+            size = Math.min(size, maxBodySize);
+        }
+        return (int) Math.max(size, 32);
     }
 
     class CachedServletInputStream extends ServletInputStream {
 
         private final ByteArrayInputStream input;
 
-        public CachedServletInputStream() {
-            input = new ByteArrayInputStream(readBytes.toByteArray());
+        public CachedServletInputStream(final byte[] body) {
+            input = new ByteArrayInputStream(body);
         }
 
         @Override
@@ -85,4 +194,4 @@ public class MultiReadHttpServletRequest extends HttpServletRequestWrapper {
             super.close();
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,29 @@
+/**
+ * Copyright (C) 2016 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.login.filter;
+
+import java.io.IOException;
+
+/**
+ * Thrown when the body of a request is bigger than what is allowed to be buffered in memory.
+ */
+public class RequestBodyTooLargeException extends IOException {
+
+    private static final long serialVersionUID = -4180384512871372263L;
+
+    public RequestBodyTooLargeException(final long maxBodySize) {
+        super("The request body exceeds the maximum size of " + maxBodySize + " bytes");
+    }
+}
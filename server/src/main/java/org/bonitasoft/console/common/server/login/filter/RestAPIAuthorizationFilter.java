@@ -20,6 +20,7 @@ import java.util.List;
 import java.util.Set;
 import java.util.logging.Level;
 
+import javax.servlet.FilterConfig;
 import javax.servlet.ServletException;
 import javax.servlet.ServletInputStream;
 import javax.servlet.ServletRequest;
@@ -58,9 +59,22 @@ public class RestAPIAuthorizationFilter extends AbstractAuthorizationFilter {
 
     private static final String PLATFORM_API_URI_REGEXP = ".*(API|APIToolkit)/platform/.*";
 
+    /**
+     * The calls of a batch are checked one by one by the batch servlet
+     */
+    private static final String BATCH_API_SERVLET_PATH = "/API/batch";
+
     protected static final String PLATFORM_SESSION_PARAM_KEY = "platformSession";
+
+    /**
+     * Name of the filter init parameter setting the maximum size in bytes of a request body read for dynamic checks
+     */
+    public static final String MAX_BODY_SIZE_PARAM = "maxBodySize";
+
     private final Boolean reload;
 
+    private long maxBodySize = MultiReadHttpServletRequest.NO_LIMIT;
+
     public RestAPIAuthorizationFilter(final boolean reload) {
         this.reload = reload;
     }
@@ -69,10 +83,20 @@ public class RestAPIAuthorizationFilter extends AbstractAuthorizationFilter {
         reload = null;//will check property from security-config
     }
 
+    @Override
+    public void init(final FilterConfig filterConfig) throws ServletException {
+        super.init(filterConfig);
+        final String maxBodySizeParam = filterConfig.getInitParameter(MAX_BODY_SIZE_PARAM);
+        if (maxBodySizeParam != null) {
+            maxBodySize = Long.parseLong(maxBodySizeParam.trim());
+        }
+    }
+
     @Override
     protected HttpServletRequest getRequest(final ServletRequest request) {
         //we need to use a MultiReadHttpServletRequest wrapper in order to be able to get the inputstream twice (in the filter and in the API servlet)
-        return new MultiReadHttpServletRequest((HttpServletRequest) request);
+        //the body is only buffered if a dynamic check needs it
+        return new MultiReadHttpServletRequest((HttpServletRequest) request, false, maxBodySize);
     }
 
     @Override
@@ -96,12 +120,35 @@ public class RestAPIAuthorizationFilter extends AbstractAuthorizationFilter {
         if (apiSession == null) {
             httpResponse.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             return false;
-        } else if (!checkPermissions(httpRequest)) {
-            httpResponse.setStatus(HttpServletResponse.SC_FORBIDDEN);
-            return false;
-        } else {
+        }
+        if (isBatchRequest(httpRequest)) {
             return true;
         }
+        try {
+            if (!checkPermissions(httpRequest)) {
+                httpResponse.setStatus(HttpServletResponse.SC_FORBIDDEN);
+                return false;
+            }
+            return true;
+        } catch (final ServletException e) {
+            if (e.getRootCause() instanceof RequestBodyTooLargeException) {
+                if (LOGGER.isLoggable(Level.WARNING)) {
+                    LOGGER.log(Level.WARNING, e.getRootCause().getMessage() + ": " + httpRequest.getMethod() + " " + httpRequest.getRequestURI());
+                }
+                httpResponse.setStatus(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Only the request sent to the batch servlet itself is a batch: the servlet path is compared, as a resource path may end with
+     * the same suffix (e.g. /API/bpm/case/API/batch)
+     */
+    protected boolean isBatchRequest(final HttpServletRequest httpRequest) {
+        final String pathInfo = httpRequest.getPathInfo();
+        return BATCH_API_SERVLET_PATH.equals(httpRequest.getServletPath()) && (pathInfo == null || "/".equals(pathInfo));
     }
 
     protected boolean platformAPIsCheck(final HttpServletRequest httpRequest, final HttpServletResponse httpResponse) {
@@ -168,6 +215,9 @@ public class RestAPIAuthorizationFilter extends AbstractAuthorizationFilter {
 
     protected String getRequestBody(final HttpServletRequest request) throws ServletException {
         try {
+            if (request instanceof MultiReadHttpServletRequest) {
+                return ((MultiReadHttpServletRequest) request).getBodyAsString();
+            }
             final ServletInputStream inputStream = request.getInputStream();
             return IOUtils.toString(inputStream, request.getCharacterEncoding());
         } catch (final IOException e) {
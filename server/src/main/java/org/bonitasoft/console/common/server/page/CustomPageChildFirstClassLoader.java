@@ -13,7 +13,7 @@
  **/
 package org.bonitasoft.console.common.server.page;
 
-import static org.apache.commons.io.FileUtils.deleteQuietly;
+import static org.apache.commons.io.FileUtils.readFileToByteArray;
 
 import java.io.ByteArrayInputStream;
 import java.io.File;
@@ -26,8 +26,6 @@ import java.util.Objects;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import org.apache.commons.io.FileUtils;
-
 
 /**
  * @author Elias Ricken de Medeiros
@@ -77,22 +75,21 @@ public class CustomPageChildFirstClassLoader extends MonoParentJarFileClassLoade
 
 
     private void addOtherDependencies() {
-        final Map<String, byte[]> customPageDependencies = customPageDependenciesResolver.resolveCustomPageDependencies();
-        for (final Map.Entry<String, byte[]> resource : customPageDependencies.entrySet()) {
-            if (resource.getKey().matches(".*\\.jar") && !bdmDependenciesResolver.isABDMDependency(resource.getKey())) {
-                final byte[] data = resource.getValue();
-                try {
-                    final File file = File.createTempFile(resource.getKey(), null, customPageDependenciesResolver.getTempFolder());
-                    file.deleteOnExit();
-                    FileUtils.writeByteArrayToFile(file, data);
-                    addURL(new File(file.getAbsolutePath()).toURI().toURL());
-                } catch (final IOException e) {
-                    if (LOGGER.isLoggable(Level.WARNING)) {
-                        LOGGER.log(Level.WARNING, String.format("Failed to add file %s in classpath", resource.getKey()), e);
+        final Map<String, File> customPageDependencies = customPageDependenciesResolver.resolveCustomPageDependencies();
+        for (final Map.Entry<String, File> resource : customPageDependencies.entrySet()) {
+            try {
+                if (resource.getKey().matches(".*\\.jar")) {
+                    if (!bdmDependenciesResolver.isABDMDependency(resource.getKey())) {
+                        // the jar is opened from the shared store of the tenant, it is never loaded in memory
+                        addURL(resource.getValue().getAbsoluteFile().toURI().toURL());
                     }
+                } else {
+                    nonJarResources.put(resource.getKey(), readFileToByteArray(resource.getValue()));
+                }
+            } catch (final IOException e) {
+                if (LOGGER.isLoggable(Level.WARNING)) {
+                    LOGGER.log(Level.WARNING, String.format("Failed to add file %s in classpath", resource.getKey()), e);
                 }
-            } else {
-                nonJarResources.put(resource.getKey(), resource.getValue());
             }
         }
     }
@@ -163,7 +160,7 @@ public class CustomPageChildFirstClassLoader extends MonoParentJarFileClassLoade
     }
 
     public void release() {
-        deleteQuietly(customPageDependenciesResolver.getTempFolder());
+        customPageDependenciesResolver.releaseLibraries();
         isActive = false;
     }
 
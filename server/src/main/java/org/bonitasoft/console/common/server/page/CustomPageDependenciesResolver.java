@@ -14,8 +14,6 @@
  */
 package org.bonitasoft.console.common.server.page;
 
-import static org.apache.commons.io.FileUtils.readFileToByteArray;
-
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.FileVisitResult;
@@ -23,26 +21,31 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import org.apache.commons.io.FileUtils;
 import org.bonitasoft.console.common.server.preferences.constants.WebBonitaConstantsUtils;
 
 public class CustomPageDependenciesResolver {
 
     private static final String LIB_FOLDER_NAME = "lib";
 
-    static final Map<String, File> PAGES_LIB_TMPDIR = new HashMap<>();
+    private static final String JAR_EXTENSION = ".jar";
 
-    private static final Logger LOGGER = Logger.getLogger(CustomPageDependenciesResolver.class.getName());
+    /**
+     * The resolver holding the stored jars of the current classloader of each page
+     */
+    static final Map<String, CustomPageDependenciesResolver> PAGES_RESOLVERS = new ConcurrentHashMap<>();
 
+    private static final Logger LOGGER = Logger.getLogger(CustomPageDependenciesResolver.class.getName());
 
-    private File libTempFolder;
+    private final List<File> storedJars = new ArrayList<>();
 
     private final WebBonitaConstantsUtils webBonitaConstantsUtils;
 
@@ -58,30 +61,43 @@ public class CustomPageDependenciesResolver {
         this.webBonitaConstantsUtils = webBonitaConstantsUtils;
     }
 
-    public Map<String, byte[]> resolveCustomPageDependencies() {
+    /**
+     * Resolve the files of the lib folder of the page. The jars are resolved to their copy in the tenant
+     * {@link CustomPageJarStore}, which is kept until the page classloader is rebuilt or the page is removed.
+     *
+     * @return the files by name
+     */
+    public Map<String, File> resolveCustomPageDependencies() {
         final File customPageLibDirectory = new File(pageDirectory, LIB_FOLDER_NAME);
         if (customPageLibDirectory.exists()) {
-            this.libTempFolder = new File(this.webBonitaConstantsUtils.getTempFolder(), pageName
-                    + Long.toString(new Date().getTime()));
-            if (!this.libTempFolder.exists()) {
-                this.libTempFolder.mkdirs();
+            final Map<String, File> libraries = loadLibraries(customPageLibDirectory);
+            final CustomPageDependenciesResolver previousResolver = PAGES_RESOLVERS.put(pageName, this);
+            if (previousResolver != null && previousResolver != this) {
+                previousResolver.releaseLibraries();
             }
-            removePageLibTempFolder(pageName);
-            PAGES_LIB_TMPDIR.put(pageName, this.libTempFolder);
-            return loadLibraries(customPageLibDirectory);
+            return libraries;
         }
         return Collections.emptyMap();
     }
 
-    private Map<String, byte[]> loadLibraries(final File customPageLibDirectory) {
-        final Map<String, byte[]> result = new HashMap<String, byte[]>();
+    private Map<String, File> loadLibraries(final File customPageLibDirectory) {
+        final Map<String, File> result = new HashMap<String, File>();
+        final CustomPageJarStore jarStore = getJarStore();
         try {
             Files.walkFileTree(customPageLibDirectory.toPath(), new SimpleFileVisitor<Path>() {
 
                 @Override
                 public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) throws IOException {
                     final File currentFile = file.toFile();
-                    result.put(currentFile.getName(), readFileToByteArray(currentFile));
+                    if (currentFile.getName().endsWith(JAR_EXTENSION)) {
+                        final File storedJar = jarStore.acquire(currentFile);
+                        synchronized (storedJars) {
+                            storedJars.add(storedJar);
+                        }
+                        result.put(currentFile.getName(), storedJar);
+                    } else {
+                        result.put(currentFile.getName(), currentFile);
+                    }
                     return super.visitFile(file, attrs);
                 }
 
@@ -92,26 +108,40 @@ public class CustomPageDependenciesResolver {
         return result;
     }
 
-    public static File removePageLibTempFolder(final String pageName) {
-        final File libTempFolder = PAGES_LIB_TMPDIR.remove(pageName);
-        if (libTempFolder != null) {
-            try {
-                FileUtils.deleteDirectory(libTempFolder);
-            } catch (final IOException e) {
-                if (LOGGER.isLoggable(Level.WARNING)) {
-                    LOGGER.log(Level.WARNING, "The custom page temporary lib directory " + libTempFolder.getPath()
-                    + " cannot be deleted. This is likely to be due to a JDK bug on Windows. You can safely delete it after a server restart.");
-                }
+    /**
+     * Release the stored jars of the current classloader of a page
+     *
+     * @return the resolver of the page classloader or null if the page had no libraries
+     */
+    public static CustomPageDependenciesResolver releasePageLibraries(final String pageName) {
+        final CustomPageDependenciesResolver resolver = PAGES_RESOLVERS.remove(pageName);
+        if (resolver != null) {
+            resolver.releaseLibraries();
+        }
+        return resolver;
+    }
+
+    /**
+     * Release the stored jars resolved by this resolver. They must not be used anymore.
+     */
+    public void releaseLibraries() {
+        final CustomPageJarStore jarStore = getJarStore();
+        synchronized (storedJars) {
+            for (final File storedJar : storedJars) {
+                jarStore.release(storedJar);
             }
+            storedJars.clear();
         }
-        return libTempFolder;
     }
 
-    public File getTempFolder() {
-        if (libTempFolder == null) {
-            throw new IllegalStateException("Custom page dependencies must be resolved first.");
+    List<File> getStoredJars() {
+        synchronized (storedJars) {
+            return new ArrayList<>(storedJars);
         }
-        return libTempFolder;
+    }
+
+    CustomPageJarStore getJarStore() {
+        return CustomPageJarStore.getInstance(webBonitaConstantsUtils.getTempFolder());
     }
 
 }
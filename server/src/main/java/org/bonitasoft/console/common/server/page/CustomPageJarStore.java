@@ -0,0 +1,173 @@
+/**
+ * Copyright (C) 2016 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.page;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.commons.io.FileUtils;
+
+/**
+ * Tenant wide store of the jars bundled in the lib folder of the custom pages, addressed by the hash of their content.<br />
+ * A jar bundled by several pages is stored once on disk and the classloaders of the pages open it from the store, so its
+ * content is never loaded on the heap. Stored jars are reference counted and deleted once no classloader uses them anymore.
+ */
+public class CustomPageJarStore {
+
+    static final String STORE_FOLDER_NAME = "custom-page-libs";
+
+    private static final String JAR_EXTENSION = ".jar";
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    private static final Logger LOGGER = Logger.getLogger(CustomPageJarStore.class.getName());
+
+    private static final ConcurrentMap<File, CustomPageJarStore> INSTANCES = new ConcurrentHashMap<>();
+
+    private final File storeFolder;
+
+    /**
+     * Number of references to each stored jar, by hash
+     */
+    private final Map<String, Integer> references = new HashMap<>();
+
+    /**
+     * Whether the jars left by a previous run were removed
+     */
+    private boolean cleaned = false;
+
+    CustomPageJarStore(final File storeFolder) {
+        this.storeFolder = storeFolder;
+    }
+
+    /**
+     * @param tempFolder
+     *            the temporary folder of the tenant
+     * @return the store of the tenant, emptied of the jars left by a previous run the first time it is used
+     */
+    public static CustomPageJarStore getInstance(final File tempFolder) {
+        final File storeFolder = new File(tempFolder, STORE_FOLDER_NAME).getAbsoluteFile();
+        CustomPageJarStore store = INSTANCES.get(storeFolder);
+        if (store == null) {
+            final CustomPageJarStore newStore = new CustomPageJarStore(storeFolder);
+            store = INSTANCES.putIfAbsent(storeFolder, newStore);
+            if (store == null) {
+                store = newStore;
+            }
+        }
+        return store;
+    }
+
+    /**
+     * Add a reference to a jar, copying it in the store if no jar with the same content is stored yet.
+     *
+     * @return the stored jar, to give back to {@link #release(File)} once it is not used anymore
+     */
+    public File acquire(final File jar) throws IOException {
+        final String hash = hash(jar);
+        final File storedJar = new File(storeFolder, hash + JAR_EXTENSION);
+        synchronized (references) {
+            if (!cleaned) {
+                FileUtils.deleteQuietly(storeFolder);
+                cleaned = true;
+            }
+            if (!storedJar.exists()) {
+                store(jar, storedJar);
+            }
+            final Integer count = references.get(hash);
+            references.put(hash, count == null ? 1 : count + 1);
+        }
+        return storedJar;
+    }
+
+    /**
+     * Remove a reference to a stored jar, deleting it when it was the last one
+     */
+    public void release(final File storedJar) {
+        final String hash = getHash(storedJar);
+        synchronized (references) {
+            final Integer count = references.get(hash);
+            if (count == null) {
+                return;
+            }
+            if (count > 1) {
+                references.put(hash, count - 1);
+                return;
+            }
+            references.remove(hash);
+            if (!storedJar.delete() && LOGGER.isLoggable(Level.FINE)) {
+                // may happen on Windows while a released classloader still holds the jar open
+                LOGGER.log(Level.FINE, "The shared custom page library " + storedJar.getPath() + " cannot be deleted yet.");
+            }
+        }
+    }
+
+    /**
+     * @return the number of references to a stored jar
+     */
+    int getReferences(final File storedJar) {
+        synchronized (references) {
+            final Integer count = references.get(getHash(storedJar));
+            return count == null ? 0 : count;
+        }
+    }
+
+    private static String getHash(final File storedJar) {
+        return storedJar.getName().substring(0, storedJar.getName().length() - JAR_EXTENSION.length());
+    }
+
+    private void store(final File jar, final File storedJar) throws IOException {
+        if (!storeFolder.exists() && !storeFolder.mkdirs() && !storeFolder.exists()) {
+            throw new IOException("Cannot create the custom page libraries store " + storeFolder.getPath());
+        }
+        final File tempFile = File.createTempFile(storedJar.getName(), null, storeFolder);
+        try {
+            Files.copy(jar.toPath(), tempFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            Files.move(tempFile.toPath(), storedJar.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            FileUtils.deleteQuietly(tempFile);
+        }
+    }
+
+    String hash(final File jar) throws IOException {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+        try (InputStream input = new FileInputStream(jar)) {
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return String.format("%064x", new BigInteger(1, digest.digest()));
+    }
+}
@@ -23,6 +23,7 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -78,6 +79,23 @@ public class CustomPageService {
 
     private static final Map<String, GroovyClassLoader> PAGES_CLASSLOADERS = new HashMap<>();
 
+    /**
+     * Name of the system property setting the minimum delay (in milliseconds) between two checks of a page last update date with the engine
+     */
+    public static final String PAGE_UPDATE_CHECK_INTERVAL_PROPERTY = "org.bonitasoft.web.page.updateCheckInterval";
+
+    private static final long DEFAULT_PAGE_UPDATE_CHECK_INTERVAL = 5000L;
+
+    /**
+     * Date of the last check with the engine, by page directory
+     */
+    private static final Map<String, Long> PAGES_LAST_UPDATE_CHECKS = new ConcurrentHashMap<>();
+
+    /**
+     * Compiled rest api controllers, by controller file
+     */
+    private static final Map<String, RestApiControllerClass> REST_API_CONTROLLER_CLASSES = new ConcurrentHashMap<>();
+
     public static final String RESOURCES_PROPERTY = "resources";
     public static final String PROPERTY_CONTENT_TYPE = "contentType";
     public static final String PROPERTY_API_EXTENSIONS = "apiExtensions";
@@ -105,22 +123,33 @@ public class CustomPageService {
         final File pageFolder = pageResourceProvider.getPageDirectory();
         if (!pageResourceProvider.getPageDirectory().exists()) {
             retrievePageZipContent(apiSession, pageResourceProvider);
-        } else {
+        } else if (isPageUpdateCheckNeeded(pageFolder)) {
             final File timestampFile = getPageFile(pageFolder, LASTUPDATE_FILENAME);
             final long lastUpdateTimestamp = getPageLastUpdateDateFromEngine(apiSession, pageResourceProvider);
             if (timestampFile.exists()) {
                 final String timestampString = FileUtils.readFileToString(timestampFile);
                 final long timestamp = Long.parseLong(timestampString);
                 if (lastUpdateTimestamp != timestamp) {
+                    clearPageCaches(pageResourceProvider);
                     removePage(apiSession, pageResourceProvider.getPageName());
                     retrievePageZipContent(apiSession, pageResourceProvider);
                 }
             } else {
                 FileUtils.writeStringToFile(timestampFile, String.valueOf(lastUpdateTimestamp), false);
             }
+            PAGES_LAST_UPDATE_CHECKS.put(pageFolder.getPath(), System.currentTimeMillis());
         }
     }
 
+    private boolean isPageUpdateCheckNeeded(final File pageFolder) {
+        final Long lastCheck = PAGES_LAST_UPDATE_CHECKS.get(pageFolder.getPath());
+        return lastCheck == null || System.currentTimeMillis() - lastCheck >= getPageUpdateCheckInterval();
+    }
+
+    protected long getPageUpdateCheckInterval() {
+        return Long.getLong(PAGE_UPDATE_CHECK_INTERVAL_PROPERTY, DEFAULT_PAGE_UPDATE_CHECK_INTERVAL);
+    }
+
     @SuppressWarnings("unchecked")
     public Class<?> registerPage(final GroovyClassLoader pageClassLoader, final PageResourceProvider pageResourceProvider)
             throws CompilationFailedException, IOException {
@@ -133,6 +162,25 @@ public class CustomPageService {
         return pageClassLoader.parseClass(restApiControllerFile);
     }
 
+    /**
+     * Get the class of a rest api controller, compiling it only if it was not already compiled for the same version of the page
+     * with the same classloader.
+     *
+     * @param lastUpdateTimestamp
+     *        the last modification date of the page
+     */
+    public Class<?> getRestApiControllerClass(final GroovyClassLoader pageClassLoader, final File restApiControllerFile, final long lastUpdateTimestamp)
+            throws CompilationFailedException, IOException {
+        final String key = restApiControllerFile.getPath();
+        final RestApiControllerClass cachedClass = REST_API_CONTROLLER_CLASSES.get(key);
+        if (cachedClass != null && cachedClass.isValid(pageClassLoader, lastUpdateTimestamp)) {
+            return cachedClass.getControllerClass();
+        }
+        final Class<?> restApiControllerClass = registerRestApiPage(pageClassLoader, restApiControllerFile);
+        REST_API_CONTROLLER_CLASSES.put(key, new RestApiControllerClass(pageClassLoader, lastUpdateTimestamp, restApiControllerClass));
+        return restApiControllerClass;
+    }
+
     public void verifyPageClass(final File tempPageDirectory, APISession session) throws IOException {
         final File pageControllerFile = getPageFile(tempPageDirectory, PAGE_CONTROLLER_FILENAME);
         if (pageControllerFile.exists()) {
@@ -162,16 +210,29 @@ public class CustomPageService {
     public void removePage(final APISession apiSession, final String pageName) throws IOException {
         closeClassloader(pageName);
         final PageResourceProvider pageResourceProvider = new PageResourceProviderImpl(pageName, apiSession.getTenantId());
+        clearPageCaches(pageResourceProvider);
         removePageZipContent(apiSession, pageResourceProvider);
-        CustomPageDependenciesResolver.removePageLibTempFolder(pageName);
+        CustomPageDependenciesResolver.releasePageLibraries(pageName);
     }
 
     public void removePage(final APISession apiSession, final Page page) throws IOException {
         final PageResourceProvider pageResourceProvider = new PageResourceProviderImpl(page, apiSession.getTenantId());
         final String pageName = pageResourceProvider.getFullPageName();
         closeClassloader(pageName);
+        clearPageCaches(pageResourceProvider);
         removePageZipContent(apiSession, pageResourceProvider);
-        CustomPageDependenciesResolver.removePageLibTempFolder(pageName);
+        CustomPageDependenciesResolver.releasePageLibraries(pageName);
+    }
+
+    private static void clearPageCaches(final PageResourceProvider pageResourceProvider) {
+        final String pageDirectoryPath = pageResourceProvider.getPageDirectory().getPath();
+        PAGES_LAST_UPDATE_CHECKS.remove(pageDirectoryPath);
+        final String controllersPrefix = pageDirectoryPath + File.separator;
+        for (final String controllerFile : REST_API_CONTROLLER_CLASSES.keySet()) {
+            if (controllerFile.startsWith(controllersPrefix)) {
+                REST_API_CONTROLLER_CLASSES.remove(controllerFile);
+            }
+        }
     }
 
     private static void closeClassloader(final String pageName) throws IOException {
@@ -417,6 +478,30 @@ public class CustomPageService {
         for (final String page : PAGES_CLASSLOADERS.keySet()) {
             closeClassloader(page);
         }
+        PAGES_LAST_UPDATE_CHECKS.clear();
+        REST_API_CONTROLLER_CLASSES.clear();
+    }
+
+    private static class RestApiControllerClass {
 
+        private final GroovyClassLoader classLoader;
+
+        private final long lastUpdateTimestamp;
+
+        private final Class<?> controllerClass;
+
+        RestApiControllerClass(final GroovyClassLoader classLoader, final long lastUpdateTimestamp, final Class<?> controllerClass) {
+            this.classLoader = classLoader;
+            this.lastUpdateTimestamp = lastUpdateTimestamp;
+            this.controllerClass = controllerClass;
+        }
+
+        boolean isValid(final GroovyClassLoader currentClassLoader, final long currentLastUpdateTimestamp) {
+            return classLoader == currentClassLoader && lastUpdateTimestamp == currentLastUpdateTimestamp;
+        }
+
+        Class<?> getControllerClass() {
+            return controllerClass;
+        }
     }
 }
@@ -14,11 +14,15 @@
 package org.bonitasoft.console.common.server.page;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
@@ -28,6 +32,8 @@ import java.util.logging.Logger;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import org.apache.commons.io.FileUtils;
+import org.bonitasoft.console.common.server.preferences.constants.WebBonitaConstantsUtils;
 import org.bonitasoft.engine.exception.BonitaException;
 import org.bonitasoft.engine.session.APISession;
 import org.codehaus.groovy.control.CompilationFailedException;
@@ -45,8 +51,36 @@ public class ResourceRenderer {
      */
     private final static Logger LOGGER = Logger.getLogger(ResourceRenderer.class.getName());
 
+    /**
+     * Name of the system property allowing to disable the serving of precompressed (.gz) variants of page resources
+     */
+    public static final String GZIP_VARIANTS_PROPERTY = "org.bonitasoft.web.resources.gzipVariants";
+
+    private static final String LASTUPDATE_FILENAME = ".lastupdate";
+
+    private static final String GZIP_EXTENSION = ".gz";
+
+    private static final String BYTES_RANGE_PREFIX = "bytes=";
+
+    /**
+     * Serve a file.<br />
+     * Files of a deployed page (or layout, or theme) are streamed with an ETag built from the page last update date, so that
+     * unchanged resources are revalidated with a 304 response. Range requests and precompressed variants are also supported for
+     * them. Other files are fully read and sent without any validator.
+     */
     public void renderFile(final HttpServletRequest request, final HttpServletResponse response, final File resourceFile, final APISession apiSession)
             throws CompilationFailedException, InstantiationException, IllegalAccessException, IOException, BonitaException {
+        final File pageDirectory = getPageDirectory(resourceFile, apiSession);
+        final long pageLastUpdate = pageDirectory != null ? getPageLastUpdate(pageDirectory) : -1L;
+        if (pageLastUpdate < 0) {
+            renderFileContent(request, response, resourceFile);
+        } else {
+            renderPageResource(request, response, resourceFile, pageLastUpdate);
+        }
+    }
+
+    private void renderFileContent(final HttpServletRequest request, final HttpServletResponse response, final File resourceFile)
+            throws IOException, BonitaException {
 
         byte[] content;
         response.setCharacterEncoding("UTF-8");
@@ -74,7 +108,191 @@ public class ResourceRenderer {
         }
     }
 
-    private byte[] getFileContent(final File resourceFile, final HttpServletResponse response) throws IOException, BonitaException {
+    private void renderPageResource(final HttpServletRequest request, final HttpServletResponse response, final File resourceFile,
+            final long pageLastUpdate) throws IOException, BonitaException {
+        response.setCharacterEncoding("UTF-8");
+        try {
+            checkFileExists(resourceFile);
+            response.setContentType(request.getSession().getServletContext().getMimeType(resourceFile.getName()));
+            response.setHeader("Cache-Control", "no-cache");
+            response.setHeader("Accept-Ranges", "bytes");
+
+            File fileToSend = resourceFile;
+            String eTag = buildETag(resourceFile, pageLastUpdate);
+            final String rangeHeader = request.getHeader("Range");
+            final File gzipVariant = new File(resourceFile.getPath() + GZIP_EXTENSION);
+            if (rangeHeader == null && isGzipVariantsEnabled() && acceptsGzip(request) && gzipVariant.isFile()) {
+                fileToSend = gzipVariant;
+                eTag = buildETag(gzipVariant, pageLastUpdate);
+                response.setHeader("Content-Encoding", "gzip");
+                response.setHeader("Vary", "Accept-Encoding");
+            }
+            final long lastModified = pageLastUpdate > 0 ? pageLastUpdate : resourceFile.lastModified();
+            response.setHeader("ETag", eTag);
+            response.setDateHeader("Last-Modified", lastModified);
+
+            if (isNotModified(request, eTag, lastModified)) {
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return;
+            }
+
+            final long fileLength = fileToSend.length();
+            long start = 0;
+            long length = fileLength;
+            if (rangeHeader != null && isRangeApplicable(request, eTag)) {
+                final long[] range = parseRange(rangeHeader, fileLength);
+                if (range == null) {
+                    response.setHeader("Content-Range", "bytes */" + fileLength);
+                    response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return;
+                }
+                if (range.length == 2) {
+                    start = range[0];
+                    length = range[1] - range[0] + 1;
+                    response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                    response.setHeader("Content-Range", "bytes " + range[0] + "-" + range[1] + "/" + fileLength);
+                }
+            }
+            response.setHeader("Content-Length", String.valueOf(length));
+            transferFile(fileToSend, start, length, response.getOutputStream());
+            response.flushBuffer();
+        } catch (final FileNotFoundException e) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, e.getMessage());
+        } catch (final IOException e) {
+            if (LOGGER.isLoggable(Level.SEVERE)) {
+                LOGGER.log(Level.SEVERE, "Error while generating the response.", e);
+            }
+            throw new BonitaException(e.getMessage(), e);
+        }
+    }
+
+    private void transferFile(final File file, final long start, final long length, final OutputStream out) throws IOException {
+        try (FileInputStream input = new FileInputStream(file); FileChannel fileChannel = input.getChannel()) {
+            final WritableByteChannel outputChannel = Channels.newChannel(out);
+            long position = start;
+            final long end = start + length;
+            while (position < end) {
+                final long transferred = fileChannel.transferTo(position, end - position, outputChannel);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+            }
+        }
+    }
+
+    private String buildETag(final File file, final long pageLastUpdate) {
+        return new StringBuilder().append('"').append(Long.toHexString(pageLastUpdate)).append('-').append(Long.toHexString(file.length()))
+                .append('-').append(Integer.toHexString(file.getName().hashCode())).append('"').toString();
+    }
+
+    private boolean isNotModified(final HttpServletRequest request, final String eTag, final long lastModified) {
+        final String ifNoneMatch = request.getHeader("If-None-Match");
+        if (ifNoneMatch != null) {
+            return matchesETag(ifNoneMatch, eTag);
+        }
+        try {
+            final long ifModifiedSince = request.getDateHeader("If-Modified-Since");
+            // HTTP dates have a one second precision
+            return ifModifiedSince != -1 && lastModified / 1000 <= ifModifiedSince / 1000;
+        } catch (final IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private boolean matchesETag(final String headerValue, final String eTag) {
+        for (String candidate : headerValue.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if ("*".equals(candidate) || eTag.equals(candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isRangeApplicable(final HttpServletRequest request, final String eTag) {
+        final String ifRange = request.getHeader("If-Range");
+        return ifRange == null || eTag.equals(ifRange.trim());
+    }
+
+    /**
+     * @return the first and last bytes of the requested range, an empty array if the whole file has to be sent (unsupported or
+     *         multiple ranges), or null if the range cannot be satisfied
+     */
+    long[] parseRange(final String rangeHeader, final long fileLength) {
+        if (!rangeHeader.startsWith(BYTES_RANGE_PREFIX) || rangeHeader.indexOf(',') != -1) {
+            return new long[0];
+        }
+        final String range = rangeHeader.substring(BYTES_RANGE_PREFIX.length()).trim();
+        final int dashIndex = range.indexOf('-');
+        if (dashIndex == -1) {
+            return new long[0];
+        }
+        try {
+            long first;
+            long last;
+            if (dashIndex == 0) {
+                final long suffixLength = Long.parseLong(range.substring(1));
+                if (suffixLength <= 0) {
+                    return null;
+                }
+                first = Math.max(fileLength - suffixLength, 0);
+                last = fileLength - 1;
+            } else {
+                first = Long.parseLong(range.substring(0, dashIndex));
+                last = dashIndex == range.length() - 1 ? fileLength - 1 : Math.min(Long.parseLong(range.substring(dashIndex + 1)), fileLength - 1);
+            }
+            if (first >= fileLength || first > last) {
+                return null;
+            }
+            return new long[] { first, last };
+        } catch (final NumberFormatException e) {
+            return new long[0];
+        }
+    }
+
+    private boolean acceptsGzip(final HttpServletRequest request) {
+        final String acceptEncoding = request.getHeader("Accept-Encoding");
+        return acceptEncoding != null && acceptEncoding.contains("gzip");
+    }
+
+    private boolean isGzipVariantsEnabled() {
+        return !"false".equalsIgnoreCase(System.getProperty(GZIP_VARIANTS_PROPERTY));
+    }
+
+    /**
+     * @return the directory of the page containing the file or null if the file is not part of a page
+     */
+    protected File getPageDirectory(final File resourceFile, final APISession apiSession) {
+        if (resourceFile == null || apiSession == null) {
+            return null;
+        }
+        final File pagesFolder = WebBonitaConstantsUtils.getInstance(apiSession.getTenantId()).getPagesFolder().getAbsoluteFile();
+        File pageDirectory = resourceFile.getAbsoluteFile();
+        while (pageDirectory.getParentFile() != null && !pagesFolder.equals(pageDirectory.getParentFile())) {
+            pageDirectory = pageDirectory.getParentFile();
+        }
+        return pageDirectory.getParentFile() != null ? pageDirectory : null;
+    }
+
+    private long getPageLastUpdate(final File pageDirectory) {
+        final File timestampFile = new File(pageDirectory, LASTUPDATE_FILENAME);
+        if (timestampFile.isFile()) {
+            try {
+                return Long.parseLong(FileUtils.readFileToString(timestampFile).trim());
+            } catch (final IOException | NumberFormatException e) {
+                if (LOGGER.isLoggable(Level.FINE)) {
+                    LOGGER.log(Level.FINE, "Unable to read the last update date of the page " + pageDirectory.getName(), e);
+                }
+            }
+        }
+        return -1L;
+    }
+
+    private void checkFileExists(final File resourceFile) throws IOException, BonitaException {
         if (resourceFile == null) {
             final String errorMessage = "Resource file must not be null.";
             if (LOGGER.isLoggable(Level.WARNING)) {
@@ -82,9 +300,7 @@ public class ResourceRenderer {
             }
             throw new BonitaException(errorMessage);
         }
-        if (resourceFile.exists()) {
-            return Files.readAllBytes(resourceFile.toPath());
-        } else {
+        if (!resourceFile.exists()) {
             final String fileNotFoundMessage = "Cannot find the resource file ";
             if (LOGGER.isLoggable(Level.WARNING)) {
                 LOGGER.log(Level.WARNING, fileNotFoundMessage + resourceFile.getCanonicalPath());
@@ -93,6 +309,11 @@ public class ResourceRenderer {
         }
     }
 
+    private byte[] getFileContent(final File resourceFile, final HttpServletResponse response) throws IOException, BonitaException {
+        checkFileExists(resourceFile);
+        return Files.readAllBytes(resourceFile.toPath());
+    }
+
     public List<String> getPathSegments(final String pathInfo) throws UnsupportedEncodingException {
         final List<String> segments = new ArrayList<>();
         if (pathInfo != null) {
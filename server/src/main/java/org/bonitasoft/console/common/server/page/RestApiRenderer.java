@@ -57,20 +57,22 @@ public class RestApiRenderer {
         final File restApiControllerFile = resourceExtensionResolver.resolveRestApiControllerFile(pageResourceProvider);
         final String mappingKey = resourceExtensionResolver.generateMappingKey();
         if (restApiControllerFile.exists()) {
-            return renderResponse(request, apiSession, pageContextHelper, pageResourceProvider, restApiControllerFile, mappingKey);
+            return renderResponse(request, apiSession, pageContextHelper, pageResourceProvider, restApiControllerFile, mappingKey,
+                    getLastUpdateTimestamp(page));
         }
         LOGGER.log(Level.SEVERE, "resource does not exists:" + mappingKey);
         throw new BonitaException("unable to handle rest api call to " + mappingKey);
     }
 
     private RestApiResponse renderResponse(final HttpServletRequest request, final APISession apiSession, final PageContextHelper pageContextHelper,
-            final PageResourceProviderImpl pageResourceProvider, File restApiControllerFile, String mappingKey)
+            final PageResourceProviderImpl pageResourceProvider, File restApiControllerFile, String mappingKey, final long lastUpdateTimestamp)
                     throws CompilationFailedException, InstantiationException, IllegalAccessException, IOException, BonitaException {
         final ClassLoader originalClassloader = Thread.currentThread().getContextClassLoader();
         final GroovyClassLoader pageClassloader = customPageService.getPageClassloader(apiSession, pageResourceProvider);
         try {
             Thread.currentThread().setContextClassLoader(pageClassloader);
-            final Class<?> restApiControllerClass = customPageService.registerRestApiPage(pageClassloader, restApiControllerFile);
+            final Class<?> restApiControllerClass = customPageService.getRestApiControllerClass(pageClassloader, restApiControllerFile,
+                    lastUpdateTimestamp);
             pageResourceProvider.setResourceClassLoader(pageClassloader);
             try {
                 return doHandle(request, apiSession, pageContextHelper, pageResourceProvider, restApiControllerClass);
@@ -83,6 +85,10 @@ public class RestApiRenderer {
         }
     }
 
+    private long getLastUpdateTimestamp(final Page page) {
+        return page.getLastModificationDate() != null ? page.getLastModificationDate().getTime() : 0L;
+    }
+
     protected RestApiResponse doHandle(final HttpServletRequest request,
             final APISession apiSession,
             final PageContextHelper pageContextHelper,
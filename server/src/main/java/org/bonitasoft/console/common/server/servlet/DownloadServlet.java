@@ -14,14 +14,6 @@
  */
 package org.bonitasoft.console.common.server.servlet;
 
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
-import java.io.IOException;
-import java.io.InputStream;
-import java.util.logging.Level;
-import java.util.logging.Logger;
-
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
@@ -39,57 +31,10 @@ public abstract class DownloadServlet extends HttpServlet {
      */
     private static final long serialVersionUID = 5209516978177786895L;
 
-    /**
-     * Logger
-     */
-    private static final Logger LOGGER = Logger.getLogger(DownloadServlet.class.getName());
-
     /**
      * {@inheritDoc}
      */
     @Override
     protected void doGet(final HttpServletRequest request, final HttpServletResponse response) throws ServletException {
     }
-
-    protected byte[] getFileContent(final File file, final int fileLength, final String attachmentPath) throws ServletException, FileNotFoundException {
-        byte[] content;
-        try {
-            final InputStream fileInput = new FileInputStream(file);
-            final byte[] fileContent = new byte[fileLength];
-            try {
-                int offset = 0;
-                int length = fileLength;
-                while (length > 0) {
-                    final int read = fileInput.read(fileContent, offset, length);
-                    if (read <= 0) {
-                        break;
-                    }
-                    length -= read;
-                    offset += read;
-                }
-                content = fileContent;
-            } catch (final FileNotFoundException e) {
-                final String errorMessage = "Error while getting the attachment. The file " + attachmentPath + " does not exist.";
-                if (LOGGER.isLoggable(Level.WARNING)) {
-                    LOGGER.log(Level.WARNING, errorMessage, e);
-                }
-                throw new ServletException(errorMessage, e);
-            } finally {
-                fileInput.close();
-            }
-        } catch (final FileNotFoundException e) {
-            final String errorMessage = "Attachment : No such file\n\t> " + attachmentPath;
-            if (LOGGER.isLoggable(Level.WARNING)) {
-                LOGGER.log(Level.WARNING, errorMessage);
-            }
-            throw e;
-        } catch (final IOException e) {
-            final String errorMessage = "Attachment : Error while reading file " + attachmentPath;
-            if (LOGGER.isLoggable(Level.WARNING)) {
-                LOGGER.log(Level.WARNING, errorMessage + "\n\t> " + e.getMessage());
-            }
-            throw new ServletException(errorMessage, e);
-        }
-        return content;
-    }
 }
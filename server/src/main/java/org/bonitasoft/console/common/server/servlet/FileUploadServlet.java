@@ -14,8 +14,12 @@
  */
 package org.bonitasoft.console.common.server.servlet;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.io.Serializable;
 import java.net.HttpURLConnection;
@@ -32,10 +36,14 @@ import javax.servlet.http.HttpServletResponse;
 
 import org.apache.commons.fileupload.FileItem;
 import org.apache.commons.fileupload.FileItemFactory;
+import org.apache.commons.fileupload.FileItemIterator;
+import org.apache.commons.fileupload.FileItemStream;
 import org.apache.commons.fileupload.FileUploadBase.FileSizeLimitExceededException;
 import org.apache.commons.fileupload.FileUploadBase.SizeLimitExceededException;
+import org.apache.commons.fileupload.FileUploadException;
 import org.apache.commons.fileupload.disk.DiskFileItemFactory;
 import org.apache.commons.fileupload.servlet.ServletFileUpload;
+import org.bonitasoft.console.common.server.utils.TempFileReaper;
 import org.codehaus.jettison.json.JSONObject;
 
 /**
@@ -68,6 +76,12 @@ public abstract class FileUploadServlet extends HttpServlet {
 
     protected static final String RESPONSE_CONTENT_TYPE_PARAM = "ContentType";
 
+    protected static final String STREAMING_UPLOAD_PARAM = "StreamingUpload";
+
+    protected static final String MEMORY_THRESHOLD_PARAM = "MemoryThreshold";
+
+    public static final String TEMP_FILE_PREFIX = "tmp_";
+
     protected static final String TEXT_CONTENT_TYPE = "text";
 
     protected static final String JSON_CONTENT_TYPE = "json";
@@ -90,6 +104,13 @@ public abstract class FileUploadServlet extends HttpServlet {
 
     protected String responseContentType = TEXT_CONTENT_TYPE;
 
+    protected boolean streamingUpload = false;
+
+    /**
+     * Size of the data kept in memory before being written to disk
+     */
+    protected int memoryThreshold = DiskFileItemFactory.DEFAULT_SIZE_THRESHOLD;
+
     @Override
     public void init() throws ServletException {
 
@@ -104,6 +125,17 @@ public abstract class FileUploadServlet extends HttpServlet {
             responseContentType = responseContentTypeParam;
         }
         checkUploadedFileSize = Boolean.parseBoolean(getInitParameter(CHECK_UPLOADED_FILE_SIZE));
+        streamingUpload = Boolean.parseBoolean(getInitParameter(STREAMING_UPLOAD_PARAM));
+        final String memoryThresholdParam = getInitParameter(MEMORY_THRESHOLD_PARAM);
+        if (memoryThresholdParam != null) {
+            memoryThreshold = Integer.parseInt(memoryThresholdParam);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        TempFileReaper.getInstance().shutdown();
+        super.destroy();
     }
 
     protected abstract void defineUploadDirectoryPath(final HttpServletRequest request);
@@ -133,14 +165,19 @@ public abstract class FileUploadServlet extends HttpServlet {
             if (!targetDirectory.exists()) {
                 targetDirectory.mkdirs();
             }
+            TempFileReaper.getInstance().watch(targetDirectory, TEMP_FILE_PREFIX);
 
             responsePW = response.getWriter();
 
-            final FileItemFactory fileItemFactory = new DiskFileItemFactory();
+            final FileItemFactory fileItemFactory = new DiskFileItemFactory(memoryThreshold, targetDirectory);
             final ServletFileUpload serviceFileUpload = createServletFileUpload(fileItemFactory);
             if (checkUploadedFileSize) {
                 setUploadSizeMax(serviceFileUpload, request);
             }
+            if (streamingUpload) {
+                uploadStreamedFiles(request, response, responsePW, serviceFileUpload, targetDirectory);
+                return;
+            }
             List<FileItem> items;
             try {
                 items = serviceFileUpload.parseRequest(request);
@@ -171,19 +208,9 @@ public abstract class FileUploadServlet extends HttpServlet {
                 if (LOGGER.isLoggable(Level.FINEST)) {
                     LOGGER.log(Level.FINEST, "File uploaded : " + uploadedFile.getPath());
                 }
-                uploadedFile.deleteOnExit();
 
                 // Response
-                final String responseString;
-                if (JSON_CONTENT_TYPE.equals(responseContentType)) {
-                    responseString = generateResponseJson(request, fileName, item.getContentType(), uploadedFile);
-                } else if (TEXT_CONTENT_TYPE.equals(responseContentType)) {
-                    responseString = generateResponseString(request, fileName, uploadedFile);
-                } else {
-                    throw new ServletException("Unsupported content type in servlet configuration : " + responseContentType);
-                }
-                responsePW.print(responseString);
-                responsePW.flush();
+                writeResponse(request, responsePW, fileName, item.getContentType(), uploadedFile);
             }
         } catch (final SizeLimitExceededException e) {
             LOGGER.log(Level.SEVERE, "File is Too Big", e);
@@ -201,6 +228,74 @@ public abstract class FileUploadServlet extends HttpServlet {
         }
     }
 
+    /**
+     * Upload the files with the streaming API : each file is written to the upload directory while it is read from the request
+     * instead of being stored first by the {@link FileItemFactory}. The size limits are checked while the files are read.
+     */
+    protected void uploadStreamedFiles(final HttpServletRequest request, final HttpServletResponse response, final PrintWriter responsePW,
+            final ServletFileUpload serviceFileUpload, final File targetDirectory) throws Exception {
+        final FileItemIterator items = serviceFileUpload.getItemIterator(request);
+        while (items.hasNext()) {
+            final FileItemStream item = items.next();
+            if (item.isFormField()) {
+                continue;
+            }
+
+            final String fileName = item.getName();
+
+            // Check if extension is allowed
+            if (!isSupportedExtention(fileName)) {
+                outputMediaTypeError(response, responsePW);
+                return;
+            }
+
+            // Make unique file name
+            final File uploadedFile = makeUniqueFilename(targetDirectory, fileName);
+
+            // Upload file
+            try {
+                writeStream(item.openStream(), uploadedFile);
+            } catch (final IOException e) {
+                uploadedFile.delete();
+                if (e.getCause() instanceof FileUploadException) {
+                    // a size limit was exceeded while reading the file
+                    throw (FileUploadException) e.getCause();
+                }
+                throw e;
+            }
+            if (LOGGER.isLoggable(Level.FINEST)) {
+                LOGGER.log(Level.FINEST, "File uploaded : " + uploadedFile.getPath());
+            }
+
+            // Response
+            writeResponse(request, responsePW, fileName, item.getContentType(), uploadedFile);
+        }
+    }
+
+    private void writeStream(final InputStream inputStream, final File uploadedFile) throws IOException {
+        try (InputStream in = inputStream; OutputStream out = new BufferedOutputStream(new FileOutputStream(uploadedFile), memoryThreshold)) {
+            final byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        }
+    }
+
+    private void writeResponse(final HttpServletRequest request, final PrintWriter responsePW, final String fileName, final String contentType,
+            final File uploadedFile) throws Exception {
+        final String responseString;
+        if (JSON_CONTENT_TYPE.equals(responseContentType)) {
+            responseString = generateResponseJson(request, fileName, contentType, uploadedFile);
+        } else if (TEXT_CONTENT_TYPE.equals(responseContentType)) {
+            responseString = generateResponseString(request, fileName, uploadedFile);
+        } else {
+            throw new ServletException("Unsupported content type in servlet configuration : " + responseContentType);
+        }
+        responsePW.print(responseString);
+        responsePW.flush();
+    }
+
     private void generateFileTooBigError(final HttpServletResponse response, final PrintWriter responsePW, final String message) {
         response.setStatus(HttpURLConnection.HTTP_ENTITY_TOO_LARGE);
         if (JSON_CONTENT_TYPE.equals(responseContentType)) {
@@ -248,9 +343,7 @@ public abstract class FileUploadServlet extends HttpServlet {
     }
 
     protected File makeUniqueFilename(final File targetDirectory, final String fileName) throws IOException {
-        final File uploadedFile = File.createTempFile("tmp_", getExtension(fileName), targetDirectory);
-        uploadedFile.deleteOnExit();
-        return uploadedFile;
+        return File.createTempFile(TEMP_FILE_PREFIX, getExtension(fileName), targetDirectory);
     }
 
     protected String getExtension(final String fileName) {
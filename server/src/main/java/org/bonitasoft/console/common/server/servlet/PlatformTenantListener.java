@@ -24,6 +24,7 @@ import javax.servlet.ServletContextListener;
 import org.bonitasoft.console.common.server.preferences.constants.WebBonitaConstantsUtils;
 import org.bonitasoft.console.common.server.utils.PlatformManagementUtils;
 import org.bonitasoft.console.common.server.utils.TenantsManagementUtils;
+import org.bonitasoft.console.common.server.utils.ZipExtractor;
 import org.bonitasoft.engine.api.TenantAPIAccessor;
 import org.bonitasoft.engine.exception.BonitaException;
 import org.bonitasoft.engine.exception.BonitaHomeNotSetException;
@@ -34,6 +35,10 @@ import org.bonitasoft.engine.session.APISession;
 import org.bonitasoft.engine.session.SessionNotFoundException;
 import org.bonitasoft.engine.theme.ThemeType;
 import org.bonitasoft.forms.server.ThemeExtractor;
+import org.bonitasoft.forms.server.accessor.impl.util.FormCacheUtilFactory;
+import org.bonitasoft.forms.server.accessor.impl.util.FormDocumentBuilder;
+import org.bonitasoft.forms.server.cache.FormCacheWarmer;
+import org.bonitasoft.web.rest.server.framework.CounterEngine;
 
 /**
  * @author Zhiheng Yang, Anthony Birembaut
@@ -45,6 +50,8 @@ public class PlatformTenantListener implements ServletContextListener {
      */
     private static final Logger LOGGER = Logger.getLogger(PlatformTenantListener.class.getName());
 
+    private static final String DEFAULT_LOCALE = "en";
+
     @Override
     public void contextInitialized(final ServletContextEvent sce) {
         PlatformManagementUtils platformManagementUtils = new PlatformManagementUtils();
@@ -74,6 +81,10 @@ public class PlatformTenantListener implements ServletContextListener {
             // TODO: should we do something for the mobile as well?
             // final Theme mobileTheme = TenantAPIAccessor.getThemeAPI(session).getCurrentTheme(ThemeType.MOBILE);
 
+            if (FormCacheWarmer.isEnabled()) {
+                warmUpFormCache(session);
+            }
+
             logout(session);
         } catch (final Throwable e) {
             if (LOGGER.isLoggable(Level.SEVERE)) {
@@ -82,6 +93,19 @@ public class PlatformTenantListener implements ServletContextListener {
         }
     }
 
+    protected void warmUpFormCache(final APISession session) {
+        try {
+            final int warmedUpForms = new FormCacheWarmer(session).warmUp(DEFAULT_LOCALE);
+            if (LOGGER.isLoggable(Level.INFO)) {
+                LOGGER.log(Level.INFO, "Forms cache warmed up with " + warmedUpForms + " instantiation forms");
+            }
+        } catch (final Exception e) {
+            if (LOGGER.isLoggable(Level.WARNING)) {
+                LOGGER.log(Level.WARNING, "Error while warming up the forms cache", e);
+            }
+        }
+    }
+
     protected void logout(APISession session)
             throws SessionNotFoundException, LogoutException, BonitaHomeNotSetException, ServerAPIException, UnknownAPITypeException {
         TenantAPIAccessor.getLoginAPI().logout(session);
@@ -93,7 +117,10 @@ public class PlatformTenantListener implements ServletContextListener {
 
     @Override
     public void contextDestroyed(final ServletContextEvent sce) {
-
+        ZipExtractor.getInstance().shutdown();
+        CounterEngine.getInstance().shutdown();
+        FormDocumentBuilder.getStatistics().unregister();
+        FormCacheUtilFactory.clear();
     }
 
 }
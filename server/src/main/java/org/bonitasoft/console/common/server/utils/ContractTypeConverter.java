@@ -31,6 +31,7 @@ import java.util.logging.Logger;
 import org.apache.commons.beanutils.ConversionException;
 import org.apache.commons.beanutils.ConvertUtilsBean;
 import org.apache.commons.beanutils.converters.DateConverter;
+import org.bonitasoft.console.common.server.servlet.FileUploadServlet;
 import org.bonitasoft.engine.bpm.contract.ConstraintDefinition;
 import org.bonitasoft.engine.bpm.contract.ContractDefinition;
 import org.bonitasoft.engine.bpm.contract.FileInputValue;
@@ -38,7 +39,6 @@ import org.bonitasoft.engine.bpm.contract.InputDefinition;
 import org.bonitasoft.engine.bpm.contract.Type;
 import org.bonitasoft.engine.bpm.contract.impl.ContractDefinitionImpl;
 import org.bonitasoft.engine.bpm.contract.impl.InputDefinitionImpl;
-import org.bonitasoft.engine.bpm.document.DocumentException;
 
 /**
  * @author Anthony Birembaut
@@ -185,18 +185,19 @@ public class ContractTypeConverter {
                 throw new FileNotFoundException(e.getMessage());
             } catch (final IOException e) {
                 throw new RuntimeException(e);
-            } catch (final DocumentException e) {
-                throw new RuntimeException(e);
             }
         }
         return fileContent;
     }
 
-    protected byte[] getFileContent(final File sourceFile, final String fileTempPath, final boolean deleteFile) throws DocumentException, IOException {
+    /**
+     * @throws IllegalArgumentException
+     *             if the file is bigger than the attachment max size of the tenant, so that it is reported as a bad request
+     */
+    protected byte[] getFileContent(final File sourceFile, final String fileTempPath, final boolean deleteFile) throws IOException {
         byte[] fileContent;
         if (sourceFile.length() > maxSizeForTenant * 1048576) {
-            final String errorMessage = "This document is exceeded " + maxSizeForTenant + "Mb";
-            throw new DocumentException(errorMessage);
+            throw new IllegalArgumentException("The file " + fileTempPath + " exceeds the maximum size of " + maxSizeForTenant + "Mb");
         }
         fileContent = DocumentUtil.getArrayByteFromFile(sourceFile);
         if (deleteFile) {
@@ -207,7 +208,8 @@ public class ContractTypeConverter {
 
     protected void deleteFile(final File sourceFile, final String fileTempPath) {
         if (!sourceFile.delete()){
-            sourceFile.deleteOnExit();
+            // uploaded files that cannot be deleted now are removed later by the TempFileReaper of the tenant temp directory
+            TempFileReaper.getInstance().watch(sourceFile.getParentFile(), FileUploadServlet.TEMP_FILE_PREFIX);
             if (LOGGER.isLoggable(Level.INFO)) {
                 LOGGER.log(Level.INFO, "Cannot delete " + fileTempPath + "in the tenant temp directory.");
             }
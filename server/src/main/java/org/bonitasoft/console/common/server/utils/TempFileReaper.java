@@ -0,0 +1,129 @@
+/**
+ * Copyright (C) 2016 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.utils;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Periodically delete the temporary files that were not consumed after a configurable time to live (system property
+ * {@link #TIME_TO_LIVE_PROPERTY}, in milliseconds).<br />
+ * Only the files whose name starts with the prefix given for a watched directory are deleted. It replaces
+ * {@link File#deleteOnExit()}, which keeps the path of every file in memory until the JVM stops.
+ */
+public class TempFileReaper {
+
+    public static final String TIME_TO_LIVE_PROPERTY = "org.bonitasoft.web.upload.tempFileTimeToLive";
+
+    private static final long DEFAULT_TIME_TO_LIVE = TimeUnit.DAYS.toMillis(1);
+
+    private static final long MAX_REAP_PERIOD = TimeUnit.HOURS.toMillis(1);
+
+    private static final Logger LOGGER = Logger.getLogger(TempFileReaper.class.getName());
+
+    private static final TempFileReaper INSTANCE = new TempFileReaper(Long.getLong(TIME_TO_LIVE_PROPERTY, DEFAULT_TIME_TO_LIVE));
+
+    /**
+     * The prefix of the files to delete by watched directory
+     */
+    private final ConcurrentMap<File, String> directories = new ConcurrentHashMap<>();
+
+    private final long timeToLive;
+
+    private ScheduledExecutorService executor;
+
+    TempFileReaper(final long timeToLive) {
+        this.timeToLive = timeToLive;
+    }
+
+    public static TempFileReaper getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Delete the files of a directory whose name starts with the prefix once they are older than the time to live
+     */
+    public void watch(final File directory, final String prefix) {
+        if (directories.putIfAbsent(directory, prefix) == null) {
+            start();
+        }
+    }
+
+    private synchronized void start() {
+        if (executor == null) {
+            executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+
+                @Override
+                public Thread newThread(final Runnable runnable) {
+                    final Thread thread = new Thread(runnable, "bonita-temp-file-reaper");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+            final long period = Math.max(1L, Math.min(timeToLive, MAX_REAP_PERIOD));
+            executor.scheduleWithFixedDelay(new Runnable() {
+
+                @Override
+                public void run() {
+                    reap();
+                }
+            }, period, period, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stop deleting files. The directories watched afterwards restart the reaper.
+     */
+    public synchronized void shutdown() {
+        directories.clear();
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    /**
+     * Delete the expired files of the watched directories
+     */
+    void reap() {
+        final long expirationDate = System.currentTimeMillis() - timeToLive;
+        for (final Map.Entry<File, String> directory : directories.entrySet()) {
+            final String prefix = directory.getValue();
+            final File[] expiredFiles = directory.getKey().listFiles(new FileFilter() {
+
+                @Override
+                public boolean accept(final File file) {
+                    return file.isFile() && file.getName().startsWith(prefix) && file.lastModified() < expirationDate;
+                }
+            });
+            if (expiredFiles != null) {
+                for (final File expiredFile : expiredFiles) {
+                    if (!expiredFile.delete() && LOGGER.isLoggable(Level.FINE)) {
+                        LOGGER.log(Level.FINE, "Unable to delete the expired temporary file " + expiredFile.getPath());
+                    }
+                }
+            }
+        }
+    }
+}
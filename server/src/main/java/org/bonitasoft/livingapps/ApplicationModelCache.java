@@ -0,0 +1,154 @@
+package org.bonitasoft.livingapps;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.bonitasoft.engine.business.application.Application;
+import org.bonitasoft.livingapps.menu.Menu;
+
+/**
+ * Tenant scoped cache of the living applications data used to route and display a living application.<br />
+ * Entries expire after a configurable delay (system property {@link #TIME_TO_LIVE_PROPERTY}, in milliseconds) and the whole tenant
+ * cache is invalidated when an application, an application page or an application menu is modified through the REST API.
+ */
+public class ApplicationModelCache {
+
+    public static final String TIME_TO_LIVE_PROPERTY = "org.bonitasoft.web.livingapps.cacheTimeToLive";
+
+    private static final long DEFAULT_TIME_TO_LIVE = 60000L;
+
+    private static final ConcurrentMap<Long, ApplicationModelCache> INSTANCES = new ConcurrentHashMap<>();
+
+    private final Map<String, CachedApplication> applications = new ConcurrentHashMap<>();
+
+    private final long timeToLive;
+
+    ApplicationModelCache(final long timeToLive) {
+        this.timeToLive = timeToLive;
+    }
+
+    public static ApplicationModelCache getInstance(final long tenantId) {
+        ApplicationModelCache cache = INSTANCES.get(tenantId);
+        if (cache == null) {
+            final ApplicationModelCache newCache = new ApplicationModelCache(Long.getLong(TIME_TO_LIVE_PROPERTY, DEFAULT_TIME_TO_LIVE));
+            cache = INSTANCES.putIfAbsent(tenantId, newCache);
+            if (cache == null) {
+                cache = newCache;
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Invalidate all the applications cached for a tenant
+     */
+    public static void invalidate(final long tenantId) {
+        final ApplicationModelCache cache = INSTANCES.get(tenantId);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * @return the cached data of the application with the given token or null if it is not cached or expired
+     */
+    public CachedApplication get(final String token) {
+        final CachedApplication cachedApplication = applications.get(token);
+        if (cachedApplication != null && cachedApplication.isExpired()) {
+            applications.remove(token);
+            return null;
+        }
+        return cachedApplication;
+    }
+
+    public CachedApplication put(final String token, final Application application) {
+        final CachedApplication cachedApplication = new CachedApplication(application, System.currentTimeMillis() + timeToLive);
+        applications.put(token, cachedApplication);
+        return cachedApplication;
+    }
+
+    public void clear() {
+        applications.clear();
+    }
+
+    /**
+     * Data of an application, filled lazily by {@link CachedApplicationModel}
+     */
+    public static class CachedApplication {
+
+        private final Application application;
+
+        private final long expirationDate;
+
+        private volatile String layoutName;
+
+        private volatile String themeName;
+
+        private volatile String homePage;
+
+        private volatile List<Menu> menuList;
+
+        /** tokens of the pages known to exist, misses are not cached so that unknown tokens cannot grow the cache */
+        private final Set<String> pages = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+        CachedApplication(final Application application, final long expirationDate) {
+            this.application = application;
+            this.expirationDate = expirationDate;
+        }
+
+        boolean isExpired() {
+            return System.currentTimeMillis() > expirationDate;
+        }
+
+        public Application getApplication() {
+            return application;
+        }
+
+        String getLayoutName() {
+            return layoutName;
+        }
+
+        void setLayoutName(final String layoutName) {
+            this.layoutName = layoutName;
+        }
+
+        String getThemeName() {
+            return themeName;
+        }
+
+        void setThemeName(final String themeName) {
+            this.themeName = themeName;
+        }
+
+        String getHomePage() {
+            return homePage;
+        }
+
+        void setHomePage(final String homePage) {
+            this.homePage = homePage;
+        }
+
+        List<Menu> getMenuList() {
+            return menuList;
+        }
+
+        void setMenuList(final List<Menu> menuList) {
+            this.menuList = menuList;
+        }
+
+        /**
+         * @return true if the application is known to have a page with this token
+         */
+        boolean hasPage(final String pageToken) {
+            return pages.contains(pageToken);
+        }
+
+        void addPage(final String pageToken) {
+            pages.add(pageToken);
+        }
+    }
+}
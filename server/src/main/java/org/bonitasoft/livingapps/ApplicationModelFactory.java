@@ -8,6 +8,7 @@ import org.bonitasoft.engine.business.application.ApplicationSearchDescriptor;
 import org.bonitasoft.engine.exception.SearchException;
 import org.bonitasoft.engine.search.SearchOptionsBuilder;
 import org.bonitasoft.engine.search.SearchResult;
+import org.bonitasoft.livingapps.ApplicationModelCache.CachedApplication;
 import org.bonitasoft.livingapps.exception.CreationException;
 import org.bonitasoft.livingapps.menu.MenuFactory;
 
@@ -16,15 +17,46 @@ public class ApplicationModelFactory {
     private final ApplicationAPI applicationApi;
     private final PageAPI customPageApi;
     private final ProfileAPI profileApi;
+    private final ApplicationModelCache cache;
 
     public ApplicationModelFactory(final ApplicationAPI applicationApi, final PageAPI customPageApi, final ProfileAPI profileApi) {
+        this(applicationApi, customPageApi, profileApi, null);
+    }
+
+    /**
+     * @param cache
+     *        the cache of the tenant, or null to always read the applications from the engine
+     */
+    public ApplicationModelFactory(final ApplicationAPI applicationApi, final PageAPI customPageApi, final ProfileAPI profileApi,
+            final ApplicationModelCache cache) {
         this.applicationApi = applicationApi;
         this.customPageApi = customPageApi;
         this.profileApi = profileApi;
+        this.cache = cache;
     }
 
     public ApplicationModel createApplicationModel(final String name) throws CreationException {
+        if (cache == null) {
+            return new ApplicationModel(
+                    applicationApi,
+                    customPageApi,
+                    profileApi,
+                    searchApplication(name),
+                    new MenuFactory(applicationApi));
+        }
+        CachedApplication cachedApplication = cache.get(name);
+        if (cachedApplication == null) {
+            cachedApplication = cache.put(name, searchApplication(name));
+        }
+        return new CachedApplicationModel(
+                applicationApi,
+                customPageApi,
+                profileApi,
+                cachedApplication,
+                new MenuFactory(applicationApi));
+    }
 
+    private Application searchApplication(final String name) throws CreationException {
         try {
             final SearchResult<Application> result = applicationApi.searchApplications(
                     new SearchOptionsBuilder(0, 1)
@@ -35,12 +67,7 @@ public class ApplicationModelFactory {
                 throw new CreationException("No application found with name " + name);
             }
 
-            return new ApplicationModel(
-                    applicationApi,
-                    customPageApi,
-                    profileApi,
-                    result.getResult().get(0),
-                    new MenuFactory(applicationApi));
+            return result.getResult().get(0);
         } catch (final SearchException e) {
             throw new CreationException("Error while searching for the application " + name, e);
         }
@@ -0,0 +1,84 @@
+package org.bonitasoft.livingapps;
+
+import java.util.List;
+
+import org.bonitasoft.engine.api.ApplicationAPI;
+import org.bonitasoft.engine.api.PageAPI;
+import org.bonitasoft.engine.api.ProfileAPI;
+import org.bonitasoft.engine.business.application.ApplicationPageNotFoundException;
+import org.bonitasoft.engine.exception.SearchException;
+import org.bonitasoft.engine.page.PageNotFoundException;
+import org.bonitasoft.livingapps.ApplicationModelCache.CachedApplication;
+import org.bonitasoft.livingapps.menu.Menu;
+import org.bonitasoft.livingapps.menu.MenuFactory;
+
+/**
+ * {@link ApplicationModel} reading the application data from an {@link ApplicationModelCache} entry, and filling it on first access.<br />
+ * Authorization is not cached since it depends on the profiles of the user.
+ */
+public class CachedApplicationModel extends ApplicationModel {
+
+    private final CachedApplication cachedApplication;
+
+    public CachedApplicationModel(
+            final ApplicationAPI applicationApi,
+            final PageAPI pageApi,
+            final ProfileAPI profileApi,
+            final CachedApplication cachedApplication,
+            final MenuFactory factory) {
+        super(applicationApi, pageApi, profileApi, cachedApplication.getApplication(), factory);
+        this.cachedApplication = cachedApplication;
+    }
+
+    @Override
+    public String getApplicationLayoutName() throws PageNotFoundException {
+        String layoutName = cachedApplication.getLayoutName();
+        if (layoutName == null) {
+            layoutName = super.getApplicationLayoutName();
+            cachedApplication.setLayoutName(layoutName);
+        }
+        return layoutName;
+    }
+
+    @Override
+    public String getApplicationThemeName() throws PageNotFoundException {
+        String themeName = cachedApplication.getThemeName();
+        if (themeName == null) {
+            themeName = super.getApplicationThemeName();
+            cachedApplication.setThemeName(themeName);
+        }
+        return themeName;
+    }
+
+    @Override
+    public String getApplicationHomePage() throws ApplicationPageNotFoundException {
+        String homePage = cachedApplication.getHomePage();
+        if (homePage == null) {
+            homePage = super.getApplicationHomePage();
+            cachedApplication.setHomePage(homePage);
+        }
+        return homePage;
+    }
+
+    @Override
+    public boolean hasPage(final String pageToken) {
+        if (cachedApplication.hasPage(pageToken)) {
+            return true;
+        }
+        final boolean hasPage = super.hasPage(pageToken);
+        if (hasPage) {
+            cachedApplication.addPage(pageToken);
+        }
+        return hasPage;
+    }
+
+    @Override
+    public List<Menu> getMenuList() throws SearchException, ApplicationPageNotFoundException {
+        List<Menu> menuList = cachedApplication.getMenuList();
+        if (menuList == null) {
+            menuList = super.getMenuList();
+            cachedApplication.setMenuList(menuList);
+        }
+        return menuList;
+    }
+}
@@ -0,0 +1,45 @@
+/**
+ * Copyright (C) 2016 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.rest.server;
+
+import javax.servlet.Filter;
+import javax.servlet.http.HttpServlet;
+
+import org.bonitasoft.console.common.server.login.filter.RestAPIAuthorizationFilter;
+import org.bonitasoft.web.rest.server.framework.servlet.BatchAPIServlet;
+
+/**
+ * Batch endpoint of the Bonita REST API: the calls are executed by the {@link BonitaRestAPIServlet} after having been checked by
+ * the {@link RestAPIAuthorizationFilter}.
+ */
+public class BonitaBatchAPIServlet extends BatchAPIServlet {
+
+    private static final long serialVersionUID = 7306373528478207339L;
+
+    @Override
+    protected HttpServlet defineAPIServlet() {
+        return new BonitaRestAPIServlet();
+    }
+
+    @Override
+    protected Filter defineAuthorizationFilter() {
+        return new RestAPIAuthorizationFilter();
+    }
+
+    @Override
+    protected String defineAPIServletPath() {
+        return "/APIToolkit";
+    }
+}
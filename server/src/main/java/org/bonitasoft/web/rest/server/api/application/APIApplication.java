@@ -16,6 +16,8 @@ package org.bonitasoft.web.rest.server.api.application;
 import java.util.List;
 import java.util.Map;
 
+import org.bonitasoft.console.common.server.utils.ProfilePermissionsCache;
+import org.bonitasoft.livingapps.ApplicationModelCache;
 import org.bonitasoft.web.rest.model.application.ApplicationDefinition;
 import org.bonitasoft.web.rest.model.application.ApplicationItem;
 import org.bonitasoft.web.rest.server.api.ConsoleAPI;
@@ -56,12 +58,18 @@ APIHasGet<ApplicationItem>, APIHasUpdate<ApplicationItem>, APIHasDelete {
 
     @Override
     public ApplicationItem add(final ApplicationItem item) {
-        return creator.create(getEngineSession()).add(item);
+        final ApplicationItem addedItem = creator.create(getEngineSession()).add(item);
+        ApplicationModelCache.invalidate(getEngineSession().getTenantId());
+        ProfilePermissionsCache.invalidate(getEngineSession().getTenantId());
+        return addedItem;
     }
 
     @Override
     public ApplicationItem update(final APIID id, final Map<String, String> attributes) {
-        return creator.create(getEngineSession()).update(id, attributes);
+        final ApplicationItem updatedItem = creator.create(getEngineSession()).update(id, attributes);
+        ApplicationModelCache.invalidate(getEngineSession().getTenantId());
+        ProfilePermissionsCache.invalidate(getEngineSession().getTenantId());
+        return updatedItem;
     }
 
     @Override
@@ -72,6 +80,8 @@ APIHasGet<ApplicationItem>, APIHasUpdate<ApplicationItem>, APIHasDelete {
     @Override
     public void delete(final List<APIID> ids) {
         creator.create(getEngineSession()).delete(ids);
+        ApplicationModelCache.invalidate(getEngineSession().getTenantId());
+        ProfilePermissionsCache.invalidate(getEngineSession().getTenantId());
     }
 
     @Override
@@ -91,7 +101,7 @@ APIHasGet<ApplicationItem>, APIHasUpdate<ApplicationItem>, APIHasDelete {
     }
 
     @Override
-    protected void fillDeploys(final ApplicationItem item, final List<String> deploys) {
+    protected void registerDeployers() {
         addDeployer(new UserDeployer(
                 new UserDatastore(getEngineSession()), ApplicationItem.ATTRIBUTE_CREATED_BY));
         addDeployer(new UserDeployer(
@@ -101,8 +111,6 @@ APIHasGet<ApplicationItem>, APIHasUpdate<ApplicationItem>, APIHasDelete {
                 applicationDataStoreFactory.createPageDataStore(getEngineSession()), ApplicationItem.ATTRIBUTE_LAYOUT_ID));
         addDeployer(new PageDeployer(
                 applicationDataStoreFactory.createPageDataStore(getEngineSession()), ApplicationItem.ATTRIBUTE_THEME_ID));
-
-        super.fillDeploys(item, deploys);
     }
 
     protected DeployerFactory getDeployerFactory() {
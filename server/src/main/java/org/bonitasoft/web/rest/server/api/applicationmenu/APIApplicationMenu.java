@@ -16,6 +16,7 @@ package org.bonitasoft.web.rest.server.api.applicationmenu;
 import java.util.List;
 import java.util.Map;
 
+import org.bonitasoft.livingapps.ApplicationModelCache;
 import org.bonitasoft.web.rest.model.applicationmenu.ApplicationMenuDefinition;
 import org.bonitasoft.web.rest.model.applicationmenu.ApplicationMenuItem;
 import org.bonitasoft.web.rest.server.api.ConsoleAPI;
@@ -44,7 +45,9 @@ APIHasGet<ApplicationMenuItem>, APIHasDelete {
 
     @Override
     public ApplicationMenuItem add(final ApplicationMenuItem item) {
-        return creator.create(getEngineSession()).add(item);
+        final ApplicationMenuItem addedItem = creator.create(getEngineSession()).add(item);
+        ApplicationModelCache.invalidate(getEngineSession().getTenantId());
+        return addedItem;
     }
 
     @Override
@@ -54,12 +57,15 @@ APIHasGet<ApplicationMenuItem>, APIHasDelete {
 
     @Override
     public ApplicationMenuItem update(final APIID id, final Map<String, String> attributes) {
-        return creator.create(getEngineSession()).update(id, attributes);
+        final ApplicationMenuItem updatedItem = creator.create(getEngineSession()).update(id, attributes);
+        ApplicationModelCache.invalidate(getEngineSession().getTenantId());
+        return updatedItem;
     }
 
     @Override
     public void delete(final List<APIID> ids) {
         creator.create(getEngineSession()).delete(ids);
+        ApplicationModelCache.invalidate(getEngineSession().getTenantId());
     }
 
     @Override
@@ -78,11 +84,9 @@ APIHasGet<ApplicationMenuItem>, APIHasDelete {
     }
 
     @Override
-    protected void fillDeploys(final ApplicationMenuItem item, final List<String> deploys) {
+    protected void registerDeployers() {
         addDeployer(new ApplicationPageDeployer(
                 new ApplicationPageDataStoreCreator().create(getEngineSession()), ApplicationMenuItem.ATTRIBUTE_APPLICATION_PAGE_ID));
-
-        super.fillDeploys(item, deploys);
     }
 
 }
@@ -15,6 +15,8 @@ package org.bonitasoft.web.rest.server.api.applicationpage;
 
 import java.util.List;
 
+import org.bonitasoft.console.common.server.utils.ProfilePermissionsCache;
+import org.bonitasoft.livingapps.ApplicationModelCache;
 import org.bonitasoft.web.rest.model.applicationpage.ApplicationPageDefinition;
 import org.bonitasoft.web.rest.model.applicationpage.ApplicationPageItem;
 import org.bonitasoft.web.rest.server.api.ConsoleAPI;
@@ -25,6 +27,7 @@ import org.bonitasoft.web.rest.server.framework.api.APIHasDelete;
 import org.bonitasoft.web.rest.server.framework.api.APIHasGet;
 import org.bonitasoft.web.rest.server.framework.api.APIHasSearch;
 import org.bonitasoft.web.rest.server.framework.api.Datastore;
+import org.bonitasoft.web.toolkit.client.data.APIID;
 import org.bonitasoft.web.toolkit.client.data.item.ItemDefinition;
 
 
@@ -41,7 +44,17 @@ public class APIApplicationPage extends ConsoleAPI<ApplicationPageItem> implemen
 
     @Override
     public ApplicationPageItem add(final ApplicationPageItem item) {
-        return factory.createApplicationPageDataStore(getEngineSession()).add(item);
+        final ApplicationPageItem addedItem = factory.createApplicationPageDataStore(getEngineSession()).add(item);
+        ApplicationModelCache.invalidate(getEngineSession().getTenantId());
+        ProfilePermissionsCache.invalidate(getEngineSession().getTenantId());
+        return addedItem;
+    }
+
+    @Override
+    public void delete(final List<APIID> ids) {
+        super.delete(ids);
+        ApplicationModelCache.invalidate(getEngineSession().getTenantId());
+        ProfilePermissionsCache.invalidate(getEngineSession().getTenantId());
     }
 
     @Override
@@ -60,12 +73,11 @@ public class APIApplicationPage extends ConsoleAPI<ApplicationPageItem> implemen
     }
 
     @Override
-    protected void fillDeploys(final ApplicationPageItem item, final List<String> deploys) {
+    protected void registerDeployers() {
         addDeployer(new PageDeployer(
                 factory.createPageDataStore(getEngineSession()), ApplicationPageItem.ATTRIBUTE_PAGE_ID));
         addDeployer(new ApplicationDeployer(
                 factory.createApplicationDataStore(getEngineSession()), ApplicationPageItem.ATTRIBUTE_APPLICATION_ID));
-        super.fillDeploys(item, deploys);
     }
 
 }
@@ -55,10 +55,9 @@ public class APIArchivedCaseDocument extends ConsoleAPI<ArchivedCaseDocumentItem
     }
 
     @Override
-    protected void fillDeploys(final ArchivedCaseDocumentItem item, final List<String> deploys) {
+    protected void registerDeployers() {
         addDeployer(getDeployerFactory().createUserDeployer(ArchivedCaseDocumentItem.ATTRIBUTE_SUBMITTED_BY_USER_ID));
         addDeployer(getDeployerFactory().createUserDeployer(ArchivedCaseDocumentItem.ATTRIBUTE_AUTHOR));
-        super.fillDeploys(item, deploys);
     }
 
     protected DeployerFactory getDeployerFactory() {
@@ -14,19 +14,25 @@
  */
 package org.bonitasoft.web.rest.server.api.bpm.cases;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
 import org.bonitasoft.engine.bpm.process.ProcessInstanceCriterion;
 import org.bonitasoft.web.rest.model.bpm.cases.CaseDefinition;
 import org.bonitasoft.web.rest.model.bpm.cases.CaseItem;
 import org.bonitasoft.web.rest.model.bpm.flownode.FlowNodeItem;
+import org.bonitasoft.web.rest.model.bpm.process.ProcessItem;
+import org.bonitasoft.web.rest.model.identity.UserItem;
 import org.bonitasoft.web.rest.server.api.ConsoleAPI;
 import org.bonitasoft.web.rest.server.datastore.bpm.cases.CaseDatastore;
 import org.bonitasoft.web.rest.server.datastore.bpm.flownode.FlowNodeDatastore;
 import org.bonitasoft.web.rest.server.datastore.bpm.process.ProcessDatastore;
 import org.bonitasoft.web.rest.server.datastore.organization.UserDatastore;
+import org.bonitasoft.web.rest.server.framework.CachedGetter;
+import org.bonitasoft.web.rest.server.framework.CounterEngine;
 import org.bonitasoft.web.rest.server.framework.api.APIHasAdd;
 import org.bonitasoft.web.rest.server.framework.api.APIHasDelete;
 import org.bonitasoft.web.rest.server.framework.api.APIHasGet;
@@ -43,6 +49,10 @@ import org.bonitasoft.web.toolkit.client.data.item.ItemDefinition;
  */
 public class APICase extends ConsoleAPI<CaseItem> implements APIHasGet<CaseItem>, APIHasAdd<CaseItem>, APIHasSearch<CaseItem>, APIHasDelete {
 
+    private CachedGetter<UserItem> userGetter;
+
+    private CachedGetter<ProcessItem> processGetter;
+
     @Override
     protected ItemDefinition defineItemDefinition() {
         return Definitions.get(CaseDefinition.TOKEN);
@@ -75,6 +85,25 @@ public class APICase extends ConsoleAPI<CaseItem> implements APIHasGet<CaseItem>
         return ProcessInstanceCriterion.CREATION_DATE_DESC.name();
     }
 
+    @Override
+    protected void prefetchDeploys(final List<CaseItem> items, final List<String> deploys) {
+        final List<APIID> userIds = new ArrayList<APIID>();
+        final List<APIID> processIds = new ArrayList<APIID>();
+        for (final CaseItem item : items) {
+            if (isDeployable(CaseItem.ATTRIBUTE_STARTED_BY_USER_ID, deploys, item)) {
+                userIds.add(item.getStartedByUserId());
+            }
+            if (isDeployable(CaseItem.ATTRIBUTE_STARTED_BY_SUBSTITUTE_USER_ID, deploys, item)) {
+                userIds.add(item.getStartedBySubstituteUserId());
+            }
+            if (isDeployable(CaseItem.ATTRIBUTE_PROCESS_ID, deploys, item)) {
+                processIds.add(item.getProcessId());
+            }
+        }
+        getUserGetter().prefetch(userIds);
+        getProcessGetter().prefetch(processIds);
+    }
+
     @Override
     protected void fillDeploys(final CaseItem item, final List<String> deploys) {
         fillStartedBy(item, deploys);
@@ -86,7 +115,7 @@ public class APICase extends ConsoleAPI<CaseItem> implements APIHasGet<CaseItem>
         if (isDeployable(CaseItem.ATTRIBUTE_STARTED_BY_USER_ID, deploys, item)) {
             item.setDeploy(
                     CaseItem.ATTRIBUTE_STARTED_BY_USER_ID,
-                    getUserDatastore().get(item.getStartedByUserId()));
+                    getUserGetter().get(item.getStartedByUserId()));
         }
     }
 
@@ -94,7 +123,7 @@ public class APICase extends ConsoleAPI<CaseItem> implements APIHasGet<CaseItem>
         if (isDeployable(CaseItem.ATTRIBUTE_STARTED_BY_SUBSTITUTE_USER_ID, deploys, item)) {
             item.setDeploy(
                     CaseItem.ATTRIBUTE_STARTED_BY_SUBSTITUTE_USER_ID,
-                    getUserDatastore().get(item.getStartedBySubstituteUserId()));
+                    getUserGetter().get(item.getStartedBySubstituteUserId()));
         }
     }
 
@@ -102,13 +131,13 @@ public class APICase extends ConsoleAPI<CaseItem> implements APIHasGet<CaseItem>
         if (isDeployable(CaseItem.ATTRIBUTE_PROCESS_ID, deploys, item)) {
             item.setDeploy(
                     CaseItem.ATTRIBUTE_PROCESS_ID,
-                    getProcessDatastore().get(item.getProcessId()));
+                    getProcessGetter().get(item.getProcessId()));
         }
     }
 
-    private void fillNumberOfFailedFlowNodesIfFailedCounterExists(final CaseItem item, final List<String> counters) {
+    private void fillNumberOfFailedFlowNodesIfFailedCounterExists(final CaseItem item, final List<String> counters,
+            final FlowNodeDatastore flowNodeDatastore) {
         if (counters.contains(CaseItem.COUNTER_FAILED_FLOW_NODES)) {
-            final FlowNodeDatastore flowNodeDatastore = getFlowNodeDatastore();
             final Map<String, String> filters = new HashMap<String, String>();
             filters.put(FlowNodeItem.ATTRIBUTE_STATE, FlowNodeItem.VALUE_STATE_FAILED);
             filters.put(FlowNodeItem.ATTRIBUTE_PARENT_CASE_ID, String.valueOf(item.getId().toLong()));
@@ -116,9 +145,9 @@ public class APICase extends ConsoleAPI<CaseItem> implements APIHasGet<CaseItem>
         }
     }
 
-    private void fillNumberOfPendingFlowNodesIfActiveCounterExists(final CaseItem item, final List<String> counters) {
+    private void fillNumberOfPendingFlowNodesIfActiveCounterExists(final CaseItem item, final List<String> counters,
+            final FlowNodeDatastore flowNodeDatastore) {
         if (counters.contains(CaseItem.COUNTER_ACTIVE_FLOW_NODES)) {
-            final FlowNodeDatastore flowNodeDatastore = getFlowNodeDatastore();
             final Map<String, String> filters = new HashMap<String, String>();
             filters.put(FlowNodeItem.ATTRIBUTE_PARENT_CASE_ID, String.valueOf(item.getId().toLong()));
             item.setAttribute(CaseItem.COUNTER_ACTIVE_FLOW_NODES, flowNodeDatastore.count(null, null, filters));
@@ -132,8 +161,54 @@ public class APICase extends ConsoleAPI<CaseItem> implements APIHasGet<CaseItem>
 
     @Override
     protected void fillCounters(final CaseItem item, final List<String> counters) {
-        fillNumberOfFailedFlowNodesIfFailedCounterExists(item, counters);
-        fillNumberOfPendingFlowNodesIfActiveCounterExists(item, counters);
+        fillCounters(item, counters, getFlowNodeDatastore());
+    }
+
+    private void fillCounters(final CaseItem item, final List<String> counters, final FlowNodeDatastore flowNodeDatastore) {
+        fillNumberOfFailedFlowNodesIfFailedCounterExists(item, counters, flowNodeDatastore);
+        fillNumberOfPendingFlowNodesIfActiveCounterExists(item, counters, flowNodeDatastore);
+    }
+
+    private CachedGetter<UserItem> getUserGetter() {
+        if (userGetter == null) {
+            userGetter = new CachedGetter<UserItem>(getUserDatastore());
+        }
+        return userGetter;
+    }
+
+    private CachedGetter<ProcessItem> getProcessGetter() {
+        if (processGetter == null) {
+            processGetter = new CachedGetter<ProcessItem>(getProcessDatastore());
+        }
+        return processGetter;
+    }
+
+    /**
+     * Flow node counters need one engine call per case, so they are computed in parallel.<br />
+     * The datastore is created in the request thread as it needs the HTTP session.
+     */
+    @Override
+    protected void fillCounters(final List<CaseItem> items, final List<String> counters) {
+        if (!counters.contains(CaseItem.COUNTER_FAILED_FLOW_NODES) && !counters.contains(CaseItem.COUNTER_ACTIVE_FLOW_NODES)) {
+            return;
+        }
+        final FlowNodeDatastore flowNodeDatastore = getFlowNodeDatastore();
+        final List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+        for (final CaseItem item : items) {
+            tasks.add(new Callable<Void>() {
+
+                @Override
+                public Void call() {
+                    fillCounters(item, counters, flowNodeDatastore);
+                    return null;
+                }
+            });
+        }
+        getCounterEngine().run(tasks);
+    }
+
+    CounterEngine getCounterEngine() {
+        return CounterEngine.getInstance();
     }
 
     UserDatastore getUserDatastore() {
@@ -66,10 +66,9 @@ public class APICaseDocument extends ConsoleAPI<CaseDocumentItem> {
     }
 
     @Override
-    protected void fillDeploys(final CaseDocumentItem item, final List<String> deploys) {
+    protected void registerDeployers() {
         addDeployer(getDeployerFactory().createUserDeployer(CaseDocumentItem.ATTRIBUTE_SUBMITTED_BY_USER_ID));
         addDeployer(getDeployerFactory().createUserDeployer(CaseDocumentItem.ATTRIBUTE_AUTHOR));
-        super.fillDeploys(item, deploys);
     }
 
     protected DeployerFactory getDeployerFactory() {
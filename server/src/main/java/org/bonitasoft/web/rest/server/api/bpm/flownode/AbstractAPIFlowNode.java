@@ -27,6 +27,9 @@ import org.bonitasoft.web.rest.model.bpm.flownode.FlowNodeDefinition;
 import org.bonitasoft.web.rest.model.bpm.flownode.FlowNodeItem;
 import org.bonitasoft.web.rest.model.bpm.flownode.HumanTaskItem;
 import org.bonitasoft.web.rest.model.bpm.flownode.IFlowNodeItem;
+import org.bonitasoft.web.rest.model.bpm.process.ActorItem;
+import org.bonitasoft.web.rest.model.bpm.process.ProcessItem;
+import org.bonitasoft.web.rest.model.identity.UserItem;
 import org.bonitasoft.web.rest.server.api.ConsoleAPI;
 import org.bonitasoft.web.rest.server.api.deployer.GenericDeployer;
 import org.bonitasoft.web.rest.server.datastore.bpm.cases.ArchivedCaseDatastore;
@@ -38,6 +41,7 @@ import org.bonitasoft.web.rest.server.datastore.bpm.flownode.archive.ArchivedTas
 import org.bonitasoft.web.rest.server.datastore.bpm.process.ActorDatastore;
 import org.bonitasoft.web.rest.server.datastore.bpm.process.ProcessDatastore;
 import org.bonitasoft.web.rest.server.datastore.organization.UserDatastore;
+import org.bonitasoft.web.rest.server.framework.CachedGetter;
 import org.bonitasoft.web.rest.server.framework.api.APIHasGet;
 import org.bonitasoft.web.rest.server.framework.api.APIHasSearch;
 import org.bonitasoft.web.rest.server.framework.api.APIHasUpdate;
@@ -59,6 +63,12 @@ APIHasUpdate<ITEM>,
 APIHasGet<ITEM>,
 APIHasSearch<ITEM> {
 
+    private CachedGetter<UserItem> userGetter;
+
+    private CachedGetter<ProcessItem> processGetter;
+
+    private CachedGetter<ActorItem> actorGetter;
+
     @Override
     protected FlowNodeDefinition defineItemDefinition() {
         return FlowNodeDefinition.get();
@@ -108,12 +118,53 @@ APIHasSearch<ITEM> {
     // UTILS
     // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
+    @Override
+    protected void registerDeployers() {
+        addDeployer(new GenericDeployer<IItem>(new DatastoreHasGet<IItem>() {
+
+            @Override
+            public IItem get(final APIID id) {
+                return new TaskFinder(
+                        new TaskDatastore(getEngineSession()),
+                        new ArchivedTaskDatastore(getEngineSession())).find(id);
+            }
+        }, HumanTaskItem.ATTRIBUTE_PARENT_TASK_ID));
+    }
+
+    @Override
+    protected void prefetchDeploys(final List<ITEM> items, final List<String> deploys) {
+        final List<APIID> userIds = new ArrayList<APIID>();
+        final List<APIID> processIds = new ArrayList<APIID>();
+        final List<APIID> actorIds = new ArrayList<APIID>();
+        for (final ITEM item : items) {
+            if (isDeployable(FlowNodeItem.ATTRIBUTE_PROCESS_ID, deploys, item)) {
+                processIds.add(item.getProcessId());
+            }
+            if (isDeployable(FlowNodeItem.ATTRIBUTE_EXECUTED_BY_USER_ID, deploys, item)) {
+                userIds.add(item.getExecutedByUserId());
+            }
+            if (isDeployable(FlowNodeItem.ATTRIBUTE_EXECUTED_BY_SUBSTITUTE_USER_ID, deploys, item)) {
+                userIds.add(item.getExecutedBySubstituteUserId());
+            }
+            if (isDeployable(HumanTaskItem.ATTRIBUTE_ASSIGNED_USER_ID, deploys, item)) {
+                userIds.add(item.getAttributeValueAsAPIID(HumanTaskItem.ATTRIBUTE_ASSIGNED_USER_ID));
+            }
+            if (isDeployable(HumanTaskItem.ATTRIBUTE_ACTOR_ID, deploys, item)) {
+                actorIds.add(item.getAttributeValueAsAPIID(HumanTaskItem.ATTRIBUTE_ACTOR_ID));
+            }
+        }
+        getUserGetter().prefetch(userIds);
+        getProcessGetter().prefetch(processIds);
+        getActorGetter().prefetch(actorIds);
+        super.prefetchDeploys(items, deploys);
+    }
+
     @Override
     protected void fillDeploys(final ITEM item, final List<String> deploys) {
         /** TODO Refactor to an oriented object (cf. WEB-1637 ) */
         if (isDeployable(FlowNodeItem.ATTRIBUTE_PROCESS_ID, deploys, item)) {
             item.setDeploy(FlowNodeItem.ATTRIBUTE_PROCESS_ID,
-                    new ProcessDatastore(getEngineSession()).get(item.getProcessId()));
+                    getProcessGetter().get(item.getProcessId()));
         }
 
         if (isDeployable(FlowNodeItem.ATTRIBUTE_CASE_ID, deploys, item) || isDeployable(FlowNodeItem.ATTRIBUTE_ROOT_CASE_ID, deploys, item)) {
@@ -134,41 +185,52 @@ APIHasSearch<ITEM> {
                 rootContainerCase = getArchivedCase(item.getAttributeValue(HumanTaskItem.ATTRIBUTE_ROOT_CONTAINER_ID));
             }
             if (rootContainerCase != null) {
-                item.setDeploy(FlowNodeItem.ATTRIBUTE_ROOT_CONTAINER_ID, new ProcessDatastore(getEngineSession()).get(rootContainerCase.getProcessId()));
+                item.setDeploy(FlowNodeItem.ATTRIBUTE_ROOT_CONTAINER_ID, getProcessGetter().get(rootContainerCase.getProcessId()));
             }
         }
 
         if (isDeployable(FlowNodeItem.ATTRIBUTE_EXECUTED_BY_USER_ID, deploys, item)) {
             item.setDeploy(FlowNodeItem.ATTRIBUTE_EXECUTED_BY_USER_ID,
-                    new UserDatastore(getEngineSession()).get(item.getExecutedByUserId()));
+                    getUserGetter().get(item.getExecutedByUserId()));
         }
 
         if (isDeployable(FlowNodeItem.ATTRIBUTE_EXECUTED_BY_SUBSTITUTE_USER_ID, deploys, item)) {
             item.setDeploy(FlowNodeItem.ATTRIBUTE_EXECUTED_BY_SUBSTITUTE_USER_ID,
-                    new UserDatastore(getEngineSession()).get(item.getExecutedBySubstituteUserId()));
+                    getUserGetter().get(item.getExecutedBySubstituteUserId()));
         }
 
         if (isDeployable(HumanTaskItem.ATTRIBUTE_ACTOR_ID, deploys, item)) {
             item.setDeploy(HumanTaskItem.ATTRIBUTE_ACTOR_ID,
-                    new ActorDatastore(getEngineSession()).get(item.getAttributeValueAsAPIID(HumanTaskItem.ATTRIBUTE_ACTOR_ID)));
+                    getActorGetter().get(item.getAttributeValueAsAPIID(HumanTaskItem.ATTRIBUTE_ACTOR_ID)));
         }
 
         if (isDeployable(HumanTaskItem.ATTRIBUTE_ASSIGNED_USER_ID, deploys, item)) {
             item.setDeploy(HumanTaskItem.ATTRIBUTE_ASSIGNED_USER_ID,
-                    new UserDatastore(getEngineSession()).get(item.getAttributeValueAsAPIID(HumanTaskItem.ATTRIBUTE_ASSIGNED_USER_ID)));
+                    getUserGetter().get(item.getAttributeValueAsAPIID(HumanTaskItem.ATTRIBUTE_ASSIGNED_USER_ID)));
         }
 
-        addDeployer(new GenericDeployer<IItem>(new DatastoreHasGet<IItem>() {
+        super.fillDeploys(item, deploys);
+    }
 
-            @Override
-            public IItem get(final APIID id) {
-                return new TaskFinder(
-                        new TaskDatastore(getEngineSession()),
-                        new ArchivedTaskDatastore(getEngineSession())).find(id);
-            }
-        }, HumanTaskItem.ATTRIBUTE_PARENT_TASK_ID));
+    private CachedGetter<UserItem> getUserGetter() {
+        if (userGetter == null) {
+            userGetter = new CachedGetter<UserItem>(new UserDatastore(getEngineSession()));
+        }
+        return userGetter;
+    }
 
-        super.fillDeploys(item, deploys);
+    private CachedGetter<ProcessItem> getProcessGetter() {
+        if (processGetter == null) {
+            processGetter = new CachedGetter<ProcessItem>(new ProcessDatastore(getEngineSession()));
+        }
+        return processGetter;
+    }
+
+    private CachedGetter<ActorItem> getActorGetter() {
+        if (actorGetter == null) {
+            actorGetter = new CachedGetter<ActorItem>(new ActorDatastore(getEngineSession()));
+        }
+        return actorGetter;
     }
 
     protected CaseDatastore getCaseDatastore() {
@@ -101,10 +101,9 @@ public class APIProcess extends ConsoleAPI<ProcessItem> implements
     }
 
     @Override
-    protected void fillDeploys(final ProcessItem item, final List<String> deploys) {
+    protected void registerDeployers() {
         addDeployer(new UserDeployer(
                 new UserDatastore(getEngineSession()), ProcessItem.ATTRIBUTE_DEPLOYED_BY_USER_ID));
-        super.fillDeploys(item, deploys);
     }
 
     @Override
@@ -0,0 +1,121 @@
+/**
+ * Copyright (C) 2016 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.rest.server.api.bpm.process;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Tenant scoped cache of the serialized designs of the deployed processes.<br />
+ * The design of a process definition never changes once it is deployed, so entries are only evicted when the cache is full (the
+ * maximum number of designs kept by tenant is set with the system property {@link #MAX_SIZE_PROPERTY}).
+ */
+public class ProcessDefinitionDesignCache {
+
+    public static final String MAX_SIZE_PROPERTY = "org.bonitasoft.web.process.designCacheMaxSize";
+
+    private static final int DEFAULT_MAX_SIZE = 100;
+
+    private static final ConcurrentMap<Long, ProcessDefinitionDesignCache> INSTANCES = new ConcurrentHashMap<>();
+
+    private final Map<Long, CachedDesign> designs;
+
+    ProcessDefinitionDesignCache(final int maxSize) {
+        designs = Collections.synchronizedMap(new LinkedHashMap<Long, CachedDesign>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Long, CachedDesign> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    public static ProcessDefinitionDesignCache getInstance(final long tenantId) {
+        ProcessDefinitionDesignCache cache = INSTANCES.get(tenantId);
+        if (cache == null) {
+            final ProcessDefinitionDesignCache newCache = new ProcessDefinitionDesignCache(Integer.getInteger(MAX_SIZE_PROPERTY, DEFAULT_MAX_SIZE));
+            cache = INSTANCES.putIfAbsent(tenantId, newCache);
+            if (cache == null) {
+                cache = newCache;
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * @return the cached design of the process definition or null if it is not cached
+     */
+    public CachedDesign get(final long processDefinitionId) {
+        return designs.get(processDefinitionId);
+    }
+
+    public void put(final long processDefinitionId, final CachedDesign design) {
+        designs.put(processDefinitionId, design);
+    }
+
+    public void clear() {
+        designs.clear();
+    }
+
+    /**
+     * UTF-8 JSon representation of a process design
+     */
+    public static class CachedDesign {
+
+        private final byte[] content;
+
+        private final String tag;
+
+        private volatile byte[] gzippedContent;
+
+        public CachedDesign(final long processDefinitionId, final byte[] content) {
+            this.content = content;
+            tag = Long.toHexString(processDefinitionId) + "-" + Integer.toHexString(Arrays.hashCode(content));
+        }
+
+        public byte[] getContent() {
+            return content;
+        }
+
+        public String getTag() {
+            return tag;
+        }
+
+        /**
+         * @return the content compressed with gzip, compressed the first time it is requested
+         */
+        public byte[] getGzippedContent() throws IOException {
+            byte[] gzipped = gzippedContent;
+            if (gzipped == null) {
+                final ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 4 + 64);
+                try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+                    gzipOut.write(content);
+                }
+                gzipped = out.toByteArray();
+                gzippedContent = gzipped;
+            }
+            return gzipped;
+        }
+    }
+}
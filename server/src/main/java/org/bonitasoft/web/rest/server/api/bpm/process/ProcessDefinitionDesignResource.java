@@ -13,17 +13,30 @@
  **/
 package org.bonitasoft.web.rest.server.api.bpm.process;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.Collections;
 
 import org.bonitasoft.engine.api.ProcessAPI;
 import org.bonitasoft.engine.bpm.process.DesignProcessDefinition;
 import org.bonitasoft.engine.bpm.process.ProcessDefinitionNotFoundException;
+import org.bonitasoft.web.rest.server.api.bpm.process.ProcessDefinitionDesignCache.CachedDesign;
 import org.bonitasoft.web.rest.server.api.resource.CommonResource;
+import org.bonitasoft.web.rest.server.framework.json.IdAsStringJsonGenerator;
 import org.bonitasoft.web.toolkit.client.common.exception.api.APIException;
 import org.restlet.data.CharacterSet;
-import org.restlet.ext.jackson.JacksonRepresentation;
+import org.restlet.data.Dimension;
+import org.restlet.data.Encoding;
+import org.restlet.data.MediaType;
+import org.restlet.data.Preference;
+import org.restlet.data.Tag;
+import org.restlet.representation.ByteArrayRepresentation;
+import org.restlet.representation.Representation;
 import org.restlet.resource.Get;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 
 /**
@@ -33,26 +46,84 @@ public class ProcessDefinitionDesignResource extends CommonResource {
 
     private static final String PROCESS_DEFINITION_ID = "processDefinitionId";
 
+    /**
+     * Designs smaller than this size are not worth compressing
+     */
+    private static final int GZIP_MIN_SIZE = 1024;
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
+
     private final ProcessAPI processAPI;
 
+    private final ProcessDefinitionDesignCache designCache;
+
     public ProcessDefinitionDesignResource(final ProcessAPI processAPI) {
+        this(processAPI, null);
+    }
+
+    public ProcessDefinitionDesignResource(final ProcessAPI processAPI, final ProcessDefinitionDesignCache designCache) {
         this.processAPI = processAPI;
+        this.designCache = designCache;
     }
 
     @Get("json")
-    public String getDesign() throws ProcessDefinitionNotFoundException, IOException {
-        final DesignProcessDefinition design = processAPI.getDesignProcessDefinition(getProcessDefinitionIdParameter());
-        final JacksonRepresentation<DesignProcessDefinition> jacksonRepresentation = new JacksonRepresentation<DesignProcessDefinition>(design);
-        jacksonRepresentation.getObjectMapper().configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
-        jacksonRepresentation.setCharacterSet(CharacterSet.UTF_8);
-        return replaceLongIdToString(jacksonRepresentation.getText());
+    public Representation getDesign() throws ProcessDefinitionNotFoundException, IOException {
+        final long processDefinitionId = getProcessDefinitionIdParameter();
+        CachedDesign design = designCache != null ? designCache.get(processDefinitionId) : null;
+        if (design == null) {
+            design = new CachedDesign(processDefinitionId, serializeDesign(processAPI.getDesignProcessDefinition(processDefinitionId)));
+            if (designCache != null) {
+                designCache.put(processDefinitionId, design);
+            }
+        }
+        return toRepresentation(design);
+    }
+
+    /**
+     * Serialize the design in UTF-8 JSon, with the ids written as strings
+     */
+    protected byte[] serializeDesign(final DesignProcessDefinition design) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = new IdAsStringJsonGenerator(OBJECT_MAPPER.getFactory().createGenerator(out, JsonEncoding.UTF8))) {
+            OBJECT_MAPPER.writeValue(generator, design);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * The representation is tagged so that conditional requests of a design already known by the client get a 304 response
+     */
+    protected Representation toRepresentation(final CachedDesign design) throws IOException {
+        getResponse().getDimensions().add(Dimension.ENCODING);
+        final Representation representation;
+        if (design.getContent().length >= GZIP_MIN_SIZE && isGzipAccepted()) {
+            representation = new ByteArrayRepresentation(design.getGzippedContent(), MediaType.APPLICATION_JSON);
+            representation.setEncodings(Collections.singletonList(Encoding.GZIP));
+            representation.setTag(new Tag(design.getTag() + "-gzip", false));
+        } else {
+            representation = new ByteArrayRepresentation(design.getContent(), MediaType.APPLICATION_JSON);
+            representation.setTag(new Tag(design.getTag(), false));
+        }
+        representation.setCharacterSet(CharacterSet.UTF_8);
+        return representation;
+    }
+
+    private boolean isGzipAccepted() {
+        for (final Preference<Encoding> acceptedEncoding : getRequest().getClientInfo().getAcceptedEncodings()) {
+            if (Encoding.GZIP.equals(acceptedEncoding.getMetadata()) && acceptedEncoding.getQuality() > 0) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
      * @param design
      * @return
      * @throws IOException
+     * @deprecated the ids are now written as strings by {@link IdAsStringJsonGenerator} while the design is serialized
      */
+    @Deprecated
     protected String replaceLongIdToString(final String design) throws IOException {
         return design.replaceAll("([^\\\\]\"id\"\\s*:\\s*)(\\d+)", "$1\"$2\"");
     }
@@ -16,22 +16,25 @@
  */
 package org.bonitasoft.web.rest.server.api.deployer;
 
+import java.util.List;
+
 import org.bonitasoft.web.rest.model.application.ApplicationItem;
-import org.bonitasoft.web.rest.server.framework.Deployer;
+import org.bonitasoft.web.rest.server.framework.BatchDeployer;
+import org.bonitasoft.web.rest.server.framework.CachedGetter;
 import org.bonitasoft.web.rest.server.framework.api.DatastoreHasGet;
 import org.bonitasoft.web.toolkit.client.data.item.IItem;
 
 /**
  * @author Julien Mege
  */
-public class ApplicationDeployer implements Deployer {
+public class ApplicationDeployer implements BatchDeployer {
 
-    private final DatastoreHasGet<ApplicationItem> getter;
+    private final CachedGetter<ApplicationItem> getter;
 
     private final String attribute;
 
     public ApplicationDeployer(final DatastoreHasGet<ApplicationItem> getter, final String attribute) {
-        this.getter = getter;
+        this.getter = new CachedGetter<ApplicationItem>(getter);
         this.attribute = attribute;
     }
 
@@ -40,6 +43,11 @@ public class ApplicationDeployer implements Deployer {
         return attribute;
     }
 
+    @Override
+    public void prefetch(final List<? extends IItem> items) {
+        getter.prefetch(items, attribute);
+    }
+
     @Override
     public void deployIn(final IItem item) {
         if (isDeployable(attribute, item)) {
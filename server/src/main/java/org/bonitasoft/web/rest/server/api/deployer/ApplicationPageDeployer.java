@@ -16,8 +16,11 @@
  */
 package org.bonitasoft.web.rest.server.api.deployer;
 
+import java.util.List;
+
 import org.bonitasoft.web.rest.model.applicationpage.ApplicationPageItem;
-import org.bonitasoft.web.rest.server.framework.Deployer;
+import org.bonitasoft.web.rest.server.framework.BatchDeployer;
+import org.bonitasoft.web.rest.server.framework.CachedGetter;
 import org.bonitasoft.web.rest.server.framework.api.DatastoreHasGet;
 import org.bonitasoft.web.toolkit.client.data.APIID;
 import org.bonitasoft.web.toolkit.client.data.item.IItem;
@@ -26,14 +29,14 @@ import org.bonitasoft.web.toolkit.client.data.item.IItem;
  * @author Julien Mege
  *
  */
-public class ApplicationPageDeployer implements Deployer {
+public class ApplicationPageDeployer implements BatchDeployer {
 
-    private final DatastoreHasGet<ApplicationPageItem> getter;
+    private final CachedGetter<ApplicationPageItem> getter;
 
     private final String attribute;
 
     public ApplicationPageDeployer(final DatastoreHasGet<ApplicationPageItem> getter, final String attribute) {
-        this.getter = getter;
+        this.getter = new CachedGetter<ApplicationPageItem>(getter);
         this.attribute = attribute;
     }
 
@@ -42,6 +45,11 @@ public class ApplicationPageDeployer implements Deployer {
         return attribute;
     }
 
+    @Override
+    public void prefetch(final List<? extends IItem> items) {
+        getter.prefetch(items, attribute);
+    }
+
     @Override
     public void deployIn(final IItem item) {
         if (isDeployable(attribute, item)) {
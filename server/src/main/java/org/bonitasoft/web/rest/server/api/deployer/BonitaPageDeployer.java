@@ -16,8 +16,11 @@
  */
 package org.bonitasoft.web.rest.server.api.deployer;
 
+import java.util.List;
+
 import org.bonitasoft.web.rest.model.portal.profile.BonitaPageItem;
-import org.bonitasoft.web.rest.server.framework.Deployer;
+import org.bonitasoft.web.rest.server.framework.BatchDeployer;
+import org.bonitasoft.web.rest.server.framework.CachedGetter;
 import org.bonitasoft.web.rest.server.framework.api.DatastoreHasGet;
 import org.bonitasoft.web.toolkit.client.data.APIID;
 import org.bonitasoft.web.toolkit.client.data.item.IItem;
@@ -26,14 +29,14 @@ import org.bonitasoft.web.toolkit.client.data.item.IItem;
  * @author Julien Mege
  * 
  */
-public class BonitaPageDeployer implements Deployer {
+public class BonitaPageDeployer implements BatchDeployer {
 
-    private final DatastoreHasGet<BonitaPageItem> getter;
+    private final CachedGetter<BonitaPageItem> getter;
 
     private final String attribute;
 
     public BonitaPageDeployer(DatastoreHasGet<BonitaPageItem> getter, String attribute) {
-        this.getter = getter;
+        this.getter = new CachedGetter<BonitaPageItem>(getter);
         this.attribute = attribute;
 
     }
@@ -43,6 +46,11 @@ public class BonitaPageDeployer implements Deployer {
         return attribute;
     }
 
+    @Override
+    public void prefetch(final List<? extends IItem> items) {
+        getter.prefetch(items, attribute);
+    }
+
     @Override
     public void deployIn(IItem item) {
         if (isDeployable(attribute, item)) {
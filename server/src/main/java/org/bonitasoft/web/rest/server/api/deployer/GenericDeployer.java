@@ -16,7 +16,10 @@
  */
 package org.bonitasoft.web.rest.server.api.deployer;
 
-import org.bonitasoft.web.rest.server.framework.Deployer;
+import java.util.List;
+
+import org.bonitasoft.web.rest.server.framework.BatchDeployer;
+import org.bonitasoft.web.rest.server.framework.CachedGetter;
 import org.bonitasoft.web.rest.server.framework.api.DatastoreHasGet;
 import org.bonitasoft.web.toolkit.client.data.APIID;
 import org.bonitasoft.web.toolkit.client.data.item.IItem;
@@ -25,14 +28,14 @@ import org.bonitasoft.web.toolkit.client.data.item.IItem;
  * @author Vincent Elcrin
  * 
  */
-public class GenericDeployer<I extends IItem> implements Deployer {
+public class GenericDeployer<I extends IItem> implements BatchDeployer {
 
-    private final DatastoreHasGet<I> getter;
+    private final CachedGetter<I> getter;
 
     private final String attribute;
 
     public GenericDeployer(DatastoreHasGet<I> getter, String attribute) {
-        this.getter = getter;
+        this.getter = new CachedGetter<I>(getter);
         this.attribute = attribute;
     }
 
@@ -41,6 +44,11 @@ public class GenericDeployer<I extends IItem> implements Deployer {
         return attribute;
     }
 
+    @Override
+    public void prefetch(final List<? extends IItem> items) {
+        getter.prefetch(items, attribute);
+    }
+
     @Override
     public void deployIn(IItem item) {
         if (isDeployable(attribute, item)) {
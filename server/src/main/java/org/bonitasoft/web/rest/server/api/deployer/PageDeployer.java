@@ -16,8 +16,11 @@
  */
 package org.bonitasoft.web.rest.server.api.deployer;
 
+import java.util.List;
+
 import org.bonitasoft.web.rest.model.portal.page.PageItem;
-import org.bonitasoft.web.rest.server.framework.Deployer;
+import org.bonitasoft.web.rest.server.framework.BatchDeployer;
+import org.bonitasoft.web.rest.server.framework.CachedGetter;
 import org.bonitasoft.web.rest.server.framework.api.DatastoreHasGet;
 import org.bonitasoft.web.toolkit.client.data.APIID;
 import org.bonitasoft.web.toolkit.client.data.item.IItem;
@@ -25,14 +28,14 @@ import org.bonitasoft.web.toolkit.client.data.item.IItem;
 /**
  * @author Julien Mege
  */
-public class PageDeployer implements Deployer {
+public class PageDeployer implements BatchDeployer {
 
-    private final DatastoreHasGet<PageItem> getter;
+    private final CachedGetter<PageItem> getter;
 
     private final String attribute;
 
     public PageDeployer(final DatastoreHasGet<PageItem> getter, final String attribute) {
-        this.getter = getter;
+        this.getter = new CachedGetter<PageItem>(getter);
         this.attribute = attribute;
     }
 
@@ -41,6 +44,11 @@ public class PageDeployer implements Deployer {
         return attribute;
     }
 
+    @Override
+    public void prefetch(final List<? extends IItem> items) {
+        getter.prefetch(items, attribute);
+    }
+
     @Override
     public void deployIn(final IItem item) {
         if (isDeployable(attribute, item)) {
@@ -16,8 +16,11 @@
  */
 package org.bonitasoft.web.rest.server.api.deployer;
 
+import java.util.List;
+
 import org.bonitasoft.web.rest.model.identity.UserItem;
-import org.bonitasoft.web.rest.server.framework.Deployer;
+import org.bonitasoft.web.rest.server.framework.BatchDeployer;
+import org.bonitasoft.web.rest.server.framework.CachedGetter;
 import org.bonitasoft.web.rest.server.framework.api.DatastoreHasGet;
 import org.bonitasoft.web.toolkit.client.data.APIID;
 import org.bonitasoft.web.toolkit.client.data.item.IItem;
@@ -26,14 +29,14 @@ import org.bonitasoft.web.toolkit.client.data.item.IItem;
  * @author Vincent Elcrin
  * 
  */
-public class UserDeployer implements Deployer {
+public class UserDeployer implements BatchDeployer {
 
-    private final DatastoreHasGet<UserItem> getter;
+    private final CachedGetter<UserItem> getter;
 
     private final String attribute;
 
     public UserDeployer(DatastoreHasGet<UserItem> getter, String attribute) {
-        this.getter = getter;
+        this.getter = new CachedGetter<UserItem>(getter);
         this.attribute = attribute;
     }
 
@@ -42,6 +45,11 @@ public class UserDeployer implements Deployer {
         return attribute;
     }
 
+    @Override
+    public void prefetch(final List<? extends IItem> items) {
+        getter.prefetch(items, attribute);
+    }
+
     @Override
     public void deployIn(IItem item) {
         if (isDeployable(attribute, item)) {
@@ -6,7 +6,6 @@ package org.bonitasoft.web.rest.server.api.document.api.impl;
 
 import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.FileNameMap;
@@ -33,18 +32,11 @@ public class DocumentUtil {
         return output.toByteArray();
     }
 
+    /**
+     * @see org.bonitasoft.console.common.server.utils.DocumentUtil#getArrayByteFromFile(File)
+     */
     public static byte[] getArrayByteFromFile(final File f) throws IOException {
-        final long length = f.length();
-        if (length > Integer.MAX_VALUE) { // more than 2 GB
-            throw new IOException("File too big");
-        }
-
-        final FileInputStream input = new FileInputStream(f);
-        try {
-            return getArrayByte(input, (int) length);
-        } finally {
-            input.close();
-        }
+        return org.bonitasoft.console.common.server.utils.DocumentUtil.getArrayByteFromFile(f);
     }
 
     public static String getFileNameFromUrl(final String file) {
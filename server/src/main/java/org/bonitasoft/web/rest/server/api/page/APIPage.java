@@ -20,6 +20,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.bonitasoft.console.common.server.preferences.constants.WebBonitaConstantsUtils;
+import org.bonitasoft.console.common.server.utils.ProfilePermissionsCache;
 import org.bonitasoft.engine.api.PageAPI;
 import org.bonitasoft.engine.api.TenantAPIAccessor;
 import org.bonitasoft.engine.profile.ProfileEntry;
@@ -28,6 +29,7 @@ import org.bonitasoft.web.rest.model.portal.page.PageItem;
 import org.bonitasoft.web.rest.model.portal.profile.ProfileEntryItem;
 import org.bonitasoft.web.rest.server.api.ConsoleAPI;
 import org.bonitasoft.web.rest.server.api.deployer.DeployerFactory;
+import org.bonitasoft.web.rest.server.api.system.UserRights;
 import org.bonitasoft.web.rest.server.datastore.page.PageDatastore;
 import org.bonitasoft.web.rest.server.datastore.page.PageDatastoreFactory;
 import org.bonitasoft.web.rest.server.datastore.profile.entry.ProfileEntryItemConverter;
@@ -84,6 +86,9 @@ APIHasDelete {
     @Override
     public void delete(final List<APIID> ids) {
         getPageDatastore().delete(ids);
+        // the profile entries of the deleted pages are deleted too
+        UserRights.invalidate(getEngineSession().getTenantId());
+        ProfilePermissionsCache.invalidate(getEngineSession().getTenantId());
     }
 
     @Override
@@ -152,7 +157,7 @@ APIHasDelete {
     }
 
     @Override
-    protected void fillDeploys(final PageItem item, final List<String> deploys) {
+    protected void registerDeployers() {
         /*
          * Need to be done there and not in constructor
          * because need the engine session which is set
@@ -160,7 +165,6 @@ APIHasDelete {
          */
         addDeployer(getDeployerFactory().createUserDeployer(PageItem.ATTRIBUTE_CREATED_BY_USER_ID));
         addDeployer(getDeployerFactory().createUserDeployer(PageItem.ATTRIBUTE_UPDATED_BY_USER_ID));
-        super.fillDeploys(item, deploys);
     }
 
     protected DeployerFactory getDeployerFactory() {
@@ -19,6 +19,7 @@ package org.bonitasoft.web.rest.server.api.profile;
 import org.bonitasoft.web.rest.model.portal.profile.ProfileMemberDefinition;
 import org.bonitasoft.web.rest.model.portal.profile.ProfileMemberItem;
 import org.bonitasoft.web.rest.server.api.deployer.DeployerFactory;
+import org.bonitasoft.web.rest.server.api.system.UserRights;
 import org.bonitasoft.web.rest.server.datastore.ComposedDatastore;
 import org.bonitasoft.web.rest.server.datastore.profile.member.AddProfileMemberHelper;
 import org.bonitasoft.web.rest.server.datastore.profile.member.DeleteProfileMemberHelper;
@@ -27,6 +28,7 @@ import org.bonitasoft.web.rest.server.engineclient.EngineAPIAccessor;
 import org.bonitasoft.web.rest.server.engineclient.EngineClientFactory;
 import org.bonitasoft.web.rest.server.engineclient.ProfileMemberEngineClient;
 import org.bonitasoft.web.rest.server.framework.api.Datastore;
+import org.bonitasoft.web.toolkit.client.data.APIID;
 import org.bonitasoft.web.toolkit.client.data.item.ItemDefinition;
 
 import java.util.List;
@@ -55,21 +57,32 @@ public class APIProfileMember extends AbstractAPIMember<ProfileMemberItem> {
         return datastore;
     }
 
+    @Override
+    public ProfileMemberItem add(final ProfileMemberItem item) {
+        final ProfileMemberItem addedItem = super.add(item);
+        UserRights.invalidate(getEngineSession().getTenantId());
+        return addedItem;
+    }
+
+    @Override
+    public void delete(final List<APIID> ids) {
+        super.delete(ids);
+        UserRights.invalidate(getEngineSession().getTenantId());
+    }
+
     @Override
     public String defineDefaultSearchOrder() {
         return "";
     }
 
     @Override
-    protected void fillDeploys(final ProfileMemberItem item, final List<String> deploys) {
+    protected void registerDeployers() {
         /*
          * Need to be done there and not in constructor
          * because need the engine session which is set
          * by setter instead of being injected in API constructor...
          */
         addDeployer(getDeployerFactory().createProfileDeployer(ProfileMemberItem.ATTRIBUTE_PROFILE_ID));
-        super.fillDeploys(item, deploys);
-
     }
 
     protected DeployerFactory getDeployerFactory() {
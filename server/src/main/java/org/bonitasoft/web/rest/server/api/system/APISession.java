@@ -17,7 +17,10 @@ package org.bonitasoft.web.rest.server.api.system;
 import java.util.Arrays;
 import java.util.List;
 
+import javax.servlet.http.HttpSession;
+
 import org.bonitasoft.console.common.server.auth.AuthenticationManagerProperties;
+import org.bonitasoft.console.common.server.utils.SessionUtil;
 import org.bonitasoft.engine.profile.Profile;
 import org.bonitasoft.web.rest.server.api.ConsoleAPI;
 import org.bonitasoft.web.rest.server.engineclient.EngineAPIAccessor;
@@ -35,6 +38,8 @@ import org.bonitasoft.web.toolkit.client.data.item.Definitions;
  */
 public class APISession extends ConsoleAPI<SessionItem> {
 
+    private static final BonitaVersion BONITA_VERSION = new BonitaVersion(new VersionFile());
+
     @Override
     protected SessionDefinition defineItemDefinition() {
         return (SessionDefinition) Definitions.get(SessionDefinition.TOKEN);
@@ -52,13 +57,28 @@ public class APISession extends ConsoleAPI<SessionItem> {
             session.setAttribute(SessionItem.ATTRIBUTE_IS_TECHNICAL_USER, String.valueOf(apiSession.isTechnicalUser()));
             session.setAttribute(SessionItem.ATTRIBUTE_VERSION, getVersion());
             session.setAttribute(SessionItem.ATTRIBUTE_COPYRIGHT, getCopyright());
-            session.setAttribute(SessionItem.ATTRIBUTE_CONF, getUserRights(apiSession));
+            session.setAttribute(SessionItem.ATTRIBUTE_CONF, getCachedUserRights(apiSession));
         }
         return session;
     }
 
+    /**
+     * The rights are computed once and kept in the HTTP session until they are invalidated (see {@link UserRights})
+     */
+    protected String getCachedUserRights(final org.bonitasoft.engine.session.APISession apiSession) {
+        final HttpSession httpSession = getHttpSession();
+        final Object cachedUserRights = httpSession.getAttribute(SessionUtil.USER_RIGHTS_SESSION_PARAM_KEY);
+        if (cachedUserRights instanceof UserRights && ((UserRights) cachedUserRights).isValidFor(apiSession)) {
+            return ((UserRights) cachedUserRights).getRights();
+        }
+        final long profilesVersion = UserRights.getCurrentProfilesVersion(apiSession.getTenantId());
+        final String rights = getUserRights(apiSession);
+        httpSession.setAttribute(SessionUtil.USER_RIGHTS_SESSION_PARAM_KEY,
+                new UserRights(rights, apiSession.getTenantId(), apiSession.getId(), profilesVersion));
+        return rights;
+    }
+
     public String getUserRights(final org.bonitasoft.engine.session.APISession apiSession) {
-        final List<Profile> profiles = getProfilesForUser(apiSession);
         if (apiSession.isTechnicalUser()) {
             return JSonSerializer.serialize(new UserRightsBuilder(apiSession, new TokenListProvider(Arrays.asList(
                     "userlistingadmin",
@@ -70,7 +90,7 @@ public class APISession extends ConsoleAPI<SessionItem> {
                     "pagelisting",
                     "businessdatamodelimport"))).build());
         } else {
-            return getUserRightsForProfiles(profiles, apiSession);
+            return getUserRightsForProfiles(getProfilesForUser(apiSession), apiSession);
         }
     }
 
@@ -106,10 +126,10 @@ public class APISession extends ConsoleAPI<SessionItem> {
     }
 
     public String getVersion() {
-        return new BonitaVersion(new VersionFile()).getVersion();
+        return BONITA_VERSION.getVersion();
     }
 
     public String getCopyright() {
-        return new BonitaVersion(new VersionFile()).getCopyright();
+        return BONITA_VERSION.getCopyright();
     }
 }
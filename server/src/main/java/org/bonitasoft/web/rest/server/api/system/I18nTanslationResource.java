@@ -14,17 +14,27 @@
 
 package org.bonitasoft.web.rest.server.api.system;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.bonitasoft.console.common.server.i18n.I18n;
-import org.bonitasoft.engine.command.CommandExecutionException;
-import org.bonitasoft.engine.command.CommandNotFoundException;
-import org.bonitasoft.engine.command.CommandParameterizationException;
 import org.bonitasoft.web.rest.server.api.resource.CommonResource;
 import org.bonitasoft.web.toolkit.client.common.i18n.AbstractI18n;
+import org.bonitasoft.web.toolkit.client.common.i18n.AbstractI18n.LOCALE;
+import org.restlet.data.CacheDirective;
+import org.restlet.data.CharacterSet;
+import org.restlet.data.Dimension;
+import org.restlet.data.Encoding;
+import org.restlet.data.MediaType;
+import org.restlet.data.Preference;
 import org.restlet.data.Status;
+import org.restlet.data.Tag;
+import org.restlet.representation.ByteArrayRepresentation;
+import org.restlet.representation.Representation;
 import org.restlet.resource.Get;
 
 /**
@@ -32,6 +42,15 @@ import org.restlet.resource.Get;
  */
 public class I18nTanslationResource extends CommonResource {
 
+    /**
+     * Duration (in seconds) during which the browsers can use the translations without revalidating them
+     */
+    public static final String CACHE_MAX_AGE_PROPERTY = "org.bonitasoft.web.i18n.cacheMaxAge";
+
+    private static final int DEFAULT_CACHE_MAX_AGE = 3600;
+
+    private static final ConcurrentMap<LOCALE, TranslationBundle> BUNDLES = new ConcurrentHashMap<>();
+
     private I18n i18n;
 
     public I18nTanslationResource(I18n i18n) {
@@ -39,21 +58,58 @@ public class I18nTanslationResource extends CommonResource {
     }
 
     @Get("json")
-    public List<Translation> getI18nTanslation() throws CommandNotFoundException, CommandExecutionException, CommandParameterizationException {
-        List<Translation> items = new ArrayList<>();
-
+    public Representation getI18nTanslation() throws IOException {
         String locale = getLocale();
         if (locale == null) {
             getResponse().setStatus(Status.CLIENT_ERROR_BAD_REQUEST, "Request should contains 'locale' parameter.");
             return null;
         }
-        Map<String, String> translations = i18n.getLocale(AbstractI18n.stringToLocale(locale));
+        return toRepresentation(getBundle(AbstractI18n.stringToLocale(locale)));
+    }
 
-        for (final Map.Entry<String, String> entry : translations.entrySet()) {
-            items.add(new Translation(entry.getKey(), entry.getValue()));
+    /**
+     * The translations are serialized once by locale, until the locale is reloaded by {@link I18n}
+     */
+    protected TranslationBundle getBundle(final LOCALE locale) throws IOException {
+        Map<String, String> translations = i18n.getLocale(locale);
+        if (translations == null) {
+            translations = Collections.emptyMap();
+        }
+        if (locale == null) {
+            return new TranslationBundle(translations);
         }
+        TranslationBundle bundle = BUNDLES.get(locale);
+        if (bundle == null || !bundle.isBuiltFrom(translations)) {
+            bundle = new TranslationBundle(translations);
+            BUNDLES.put(locale, bundle);
+        }
+        return bundle;
+    }
+
+    private Representation toRepresentation(final TranslationBundle bundle) {
+        getResponse().getDimensions().add(Dimension.ENCODING);
+        getResponse().setCacheDirectives(
+                Arrays.asList(CacheDirective.privateInfo(), CacheDirective.maxAge(Integer.getInteger(CACHE_MAX_AGE_PROPERTY, DEFAULT_CACHE_MAX_AGE))));
+        final Representation representation;
+        if (isGzipAccepted()) {
+            representation = new ByteArrayRepresentation(bundle.getGzippedContent(), MediaType.APPLICATION_JSON);
+            representation.setEncodings(Collections.singletonList(Encoding.GZIP));
+            representation.setTag(new Tag(bundle.getHash() + "-gzip", false));
+        } else {
+            representation = new ByteArrayRepresentation(bundle.getContent(), MediaType.APPLICATION_JSON);
+            representation.setTag(new Tag(bundle.getHash(), false));
+        }
+        representation.setCharacterSet(CharacterSet.UTF_8);
+        return representation;
+    }
 
-        return items;
+    private boolean isGzipAccepted() {
+        for (final Preference<Encoding> acceptedEncoding : getRequest().getClientInfo().getAcceptedEncodings()) {
+            if (Encoding.GZIP.equals(acceptedEncoding.getMetadata()) && acceptedEncoding.getQuality() > 0) {
+                return true;
+            }
+        }
+        return false;
     }
 
     private String getLocale() {
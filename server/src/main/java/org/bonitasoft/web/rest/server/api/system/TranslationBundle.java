@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ ******************************************************************************/
+
+package org.bonitasoft.web.rest.server.api.system;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * Immutable JSon representation of the translations of a locale, serialized once as a list of key/value objects.<br />
+ * The bundle keeps a reference to the translations map it was built from : when the locale is reloaded a new map is created and
+ * the bundle has to be rebuilt.
+ */
+public class TranslationBundle {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final Map<String, String> translations;
+
+    private final byte[] content;
+
+    private final byte[] gzippedContent;
+
+    private final String hash;
+
+    public TranslationBundle(final Map<String, String> translations) throws IOException {
+        this.translations = translations;
+        content = serialize(translations);
+        gzippedContent = gzip(content);
+        hash = hash(content);
+    }
+
+    private static byte[] serialize(final Map<String, String> translations) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(translations.size() * 64);
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8)) {
+            generator.writeStartArray();
+            for (final Map.Entry<String, String> entry : translations.entrySet()) {
+                generator.writeStartObject();
+                generator.writeStringField("key", entry.getKey());
+                generator.writeStringField("value", entry.getValue());
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] gzip(final byte[] content) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 4 + 64);
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+            gzipOut.write(content);
+        }
+        return out.toByteArray();
+    }
+
+    private static String hash(final byte[] content) {
+        try {
+            return String.format("%032x", new BigInteger(1, MessageDigest.getInstance("MD5").digest(content)));
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 algorithm is not available", e);
+        }
+    }
+
+    /**
+     * @return true if this bundle was built from the given translations map
+     */
+    public boolean isBuiltFrom(final Map<String, String> translations) {
+        return this.translations == translations;
+    }
+
+    public byte[] getContent() {
+        return content;
+    }
+
+    public byte[] getGzippedContent() {
+        return gzippedContent;
+    }
+
+    public String getHash() {
+        return hash;
+    }
+}
@@ -0,0 +1,99 @@
+/**
+ * Copyright (C) 2016 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.rest.server.api.system;
+
+import java.io.Serializable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rights of a logged in user (serialized list of the tokens of the pages the user can access) kept in the user HTTP session.<br />
+ * The rights are computed again when the user logs in with another engine session, when they expire (system property
+ * {@link #TIME_TO_LIVE_PROPERTY}, in milliseconds) or when the profiles of the tenant are modified through the REST API.
+ */
+public class UserRights implements Serializable {
+
+    private static final long serialVersionUID = -4227658497862427815L;
+
+    public static final String TIME_TO_LIVE_PROPERTY = "org.bonitasoft.web.session.userRightsTimeToLive";
+
+    private static final long DEFAULT_TIME_TO_LIVE = 60000L;
+
+    private static final ConcurrentMap<Long, AtomicLong> TENANT_PROFILES_VERSIONS = new ConcurrentHashMap<>();
+
+    private final String rights;
+
+    private final long tenantId;
+
+    private final long engineSessionId;
+
+    private final long profilesVersion;
+
+    private final long expirationDate;
+
+    /**
+     * @param profilesVersion
+     *        version of the tenant profiles read with {@link #getCurrentProfilesVersion(long)} before computing the rights, so
+     *        that an invalidation occurring while they are computed is not missed
+     */
+    public UserRights(final String rights, final long tenantId, final long engineSessionId, final long profilesVersion) {
+        this.rights = rights;
+        this.tenantId = tenantId;
+        this.engineSessionId = engineSessionId;
+        this.profilesVersion = profilesVersion;
+        expirationDate = System.currentTimeMillis() + Long.getLong(TIME_TO_LIVE_PROPERTY, DEFAULT_TIME_TO_LIVE);
+    }
+
+    private static AtomicLong getProfilesVersion(final long tenantId) {
+        AtomicLong version = TENANT_PROFILES_VERSIONS.get(tenantId);
+        if (version == null) {
+            final AtomicLong newVersion = new AtomicLong();
+            version = TENANT_PROFILES_VERSIONS.putIfAbsent(tenantId, newVersion);
+            if (version == null) {
+                version = newVersion;
+            }
+        }
+        return version;
+    }
+
+    /**
+     * @return the current version of the profiles of a tenant, incremented each time they are invalidated
+     */
+    public static long getCurrentProfilesVersion(final long tenantId) {
+        return getProfilesVersion(tenantId).get();
+    }
+
+    /**
+     * Invalidate the rights of all the users of a tenant
+     */
+    public static void invalidate(final long tenantId) {
+        getProfilesVersion(tenantId).incrementAndGet();
+    }
+
+    /**
+     * @return true if these rights can still be used for the given engine session
+     */
+    public boolean isValidFor(final org.bonitasoft.engine.session.APISession apiSession) {
+        return apiSession.getTenantId() == tenantId
+                && apiSession.getId() == engineSessionId
+                && getProfilesVersion(tenantId).get() == profilesVersion
+                && System.currentTimeMillis() <= expirationDate;
+    }
+
+    public String getRights() {
+        return rights;
+    }
+}
@@ -16,8 +16,10 @@ package org.bonitasoft.web.rest.server.datastore.bpm.process;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -49,8 +51,8 @@ import org.bonitasoft.web.rest.server.engineclient.EngineAPIAccessor;
 import org.bonitasoft.web.rest.server.engineclient.EngineClientFactory;
 import org.bonitasoft.web.rest.server.engineclient.ProcessEngineClient;
 import org.bonitasoft.web.rest.server.framework.api.DatastoreHasAdd;
+import org.bonitasoft.web.rest.server.framework.api.DatastoreHasBatchGet;
 import org.bonitasoft.web.rest.server.framework.api.DatastoreHasDelete;
-import org.bonitasoft.web.rest.server.framework.api.DatastoreHasGet;
 import org.bonitasoft.web.rest.server.framework.api.DatastoreHasSearch;
 import org.bonitasoft.web.rest.server.framework.api.DatastoreHasUpdate;
 import org.bonitasoft.web.rest.server.framework.search.ItemSearchResult;
@@ -66,7 +68,7 @@ import org.bonitasoft.web.toolkit.client.data.APIID;
 public class ProcessDatastore extends CommonDatastore<ProcessItem, ProcessDeploymentInfo> implements
         DatastoreHasAdd<ProcessItem>,
         DatastoreHasUpdate<ProcessItem>,
-        DatastoreHasGet<ProcessItem>,
+        DatastoreHasBatchGet<ProcessItem>,
         DatastoreHasSearch<ProcessItem>,
         DatastoreHasDelete {
 
@@ -173,6 +175,15 @@ public class ProcessDatastore extends CommonDatastore<ProcessItem, ProcessDeploy
         return convertEngineToConsoleItem(processDeploymentInfo);
     }
 
+    @Override
+    public Map<APIID, ProcessItem> get(final List<APIID> ids) {
+        final Map<APIID, ProcessItem> results = new HashMap<>();
+        for (final Entry<Long, ProcessDeploymentInfo> process : getProcessEngineClient().getProcessDeploymentInfos(APIID.toLongList(ids)).entrySet()) {
+            results.put(APIID.makeAPIID(process.getKey()), convertEngineToConsoleItem(process.getValue()));
+        }
+        return results;
+    }
+
     @Override
     public void delete(final List<APIID> ids) {
         for (final APIID id : ids) {
@@ -14,8 +14,10 @@
  */
 package org.bonitasoft.web.rest.server.datastore.organization;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 
 import org.bonitasoft.engine.exception.SearchException;
 import org.bonitasoft.engine.identity.User;
@@ -32,7 +34,7 @@ import org.bonitasoft.web.rest.server.engineclient.EngineAPIAccessor;
 import org.bonitasoft.web.rest.server.engineclient.EngineClientFactory;
 import org.bonitasoft.web.rest.server.engineclient.ProcessEngineClient;
 import org.bonitasoft.web.rest.server.engineclient.UserEngineClient;
-import org.bonitasoft.web.rest.server.framework.api.DatastoreHasGet;
+import org.bonitasoft.web.rest.server.framework.api.DatastoreHasBatchGet;
 import org.bonitasoft.web.rest.server.framework.exception.APIAttributeException;
 import org.bonitasoft.web.rest.server.framework.search.ItemSearchResult;
 import org.bonitasoft.web.toolkit.client.common.exception.api.APIException;
@@ -42,7 +44,7 @@ import org.bonitasoft.web.toolkit.client.data.APIID;
  * @author Séverin Moussel
  */
 public class UserDatastore extends CommonDatastore<UserItem, User>
-        implements DatastoreHasGet<UserItem> {
+        implements DatastoreHasBatchGet<UserItem> {
 
     protected EngineClientFactory engineClientFactory;
 
@@ -76,6 +78,15 @@ public class UserDatastore extends CommonDatastore<UserItem, User>
         return userItemConverter.convert(user);
     }
 
+    @Override
+    public Map<APIID, UserItem> get(final List<APIID> ids) {
+        final Map<APIID, UserItem> results = new HashMap<>();
+        for (final Entry<Long, User> user : getUserEngineClient().get(APIID.toLongList(ids)).entrySet()) {
+            results.put(APIID.makeAPIID(user.getKey()), userItemConverter.convert(user.getValue()));
+        }
+        return results;
+    }
+
     /**
      * Search for users
      *
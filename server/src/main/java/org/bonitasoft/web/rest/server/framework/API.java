@@ -62,6 +62,8 @@ public abstract class API<ITEM extends IItem> {
 
     private final Map<String, Deployer> deployers = new HashMap<>();
 
+    private boolean deployersRegistered = false;
+
     private static Logger LOGGER = Logger.getLogger(API.class.getName());
 
     // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -239,11 +241,15 @@ public abstract class API<ITEM extends IItem> {
 
         final ItemSearchResult<ITEM> searchResult = search(page, resultsByPage, search, realOrders, filters != null ? filters : new HashMap<String, String>());
 
+        prefetchDeploys(searchResult.getResults(), deploys != null ? deploys : new ArrayList<String>());
         for (final ITEM item : searchResult.getResults()) {
             fillDeploys(item, deploys != null ? deploys : new ArrayList<String>());
-            fillCounters(item, counters != null ? counters : new ArrayList<String>());
         }
 
+        final long countersStartTime = System.currentTimeMillis();
+        fillCounters(searchResult.getResults(), counters != null ? counters : new ArrayList<String>());
+        searchResult.setCountersDuration(System.currentTimeMillis() - countersStartTime);
+
         return searchResult;
     }
 
@@ -419,10 +425,43 @@ public abstract class API<ITEM extends IItem> {
     }
 
     public Map<String, Deployer> getDeployers() {
+        ensureDeployersRegistered();
         return Collections.unmodifiableMap(deployers);
     }
 
+    /**
+     * Register the deployers of this API with {@link #addDeployer(Deployer)}.<br />
+     * Called once per API instance, before the first deploy, as deployers usually need the session which is only set
+     * after the construction.
+     */
+    protected void registerDeployers() {
+        // Do Nothing if not override
+    }
+
+    private void ensureDeployersRegistered() {
+        if (!deployersRegistered) {
+            deployersRegistered = true;
+            registerDeployers();
+        }
+    }
+
+    /**
+     * Resolve at once the deployed items of a whole result page, before {@link #fillDeploys(IItem, List)} is called for
+     * each item.<br />
+     * Override this method to batch the retrieval of deploys that are not handled by a {@link BatchDeployer}.
+     */
+    protected void prefetchDeploys(final List<ITEM> items, final List<String> deploys) {
+        ensureDeployersRegistered();
+        for (final String attribute : deploys) {
+            final Deployer deployer = deployers.get(attribute);
+            if (deployer instanceof BatchDeployer) {
+                ((BatchDeployer) deployer).prefetch(items);
+            }
+        }
+    }
+
     protected void fillDeploys(final ITEM item, final List<String> deploys) {
+        ensureDeployersRegistered();
         for (final String attribute : deploys) {
             deployAttribute(attribute, item);
         }
@@ -450,6 +489,16 @@ public abstract class API<ITEM extends IItem> {
         // Do Nothing if not override
     }
 
+    /**
+     * Fill the counters of all the items of a result page.<br />
+     * Override this method to compute the counters of a page at once, or in parallel using the {@link CounterEngine}.
+     */
+    protected void fillCounters(final List<ITEM> items, final List<String> counters) {
+        for (final ITEM item : items) {
+            fillCounters(item, counters);
+        }
+    }
+
     /**
      * @param attributeName
      * @param deploys
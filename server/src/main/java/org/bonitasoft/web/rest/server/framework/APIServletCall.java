@@ -14,8 +14,10 @@
  */
 package org.bonitasoft.web.rest.server.framework;
 
+import java.io.IOException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -29,6 +31,7 @@ import javax.servlet.http.HttpServletResponse;
 
 import org.bonitasoft.console.common.server.i18n.I18n;
 import org.bonitasoft.web.rest.server.framework.exception.APIMissingIdException;
+import org.bonitasoft.web.rest.server.framework.json.JSonItemStreamWriter;
 import org.bonitasoft.web.rest.server.framework.json.JSonSimpleDeserializer;
 import org.bonitasoft.web.rest.server.framework.search.ItemSearchResult;
 import org.bonitasoft.web.rest.server.framework.utils.RestRequestParser;
@@ -36,6 +39,7 @@ import org.bonitasoft.web.toolkit.client.common.AbstractTreeNode;
 import org.bonitasoft.web.toolkit.client.common.Tree;
 import org.bonitasoft.web.toolkit.client.common.TreeLeaf;
 import org.bonitasoft.web.toolkit.client.common.exception.api.APIException;
+import org.bonitasoft.web.toolkit.client.common.exception.http.ServerException;
 import org.bonitasoft.web.toolkit.client.common.json.JSonItemReader;
 import org.bonitasoft.web.toolkit.client.common.json.JSonItemWriter;
 import org.bonitasoft.web.toolkit.client.data.APIID;
@@ -183,6 +187,9 @@ public class APIServletCall extends ServletCall {
                         getParameter(PARAMETER_ORDER), parseFilters(getParameterAsList(PARAMETER_FILTER)),
                         getParameterAsList(PARAMETER_DEPLOY), getParameterAsList(PARAMETER_COUNTER));
                 head("Content-Range", result.getPage() + "-" + result.getLength() + "/" + result.getTotal());
+                if (getParameterAsList(PARAMETER_COUNTER) != null && !getParameterAsList(PARAMETER_COUNTER).isEmpty()) {
+                    head("Server-Timing", "counters;dur=" + result.getCountersDuration());
+                }
 
                 output(result.getResults());
             }
@@ -193,9 +200,24 @@ public class APIServletCall extends ServletCall {
         }
     }
 
+    /**
+     * Write into the output.<br />
+     * Collections (i.e. search results) are streamed item by item to avoid building the whole response in memory.
+     *
+     * @param object
+     *            An object that will be transform into JSon
+     */
     @Override
     protected void output(final Object object) {
-        super.output(object);
+        if (object instanceof Collection<?>) {
+            try {
+                new JSonItemStreamWriter(getOutputWriter()).write(object);
+            } catch (final IOException e) {
+                throw new ServerException(e);
+            }
+        } else {
+            super.output(object);
+        }
     }
 
     @Override
@@ -0,0 +1,94 @@
+/**
+ * Copyright (C) 2016 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.rest.server.framework;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.bonitasoft.web.rest.server.framework.api.DatastoreHasBatchGet;
+import org.bonitasoft.web.rest.server.framework.api.DatastoreHasGet;
+import org.bonitasoft.web.toolkit.client.data.APIID;
+import org.bonitasoft.web.toolkit.client.data.item.IItem;
+
+/**
+ * Memoize the items retrieved through a {@link DatastoreHasGet} so that the same item is never fetched twice.<br />
+ * As APIs are instantiated for each request, an instance of this class must not outlive the request that created it.
+ */
+public class CachedGetter<T extends IItem> implements DatastoreHasGet<T> {
+
+    private static final Logger LOGGER = Logger.getLogger(CachedGetter.class.getName());
+
+    private final DatastoreHasGet<T> getter;
+
+    private final Map<APIID, T> cache = new HashMap<>();
+
+    public CachedGetter(final DatastoreHasGet<T> getter) {
+        this.getter = getter;
+    }
+
+    @Override
+    public T get(final APIID id) {
+        if (!cache.containsKey(id)) {
+            cache.put(id, getter.get(id));
+        }
+        return cache.get(id);
+    }
+
+    /**
+     * Fetch in a single call the items referenced by the given attribute of the given items, if the underlying
+     * datastore supports it.
+     */
+    public void prefetch(final List<? extends IItem> items, final String attribute) {
+        final List<APIID> ids = new ArrayList<>();
+        for (final IItem item : items) {
+            ids.add(item.getAttributeValueAsAPIID(attribute));
+        }
+        prefetch(ids);
+    }
+
+    /**
+     * Fetch in a single call the items having the given ids, if the underlying datastore supports it.<br />
+     * This is a best effort: if the call fails, items will be fetched one by one when requested.
+     */
+    @SuppressWarnings("unchecked")
+    public void prefetch(final Collection<APIID> ids) {
+        if (!(getter instanceof DatastoreHasBatchGet<?>)) {
+            return;
+        }
+        final Set<APIID> missingIds = new LinkedHashSet<>();
+        for (final APIID id : ids) {
+            if (id != null && !cache.containsKey(id)) {
+                missingIds.add(id);
+            }
+        }
+        if (missingIds.isEmpty()) {
+            return;
+        }
+        try {
+            cache.putAll(((DatastoreHasBatchGet<T>) getter).get(new ArrayList<>(missingIds)));
+        } catch (final Exception e) {
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.log(Level.FINE, "Could not fetch items " + missingIds + " at once", e);
+            }
+        }
+    }
+}
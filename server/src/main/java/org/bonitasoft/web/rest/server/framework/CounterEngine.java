@@ -0,0 +1,107 @@
+/**
+ * Copyright (C) 2016 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.rest.server.framework;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.bonitasoft.web.toolkit.client.common.exception.api.APIException;
+
+/**
+ * Compute the counters of the items of a result page in parallel, on a pool of threads shared by all the requests.<br />
+ * The size of the pool can be set with the system property {@value #POOL_SIZE_PROPERTY}.
+ */
+public class CounterEngine {
+
+    public static final String POOL_SIZE_PROPERTY = "org.bonitasoft.web.counters.poolSize";
+
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    private static final CounterEngine INSTANCE = new CounterEngine(Integer.getInteger(POOL_SIZE_PROPERTY, DEFAULT_POOL_SIZE));
+
+    private final int poolSize;
+
+    private ExecutorService executor;
+
+    CounterEngine(final int poolSize) {
+        this.poolSize = poolSize;
+    }
+
+    public static CounterEngine getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Run the given tasks and wait for all of them to complete.
+     *
+     * @throws APIException
+     *             if one of the tasks failed
+     */
+    public void run(final List<Callable<Void>> tasks) {
+        try {
+            for (final Future<Void> future : getExecutor().invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new APIException(e.getCause());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new APIException(e);
+        }
+    }
+
+    private synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            final ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<Runnable>(), new CounterThreadFactory());
+            threadPoolExecutor.allowCoreThreadTimeOut(true);
+            executor = threadPoolExecutor;
+        }
+        return executor;
+    }
+
+    /**
+     * Stop the threads of the pool. The counters computed afterwards restart it.
+     */
+    public synchronized void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    private static class CounterThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            final Thread thread = new Thread(runnable, "bonita-web-counters-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/**
+ * Copyright (C) 2016 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.rest.server.framework.batch;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.bonitasoft.web.toolkit.client.common.exception.api.APIException;
+import org.bonitasoft.web.toolkit.client.common.json.JSonSerializer;
+
+/**
+ * One call of a batch: a sub-request, the response it produced and the handler executing it.
+ */
+public class BatchCall implements Runnable {
+
+    /**
+     * Execute a sub-request of a batch, exactly as if it had been received by the API servlet (permissions check included)
+     */
+    public interface Handler {
+
+        void handle(HttpServletRequest request, HttpServletResponse response) throws Exception;
+    }
+
+    private static final Logger LOGGER = Logger.getLogger(BatchCall.class.getName());
+
+    private final BatchSubRequest request;
+
+    private final BatchSubResponse response;
+
+    private final Handler handler;
+
+    public BatchCall(final BatchSubRequest request, final BatchSubResponse response, final Handler handler) {
+        this.request = request;
+        this.response = response;
+        this.handler = handler;
+    }
+
+    public BatchSubRequest getRequest() {
+        return request;
+    }
+
+    public BatchSubResponse getResponse() {
+        return response;
+    }
+
+    /**
+     * @return true if the call does not modify anything and can be executed concurrently with the other read only calls
+     */
+    public boolean isReadOnly() {
+        return "GET".equals(request.getMethod());
+    }
+
+    public boolean isSuccessful() {
+        return response.getStatus() < HttpServletResponse.SC_MULTIPLE_CHOICES;
+    }
+
+    @Override
+    public void run() {
+        try {
+            handler.handle(request, response);
+        } catch (final Exception e) {
+            if (LOGGER.isLoggable(Level.SEVERE)) {
+                LOGGER.log(Level.SEVERE, "Error while executing " + request.getMethod() + " " + request.getRequestURI() + " in a batch", e);
+            }
+            fail(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, e);
+        }
+    }
+
+    /**
+     * Replace the response of the call by an error
+     */
+    void fail(final int status, final Throwable cause) {
+        response.reset();
+        response.setStatus(status);
+        response.setContentType("application/json;charset=UTF-8");
+        try {
+            response.getWriter().print(JSonSerializer.serialize(new APIException(cause)));
+        } catch (final Exception e) {
+            // the status is enough to report the error
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/**
+ * Copyright (C) 2016 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.rest.server.framework.batch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Execute the calls of a batch.<br />
+ * Consecutive read only calls are executed concurrently on a bounded pool of threads (system property
+ * {@link #POOL_SIZE_PROPERTY}) shared by all the batches; the other calls are executed one after the other, in the order of
+ * the batch, once the calls before them are done.
+ */
+public class BatchExecutor {
+
+    public static final String POOL_SIZE_PROPERTY = "org.bonitasoft.web.rest.batch.poolSize";
+
+    private static final int DEFAULT_POOL_SIZE = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+    private static final BatchExecutor INSTANCE = new BatchExecutor(Integer.getInteger(POOL_SIZE_PROPERTY, DEFAULT_POOL_SIZE));
+
+    private final int poolSize;
+
+    private ExecutorService executor;
+
+    BatchExecutor(final int poolSize) {
+        this.poolSize = Math.max(1, poolSize);
+    }
+
+    public static BatchExecutor getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @param calls
+     *            the calls of the batch, in order
+     * @param breakOnError
+     *            if true, the calls following a failed call are not executed (read only calls executed concurrently with it are
+     *            still discarded)
+     * @return the number of calls, from the beginning of the batch, whose response must be returned
+     */
+    public int execute(final List<BatchCall> calls, final boolean breakOnError) {
+        int index = 0;
+        while (index < calls.size()) {
+            int end = index + 1;
+            if (calls.get(index).isReadOnly()) {
+                while (end < calls.size() && calls.get(end).isReadOnly()) {
+                    end++;
+                }
+                executeConcurrently(calls.subList(index, end));
+            } else {
+                calls.get(index).run();
+            }
+            if (breakOnError) {
+                for (int i = index; i < end; i++) {
+                    if (!calls.get(i).isSuccessful()) {
+                        return i + 1;
+                    }
+                }
+            }
+            index = end;
+        }
+        return calls.size();
+    }
+
+    /**
+     * Execute the calls on the pool, the first one being executed by the current thread
+     */
+    void executeConcurrently(final List<BatchCall> calls) {
+        final List<Future<?>> futures = new ArrayList<Future<?>>(calls.size());
+        for (final BatchCall call : calls.subList(1, calls.size())) {
+            futures.add(getExecutor().submit(call));
+        }
+        calls.get(0).run();
+        for (int i = 0; i < futures.size(); i++) {
+            final Future<?> future = futures.get(i);
+            try {
+                future.get();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.cancel(true);
+                calls.get(i + 1).fail(HttpServletResponse.SC_SERVICE_UNAVAILABLE, e);
+            } catch (final ExecutionException e) {
+                calls.get(i + 1).fail(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, e.getCause());
+            } catch (final CancellationException e) {
+                calls.get(i + 1).fail(HttpServletResponse.SC_SERVICE_UNAVAILABLE, e);
+            }
+        }
+    }
+
+    private synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            final AtomicInteger threadNumber = new AtomicInteger();
+            executor = Executors.newFixedThreadPool(poolSize, new ThreadFactory() {
+
+                @Override
+                public Thread newThread(final Runnable runnable) {
+                    final Thread thread = new Thread(runnable, "bonita-api-batch-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        return executor;
+    }
+
+    /**
+     * Stop the threads of the pool, the calls not started yet are cancelled. The batches executed afterwards restart it.
+     */
+    public synchronized void shutdown() {
+        if (executor != null) {
+            for (final Runnable task : executor.shutdownNow()) {
+                // tasks not started yet would never complete: cancel them so that the batches waiting for them are released
+                ((Future<?>) task).cancel(false);
+            }
+            executor = null;
+        }
+    }
+}
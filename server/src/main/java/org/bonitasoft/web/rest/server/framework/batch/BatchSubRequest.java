@@ -0,0 +1,222 @@
+/**
+ * Copyright (C) 2016 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.rest.server.framework.batch;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpSession;
+
+/**
+ * One call of a batch, seen by the API servlet as a request of its own.<br />
+ * The method, path, parameters and body come from the batch description. The session is resolved once by the batch request
+ * so that sub-requests can be executed from other threads; everything else (cookies, headers, locale) is read from the batch
+ * request.
+ */
+public class BatchSubRequest extends HttpServletRequestWrapper {
+
+    private static final String ENCODING = "UTF-8";
+
+    private final String method;
+
+    private final String servletPath;
+
+    private final String pathInfo;
+
+    private final String queryString;
+
+    private final byte[] body;
+
+    private final HttpSession session;
+
+    private final Map<String, String[]> parameters;
+
+    /**
+     * @param batchRequest
+     *            the batch request
+     * @param session
+     *            the session of the batch request
+     * @param method
+     *            the HTTP method of the sub-request
+     * @param servletPath
+     *            the servlet path of the API servlet executing the sub-request (e.g. /APIToolkit)
+     * @param url
+     *            the URL of the sub-request, relative to the API servlet (e.g. bpm/case/1?d=started_by)
+     * @param body
+     *            the body of the sub-request, or null
+     */
+    public BatchSubRequest(final HttpServletRequest batchRequest, final HttpSession session, final String method, final String servletPath,
+            final String url, final String body) {
+        super(batchRequest);
+        this.session = session;
+        this.method = method.toUpperCase();
+        this.servletPath = servletPath;
+        final int queryIndex = url.indexOf('?');
+        final String path = queryIndex < 0 ? url : url.substring(0, queryIndex);
+        pathInfo = path.startsWith("/") ? path : "/" + path;
+        queryString = queryIndex < 0 ? null : url.substring(queryIndex + 1);
+        parameters = Collections.unmodifiableMap(parseQueryString(queryString));
+        try {
+            this.body = body == null ? new byte[0] : body.getBytes(ENCODING);
+        } catch (final UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static Map<String, String[]> parseQueryString(final String queryString) {
+        final Map<String, List<String>> values = new LinkedHashMap<String, List<String>>();
+        if (queryString != null) {
+            for (final String parameter : queryString.split("&")) {
+                if (parameter.isEmpty()) {
+                    continue;
+                }
+                final int equalsIndex = parameter.indexOf('=');
+                final String name = decode(equalsIndex < 0 ? parameter : parameter.substring(0, equalsIndex));
+                final String value = equalsIndex < 0 ? "" : decode(parameter.substring(equalsIndex + 1));
+                if (!values.containsKey(name)) {
+                    values.put(name, new ArrayList<String>());
+                }
+                values.get(name).add(value);
+            }
+        }
+        final Map<String, String[]> parameters = new LinkedHashMap<String, String[]>();
+        for (final Map.Entry<String, List<String>> value : values.entrySet()) {
+            parameters.put(value.getKey(), value.getValue().toArray(new String[value.getValue().size()]));
+        }
+        return parameters;
+    }
+
+    private static String decode(final String value) {
+        try {
+            return URLDecoder.decode(value, ENCODING);
+        } catch (final UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public String getMethod() {
+        return method;
+    }
+
+    @Override
+    public String getServletPath() {
+        return servletPath;
+    }
+
+    @Override
+    public String getPathInfo() {
+        return pathInfo;
+    }
+
+    @Override
+    public String getRequestURI() {
+        return getContextPath() + servletPath + pathInfo;
+    }
+
+    @Override
+    public StringBuffer getRequestURL() {
+        final StringBuffer requestURL = new StringBuffer();
+        requestURL.append(getScheme()).append("://").append(getServerName()).append(':').append(getServerPort()).append(getRequestURI());
+        return requestURL;
+    }
+
+    @Override
+    public String getQueryString() {
+        return queryString;
+    }
+
+    @Override
+    public String getParameter(final String name) {
+        final String[] values = parameters.get(name);
+        return values == null || values.length == 0 ? null : values[0];
+    }
+
+    @Override
+    public Map<String, String[]> getParameterMap() {
+        return parameters;
+    }
+
+    @Override
+    public Enumeration<String> getParameterNames() {
+        return Collections.enumeration(parameters.keySet());
+    }
+
+    @Override
+    public String[] getParameterValues(final String name) {
+        return parameters.get(name);
+    }
+
+    @Override
+    public HttpSession getSession() {
+        return session;
+    }
+
+    @Override
+    public HttpSession getSession(final boolean create) {
+        return session;
+    }
+
+    @Override
+    public String getCharacterEncoding() {
+        return ENCODING;
+    }
+
+    @Override
+    public String getContentType() {
+        return "application/json;charset=" + ENCODING;
+    }
+
+    @Override
+    public int getContentLength() {
+        return body.length;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        final ByteArrayInputStream input = new ByteArrayInputStream(body);
+        return new ServletInputStream() {
+
+            @Override
+            public int read() throws IOException {
+                return input.read();
+            }
+
+            @Override
+            public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+                return input.read(buffer, offset, length);
+            }
+        };
+    }
+
+    @Override
+    public BufferedReader getReader() throws IOException {
+        return new BufferedReader(new InputStreamReader(getInputStream(), ENCODING));
+    }
+
+}
@@ -0,0 +1,234 @@
+/**
+ * Copyright (C) 2016 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.rest.server.framework.batch;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UnsupportedEncodingException;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Response of one call of a batch.<br />
+ * The status, the headers and the body are kept in memory to be written in the batch response; nothing is written to the
+ * batch response itself.
+ */
+public class BatchSubResponse extends HttpServletResponseWrapper {
+
+    private static final String ENCODING = "UTF-8";
+
+    private int status = SC_OK;
+
+    private final Map<String, String> headers = new LinkedHashMap<String, String>();
+
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+    private ServletOutputStream outputStream;
+
+    private PrintWriter writer;
+
+    public BatchSubResponse(final HttpServletResponse batchResponse) {
+        super(batchResponse);
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * @return the headers set by the call, the values of a header set several times are separated by commas
+     */
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * @return the body written by the call
+     */
+    public String getBody() {
+        if (writer != null) {
+            writer.flush();
+        }
+        try {
+            return body.toString(ENCODING);
+        } catch (final UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void setStatus(final int status) {
+        this.status = status;
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public void setStatus(final int status, final String message) {
+        this.status = status;
+    }
+
+    @Override
+    public void sendError(final int status) {
+        this.status = status;
+    }
+
+    @Override
+    public void sendError(final int status, final String message) {
+        this.status = status;
+    }
+
+    @Override
+    public void sendRedirect(final String location) {
+        status = SC_FOUND;
+        setHeader("Location", location);
+    }
+
+    @Override
+    public void setHeader(final String name, final String value) {
+        headers.put(name, value);
+    }
+
+    @Override
+    public void addHeader(final String name, final String value) {
+        final String previousValue = headers.get(name);
+        headers.put(name, previousValue == null ? value : previousValue + "," + value);
+    }
+
+    @Override
+    public void setIntHeader(final String name, final int value) {
+        setHeader(name, String.valueOf(value));
+    }
+
+    @Override
+    public void addIntHeader(final String name, final int value) {
+        addHeader(name, String.valueOf(value));
+    }
+
+    @Override
+    public void setDateHeader(final String name, final long date) {
+        setHeader(name, String.valueOf(date));
+    }
+
+    @Override
+    public void addDateHeader(final String name, final long date) {
+        addHeader(name, String.valueOf(date));
+    }
+
+    @Override
+    public boolean containsHeader(final String name) {
+        return headers.containsKey(name);
+    }
+
+    @Override
+    public void addCookie(final Cookie cookie) {
+        // cookies are not supported in a batch
+    }
+
+    @Override
+    public void setContentType(final String type) {
+        setHeader("Content-Type", type);
+    }
+
+    @Override
+    public String getContentType() {
+        return headers.get("Content-Type");
+    }
+
+    @Override
+    public void setCharacterEncoding(final String charset) {
+        // the body is always encoded in UTF-8
+    }
+
+    @Override
+    public String getCharacterEncoding() {
+        return ENCODING;
+    }
+
+    @Override
+    public void setContentLength(final int length) {
+        // the length of the body is the one of the batch response
+    }
+
+    @Override
+    public void setLocale(final Locale locale) {
+        // the locale is the one of the batch response
+    }
+
+    @Override
+    public void setBufferSize(final int size) {
+        // the body is fully buffered
+    }
+
+    @Override
+    public void flushBuffer() {
+        // the body is fully buffered
+    }
+
+    @Override
+    public boolean isCommitted() {
+        return false;
+    }
+
+    @Override
+    public void reset() {
+        resetBuffer();
+        status = SC_OK;
+        headers.clear();
+    }
+
+    @Override
+    public void resetBuffer() {
+        if (writer != null) {
+            writer.flush();
+        }
+        body.reset();
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+        if (outputStream == null) {
+            outputStream = new ServletOutputStream() {
+
+                @Override
+                public void write(final int b) {
+                    body.write(b);
+                }
+
+                @Override
+                public void write(final byte[] buffer, final int offset, final int length) {
+                    body.write(buffer, offset, length);
+                }
+            };
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), ENCODING));
+        }
+        return writer;
+    }
+
+}
@@ -0,0 +1,77 @@
+/**
+ * Copyright (C) 2016 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.rest.server.framework.json;
+
+import java.io.IOException;
+import java.math.BigInteger;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.util.JsonGeneratorDelegate;
+
+/**
+ * {@link JsonGenerator} writing the integer values of the "id" fields as JSon strings, so that javascript clients do not lose
+ * precision on long identifiers.<br />
+ * Values are quoted while they are generated, no post processing of the produced JSon is needed.
+ */
+public class IdAsStringJsonGenerator extends JsonGeneratorDelegate {
+
+    public static final String ID_FIELD = "id";
+
+    public IdAsStringJsonGenerator(final JsonGenerator delegate) {
+        super(delegate, false);
+    }
+
+    private boolean isIdField() {
+        final JsonStreamContext context = getOutputContext();
+        return context != null && context.inObject() && ID_FIELD.equals(context.getCurrentName());
+    }
+
+    @Override
+    public void writeNumber(final short value) throws IOException {
+        if (isIdField()) {
+            writeString(String.valueOf(value));
+        } else {
+            super.writeNumber(value);
+        }
+    }
+
+    @Override
+    public void writeNumber(final int value) throws IOException {
+        if (isIdField()) {
+            writeString(String.valueOf(value));
+        } else {
+            super.writeNumber(value);
+        }
+    }
+
+    @Override
+    public void writeNumber(final long value) throws IOException {
+        if (isIdField()) {
+            writeString(String.valueOf(value));
+        } else {
+            super.writeNumber(value);
+        }
+    }
+
+    @Override
+    public void writeNumber(final BigInteger value) throws IOException {
+        if (isIdField() && value != null) {
+            writeString(value.toString());
+        } else {
+            super.writeNumber(value);
+        }
+    }
+}
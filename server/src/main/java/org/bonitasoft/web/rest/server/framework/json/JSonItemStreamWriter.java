@@ -0,0 +1,129 @@
+/**
+ * Copyright (C) 2016 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.rest.server.framework.json;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collection;
+import java.util.Map;
+
+import org.bonitasoft.web.toolkit.client.common.json.JSonSerializer;
+import org.bonitasoft.web.toolkit.client.common.json.JSonUtil;
+import org.bonitasoft.web.toolkit.client.data.item.IItem;
+
+/**
+ * Write the JSon representation of items directly into a {@link Writer}.<br />
+ * The produced JSon is the same as the one produced by {@link JSonSerializer}, but items are written one by one through a
+ * bounded buffer instead of being concatenated in a single String.
+ */
+public class JSonItemStreamWriter {
+
+    public static final int DEFAULT_BUFFER_SIZE = 8 * 1024;
+
+    private final Writer writer;
+
+    public JSonItemStreamWriter(final Writer writer) {
+        this(writer, DEFAULT_BUFFER_SIZE);
+    }
+
+    public JSonItemStreamWriter(final Writer writer, final int bufferSize) {
+        this.writer = new BufferedWriter(writer, bufferSize);
+    }
+
+    /**
+     * Write an object and flush the underlying writer.
+     *
+     * @param object
+     *            The object to write. Items, collections and maps are streamed, other objects are serialized using
+     *            {@link JSonSerializer}.
+     */
+    public void write(final Object object) throws IOException {
+        writeValue(object);
+        writer.flush();
+    }
+
+    private void writeValue(final Object object) throws IOException {
+        if (object instanceof IItem) {
+            writeItem((IItem) object);
+        } else if (object instanceof Collection<?>) {
+            writeCollection((Collection<?>) object);
+        } else if (object instanceof Map<?, ?>) {
+            writeMap((Map<?, ?>) object);
+        } else {
+            writer.write(JSonSerializer.serialize(object));
+        }
+    }
+
+    private void writeCollection(final Collection<?> collection) throws IOException {
+        writer.write('[');
+        boolean first = true;
+        for (final Object item : collection) {
+            if (!first) {
+                writer.write(',');
+            }
+            writeValue(item);
+            first = false;
+        }
+        writer.write(']');
+    }
+
+    private void writeMap(final Map<?, ?> map) throws IOException {
+        writer.write('{');
+        boolean first = true;
+        for (final Map.Entry<?, ?> entry : map.entrySet()) {
+            if (!first) {
+                writer.write(',');
+            }
+            writeQuoted(entry.getKey().toString());
+            writer.write(':');
+            writeValue(entry.getValue());
+            first = false;
+        }
+        writer.write('}');
+    }
+
+    private void writeItem(final IItem item) throws IOException {
+        final Map<String, IItem> deploys = item.getDeploys();
+        writer.write('{');
+        boolean first = true;
+        for (final String attribute : item.getAttributeNames()) {
+            if (!first) {
+                writer.write(',');
+            }
+            writeQuoted(attribute);
+            writer.write(':');
+            if (deploys.containsKey(attribute)) {
+                final IItem deploy = deploys.get(attribute);
+                if (deploy == null) {
+                    writer.write("null");
+                } else {
+                    writeItem(deploy);
+                }
+            } else {
+                writeQuoted(item.getAttributeValue(attribute));
+            }
+            first = false;
+        }
+        writer.write('}');
+    }
+
+    private void writeQuoted(final String value) throws IOException {
+        writer.write('"');
+        writer.write(JSonUtil.escape(value));
+        writer.write('"');
+    }
+
+}
@@ -35,6 +35,8 @@ public class ItemSearchResult<T extends IItem> {
 
     private List<T> results;
 
+    private long countersDuration;
+
     public ItemSearchResult(final int page, final int length, final long total, final List<T> results) {
         this.page = page;
         this.length = length;
@@ -106,4 +108,19 @@ public class ItemSearchResult<T extends IItem> {
         this.results = results;
     }
 
+    /**
+     * @return the time spent computing the counters of the results, in milliseconds
+     */
+    public long getCountersDuration() {
+        return this.countersDuration;
+    }
+
+    /**
+     * @param countersDuration
+     *            the time spent computing the counters of the results, in milliseconds
+     */
+    public void setCountersDuration(final long countersDuration) {
+        this.countersDuration = countersDuration;
+    }
+
 }
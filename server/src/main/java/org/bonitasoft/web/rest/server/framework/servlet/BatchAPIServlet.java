@@ -0,0 +1,270 @@
+/**
+ * Copyright (C) 2016 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.rest.server.framework.servlet;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+
+import org.bonitasoft.console.common.server.login.filter.MultiReadHttpServletRequest;
+import org.bonitasoft.console.common.server.login.filter.RequestBodyTooLargeException;
+import org.bonitasoft.web.rest.server.framework.batch.BatchCall;
+import org.bonitasoft.web.rest.server.framework.batch.BatchExecutor;
+import org.bonitasoft.web.rest.server.framework.batch.BatchSubRequest;
+import org.bonitasoft.web.rest.server.framework.batch.BatchSubResponse;
+import org.bonitasoft.web.toolkit.client.common.exception.api.APIException;
+import org.bonitasoft.web.toolkit.client.common.json.JSonSerializer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Execute several calls to the API in a single HTTP request.<br />
+ * The body of the request is a JSon array of calls:
+ *
+ * <pre>
+ * [{"method":"GET","url":"bpm/case?p=0&c=10"},{"method":"PUT","url":"bpm/humanTask/12","body":{"assigned_id":"3"}}]
+ * </pre>
+ *
+ * URLs are relative to the API root. Each call goes through the authorization filter and the API servlet as if it had been
+ * sent on its own, and the response is a JSon array with, for each call in order, its status, headers and body (as a string):
+ *
+ * <pre>
+ * [{"status":200,"headers":{"Content-Range":"0-10/42"},"body":"[...]"},{"status":200,"headers":{},"body":""}]
+ * </pre>
+ *
+ * When the <code>breakOnError</code> parameter is true, the calls following a failed call are not executed and not returned.
+ * The number of calls of a batch is limited by the system property {@link #MAX_CALLS_PROPERTY} and the size of its body (in bytes)
+ * by the system property {@link #MAX_BODY_SIZE_PROPERTY}.<br />
+ * The authorization filter is initialized with the init parameters of this servlet.
+ *
+ * @see BatchExecutor
+ */
+public abstract class BatchAPIServlet extends HttpServlet {
+
+    private static final long serialVersionUID = -2317532004561848224L;
+
+    public static final String MAX_CALLS_PROPERTY = "org.bonitasoft.web.rest.batch.maxCalls";
+
+    public static final String MAX_BODY_SIZE_PROPERTY = "org.bonitasoft.web.rest.batch.maxBodySize";
+
+    public static final String BREAK_ON_ERROR_PARAM = "breakOnError";
+
+    static final String METHOD = "method";
+
+    static final String URL = "url";
+
+    static final String BODY = "body";
+
+    static final String STATUS = "status";
+
+    static final String HEADERS = "headers";
+
+    private static final int DEFAULT_MAX_CALLS = 50;
+
+    private static final long DEFAULT_MAX_BODY_SIZE = 2 * 1024 * 1024;
+
+    private static final List<String> SUPPORTED_METHODS = Arrays.asList("GET", "POST", "PUT", "DELETE");
+
+    private static final Logger LOGGER = Logger.getLogger(BatchAPIServlet.class.getName());
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private final int maxCalls = Integer.getInteger(MAX_CALLS_PROPERTY, DEFAULT_MAX_CALLS);
+
+    private final long maxBodySize = Long.getLong(MAX_BODY_SIZE_PROPERTY, DEFAULT_MAX_BODY_SIZE);
+
+    private HttpServlet apiServlet;
+
+    private Filter authorizationFilter;
+
+    @Override
+    public void init() throws ServletException {
+        super.init();
+        apiServlet = defineAPIServlet();
+        apiServlet.init(getServletConfig());
+        authorizationFilter = defineAuthorizationFilter();
+        authorizationFilter.init(new FilterConfig() {
+
+            @Override
+            public String getFilterName() {
+                return getServletName();
+            }
+
+            @Override
+            public ServletContext getServletContext() {
+                return BatchAPIServlet.this.getServletContext();
+            }
+
+            @Override
+            public String getInitParameter(final String name) {
+                return BatchAPIServlet.this.getInitParameter(name);
+            }
+
+            @Override
+            @SuppressWarnings("rawtypes")
+            public Enumeration getInitParameterNames() {
+                return BatchAPIServlet.this.getInitParameterNames();
+            }
+        });
+    }
+
+    @Override
+    public void destroy() {
+        if (apiServlet != null) {
+            apiServlet.destroy();
+        }
+        if (authorizationFilter != null) {
+            authorizationFilter.destroy();
+        }
+        BatchExecutor.getInstance().shutdown();
+        super.destroy();
+    }
+
+    /**
+     * @return the servlet executing the calls
+     */
+    protected abstract HttpServlet defineAPIServlet();
+
+    /**
+     * @return the filter checking the permissions of each call
+     */
+    protected abstract Filter defineAuthorizationFilter();
+
+    /**
+     * @return the servlet path the calls are sent to (e.g. /APIToolkit)
+     */
+    protected abstract String defineAPIServletPath();
+
+    @Override
+    protected void doPost(final HttpServletRequest request, final HttpServletResponse response) throws ServletException, IOException {
+        final JsonNode batch;
+        try {
+            batch = mapper.readTree(new MultiReadHttpServletRequest(request, false, maxBodySize).getBody());
+        } catch (final RequestBodyTooLargeException e) {
+            outputError(response, HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, e.getMessage());
+            return;
+        } catch (final JsonProcessingException e) {
+            outputError(response, HttpServletResponse.SC_BAD_REQUEST, "The batch is not a valid JSon document: " + e.getOriginalMessage());
+            return;
+        }
+        if (batch == null || !batch.isArray()) {
+            outputError(response, HttpServletResponse.SC_BAD_REQUEST, "The batch must be a JSon array of calls");
+            return;
+        }
+        if (batch.size() > maxCalls) {
+            outputError(response, HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, "A batch cannot contain more than " + maxCalls + " calls");
+            return;
+        }
+        final List<BatchCall> calls;
+        try {
+            calls = createCalls(request, response, batch);
+        } catch (final IllegalArgumentException e) {
+            outputError(response, HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        }
+        final int executedCalls = BatchExecutor.getInstance().execute(calls, Boolean.parseBoolean(request.getParameter(BREAK_ON_ERROR_PARAM)));
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.log(Level.FINE, executedCalls + " calls of " + calls.size() + " executed in a batch");
+        }
+        outputCalls(response, calls.subList(0, executedCalls));
+    }
+
+    List<BatchCall> createCalls(final HttpServletRequest request, final HttpServletResponse response, final JsonNode batch) {
+        final HttpSession session = request.getSession();
+        final BatchCall.Handler handler = new BatchCall.Handler() {
+
+            @Override
+            public void handle(final HttpServletRequest subRequest, final HttpServletResponse subResponse) throws Exception {
+                authorizationFilter.doFilter(subRequest, subResponse, new FilterChain() {
+
+                    @Override
+                    public void doFilter(final ServletRequest authorizedRequest, final ServletResponse authorizedResponse) throws IOException,
+                            ServletException {
+                        apiServlet.service(authorizedRequest, authorizedResponse);
+                    }
+                });
+            }
+        };
+        final List<BatchCall> calls = new ArrayList<BatchCall>(batch.size());
+        for (final JsonNode call : batch) {
+            if (!call.hasNonNull(URL)) {
+                throw new IllegalArgumentException("The call " + call + " has no URL");
+            }
+            final String method = call.hasNonNull(METHOD) ? call.get(METHOD).asText().toUpperCase() : "GET";
+            if (!SUPPORTED_METHODS.contains(method)) {
+                throw new IllegalArgumentException("Unsupported method " + method + " in a batch");
+            }
+            final JsonNode body = call.get(BODY);
+            final String bodyAsString = body == null || body.isNull() ? null : body.isTextual() ? body.asText() : body.toString();
+            final BatchSubRequest subRequest = new BatchSubRequest(request, session, method, defineAPIServletPath(), call.get(URL).asText(),
+                    bodyAsString);
+            calls.add(new BatchCall(subRequest, new BatchSubResponse(response), handler));
+        }
+        return calls;
+    }
+
+    private void outputCalls(final HttpServletResponse response, final List<BatchCall> calls) throws IOException {
+        response.setContentType("application/json;charset=UTF-8");
+        response.setHeader("Cache-Control", "no-cache,no-store,no-transform,max-age=0");
+        final JsonGenerator generator = mapper.getFactory().createGenerator(response.getWriter());
+        generator.writeStartArray();
+        for (final BatchCall call : calls) {
+            final BatchSubResponse subResponse = call.getResponse();
+            generator.writeStartObject();
+            generator.writeNumberField(STATUS, subResponse.getStatus());
+            generator.writeObjectFieldStart(HEADERS);
+            for (final Map.Entry<String, String> header : subResponse.getHeaders().entrySet()) {
+                generator.writeStringField(header.getKey(), header.getValue());
+            }
+            generator.writeEndObject();
+            generator.writeStringField(BODY, subResponse.getBody());
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+        generator.flush();
+    }
+
+    private void outputError(final HttpServletResponse response, final int status, final String message) throws IOException {
+        if (LOGGER.isLoggable(Level.INFO)) {
+            LOGGER.log(Level.INFO, message);
+        }
+        response.setStatus(status);
+        response.setContentType("application/json;charset=UTF-8");
+        final PrintWriter output = response.getWriter();
+        output.print(JSonSerializer.serialize(new APIException(message)));
+        output.flush();
+    }
+}
@@ -36,6 +36,8 @@ import javax.servlet.http.HttpServletResponse;
 import javax.servlet.http.HttpSession;
 
 import org.apache.commons.io.IOUtils;
+import org.bonitasoft.console.common.server.login.filter.MultiReadHttpServletRequest;
+import org.bonitasoft.console.common.server.login.filter.RequestBodyTooLargeException;
 import org.bonitasoft.web.toolkit.client.common.exception.http.ServerException;
 import org.bonitasoft.web.toolkit.client.common.json.JSonSerializer;
 import org.bonitasoft.web.toolkit.server.utils.LocaleUtils;
@@ -48,6 +50,11 @@ import org.bonitasoft.web.toolkit.server.utils.LocaleUtils;
  */
 public abstract class ServletCall {
 
+    /**
+     * Maximum initial size of the buffer holding the request body
+     */
+    private static final int INITIAL_BUFFER_MAX_SIZE = 64 * 1024;
+
     private String inputStream = null;
 
     /**
@@ -127,19 +134,39 @@ public abstract class ServletCall {
      */
     public String getInputStream() {
         if (inputStream == null) {
+            // the body already read by the authorization filter is reused rather than read and decoded again
+            final MultiReadHttpServletRequest multiReadRequest = MultiReadHttpServletRequest.find(request);
+            if (multiReadRequest != null && multiReadRequest.isBodyBuffered()) {
+                try {
+                    inputStream = multiReadRequest.getBodyAsString();
+                    return inputStream;
+                } catch (final IOException e) {
+                    throw new RuntimeException("Can't read input Stream.", e);
+                }
+            }
 
+            // the body not buffered by the authorization filter is bounded by the same maximum size
+            final long maxBodySize = multiReadRequest != null ? multiReadRequest.getMaxBodySize() : MultiReadHttpServletRequest.NO_LIMIT;
             BufferedReader reader = null;
             try {
+                if (maxBodySize != MultiReadHttpServletRequest.NO_LIMIT && request.getContentLength() > maxBodySize) {
+                    throw new RequestBodyTooLargeException(maxBodySize);
+                }
 
                 // BS-8474 - use custom reader instead of request reader to avoid JBoss5.1 bug
                 // see https://issues.jboss.org/browse/JBAS-7817
                 final ServletInputStream stream = request.getInputStream();
                 reader = new BufferedReader(new InputStreamReader(stream, "UTF-8"));
 
-                final StringBuilder sb = new StringBuilder();
+                // the content length is sent by the client, it cannot size the buffer on its own
+                final StringBuilder sb = new StringBuilder(Math.max(Math.min(request.getContentLength(), INITIAL_BUFFER_MAX_SIZE), 16));
                 String line = reader.readLine();
                 while (line != null) {
-                    sb.append(line + "\n");
+                    sb.append(line).append('\n');
+                    // a character is at least one byte
+                    if (maxBodySize != MultiReadHttpServletRequest.NO_LIMIT && sb.length() > maxBodySize) {
+                        throw new RequestBodyTooLargeException(maxBodySize);
+                    }
                     line = reader.readLine();
                 }
 
@@ -339,7 +366,7 @@ public abstract class ServletCall {
      *
      * @param response
      */
-    private PrintWriter getOutputWriter() {
+    protected PrintWriter getOutputWriter() {
         if (outputWriter == null) {
             response.setContentType("application/json;charset=UTF-8");
             try {
@@ -28,6 +28,7 @@ import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import org.bonitasoft.console.common.server.login.filter.RequestBodyTooLargeException;
 import org.bonitasoft.web.toolkit.client.common.CommonDateFormater;
 import org.bonitasoft.web.toolkit.client.common.exception.api.APIException;
 import org.bonitasoft.web.toolkit.client.common.exception.api.APIForbiddenException;
@@ -160,6 +161,11 @@ public abstract class ToolkitHttpServlet extends HttpServlet {
             outputException(null, req, resp, HttpServletResponse.SC_NOT_FOUND);
         } else if (exception instanceof APIForbiddenException) {
             outputException(exception, req, resp, HttpServletResponse.SC_FORBIDDEN);
+        } else if (exception.getCause() instanceof RequestBodyTooLargeException) {
+            if (LOGGER.isLoggable(Level.WARNING)) {
+                LOGGER.log(Level.WARNING, exception.getCause().getMessage() + ": " + req.getMethod() + " " + req.getRequestURI());
+            }
+            outputException(null, req, resp, HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
         } else {
             if (LOGGER.isLoggable(Level.SEVERE)) {
                 LOGGER.log(Level.SEVERE, exception.getMessage(), exception);
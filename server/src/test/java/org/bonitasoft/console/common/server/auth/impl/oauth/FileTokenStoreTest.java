@@ -0,0 +1,74 @@
+/**
+ * Copyright (C) 2016 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.auth.impl.oauth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.scribe.model.Token;
+
+public class FileTokenStoreTest {
+
+    @Rule
+    public final TemporaryFolder tmpFolder = new TemporaryFolder();
+
+    private File tokensFolder;
+
+    @Before
+    public void setUp() throws Exception {
+        tokensFolder = new File(tmpFolder.getRoot(), "tokens");
+    }
+
+    @Test
+    public void should_share_the_tokens_between_nodes() throws Exception {
+        final FileTokenStore node1 = new FileTokenStore(tokensFolder, 60000L, 10);
+        final FileTokenStore node2 = new FileTokenStore(tokensFolder, 60000L, 10);
+
+        node1.put("request/token", new Token("request/token", "secret"));
+
+        final Token token = node2.remove("request/token");
+        assertThat(token.getToken()).isEqualTo("request/token");
+        assertThat(token.getSecret()).isEqualTo("secret");
+        assertThat(node1.get("request/token")).isNull();
+    }
+
+    @Test
+    public void should_evict_an_expired_token() throws Exception {
+        final FileTokenStore tokenStore = new FileTokenStore(tokensFolder, 0L, 10);
+        tokenStore.put("requestToken", new Token("requestToken", "secret"));
+
+        assertThat(tokenStore.getLiveTokensCount()).isEqualTo(0);
+        assertThat(tokenStore.get("requestToken")).isNull();
+        assertThat(tokenStore.getEvictionsCount()).isEqualTo(1);
+        assertThat(tokensFolder.list()).isEmpty();
+    }
+
+    @Test
+    public void should_not_keep_more_tokens_than_its_maximum_size() throws Exception {
+        final FileTokenStore tokenStore = new FileTokenStore(tokensFolder, 60000L, 2);
+
+        tokenStore.put("token1", new Token("token1", "secret"));
+        tokenStore.put("token2", new Token("token2", "secret"));
+        tokenStore.put("token3", new Token("token3", "secret"));
+
+        assertThat(tokenStore.getLiveTokensCount()).isEqualTo(2);
+        assertThat(tokenStore.getEvictionsCount()).isEqualTo(1);
+    }
+}
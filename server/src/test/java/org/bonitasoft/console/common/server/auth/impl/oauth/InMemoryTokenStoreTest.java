@@ -0,0 +1,92 @@
+/**
+ * Copyright (C) 2016 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.auth.impl.oauth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+import org.scribe.model.Token;
+
+public class InMemoryTokenStoreTest {
+
+    private final Token token = new Token("requestToken", "secret");
+
+    /**
+     * @return a store of 10 tokens living 1 minute, whose time is given by the now parameter
+     */
+    private InMemoryTokenStore createTokenStore(final AtomicLong now) {
+        return new InMemoryTokenStore(60000L, 10) {
+
+            @Override
+            long currentTimeMillis() {
+                return now.get();
+            }
+        };
+    }
+
+    @Test
+    public void should_get_a_stored_token() throws Exception {
+        final InMemoryTokenStore tokenStore = new InMemoryTokenStore(60000L, 10);
+
+        tokenStore.put("requestToken", token);
+
+        assertThat(tokenStore.get("requestToken")).isSameAs(token);
+        assertThat(tokenStore.getLiveTokensCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_not_get_a_removed_token() throws Exception {
+        final InMemoryTokenStore tokenStore = new InMemoryTokenStore(60000L, 10);
+        tokenStore.put("requestToken", token);
+
+        assertThat(tokenStore.remove("requestToken")).isSameAs(token);
+
+        assertThat(tokenStore.get("requestToken")).isNull();
+        assertThat(tokenStore.remove("requestToken")).isNull();
+        assertThat(tokenStore.getEvictionsCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void should_evict_an_expired_token() throws Exception {
+        final AtomicLong now = new AtomicLong(1000L);
+        final InMemoryTokenStore tokenStore = createTokenStore(now);
+        tokenStore.put("requestToken", token);
+
+        now.addAndGet(60000L);
+
+        assertThat(tokenStore.getLiveTokensCount()).isEqualTo(0);
+        assertThat(tokenStore.get("requestToken")).isNull();
+        assertThat(tokenStore.getEvictionsCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_evict_the_oldest_tokens_when_full() throws Exception {
+        final AtomicLong now = new AtomicLong(1000L);
+        final InMemoryTokenStore tokenStore = createTokenStore(now);
+
+        for (int i = 0; i < 11; i++) {
+            tokenStore.put("token" + i, new Token("token" + i, "secret"));
+            now.incrementAndGet();
+        }
+
+        assertThat(tokenStore.getLiveTokensCount()).isEqualTo(9);
+        assertThat(tokenStore.getEvictionsCount()).isEqualTo(2);
+        assertThat(tokenStore.get("token0")).isNull();
+        assertThat(tokenStore.get("token1")).isNull();
+        assertThat(tokenStore.get("token10")).isNotNull();
+    }
+}
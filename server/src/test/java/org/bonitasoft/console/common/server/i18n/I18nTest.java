@@ -2,18 +2,25 @@ package org.bonitasoft.console.common.server.i18n;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.io.File;
 import java.io.InputStream;
+import java.nio.file.Files;
 import java.util.List;
 import java.util.Map;
 
 import org.bonitasoft.web.toolkit.client.common.i18n.AbstractI18n;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 /**
  * @author Emmanuel Duchastenier
  */
 public class I18nTest {
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Test
     public void getStreams_should_read_from_classpath() throws Exception {
         final List<InputStream> streams = I18n.getInstance().getStreams(AbstractI18n.LOCALE.fr);
@@ -86,4 +93,30 @@ public class I18nTest {
 
         System.clearProperty(I18n.I18N_CUSTOM_DIR_PROPERTY);
     }
+
+    @Test
+    public void getLocale_should_reload_the_locale_when_a_custom_po_file_changes() throws Exception {
+        final File customFolder = temporaryFolder.newFolder("custom_i18n");
+        final File poFile = new File(customFolder, "test_es.po");
+        Files.write(poFile.toPath(), "msgid \"test key\"\nmsgstr \"valor inicial\"\n".getBytes("UTF-8"));
+        System.setProperty(I18n.I18N_CUSTOM_DIR_PROPERTY, customFolder.getPath());
+        System.setProperty(I18n.I18N_CUSTOM_DIR_CHECK_INTERVAL_PROPERTY, "0");
+        try {
+            final I18n i18n = I18n.getInstance();
+            i18n.refresh();
+            i18n.loadLocale(AbstractI18n.LOCALE.es);
+            final Map<String, String> loadedTranslations = i18n.getLocale(AbstractI18n.LOCALE.es);
+
+            Files.write(poFile.toPath(), "msgid \"test key\"\nmsgstr \"valor modificado\"\n".getBytes("UTF-8"));
+            poFile.setLastModified(poFile.lastModified() + 10000);
+            final Map<String, String> reloadedTranslations = i18n.getLocale(AbstractI18n.LOCALE.es);
+
+            assertThat(loadedTranslations.get("test key")).isEqualTo("valor inicial");
+            assertThat(reloadedTranslations).isNotSameAs(loadedTranslations);
+            assertThat(reloadedTranslations.get("test key")).isEqualTo("valor modificado");
+        } finally {
+            System.clearProperty(I18n.I18N_CUSTOM_DIR_PROPERTY);
+            System.clearProperty(I18n.I18N_CUSTOM_DIR_CHECK_INTERVAL_PROPERTY);
+        }
+    }
 }
@@ -65,6 +65,52 @@ public class MultiReadHttpServletRequestTest {
         }
     }
 
+    @Test
+    public void should_getInputStream_return_request_stream_when_body_is_not_buffered() throws Exception {
+        final ServletInputStream fakeInputStream = new FakeServletInputStream();
+        doReturn(fakeInputStream).when(request).getInputStream();
+        final MultiReadHttpServletRequest multiReadHttpServletRequest = new MultiReadHttpServletRequest(request, false, MultiReadHttpServletRequest.NO_LIMIT);
+
+        Assert.assertSame(fakeInputStream, multiReadHttpServletRequest.getInputStream());
+    }
+
+    @Test
+    public void should_getInputStream_work_after_body_has_been_read() throws Exception {
+        doReturn(new FakeServletInputStream()).when(request).getInputStream();
+        final MultiReadHttpServletRequest multiReadHttpServletRequest = new MultiReadHttpServletRequest(request, false, MultiReadHttpServletRequest.NO_LIMIT);
+
+        Assert.assertEquals("body content", new String(multiReadHttpServletRequest.getBody(), "UTF-8"));
+        Assert.assertEquals("body content", IOUtils.toString(multiReadHttpServletRequest.getInputStream()));
+    }
+
+    @Test(expected = RequestBodyTooLargeException.class)
+    public void should_getBody_fail_when_body_is_bigger_than_max_size() throws Exception {
+        doReturn(new FakeServletInputStream()).when(request).getInputStream();
+        final MultiReadHttpServletRequest multiReadHttpServletRequest = new MultiReadHttpServletRequest(request, false, 4L);
+
+        multiReadHttpServletRequest.getBody();
+    }
+
+    @Test
+    public void should_getBodyAsString_decode_the_body_once() throws Exception {
+        doReturn(new FakeServletInputStream()).when(request).getInputStream();
+        final MultiReadHttpServletRequest multiReadHttpServletRequest = new MultiReadHttpServletRequest(request, false, MultiReadHttpServletRequest.NO_LIMIT);
+
+        final String body = multiReadHttpServletRequest.getBodyAsString();
+
+        Assert.assertEquals("body content", body);
+        Assert.assertSame(body, multiReadHttpServletRequest.getBodyAsString());
+        Assert.assertTrue(multiReadHttpServletRequest.isBodyBuffered());
+    }
+
+    @Test
+    public void should_not_presize_the_body_buffer_with_a_huge_content_length() throws Exception {
+        Assert.assertEquals(MultiReadHttpServletRequest.MAX_INITIAL_BUFFER_SIZE,
+                MultiReadHttpServletRequest.getInitialBufferSize(Integer.MAX_VALUE, MultiReadHttpServletRequest.NO_LIMIT));
+        Assert.assertEquals(1024, MultiReadHttpServletRequest.getInitialBufferSize(Integer.MAX_VALUE, 1024L));
+        Assert.assertEquals(100, MultiReadHttpServletRequest.getInitialBufferSize(100, MultiReadHttpServletRequest.NO_LIMIT));
+    }
+
     class FakeServletInputStream extends ServletInputStream {
 
         private final StringInputStream inputStream = new StringInputStream("body content");
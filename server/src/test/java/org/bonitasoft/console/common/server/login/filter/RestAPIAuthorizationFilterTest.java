@@ -534,6 +534,51 @@ public class RestAPIAuthorizationFilterTest {
         assertThat(isValid).isTrue();
     }
 
+    @Test
+    public void should_checkValidCondition_let_batch_calls_be_checked_one_by_one() throws ServletException {
+        final RestAPIAuthorizationFilter restAPIAuthorizationFilterSpy = spy(restAPIAuthorizationFilter);
+        doReturn("/bonita/API/batch").when(request).getRequestURI();
+        doReturn("/API/batch").when(request).getServletPath();
+
+        //when
+        final boolean isValid = restAPIAuthorizationFilterSpy.checkValidCondition(request, response);
+
+        assertThat(isValid).isTrue();
+        verify(restAPIAuthorizationFilterSpy, times(0)).checkPermissions(request);
+    }
+
+    @Test
+    public void should_checkValidCondition_check_the_permissions_of_an_API_resource_ending_like_the_batch_URI() throws ServletException {
+        final RestAPIAuthorizationFilter restAPIAuthorizationFilterSpy = spy(restAPIAuthorizationFilter);
+        doReturn("/bonita/API/system/tenant/API/batch").when(request).getRequestURI();
+        doReturn("/API").when(request).getServletPath();
+        doReturn("/system/tenant/API/batch").when(request).getPathInfo();
+        doReturn(false).when(restAPIAuthorizationFilterSpy).checkPermissions(request);
+
+        //when
+        final boolean isValid = restAPIAuthorizationFilterSpy.checkValidCondition(request, response);
+
+        assertThat(isValid).isFalse();
+        verify(restAPIAuthorizationFilterSpy).checkPermissions(request);
+        verify(response).setStatus(HttpServletResponse.SC_FORBIDDEN);
+    }
+
+    @Test
+    public void should_checkValidCondition_check_the_permissions_of_an_APIToolkit_resource_ending_like_the_batch_URI() throws ServletException {
+        final RestAPIAuthorizationFilter restAPIAuthorizationFilterSpy = spy(restAPIAuthorizationFilter);
+        doReturn("/bonita/APIToolkit/API/x/API/batch").when(request).getRequestURI();
+        doReturn("/APIToolkit").when(request).getServletPath();
+        doReturn("/API/x/API/batch").when(request).getPathInfo();
+        doReturn(false).when(restAPIAuthorizationFilterSpy).checkPermissions(request);
+
+        //when
+        final boolean isValid = restAPIAuthorizationFilterSpy.checkValidCondition(request, response);
+
+        assertThat(isValid).isFalse();
+        verify(restAPIAuthorizationFilterSpy).checkPermissions(request);
+        verify(response).setStatus(HttpServletResponse.SC_FORBIDDEN);
+    }
+
     @Test(expected = ServletException.class)
     public void should_checkValidCondition_catch_runtime() throws ServletException {
         doThrow(new RuntimeException()).when(request).getRequestURI();
@@ -17,9 +17,11 @@ package org.bonitasoft.console.common.server.page;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.File;
+import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.ArrayList;
@@ -28,7 +30,6 @@ import java.util.List;
 import java.util.Map;
 
 import org.junit.After;
-import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
@@ -50,11 +51,6 @@ public class CustomPageChildFirstClassLoaderTest {
     @Rule
     public TemporaryFolder tmpRule = new TemporaryFolder();
 
-    @Before
-    public void setUp() throws Exception {
-        when(customPageDependenciesResolver.getTempFolder()).thenReturn(tmpRule.newFolder());
-    }
-
     @After
     public void tearDown() throws Exception {
         if (classLoader != null) {
@@ -114,6 +110,15 @@ public class CustomPageChildFirstClassLoaderTest {
         return urls.toArray(new URL[urls.size()]);
     }
 
+    @Test
+    public void should_release_the_custom_page_libraries_when_released() throws Exception {
+        classLoader = newClassloader();
+
+        classLoader.release();
+
+        verify(customPageDependenciesResolver).releaseLibraries();
+    }
+
     @Test
     public void should_add_custom_page_non_jar_resources_in_classloader() throws Exception {
         classLoader = newClassloader();
@@ -125,10 +130,10 @@ public class CustomPageChildFirstClassLoaderTest {
         assertThat(classLoader.getResourceAsStream("util.properties")).isNotNull();
     }
 
-    private Map<String, byte[]> loadedResources(String... resourceNames) {
-        final Map<String, byte[]> resources = new HashMap<>();
+    private Map<String, File> loadedResources(String... resourceNames) throws IOException {
+        final Map<String, File> resources = new HashMap<>();
         for (final String resource : resourceNames) {
-            resources.put(resource, new byte[0]);
+            resources.put(resource, tmpRule.newFile(resource));
         }
         return resources;
     }
@@ -21,10 +21,11 @@ import java.io.File;
 import java.io.IOException;
 import java.util.Map;
 
+import org.apache.commons.io.FileUtils;
 import org.bonitasoft.console.common.server.preferences.constants.WebBonitaConstantsUtils;
+import org.junit.After;
 import org.junit.Rule;
 import org.junit.Test;
-import org.junit.rules.ExpectedException;
 import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
@@ -36,58 +37,73 @@ public class CustomPageDependenciesResolverTest {
     @Mock
     private WebBonitaConstantsUtils webBonitaConstantsUtils;
 
-    @Rule
-    public ExpectedException expectedException = ExpectedException.none();
     @Rule
     public final TemporaryFolder tmpFolder = new TemporaryFolder();
 
-    @Test
-    public void should_throw_an_IllegalStateException_when_accessing_tmp_folder_before_resolving_libraries() throws Exception {
-        final CustomPageDependenciesResolver resolver = newCustomPageDependenciesResolver(null);
-
-        expectedException.expect(IllegalStateException.class);
-
-        resolver.getTempFolder();
+    @After
+    public void tearDown() throws Exception {
+        CustomPageDependenciesResolver.releasePageLibraries("myCustomPage");
     }
 
     @Test
-    public void should_resolve_dependencies_content() throws Exception {
+    public void should_resolve_dependencies_files() throws Exception {
         final CustomPageDependenciesResolver resolver = newCustomPageDependenciesResolver(testPageFolder());
 
-        final Map<String, byte[]> dependenciesContent = resolver.resolveCustomPageDependencies();
+        final Map<String, File> dependencies = resolver.resolveCustomPageDependencies();
 
-        assertThat(dependenciesContent).containsKeys("resource.properties",
+        assertThat(dependencies).containsKeys("resource.properties",
                 "bdm-client.jar",
                 "bdm-dao.jar",
                 "javassist-3.18.1-GA.jar",
                 "util.jar");
-        assertThat(CustomPageDependenciesResolver.PAGES_LIB_TMPDIR).containsKey("myCustomPage");
-        final File cachedTmpFoler = CustomPageDependenciesResolver.PAGES_LIB_TMPDIR.get("myCustomPage");
-        assertThat(cachedTmpFoler.exists()).isTrue();
-        assertThat(resolver.getTempFolder()).isEqualTo(cachedTmpFoler);
+        assertThat(dependencies.get("resource.properties")).isEqualTo(new File(testPageFolder(), "lib/subdir/resource.properties"));
+        assertThat(CustomPageDependenciesResolver.PAGES_RESOLVERS.get("myCustomPage")).isSameAs(resolver);
+    }
+
+    @Test
+    public void should_resolve_jars_to_their_copy_in_the_jar_store() throws Exception {
+        final CustomPageDependenciesResolver resolver = newCustomPageDependenciesResolver(testPageFolder());
+
+        final Map<String, File> dependencies = resolver.resolveCustomPageDependencies();
+
+        final File storedJar = dependencies.get("util.jar");
+        assertThat(storedJar.getParentFile().getName()).isEqualTo(CustomPageJarStore.STORE_FOLDER_NAME);
+        assertThat(FileUtils.contentEquals(storedJar, new File(testPageFolder(), "lib/util.jar"))).isTrue();
+        assertThat(resolver.getStoredJars()).hasSize(4).contains(storedJar);
     }
 
     @Test
-    public void should_delete_temporary_lib_foler() throws Exception {
+    public void should_release_the_jars_of_the_previous_classloader_of_the_page() throws Exception {
         final CustomPageDependenciesResolver resolver = newCustomPageDependenciesResolver(testPageFolder());
-        resolver.resolveCustomPageDependencies();
+        final File storedJar = resolver.resolveCustomPageDependencies().get("util.jar");
+        final CustomPageDependenciesResolver newResolver = new CustomPageDependenciesResolver("myCustomPage", testPageFolder(), webBonitaConstantsUtils);
+
+        final File newStoredJar = newResolver.resolveCustomPageDependencies().get("util.jar");
 
-        assertThat(CustomPageDependenciesResolver.PAGES_LIB_TMPDIR).containsKey("myCustomPage");
-        assertThat(CustomPageDependenciesResolver.PAGES_LIB_TMPDIR.get("myCustomPage").exists()).isTrue();
+        assertThat(newStoredJar).isEqualTo(storedJar);
+        assertThat(resolver.getStoredJars()).isEmpty();
+        assertThat(newResolver.getJarStore().getReferences(newStoredJar)).isEqualTo(1);
+    }
+
+    @Test
+    public void should_delete_the_stored_jars_when_releasing_page_libraries() throws Exception {
+        final CustomPageDependenciesResolver resolver = newCustomPageDependenciesResolver(testPageFolder());
+        final File storedJar = resolver.resolveCustomPageDependencies().get("util.jar");
 
-        final File tempFolder = CustomPageDependenciesResolver.removePageLibTempFolder("myCustomPage");
+        final CustomPageDependenciesResolver releasedResolver = CustomPageDependenciesResolver.releasePageLibraries("myCustomPage");
 
-        assertThat(CustomPageDependenciesResolver.PAGES_LIB_TMPDIR).doesNotContainKey("myCustomPage");
-        assertThat(tempFolder.exists()).isFalse();
+        assertThat(releasedResolver).isSameAs(resolver);
+        assertThat(CustomPageDependenciesResolver.PAGES_RESOLVERS).doesNotContainKey("myCustomPage");
+        assertThat(storedJar.exists()).isFalse();
     }
 
     @Test
     public void should_resolve_dependencies_return_an_empty_map_if_no_lib_folder_is_found_in_custom_page() throws Exception {
         final CustomPageDependenciesResolver resolver = newCustomPageDependenciesResolver(null);
 
-        final Map<String, byte[]> dependenciesContent = resolver.resolveCustomPageDependencies();
+        final Map<String, File> dependencies = resolver.resolveCustomPageDependencies();
 
-        assertThat(dependenciesContent).isEmpty();
+        assertThat(dependencies).isEmpty();
     }
 
     private File testPageFolder() {
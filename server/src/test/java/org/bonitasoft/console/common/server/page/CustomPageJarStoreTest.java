@@ -0,0 +1,86 @@
+/**
+ * Copyright (C) 2016 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.page;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CustomPageJarStoreTest {
+
+    @Rule
+    public final TemporaryFolder tmpFolder = new TemporaryFolder();
+
+    private CustomPageJarStore jarStore;
+
+    @Before
+    public void setUp() throws Exception {
+        jarStore = new CustomPageJarStore(new File(tmpFolder.getRoot(), CustomPageJarStore.STORE_FOLDER_NAME));
+    }
+
+    private File newJar(final String name, final String content) throws Exception {
+        final File jar = tmpFolder.newFile(name);
+        FileUtils.writeStringToFile(jar, content);
+        return jar;
+    }
+
+    @Test
+    public void should_store_jars_with_the_same_content_once() throws Exception {
+        final File storedJar = jarStore.acquire(newJar("groovy-all.jar", "groovy"));
+        final File otherStoredJar = jarStore.acquire(newJar("groovy-all-2.4.jar", "groovy"));
+
+        assertThat(otherStoredJar).isEqualTo(storedJar);
+        assertThat(FileUtils.readFileToString(storedJar)).isEqualTo("groovy");
+        assertThat(jarStore.getReferences(storedJar)).isEqualTo(2);
+    }
+
+    @Test
+    public void should_store_jars_with_different_contents_separately() throws Exception {
+        final File storedJar = jarStore.acquire(newJar("lib.jar", "version 1"));
+        final File otherStoredJar = jarStore.acquire(newJar("other-lib.jar", "version 2"));
+
+        assertThat(otherStoredJar).isNotEqualTo(storedJar);
+    }
+
+    @Test
+    public void should_delete_a_stored_jar_once_its_last_reference_is_released() throws Exception {
+        final File jar = newJar("groovy-all.jar", "groovy");
+        final File storedJar = jarStore.acquire(jar);
+        jarStore.acquire(jar);
+
+        jarStore.release(storedJar);
+        assertThat(storedJar.exists()).isTrue();
+        jarStore.release(storedJar);
+
+        assertThat(storedJar.exists()).isFalse();
+        assertThat(jarStore.getReferences(storedJar)).isEqualTo(0);
+    }
+
+    @Test
+    public void should_remove_the_jars_left_by_a_previous_run() throws Exception {
+        final File leftJar = new File(tmpFolder.newFolder(CustomPageJarStore.STORE_FOLDER_NAME), "0123.jar");
+        FileUtils.writeStringToFile(leftJar, "left");
+
+        jarStore.acquire(newJar("lib.jar", "lib"));
+
+        assertThat(leftJar.exists()).isFalse();
+    }
+}
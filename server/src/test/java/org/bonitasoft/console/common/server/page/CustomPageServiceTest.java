@@ -491,4 +491,19 @@ public class CustomPageServiceTest {
         assertThat(classloader.getResource("org/company/test/config.properties")).isNotNull();
     }
 
+    @Test
+    public void should_compile_rest_api_controller_only_once_for_a_page_version() throws Exception {
+        final File controllerFile = temporaryFolder.newFile("Controller.groovy");
+        IOUtils.write("class Controller {}", new FileOutputStream(controllerFile));
+        final GroovyClassLoader classloader = new GroovyClassLoader();
+
+        final Class<?> firstClass = customPageService.getRestApiControllerClass(classloader, controllerFile, 1L);
+        final Class<?> secondClass = customPageService.getRestApiControllerClass(classloader, controllerFile, 1L);
+        final Class<?> updatedClass = customPageService.getRestApiControllerClass(classloader, controllerFile, 2L);
+
+        assertThat(secondClass).isSameAs(firstClass);
+        assertThat(updatedClass).isNotSameAs(firstClass);
+        verify(customPageService, times(2)).registerRestApiPage(classloader, controllerFile);
+    }
+
 }
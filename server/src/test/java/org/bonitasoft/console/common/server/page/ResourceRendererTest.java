@@ -17,7 +17,10 @@ package org.bonitasoft.console.common.server.page;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -33,12 +36,16 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.servlet.http.HttpSession;
 
+import org.apache.commons.io.FileUtils;
 import org.bonitasoft.console.common.server.utils.BonitaHomeFolderAccessor;
 import org.bonitasoft.engine.exception.BonitaException;
 import org.bonitasoft.engine.session.APISession;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
@@ -78,6 +85,9 @@ public class ResourceRendererTest {
     @Mock
     private APISession apiSession;
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Before
     public void setup() throws IOException {
 
@@ -158,4 +168,62 @@ public class ResourceRendererTest {
         assertThat(tokens).hasSize(1).containsExactly("a");
     }
 
+    private File createPageResource(final long lastUpdate) throws IOException {
+        final File pageDirectory = temporaryFolder.newFolder("page");
+        FileUtils.writeStringToFile(new File(pageDirectory, ".lastupdate"), String.valueOf(lastUpdate));
+        final File resourceFile = new File(pageDirectory, "resources/file.css");
+        FileUtils.writeStringToFile(resourceFile, "body { color: red; }");
+        doReturn(pageDirectory).when(resourceRenderer).getPageDirectory(resourceFile, apiSession);
+        return resourceFile;
+    }
+
+    @Test
+    public void renderFile_should_stream_page_resource_with_an_etag() throws Exception {
+        final File resourceFile = createPageResource(123L);
+        when(servletContext.getMimeType("file.css")).thenReturn("text/css");
+
+        resourceRenderer.renderFile(req, res, resourceFile, apiSession);
+
+        verify(res).setContentType("text/css");
+        verify(res).setHeader(eq("ETag"), anyString());
+        verify(res).setHeader("Content-Length", String.valueOf(resourceFile.length()));
+        verify(res, never()).setBufferSize(any(int.class));
+        verify(outputStream).write(any(byte[].class), eq(0), eq((int) resourceFile.length()));
+    }
+
+    @Test
+    public void renderFile_should_answer_not_modified_when_etag_matches() throws Exception {
+        final File resourceFile = createPageResource(123L);
+        resourceRenderer.renderFile(req, res, resourceFile, apiSession);
+        final ArgumentCaptor<String> eTag = ArgumentCaptor.forClass(String.class);
+        verify(res).setHeader(eq("ETag"), eTag.capture());
+        when(req.getHeader("If-None-Match")).thenReturn(eTag.getValue());
+
+        resourceRenderer.renderFile(req, res, resourceFile, apiSession);
+
+        verify(res).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        verify(outputStream).write(any(byte[].class), eq(0), any(int.class));
+    }
+
+    @Test
+    public void renderFile_should_send_requested_range_of_page_resource() throws Exception {
+        final File resourceFile = createPageResource(123L);
+        when(req.getHeader("Range")).thenReturn("bytes=0-3");
+
+        resourceRenderer.renderFile(req, res, resourceFile, apiSession);
+
+        verify(res).setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        verify(res).setHeader("Content-Range", "bytes 0-3/" + resourceFile.length());
+        verify(res).setHeader("Content-Length", "4");
+    }
+
+    @Test
+    public void parseRange_should_handle_suffix_open_and_unsatisfiable_ranges() {
+        assertThat(resourceRenderer.parseRange("bytes=-4", 10)).isEqualTo(new long[] { 6L, 9L });
+        assertThat(resourceRenderer.parseRange("bytes=2-", 10)).isEqualTo(new long[] { 2L, 9L });
+        assertThat(resourceRenderer.parseRange("bytes=2-50", 10)).isEqualTo(new long[] { 2L, 9L });
+        assertThat(resourceRenderer.parseRange("bytes=0-1,4-5", 10)).isEmpty();
+        assertThat(resourceRenderer.parseRange("bytes=20-30", 10)).isNull();
+    }
+
 }
@@ -25,9 +25,15 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
 import java.io.PrintWriter;
 import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 
+import javax.servlet.ServletInputStream;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.servlet.http.HttpSession;
@@ -166,4 +172,61 @@ public class TenantFileUploadServletTest {
         .contains("\"type\":\"EntityTooLarge\"");
         verify(printer).flush();
     }
+
+    private void mockMultipartRequest(final String fileName, final String fileContent) throws IOException {
+        final String boundary = "----boundary";
+        final byte[] body = ("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"" + fileName + "\"\r\n"
+                + "Content-Type: text/plain\r\n\r\n"
+                + fileContent + "\r\n"
+                + "--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8);
+        final ByteArrayInputStream bodyStream = new ByteArrayInputStream(body);
+        when(request.getMethod()).thenReturn("post");
+        when(request.getContentType()).thenReturn("multipart/form-data; boundary=" + boundary);
+        when(request.getContentLength()).thenReturn(body.length);
+        when(request.getInputStream()).thenReturn(new ServletInputStream() {
+
+            @Override
+            public int read() throws IOException {
+                return bodyStream.read();
+            }
+        });
+    }
+
+    @Test
+    public void should_stream_uploaded_file_to_the_upload_directory() throws Exception {
+        final HttpServletResponse response = mock(HttpServletResponse.class);
+        final PrintWriter printer = mock(PrintWriter.class);
+        fileUploadServlet.uploadDirectoryPath = tempFolder.getRoot().getAbsolutePath();
+        fileUploadServlet.streamingUpload = true;
+        doNothing().when(fileUploadServlet).defineUploadDirectoryPath(request);
+        when(response.getWriter()).thenReturn(printer);
+        mockMultipartRequest("document.txt", "uploaded content");
+
+        fileUploadServlet.doPost(request, response);
+
+        final ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+        verify(printer).print(captor.capture());
+        final File uploadedFile = new File(tempFolder.getRoot(), captor.getValue());
+        assertThat(uploadedFile.getName()).startsWith(FileUploadServlet.TEMP_FILE_PREFIX).endsWith(".txt");
+        assertThat(new String(Files.readAllBytes(uploadedFile.toPath()), StandardCharsets.UTF_8)).isEqualTo("uploaded content");
+    }
+
+    @Test
+    public void should_set_413_status_code_and_delete_partial_file_when_streamed_file_is_too_big() throws Exception {
+        final HttpServletResponse response = mock(HttpServletResponse.class);
+        final PrintWriter printer = mock(PrintWriter.class);
+        fileUploadServlet.uploadDirectoryPath = tempFolder.getRoot().getAbsolutePath();
+        fileUploadServlet.streamingUpload = true;
+        fileUploadServlet.checkUploadedFileSize = true;
+        doNothing().when(fileUploadServlet).defineUploadDirectoryPath(request);
+        when(consoleProperties.getMaxSize()).thenReturn(0L);
+        when(response.getWriter()).thenReturn(printer);
+        mockMultipartRequest("document.txt", "uploaded content");
+
+        fileUploadServlet.doPost(request, response);
+
+        verify(response).setStatus(HttpURLConnection.HTTP_ENTITY_TOO_LARGE);
+        assertThat(tempFolder.getRoot().list()).isEmpty();
+    }
 }
@@ -252,6 +252,14 @@ public class ContractTypeConverterTest {
         verify(contractTypeConverter, times(1)).deleteFile(any(File.class), anyString());
     }
 
+    @Test(expected = IllegalArgumentException.class)
+    public void getProcessedInputs_should_reject_a_file_bigger_than_the_tenant_max_size() throws Exception {
+        final List<InputDefinition> inputDefinition = generateSimpleInputDefinition(true);
+        when(contractDefinition.getInputs()).thenReturn(inputDefinition);
+        final Map<String, Serializable> input = generateInputMapWithFile("tempFile");
+
+        contractTypeConverter.getProcessedInput(contractDefinition, input, 0L, tenantId, false);
+    }
 
     @Test
     public void getAdaptedContractDefinition_should_return_a_converter_contract() throws IOException {
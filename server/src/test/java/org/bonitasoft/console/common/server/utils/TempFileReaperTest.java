@@ -0,0 +1,51 @@
+/**
+ * Copyright (C) 2016 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TempFileReaperTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private File createFile(final String name, final long age) throws Exception {
+        final File file = tempFolder.newFile(name);
+        file.setLastModified(System.currentTimeMillis() - age);
+        return file;
+    }
+
+    @Test
+    public void should_delete_expired_files_with_the_prefix() throws Exception {
+        final TempFileReaper reaper = new TempFileReaper(60000L);
+        final File expiredFile = createFile("tmp_expired.txt", 120000L);
+        final File recentFile = createFile("tmp_recent.txt", 0L);
+        final File otherFile = createFile("other.txt", 120000L);
+        reaper.watch(tempFolder.getRoot(), "tmp_");
+
+        reaper.reap();
+        reaper.shutdown();
+
+        assertThat(expiredFile).doesNotExist();
+        assertThat(recentFile).exists();
+        assertThat(otherFile).exists();
+    }
+}
@@ -5,6 +5,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import java.util.Collections;
@@ -80,4 +81,36 @@ public class ApplicationModelFactoryTest {
         assertThat(filter.getField()).isEqualTo("token");
         assertThat(filter.getValue()).isEqualTo("bar");
     }
+
+    @Test
+    public void should_search_application_only_once_when_cached() throws Exception {
+        final ApplicationImpl application = new ApplicationImpl("foobar", "1.0", "bazqux");
+        application.setId(3);
+        given(applicationApi.searchApplications(any(SearchOptions.class))).willReturn(
+                new SearchResultImpl<Application>(1, asList((Application) application)));
+        given(applicationApi.getApplicationHomePage(3)).willReturn(new ApplicationPageImpl(1, 1, "home"));
+        final ApplicationModelCache cache = new ApplicationModelCache(60000L);
+        final ApplicationModelFactory cachedFactory = new ApplicationModelFactory(applicationApi, customPageApi, null, cache);
+
+        cachedFactory.createApplicationModel("foobar").getApplicationHomePage();
+        final ApplicationModel model = cachedFactory.createApplicationModel("foobar");
+
+        assertThat(model.getApplicationHomePage()).isEqualTo("home/");
+        verify(applicationApi, times(1)).searchApplications(any(SearchOptions.class));
+        verify(applicationApi, times(1)).getApplicationHomePage(3);
+    }
+
+    @Test
+    public void should_search_application_again_when_cache_is_cleared() throws Exception {
+        given(applicationApi.searchApplications(any(SearchOptions.class))).willReturn(
+                new SearchResultImpl<Application>(1, asList(mock(Application.class))));
+        final ApplicationModelCache cache = new ApplicationModelCache(60000L);
+        final ApplicationModelFactory cachedFactory = new ApplicationModelFactory(applicationApi, customPageApi, null, cache);
+
+        cachedFactory.createApplicationModel("bar");
+        cache.clear();
+        cachedFactory.createApplicationModel("bar");
+
+        verify(applicationApi, times(2)).searchApplications(any(SearchOptions.class));
+    }
 }
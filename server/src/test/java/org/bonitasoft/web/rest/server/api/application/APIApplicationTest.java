@@ -4,6 +4,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import java.util.Collections;
 import java.util.Map;
@@ -152,4 +154,19 @@ public class APIApplicationTest {
         assertThat(deployers.get(ApplicationItem.ATTRIBUTE_THEME_ID)).isExactlyInstanceOf(PageDeployer.class);
     }
 
+    @Test
+    public void fillDeploys_should_register_the_deployers_only_once() throws Exception {
+        //given
+        final ApplicationItem item = mock(ApplicationItem.class);
+        doReturn(new GenericDeployer<ProfileItem>(null, ApplicationItem.ATTRIBUTE_PROFILE_ID)).when(deployerFactory)
+                .createProfileDeployer(ApplicationItem.ATTRIBUTE_PROFILE_ID);
+
+        //when
+        apiApplication.fillDeploys(item, Collections.<String> emptyList());
+        apiApplication.fillDeploys(item, Collections.<String> emptyList());
+
+        //then
+        verify(deployerFactory, times(1)).createProfileDeployer(ApplicationItem.ATTRIBUTE_PROFILE_ID);
+    }
+
 }
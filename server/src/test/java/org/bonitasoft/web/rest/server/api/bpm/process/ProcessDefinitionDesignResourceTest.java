@@ -33,6 +33,7 @@ import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.restlet.Response;
 import org.restlet.data.Status;
+import org.restlet.data.Tag;
 import org.restlet.resource.ServerResource;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -54,7 +55,7 @@ public class ProcessDefinitionDesignResourceTest extends RestletTest {
 
     @Override
     protected ServerResource configureResource() {
-        return new ProcessDefinitionDesignResource(processAPI);
+        return new ProcessDefinitionDesignResource(processAPI, new ProcessDefinitionDesignCache(10));
     }
 
     @Test(expected = APIException.class)
@@ -102,4 +103,26 @@ public class ProcessDefinitionDesignResourceTest extends RestletTest {
         assertThat(entityAsText).doesNotContain("Ã©tape1");
     }
 
+    @Test
+    public void should_get_the_design_from_the_engine_only_once_when_it_is_cached() throws Exception {
+        when(processAPI.getDesignProcessDefinition(PROCESS_DEFINITION_ID)).thenReturn(
+                new ProcessDefinitionBuilder().createNewInstance("cachedProcess", "1.0").done());
+
+        final Response firstResponse = request(TEST_DESIGN_API_URL).get();
+        final Response secondResponse = request(TEST_DESIGN_API_URL).get();
+
+        assertThat(secondResponse.getEntityAsText()).isEqualTo(firstResponse.getEntityAsText());
+        verify(processAPI, times(1)).getDesignProcessDefinition(PROCESS_DEFINITION_ID);
+    }
+
+    @Test
+    public void should_respond_304_Not_modified_when_the_client_already_has_the_design() throws Exception {
+        when(processAPI.getDesignProcessDefinition(PROCESS_DEFINITION_ID)).thenReturn(
+                new ProcessDefinitionBuilder().createNewInstance("cachedProcess", "1.0").done());
+        final Tag tag = request(TEST_DESIGN_API_URL).get().getEntity().getTag();
+
+        final Response response = request(TEST_DESIGN_API_URL).get(tag);
+
+        ResponseAssert.assertThat(response).hasStatus(Status.REDIRECTION_NOT_MODIFIED);
+    }
 }
@@ -0,0 +1,74 @@
+/**
+ * Copyright (C) 2016 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.rest.server.api.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.bonitasoft.web.rest.server.framework.APIServletCall;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.mock.web.MockHttpSession;
+
+@RunWith(MockitoJUnitRunner.class)
+public class APISessionTest {
+
+    private static final long TENANT_ID = 23L;
+
+    @Mock
+    private APIServletCall caller;
+
+    @Mock
+    private org.bonitasoft.engine.session.APISession engineSession;
+
+    private APISession apiSession;
+
+    @Before
+    public void setUp() throws Exception {
+        given(caller.getHttpSession()).willReturn(new MockHttpSession());
+        given(engineSession.getTenantId()).willReturn(TENANT_ID);
+        given(engineSession.getId()).willReturn(45L);
+
+        apiSession = spy(new APISession());
+        apiSession.setCaller(caller);
+        doReturn("[\"rights\"]").when(apiSession).getUserRights(engineSession);
+    }
+
+    @Test
+    public void should_compute_the_user_rights_only_once() throws Exception {
+        assertThat(apiSession.getCachedUserRights(engineSession)).isEqualTo("[\"rights\"]");
+        assertThat(apiSession.getCachedUserRights(engineSession)).isEqualTo("[\"rights\"]");
+
+        verify(apiSession, times(1)).getUserRights(engineSession);
+    }
+
+    @Test
+    public void should_compute_the_user_rights_again_when_the_tenant_profiles_are_invalidated() throws Exception {
+        apiSession.getCachedUserRights(engineSession);
+
+        UserRights.invalidate(TENANT_ID);
+        doReturn("[\"newRights\"]").when(apiSession).getUserRights(engineSession);
+
+        assertThat(apiSession.getCachedUserRights(engineSession)).isEqualTo("[\"newRights\"]");
+        verify(apiSession, times(2)).getUserRights(engineSession);
+    }
+}
@@ -33,6 +33,7 @@ import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.restlet.Response;
 import org.restlet.data.Status;
+import org.restlet.data.Tag;
 import org.restlet.resource.ServerResource;
 
 /**
@@ -90,4 +91,30 @@ public class I18nTranslationResourceTest extends RestletTest {
 
     }
 
+    @Test
+    public void should_respond_304_when_the_translations_have_not_changed() throws Exception {
+        Map<String, String> parameters = new HashMap<>();
+        parameters.put("key1", "message 1");
+        when(i18n.getLocale(AbstractI18n.LOCALE.fr)).thenReturn(parameters);
+        Tag tag = request("/system/i18ntranslation?f=locale%3Dfr").get().getEntity().getTag();
+
+        Response response = request("/system/i18ntranslation?f=locale%3Dfr").get(tag);
+
+        assertThat(response).hasStatus(Status.REDIRECTION_NOT_MODIFIED);
+    }
+
+    @Test
+    public void should_serialize_the_translations_again_when_the_locale_is_reloaded() throws Exception {
+        Map<String, String> parameters = new HashMap<>();
+        parameters.put("key1", "message 1");
+        Map<String, String> reloadedParameters = new HashMap<>();
+        reloadedParameters.put("key1", "message modifié");
+        when(i18n.getLocale(AbstractI18n.LOCALE.fr)).thenReturn(parameters, reloadedParameters);
+        Tag tag = request("/system/i18ntranslation?f=locale%3Dfr").get().getEntity().getTag();
+
+        Response response = request("/system/i18ntranslation?f=locale%3Dfr").get(tag);
+
+        assertThat(response).hasStatus(Status.SUCCESS_OK);
+        assertJsonEquals("[{\"key\": \"key1\", \"value\": \"message modifié\"}]", response.getEntityAsText());
+    }
 }
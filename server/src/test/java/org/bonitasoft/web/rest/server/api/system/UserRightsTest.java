@@ -0,0 +1,73 @@
+/**
+ * Copyright (C) 2016 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.rest.server.api.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class UserRightsTest {
+
+    private static final long TENANT_ID = 12L;
+
+    @Mock
+    private org.bonitasoft.engine.session.APISession session;
+
+    @Before
+    public void setUp() throws Exception {
+        given(session.getTenantId()).willReturn(TENANT_ID);
+        given(session.getId()).willReturn(56L);
+    }
+
+    @Test
+    public void should_be_valid_for_the_session_it_was_computed_for() throws Exception {
+        final UserRights userRights = new UserRights("[\"rights\"]", TENANT_ID, 56L, UserRights.getCurrentProfilesVersion(TENANT_ID));
+
+        assertThat(userRights.isValidFor(session)).isTrue();
+        assertThat(userRights.getRights()).isEqualTo("[\"rights\"]");
+    }
+
+    @Test
+    public void should_not_be_valid_for_another_engine_session() throws Exception {
+        final UserRights userRights = new UserRights("[]", TENANT_ID, 57L, UserRights.getCurrentProfilesVersion(TENANT_ID));
+
+        assertThat(userRights.isValidFor(session)).isFalse();
+    }
+
+    @Test
+    public void should_not_be_valid_anymore_when_the_tenant_profiles_are_invalidated() throws Exception {
+        final UserRights userRights = new UserRights("[]", TENANT_ID, 56L, UserRights.getCurrentProfilesVersion(TENANT_ID));
+
+        UserRights.invalidate(TENANT_ID);
+
+        assertThat(userRights.isValidFor(session)).isFalse();
+        assertThat(new UserRights("[]", TENANT_ID, 56L, UserRights.getCurrentProfilesVersion(TENANT_ID)).isValidFor(session)).isTrue();
+    }
+
+    @Test
+    public void should_not_be_valid_when_the_tenant_profiles_are_invalidated_while_the_rights_are_computed() throws Exception {
+        final long profilesVersion = UserRights.getCurrentProfilesVersion(TENANT_ID);
+
+        UserRights.invalidate(TENANT_ID);
+
+        assertThat(new UserRights("[]", TENANT_ID, 56L, profilesVersion).isValidFor(session)).isFalse();
+    }
+}
@@ -0,0 +1,87 @@
+/**
+ * Copyright (C) 2016 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.rest.server.framework;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.bonitasoft.web.rest.server.framework.api.DatastoreHasBatchGet;
+import org.bonitasoft.web.rest.server.framework.api.DatastoreHasGet;
+import org.bonitasoft.web.toolkit.client.common.exception.api.APIException;
+import org.bonitasoft.web.toolkit.client.data.APIID;
+import org.bonitasoft.web.toolkit.client.data.item.IItem;
+import org.junit.Test;
+
+public class CachedGetterTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void should_fetch_an_item_only_once() {
+        final DatastoreHasGet<IItem> getter = mock(DatastoreHasGet.class);
+        final IItem item = mock(IItem.class);
+        doReturn(item).when(getter).get(APIID.makeAPIID(1L));
+        final CachedGetter<IItem> cachedGetter = new CachedGetter<IItem>(getter);
+
+        assertThat(cachedGetter.get(APIID.makeAPIID(1L))).isSameAs(item);
+        assertThat(cachedGetter.get(APIID.makeAPIID(1L))).isSameAs(item);
+
+        verify(getter, times(1)).get(APIID.makeAPIID(1L));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void should_prefetch_distinct_ids_in_a_single_call() {
+        final DatastoreHasBatchGet<IItem> getter = mock(DatastoreHasBatchGet.class);
+        final IItem item1 = mock(IItem.class);
+        final IItem item2 = mock(IItem.class);
+        final Map<APIID, IItem> items = new HashMap<APIID, IItem>();
+        items.put(APIID.makeAPIID(1L), item1);
+        items.put(APIID.makeAPIID(2L), item2);
+        doReturn(items).when(getter).get(Arrays.asList(APIID.makeAPIID(1L), APIID.makeAPIID(2L)));
+        final CachedGetter<IItem> cachedGetter = new CachedGetter<IItem>(getter);
+
+        cachedGetter.prefetch(Arrays.asList(APIID.makeAPIID(1L), APIID.makeAPIID(2L), APIID.makeAPIID(1L), null));
+
+        assertThat(cachedGetter.get(APIID.makeAPIID(1L))).isSameAs(item1);
+        assertThat(cachedGetter.get(APIID.makeAPIID(2L))).isSameAs(item2);
+        verify(getter, never()).get(APIID.makeAPIID(1L));
+        verify(getter, never()).get(APIID.makeAPIID(2L));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void should_fall_back_to_single_get_when_prefetch_fails() {
+        final DatastoreHasBatchGet<IItem> getter = mock(DatastoreHasBatchGet.class);
+        final IItem item = mock(IItem.class);
+        doThrow(new APIException("engine failure")).when(getter).get(anyListOf(APIID.class));
+        doReturn(item).when(getter).get(APIID.makeAPIID(1L));
+        final CachedGetter<IItem> cachedGetter = new CachedGetter<IItem>(getter);
+
+        cachedGetter.prefetch(Collections.singletonList(APIID.makeAPIID(1L)));
+
+        assertThat(cachedGetter.get(APIID.makeAPIID(1L))).isSameAs(item);
+    }
+}
@@ -0,0 +1,84 @@
+/**
+ * Copyright (C) 2016 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.rest.server.framework;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.bonitasoft.web.toolkit.client.common.exception.api.APIException;
+import org.junit.Test;
+
+public class CounterEngineTest {
+
+    private final CounterEngine counterEngine = new CounterEngine(2);
+
+    @Test
+    public void should_run_all_tasks() {
+        final AtomicInteger counter = new AtomicInteger();
+        final List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+        for (int i = 0; i < 10; i++) {
+            tasks.add(new Callable<Void>() {
+
+                @Override
+                public Void call() {
+                    counter.incrementAndGet();
+                    return null;
+                }
+            });
+        }
+
+        counterEngine.run(tasks);
+
+        assertThat(counter.get()).isEqualTo(10);
+    }
+
+    @Test
+    public void should_run_tasks_again_after_a_shutdown() {
+        final AtomicInteger counter = new AtomicInteger();
+        final List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+        tasks.add(new Callable<Void>() {
+
+            @Override
+            public Void call() {
+                counter.incrementAndGet();
+                return null;
+            }
+        });
+        counterEngine.run(tasks);
+
+        counterEngine.shutdown();
+        counterEngine.run(tasks);
+
+        assertThat(counter.get()).isEqualTo(2);
+    }
+
+    @Test(expected = APIException.class)
+    public void should_rethrow_task_failure() {
+        final List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+        tasks.add(new Callable<Void>() {
+
+            @Override
+            public Void call() {
+                throw new APIException("count failure");
+            }
+        });
+
+        counterEngine.run(tasks);
+    }
+}
@@ -0,0 +1,62 @@
+/**
+ * Copyright (C) 2016 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.rest.server.framework.json;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class IdAsStringJsonGeneratorTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private String write(final Object value) throws Exception {
+        final StringWriter out = new StringWriter();
+        try (JsonGenerator generator = new IdAsStringJsonGenerator(mapper.getFactory().createGenerator(out))) {
+            mapper.writeValue(generator, value);
+        }
+        return out.toString();
+    }
+
+    @Test
+    public void should_write_integer_ids_as_strings() throws Exception {
+        final Map<String, Object> nested = new LinkedHashMap<String, Object>();
+        nested.put("id", 5);
+        final Map<String, Object> design = new LinkedHashMap<String, Object>();
+        design.put("id", 8534876529384L);
+        design.put("count", 4);
+        design.put("nested", nested);
+
+        assertThat(write(design)).isEqualTo("{\"id\":\"8534876529384\",\"count\":4,\"nested\":{\"id\":\"5\"}}");
+    }
+
+    @Test
+    public void should_not_modify_other_values() throws Exception {
+        final Map<String, Object> design = new LinkedHashMap<String, Object>();
+        design.put("otherid", 12);
+        design.put("name", "\"id\": 123");
+        design.put("ids", Arrays.asList(1, 2));
+
+        assertThat(write(design)).isEqualTo("{\"otherid\":12,\"name\":\"\\\"id\\\": 123\",\"ids\":[1,2]}");
+    }
+}
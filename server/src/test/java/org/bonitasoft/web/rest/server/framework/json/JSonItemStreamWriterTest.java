@@ -0,0 +1,82 @@
+/**
+ * Copyright (C) 2016 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.rest.server.framework.json;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.bonitasoft.web.toolkit.client.data.item.IItem;
+import org.junit.Test;
+
+public class JSonItemStreamWriterTest {
+
+    private IItem mockItem(final Map<String, String> attributes, final Map<String, IItem> deploys) {
+        final IItem item = mock(IItem.class);
+        doReturn(new ArrayList<String>(attributes.keySet())).when(item).getAttributeNames();
+        doReturn(deploys).when(item).getDeploys();
+        for (final Map.Entry<String, String> attribute : attributes.entrySet()) {
+            doReturn(attribute.getValue()).when(item).getAttributeValue(attribute.getKey());
+        }
+        return item;
+    }
+
+    @Test
+    public void should_write_an_empty_list() throws Exception {
+        final StringWriter out = new StringWriter();
+
+        new JSonItemStreamWriter(out).write(Collections.emptyList());
+
+        assertThat(out.toString()).isEqualTo("[]");
+    }
+
+    @Test
+    public void should_write_items_with_their_deploys() throws Exception {
+        final Map<String, String> userAttributes = new HashMap<String, String>();
+        userAttributes.put("id", "2");
+        final IItem user = mockItem(userAttributes, new HashMap<String, IItem>());
+
+        final Map<String, String> caseAttributes = new HashMap<String, String>();
+        caseAttributes.put("started_by", "2");
+        final Map<String, IItem> caseDeploys = new HashMap<String, IItem>();
+        caseDeploys.put("started_by", user);
+        final IItem aCase = mockItem(caseAttributes, caseDeploys);
+
+        final Map<String, String> otherCaseAttributes = new HashMap<String, String>();
+        otherCaseAttributes.put("name", "a \"quoted\" name");
+        final IItem otherCase = mockItem(otherCaseAttributes, new HashMap<String, IItem>());
+
+        final StringWriter out = new StringWriter();
+        new JSonItemStreamWriter(out, 4).write(Arrays.asList(aCase, otherCase));
+
+        assertThat(out.toString()).isEqualTo("[{\"started_by\":{\"id\":\"2\"}},{\"name\":\"a \\\"quoted\\\" name\"}]");
+    }
+
+    @Test
+    public void should_write_null_values_as_json_null() throws Exception {
+        final StringWriter out = new StringWriter();
+
+        new JSonItemStreamWriter(out).write(Arrays.asList("a", null));
+
+        assertThat(out.toString()).isEqualTo("[\"a\",null]");
+    }
+}
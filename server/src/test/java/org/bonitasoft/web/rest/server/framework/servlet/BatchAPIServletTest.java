@@ -0,0 +1,210 @@
+/**
+ * Copyright (C) 2016 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.rest.server.framework.servlet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletInputStream;
+import javax.servlet.ServletConfig;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BatchAPIServletTest {
+
+    @Mock
+    private HttpServletRequest request;
+
+    @Mock
+    private HttpServletResponse response;
+
+    @Mock
+    private HttpSession session;
+
+    @Mock
+    private ServletConfig servletConfig;
+
+    private AuthorizationFilter authorizationFilter;
+
+    private final StringWriter output = new StringWriter();
+
+    private BatchAPIServlet batchAPIServlet;
+
+    /**
+     * Answer the method, the path, the "p" parameter and the body of each call, and fail on the "error" resource
+     */
+    private static class EchoServlet extends HttpServlet {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected void service(final HttpServletRequest request, final HttpServletResponse response) throws IOException {
+            if (request.getPathInfo().endsWith("/error")) {
+                response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+            response.setHeader("Content-Range", "0-1/1");
+            final PrintWriter writer = response.getWriter();
+            writer.print(request.getMethod() + " " + request.getServletPath() + request.getPathInfo() + " " + request.getParameter("p") + " "
+                    + request.getReader().readLine());
+            writer.flush();
+        }
+    }
+
+    /**
+     * Forbid the calls to the "forbidden" resource
+     */
+    private static class AuthorizationFilter implements Filter {
+
+        private FilterConfig filterConfig;
+
+        @Override
+        public void init(final FilterConfig filterConfig) {
+            this.filterConfig = filterConfig;
+        }
+
+        @Override
+        public void doFilter(final ServletRequest request, final ServletResponse response, final FilterChain chain) throws IOException,
+                ServletException {
+            if (((HttpServletRequest) request).getPathInfo().endsWith("/forbidden")) {
+                ((HttpServletResponse) response).setStatus(HttpServletResponse.SC_FORBIDDEN);
+            } else {
+                chain.doFilter(request, response);
+            }
+        }
+
+        @Override
+        public void destroy() {
+        }
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        authorizationFilter = new AuthorizationFilter();
+        batchAPIServlet = new BatchAPIServlet() {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected HttpServlet defineAPIServlet() {
+                return new EchoServlet();
+            }
+
+            @Override
+            protected Filter defineAuthorizationFilter() {
+                return authorizationFilter;
+            }
+
+            @Override
+            protected String defineAPIServletPath() {
+                return "/APIToolkit";
+            }
+        };
+        doReturn("i18ntranslation").when(servletConfig).getInitParameter("excludePatterns");
+        batchAPIServlet.init(servletConfig);
+        doReturn(session).when(request).getSession();
+        doReturn(new PrintWriter(output)).when(response).getWriter();
+    }
+
+    private void sendBatch(final String batch) throws Exception {
+        final ByteArrayInputStream input = new ByteArrayInputStream(batch.getBytes("UTF-8"));
+        doReturn(new ServletInputStream() {
+
+            @Override
+            public int read() throws IOException {
+                return input.read();
+            }
+        }).when(request).getInputStream();
+        batchAPIServlet.doPost(request, response);
+    }
+
+    @Test
+    public void should_execute_the_calls_in_order_and_return_their_responses() throws Exception {
+        sendBatch("[{\"method\":\"GET\",\"url\":\"bpm/case?p=2\"},"
+                + "{\"method\":\"PUT\",\"url\":\"bpm/humanTask/12\",\"body\":{\"assigned_id\":\"3\"}},"
+                + "{\"url\":\"identity/user/1\"}]");
+
+        assertThat(output.toString()).isEqualTo("["
+                + "{\"status\":200,\"headers\":{\"Content-Range\":\"0-1/1\"},\"body\":\"GET /APIToolkit/bpm/case 2 null\"},"
+                + "{\"status\":200,\"headers\":{\"Content-Range\":\"0-1/1\"},\"body\":\"PUT /APIToolkit/bpm/humanTask/12 null {\\\"assigned_id\\\":\\\"3\\\"}\"},"
+                + "{\"status\":200,\"headers\":{\"Content-Range\":\"0-1/1\"},\"body\":\"GET /APIToolkit/identity/user/1 null null\"}]");
+    }
+
+    @Test
+    public void should_check_the_permissions_of_each_call() throws Exception {
+        sendBatch("[{\"url\":\"bpm/forbidden\"},{\"url\":\"bpm/case/1\"}]");
+
+        assertThat(output.toString()).startsWith("[{\"status\":403,\"headers\":{},\"body\":\"\"},{\"status\":200,");
+    }
+
+    @Test
+    public void should_not_execute_the_calls_following_an_error_when_breaking_on_error() throws Exception {
+        doReturn("true").when(request).getParameter(BatchAPIServlet.BREAK_ON_ERROR_PARAM);
+
+        sendBatch("[{\"method\":\"DELETE\",\"url\":\"bpm/error\"},{\"method\":\"DELETE\",\"url\":\"bpm/case/1\"}]");
+
+        assertThat(output.toString()).isEqualTo("[{\"status\":404,\"headers\":{},\"body\":\"\"}]");
+    }
+
+    @Test
+    public void should_initialize_the_authorization_filter_with_the_servlet_init_parameters() throws Exception {
+        assertThat(authorizationFilter.filterConfig.getInitParameter("excludePatterns")).isEqualTo("i18ntranslation");
+    }
+
+    @Test
+    public void should_reject_a_batch_bigger_than_the_maximum_body_size() throws Exception {
+        doReturn(3 * 1024 * 1024).when(request).getContentLength();
+
+        sendBatch("[{\"url\":\"bpm/case/1\"}]");
+
+        verify(response).setStatus(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+        assertThat(output.toString()).doesNotContain("/APIToolkit/bpm/case");
+    }
+
+    @Test
+    public void should_reject_a_batch_that_is_not_an_array() throws Exception {
+        sendBatch("{\"url\":\"bpm/case/1\"}");
+
+        verify(response).setStatus(HttpServletResponse.SC_BAD_REQUEST);
+    }
+
+    @Test
+    public void should_reject_an_unsupported_method() throws Exception {
+        sendBatch("[{\"method\":\"TRACE\",\"url\":\"bpm/case/1\"}]");
+
+        verify(response).setStatus(HttpServletResponse.SC_BAD_REQUEST);
+    }
+}
@@ -14,6 +14,7 @@ import org.restlet.Response;
 import org.restlet.data.MediaType;
 import org.restlet.data.Method;
 import org.restlet.data.Protocol;
+import org.restlet.data.Tag;
 
 public class RequestBuilder {
 
@@ -28,6 +29,13 @@ public class RequestBuilder {
         return client.handle(new Request(Method.GET, uri));
     }
 
+    public Response get(final Tag noneMatch) {
+        final Client client = new Client(Protocol.HTTP);
+        final Request request = new Request(Method.GET, uri);
+        request.getConditions().getNoneMatch().add(noneMatch);
+        return client.handle(request);
+    }
+
     public Response post(final String value) {
         final Client client = new Client(Protocol.HTTP);
         final Request request = new Request(Method.POST, uri);
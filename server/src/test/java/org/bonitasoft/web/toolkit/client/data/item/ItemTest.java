@@ -0,0 +1,186 @@
+/**
+ * Copyright (C) 2016 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.toolkit.client.data.item;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.bonitasoft.web.toolkit.client.ItemDefinitionFactory;
+import org.bonitasoft.web.toolkit.client.data.item.attribute.ItemAttribute;
+import org.bonitasoft.web.toolkit.client.data.item.attribute.modifier.SuffixModifier;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ItemTest {
+
+    private static class TestItemDefinition extends ItemDefinition<TestItem> {
+
+        @Override
+        protected String defineToken() {
+            return "test";
+        }
+
+        @Override
+        protected String defineAPIUrl() {
+            return "../API/test/item";
+        }
+
+        @Override
+        protected void defineAttributes() {
+            createAttribute("id", ItemAttribute.TYPE.ITEM_ID);
+            createAttribute("name", ItemAttribute.TYPE.STRING).addOutputModifier(new SuffixModifier("!"));
+            createAttribute("description", ItemAttribute.TYPE.TEXT);
+        }
+
+        @Override
+        protected void definePrimaryKeys() {
+            setPrimaryKeys("id");
+        }
+
+        @Override
+        protected TestItem _createItem() {
+            return new TestItem();
+        }
+    }
+
+    private static class TestItem extends Item {
+
+        private static int definitionsCreated = 0;
+
+        public TestItem() {
+            super();
+        }
+
+        public TestItem(final IItem item) {
+            super(item);
+        }
+
+        @Override
+        public ItemDefinition<?> getItemDefinition() {
+            definitionsCreated++;
+            return new TestItemDefinition();
+        }
+    }
+
+    private TestItem item;
+
+    private ItemDefinitionFactory previousFactory;
+
+    @Before
+    public void setUp() throws Exception {
+        item = new TestItem();
+        item.setApplyValidators(false);
+        previousFactory = ItemDefinitionFactory.getDefaultFactory();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        ItemDefinitionFactory.setDefaultFactory(previousFactory);
+    }
+
+    @Test
+    public void should_store_declared_and_extra_attributes() throws Exception {
+        item.setAttribute("description", "a description");
+        item.setAttribute("id", "1");
+        item.setAttribute("extra", "an extra value");
+
+        assertThat(item.getAttributeNames()).containsExactly("id", "description", "extra");
+        assertThat(item.getAttributeValue("id")).isEqualTo("1");
+        assertThat(item.getAttributeValue("extra")).isEqualTo("an extra value");
+        assertThat(item.hasAttribute("name")).isFalse();
+    }
+
+    @Test
+    public void should_keep_null_values_as_existing_attributes() throws Exception {
+        item.setAttribute("name", (String) null);
+
+        assertThat(item.hasAttribute("name")).isTrue();
+        assertThat(item.getAttributeValue("name", false)).isNull();
+        assertThat(item.isEmpty()).isFalse();
+    }
+
+    @Test
+    public void should_apply_output_modifiers_when_reading() throws Exception {
+        item.setAttribute("name", "Walter");
+
+        assertThat(item.getAttributeValue("name")).isEqualTo("Walter!");
+        assertThat(item.getAttributeValue("name", false)).isEqualTo("Walter");
+        assertThat(item.toJson()).isEqualTo("{\"name\":\"Walter!\"}");
+    }
+
+    @Test
+    public void should_get_the_definition_once() throws Exception {
+        TestItem.definitionsCreated = 0;
+
+        item.setAttribute("id", "1");
+        item.setAttribute("name", "Walter");
+        item.getAttributes();
+        item.toJson();
+
+        assertThat(TestItem.definitionsCreated).isEqualTo(1);
+    }
+
+    @Test
+    public void should_copy_an_item_into_slots() throws Exception {
+        item.setAttribute("name", "Walter");
+        item.setAttribute("extra", "an extra value");
+
+        final TestItem copy = new TestItem(item);
+        copy.setApplyValidators(false);
+        copy.setAttribute("id", "2");
+
+        assertThat(copy.getAttributeValue("name", false)).isEqualTo("Walter!");
+        assertThat(copy.getAttributeValue("extra")).isEqualTo("an extra value");
+        assertThat(copy.getAttributeNames()).containsExactly("id", "name", "extra");
+    }
+
+    @Test
+    public void should_be_equal_to_an_item_with_the_same_values() throws Exception {
+        item.setAttribute("id", "1");
+        item.setAttribute("extra", "an extra value");
+        final TestItem other = new TestItem();
+        other.setApplyValidators(false);
+        other.setAttribute("extra", "an extra value");
+        other.setAttribute("id", "1");
+
+        assertThat(item).isEqualTo(other);
+        assertThat(item.hashCode()).isEqualTo(other.hashCode());
+    }
+
+    @Test
+    public void should_have_no_deploys_by_default() throws Exception {
+        assertThat(item.getDeploys()).isEmpty();
+        assertThat(item.getDeploy("id")).isNull();
+    }
+
+    @Test
+    public void should_bind_the_items_of_a_type_to_the_same_definition() throws Exception {
+        ItemDefinitionFactory.setDefaultFactory(new ItemDefinitionFactory() {
+
+            @Override
+            public ItemDefinition<?> defineItemDefinitions(final String token) {
+                return "test".equals(token) ? new TestItemDefinition() : null;
+            }
+        });
+        final TestItem otherItem = new TestItem();
+
+        item.setAttribute("name", "first");
+        otherItem.setAttribute("name", "second");
+
+        assertThat(item.getBoundItemDefinition()).isSameAs(otherItem.getBoundItemDefinition()).isSameAs(Definitions.get("test"));
+        assertThat(item.getAttributeValue("name")).isEqualTo("first!");
+        assertThat(otherItem.getAttributeValue("name")).isEqualTo("second!");
+    }
+}
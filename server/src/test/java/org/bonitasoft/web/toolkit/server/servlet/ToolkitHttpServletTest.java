@@ -17,6 +17,7 @@
 
 package org.bonitasoft.web.toolkit.server.servlet;
 
+import org.bonitasoft.console.common.server.login.filter.RequestBodyTooLargeException;
 import org.bonitasoft.web.toolkit.client.common.exception.api.APIException;
 import org.bonitasoft.web.toolkit.server.ServletCall;
 import org.bonitasoft.web.toolkit.server.utils.LocaleUtils;
@@ -98,4 +99,13 @@ public class ToolkitHttpServletTest {
 
         verify(exception, never()).setLocale(any(LOCALE.class));
     }
+
+    @Test
+    public void should_answer_request_entity_too_large_when_the_body_exceeds_the_maximum_size() throws Exception {
+        doReturn(writer).when(resp).getWriter();
+
+        toolkitHttpServlet.catchAllExceptions(new RuntimeException("Can't read input Stream.", new RequestBodyTooLargeException(10)), req, resp);
+
+        verify(resp).setStatus(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+    }
 }